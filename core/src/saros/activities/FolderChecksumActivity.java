@@ -0,0 +1,224 @@
+package saros.activities;
+
+import com.thoughtworks.xstream.annotations.XStreamAlias;
+import com.thoughtworks.xstream.annotations.XStreamAsAttribute;
+import com.thoughtworks.xstream.annotations.XStreamImplicit;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import saros.filesystem.IContainer;
+import saros.filesystem.IFile;
+import saros.session.User;
+
+/**
+ * A FolderChecksumActivity is used by the host to communicate the checksums of the direct children
+ * of a shared container (i.e. a reference point or a folder) to a client.
+ *
+ * <p>Every {@link Entry entry} contains the checksum of one child. The checksum of a child folder
+ * is calculated over the entries of the folder itself, so a client only has to descend into child
+ * folders whose checksums differ from the ones calculated locally.
+ *
+ * <p>The activity belongs to an audit round. Only the activity for the reference point itself
+ * contains the files that have been excluded from the checksum calculation of that round (e.g.
+ * because they are currently open in an editor and are therefore covered by the {@link
+ * ChecksumActivity checksums} of the consistency watchdog).
+ *
+ * @see FolderChecksumRequestActivity
+ */
+@XStreamAlias("folderChecksumActivity")
+public class FolderChecksumActivity extends AbstractResourceActivity<IContainer>
+    implements ITargetedActivity {
+
+  @XStreamAsAttribute private final User target;
+
+  @XStreamAsAttribute private final int round;
+
+  @XStreamImplicit(itemFieldName = "e")
+  private final List<Entry> entries;
+
+  @XStreamImplicit(itemFieldName = "x")
+  private final List<ResourceTransportWrapper<IFile>> excludedFiles;
+
+  /**
+   * Creates a new FolderChecksumActivity.
+   *
+   * @param source the user that created this activity
+   * @param target the user that should receive this activity
+   * @param container the container whose children are described by the given entries
+   * @param round the audit round the checksums belong to
+   * @param entries the checksums of the children of the given container
+   * @param excludedFiles the files that were excluded from the checksum calculation of the given
+   *     audit round or <code>null</code>
+   */
+  public FolderChecksumActivity(
+      User source,
+      User target,
+      IContainer container,
+      int round,
+      List<Entry> entries,
+      List<IFile> excludedFiles) {
+
+    super(source, container);
+
+    if (target == null) throw new IllegalArgumentException("target must not be null");
+
+    if (container == null) throw new IllegalArgumentException("container must not be null");
+
+    this.target = target;
+    this.round = round;
+    this.entries = entries == null || entries.isEmpty() ? null : entries;
+    this.excludedFiles =
+        excludedFiles == null || excludedFiles.isEmpty()
+            ? null
+            : excludedFiles
+                .stream()
+                .map(ResourceTransportWrapper::new)
+                .collect(Collectors.toList());
+  }
+
+  @Override
+  public boolean isValid() {
+    return super.isValid() && (target != null) && (getResource() != null);
+  }
+
+  @Override
+  public User getTarget() {
+    return target;
+  }
+
+  /**
+   * Returns the audit round the contained checksums belong to.
+   *
+   * @return the audit round
+   */
+  public int getRound() {
+    return round;
+  }
+
+  /**
+   * Returns the checksums of the children of the container.
+   *
+   * @return the checksums of the children of the container, never <code>null</code>
+   */
+  public List<Entry> getEntries() {
+    return entries == null ? Collections.emptyList() : entries;
+  }
+
+  /**
+   * Returns the files that were excluded from the checksum calculation of the audit round.
+   *
+   * @return the excluded files, never <code>null</code>
+   */
+  public List<IFile> getExcludedFiles() {
+    return excludedFiles == null
+        ? Collections.emptyList()
+        : excludedFiles
+            .stream()
+            .map(ResourceTransportWrapper::getResource)
+            .collect(Collectors.toList());
+  }
+
+  @Override
+  public void dispatch(IActivityReceiver receiver) {
+    receiver.receive(this);
+  }
+
+  @Override
+  public int hashCode() {
+    final int prime = 31;
+    int result = super.hashCode();
+    result = prime * result + round;
+    result = prime * result + Objects.hashCode(target);
+    result = prime * result + Objects.hashCode(entries);
+    result = prime * result + Objects.hashCode(excludedFiles);
+    return result;
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) return true;
+    if (!super.equals(obj)) return false;
+    if (!(obj instanceof FolderChecksumActivity)) return false;
+
+    FolderChecksumActivity other = (FolderChecksumActivity) obj;
+
+    if (this.round != other.round) return false;
+    if (!Objects.equals(this.target, other.target)) return false;
+    if (!Objects.equals(this.entries, other.entries)) return false;
+    if (!Objects.equals(this.excludedFiles, other.excludedFiles)) return false;
+
+    return true;
+  }
+
+  @Override
+  public String toString() {
+    return "FolderChecksumActivity(container: "
+        + getResource()
+        + ", target: "
+        + target
+        + ", round: "
+        + round
+        + ", entries: "
+        + getEntries().size()
+        + ", excluded: "
+        + getExcludedFiles().size()
+        + ")";
+  }
+
+  /** The checksum of a single child of a container. */
+  @XStreamAlias("fce")
+  public static final class Entry {
+
+    @XStreamAsAttribute private final String name;
+
+    @XStreamAsAttribute private final boolean folder;
+
+    @XStreamAsAttribute private final long checksum;
+
+    /**
+     * Creates a new entry.
+     *
+     * @param name the name of the child
+     * @param folder <code>true</code> if the child is a folder, <code>false</code> if it is a file
+     * @param checksum the checksum of the child
+     */
+    public Entry(String name, boolean folder, long checksum) {
+      this.name = Objects.requireNonNull(name, "name must not be null");
+      this.folder = folder;
+      this.checksum = checksum;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public boolean isFolder() {
+      return folder;
+    }
+
+    public long getChecksum() {
+      return checksum;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(name, folder, checksum);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) return true;
+      if (!(obj instanceof Entry)) return false;
+
+      Entry other = (Entry) obj;
+
+      return name.equals(other.name) && folder == other.folder && checksum == other.checksum;
+    }
+
+    @Override
+    public String toString() {
+      return (folder ? "D:" : "F:") + name + "[" + Long.toHexString(checksum) + "]";
+    }
+  }
+}
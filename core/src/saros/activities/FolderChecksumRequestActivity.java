@@ -0,0 +1,95 @@
+package saros.activities;
+
+import com.thoughtworks.xstream.annotations.XStreamAlias;
+import com.thoughtworks.xstream.annotations.XStreamAsAttribute;
+import java.util.Objects;
+import saros.filesystem.IContainer;
+import saros.session.User;
+
+/**
+ * A FolderChecksumRequestActivity is sent by a client to the host to request the {@link
+ * FolderChecksumActivity checksums} of the children of a container whose checksum differs from the
+ * one calculated locally.
+ */
+@XStreamAlias("folderChecksumRequestActivity")
+public class FolderChecksumRequestActivity extends AbstractResourceActivity<IContainer>
+    implements ITargetedActivity {
+
+  @XStreamAsAttribute private final User target;
+
+  @XStreamAsAttribute private final int round;
+
+  /**
+   * Creates a new FolderChecksumRequestActivity.
+   *
+   * @param source the user that created this activity
+   * @param target the user that should receive this activity, i.e. the host
+   * @param container the container whose checksums are requested
+   * @param round the audit round the request refers to
+   */
+  public FolderChecksumRequestActivity(User source, User target, IContainer container, int round) {
+    super(source, container);
+
+    if (target == null) throw new IllegalArgumentException("target must not be null");
+
+    if (container == null) throw new IllegalArgumentException("container must not be null");
+
+    this.target = target;
+    this.round = round;
+  }
+
+  @Override
+  public boolean isValid() {
+    return super.isValid() && (target != null) && (getResource() != null);
+  }
+
+  @Override
+  public User getTarget() {
+    return target;
+  }
+
+  /**
+   * Returns the audit round the request refers to.
+   *
+   * @return the audit round
+   */
+  public int getRound() {
+    return round;
+  }
+
+  @Override
+  public void dispatch(IActivityReceiver receiver) {
+    receiver.receive(this);
+  }
+
+  @Override
+  public int hashCode() {
+    final int prime = 31;
+    int result = super.hashCode();
+    result = prime * result + round;
+    result = prime * result + Objects.hashCode(target);
+    return result;
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) return true;
+    if (!super.equals(obj)) return false;
+    if (!(obj instanceof FolderChecksumRequestActivity)) return false;
+
+    FolderChecksumRequestActivity other = (FolderChecksumRequestActivity) obj;
+
+    return this.round == other.round && Objects.equals(this.target, other.target);
+  }
+
+  @Override
+  public String toString() {
+    return "FolderChecksumRequestActivity(container: "
+        + getResource()
+        + ", target: "
+        + target
+        + ", round: "
+        + round
+        + ")";
+  }
+}
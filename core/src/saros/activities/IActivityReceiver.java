@@ -43,6 +43,14 @@ public interface IActivityReceiver {
     /*NOP*/
   }
 
+  default void receive(FolderChecksumActivity folderChecksumActivity) {
+    /*NOP*/
+  }
+
+  default void receive(FolderChecksumRequestActivity folderChecksumRequestActivity) {
+    /*NOP*/
+  }
+
   default void receive(FolderCreatedActivity folderCreatedActivity) {
     /*NOP*/
   }
@@ -2,8 +2,12 @@ package saros.activities;
 
 import com.thoughtworks.xstream.annotations.XStreamAlias;
 import com.thoughtworks.xstream.annotations.XStreamAsAttribute;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
+import saros.filesystem.IResource;
 import saros.session.User;
+import saros.synchronize.BlockingScope;
 
 /**
  * @JTourBusStop 3, StopManager:
@@ -41,6 +45,17 @@ public class StopActivity extends AbstractActivity implements ITargetedActivity
   @XStreamAsAttribute protected final String stopActivityID;
 
   /**
+   * The reference points and files the lock is restricted to or <code>null</code> if the complete
+   * session is locked. Resources that are not shared with the recipient are unmarshalled as <code>
+   * null</code>. The scope is not part of the equality check, as an acknowledgment can only contain
+   * the resources that are known to the acknowledging user.
+   */
+  @XStreamAlias("scope")
+  protected final List<ResourceTransportWrapper<IResource>> scope;
+
+  /**
+   * Creates a StopActivity that locks / unlocks the complete session.
+   *
    * @param source
    * @param initiator The user who requested the lock/unlock (in most cases this should be the host)
    * @param affected The user to be locked/unlocked by this Activity
@@ -51,8 +66,31 @@ public class StopActivity extends AbstractActivity implements ITargetedActivity
   public StopActivity(
       User source, User initiator, User affected, Type type, State state, String stopActivityID) {
 
+    this(source, initiator, affected, type, state, stopActivityID, BlockingScope.SESSION);
+  }
+
+  /**
+   * @param source
+   * @param initiator The user who requested the lock/unlock (in most cases this should be the host)
+   * @param affected The user to be locked/unlocked by this Activity
+   * @param type
+   * @param state
+   * @param stopActivityID
+   * @param scope the part of the session that is locked / unlocked
+   */
+  public StopActivity(
+      User source,
+      User initiator,
+      User affected,
+      Type type,
+      State state,
+      String stopActivityID,
+      BlockingScope scope) {
+
     super(source);
 
+    if (scope == null) throw new IllegalArgumentException("scope must not be null");
+
     if (initiator == null) throw new IllegalArgumentException("initiator must not be null");
     if (affected == null) throw new IllegalArgumentException("affected must not be null");
 
@@ -61,6 +99,15 @@ public class StopActivity extends AbstractActivity implements ITargetedActivity
     this.state = state;
     this.type = type;
     this.stopActivityID = stopActivityID;
+
+    if (scope.isSession()) {
+      this.scope = null;
+    } else {
+      this.scope = new ArrayList<>(scope.getResources().size());
+
+      for (IResource resource : scope.getResources())
+        this.scope.add(new ResourceTransportWrapper<>(resource));
+    }
   }
 
   @Override
@@ -139,7 +186,25 @@ public class StopActivity extends AbstractActivity implements ITargetedActivity
   }
 
   public StopActivity generateAcknowledgment(User source) {
-    return new StopActivity(source, initiator, affected, type, State.ACKNOWLEDGED, stopActivityID);
+    return new StopActivity(
+        source, initiator, affected, type, State.ACKNOWLEDGED, stopActivityID, getScope());
+  }
+
+  /**
+   * Returns the part of the session that is locked / unlocked. Reference points and files that are
+   * not shared with the local user are not contained in the returned scope.
+   *
+   * @return the scope of this activity
+   */
+  public BlockingScope getScope() {
+    if (scope == null) return BlockingScope.SESSION;
+
+    List<IResource> resources = new ArrayList<>(scope.size());
+
+    for (ResourceTransportWrapper<IResource> wrapper : scope)
+      if (wrapper != null) resources.add(wrapper.getResource());
+
+    return BlockingScope.of(resources);
   }
 
   public Type getType() {
@@ -162,6 +227,8 @@ public class StopActivity extends AbstractActivity implements ITargetedActivity
         + initiator
         + ", affected user: "
         + affected
+        + ", scope: "
+        + getScope()
         + ", src: "
         + getSource()
         + ")";
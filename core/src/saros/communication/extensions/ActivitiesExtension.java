@@ -11,6 +11,8 @@ import saros.activities.ChecksumErrorActivity;
 import saros.activities.DeletionAcknowledgmentActivity;
 import saros.activities.EditorActivity;
 import saros.activities.FileActivity;
+import saros.activities.FolderChecksumActivity;
+import saros.activities.FolderChecksumRequestActivity;
 import saros.activities.FolderCreatedActivity;
 import saros.activities.FolderDeletedActivity;
 import saros.activities.IActivity;
@@ -33,6 +35,7 @@ import saros.concurrent.jupiter.internal.text.SplitOperation;
 import saros.concurrent.jupiter.internal.text.TimestampOperation;
 import saros.net.xmpp.JID;
 import saros.session.User;
+import saros.session.trace.ActivityTrace;
 
 @XStreamAlias("ADOS")
 public class ActivitiesExtension extends SarosSessionPacketExtension {
@@ -45,6 +48,8 @@ public class ActivitiesExtension extends SarosSessionPacketExtension {
   @XStreamAsAttribute
   private final int sequenceNumber;
 
+  private final ActivityTrace trace;
+
   /**
    * Creates an object that can be transformed into a {@linkplain PacketExtension} using the
    * provider of this extension. All object parameters <b>must not be <code>null</code></b>. @Note
@@ -56,9 +61,26 @@ public class ActivitiesExtension extends SarosSessionPacketExtension {
    * @param sequenceNumber the sequence number of the <b>first</b> {@linkplain IActivity activity}
    */
   public ActivitiesExtension(String sessionID, List<IActivity> activities, int sequenceNumber) {
+    this(sessionID, activities, sequenceNumber, null);
+  }
+
+  /**
+   * Creates an object that can be transformed into a {@linkplain PacketExtension} using the
+   * provider of this extension. @Note This constructor does not check for correctness of the input
+   * parameters.
+   *
+   * @param sessionID the session id the {@linkplain IActivity activities} belong to
+   * @param activities the {@linkplain IActivity activities} that should be included in this
+   *     extension
+   * @param sequenceNumber the sequence number of the <b>first</b> {@linkplain IActivity activity}
+   * @param trace the {@linkplain ActivityTrace trace} of the activities, may be <code>null</code>
+   */
+  public ActivitiesExtension(
+      String sessionID, List<IActivity> activities, int sequenceNumber, ActivityTrace trace) {
     super(sessionID);
     this.activities = activities;
     this.sequenceNumber = sequenceNumber;
+    this.trace = trace;
   }
 
   /**
@@ -83,6 +105,15 @@ public class ActivitiesExtension extends SarosSessionPacketExtension {
     return sequenceNumber;
   }
 
+  /**
+   * Returns the {@linkplain ActivityTrace trace} of the activities included in this extension.
+   *
+   * @return the trace or <code>null</code> if the activities are not traced
+   */
+  public ActivityTrace getTrace() {
+    return trace;
+  }
+
   /**
    * @JTourBusStop 4, Creating a new Activity type, XStream registration:
    *
@@ -120,6 +151,10 @@ public class ActivitiesExtension extends SarosSessionPacketExtension {
           // Resource transport wrapper
           ResourceTransportWrapper.class,
 
+          // Tracing
+          ActivityTrace.class,
+          ActivityTrace.Stamp.class,
+
           // Activities
           ChangeColorActivity.class,
           ChecksumActivity.class,
@@ -127,6 +162,9 @@ public class ActivitiesExtension extends SarosSessionPacketExtension {
           DeletionAcknowledgmentActivity.class,
           EditorActivity.class,
           FileActivity.class,
+          FolderChecksumActivity.class,
+          FolderChecksumActivity.Entry.class,
+          FolderChecksumRequestActivity.class,
           FolderCreatedActivity.class,
           FolderDeletedActivity.class,
           JupiterActivity.class,
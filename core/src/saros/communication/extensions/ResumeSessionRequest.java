@@ -0,0 +1,38 @@
+package saros.communication.extensions;
+
+import com.thoughtworks.xstream.annotations.XStreamAlias;
+import com.thoughtworks.xstream.annotations.XStreamAsAttribute;
+
+/**
+ * Sent by a client that lost its connection to the host to resume the exchange of activities
+ * without negotiating the session again.
+ */
+@XStreamAlias(/* ResumeSessionRequest */ "RSRQ")
+public class ResumeSessionRequest extends SarosSessionPacketExtension {
+
+  public static final Provider PROVIDER = new Provider();
+
+  @XStreamAsAttribute
+  private final int nextSequenceNumber;
+
+  /**
+   * @param sessionID the ID of the session
+   * @param nextSequenceNumber the sequence number of the next activity the client expects from the
+   *     host
+   */
+  public ResumeSessionRequest(String sessionID, int nextSequenceNumber) {
+    super(sessionID);
+    this.nextSequenceNumber = nextSequenceNumber;
+  }
+
+  public int getNextSequenceNumber() {
+    return nextSequenceNumber;
+  }
+
+  public static class Provider extends SarosSessionPacketExtension.Provider<ResumeSessionRequest> {
+
+    private Provider() {
+      super("rsrq", ResumeSessionRequest.class);
+    }
+  }
+}
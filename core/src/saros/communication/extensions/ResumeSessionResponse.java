@@ -0,0 +1,45 @@
+package saros.communication.extensions;
+
+import com.thoughtworks.xstream.annotations.XStreamAlias;
+import com.thoughtworks.xstream.annotations.XStreamAsAttribute;
+
+/** Answer of the host to a {@link ResumeSessionRequest}. */
+@XStreamAlias(/* ResumeSessionResponse */ "RSRP")
+public class ResumeSessionResponse extends SarosSessionPacketExtension {
+
+  public static final Provider PROVIDER = new Provider();
+
+  @XStreamAsAttribute
+  private final boolean accepted;
+
+  @XStreamAsAttribute
+  private final int nextSequenceNumber;
+
+  /**
+   * @param sessionID the ID of the session
+   * @param accepted whether the host resumed the client, if not the client has to leave the
+   *     session
+   * @param nextSequenceNumber the sequence number of the next activity the host expects from the
+   *     client
+   */
+  public ResumeSessionResponse(String sessionID, boolean accepted, int nextSequenceNumber) {
+    super(sessionID);
+    this.accepted = accepted;
+    this.nextSequenceNumber = nextSequenceNumber;
+  }
+
+  public boolean isAccepted() {
+    return accepted;
+  }
+
+  public int getNextSequenceNumber() {
+    return nextSequenceNumber;
+  }
+
+  public static class Provider extends SarosSessionPacketExtension.Provider<ResumeSessionResponse> {
+
+    private Provider() {
+      super("rsrp", ResumeSessionResponse.class);
+    }
+  }
+}
@@ -1,7 +1,15 @@
 package saros.communication.extensions;
 
+import com.thoughtworks.xstream.XStream;
 import com.thoughtworks.xstream.annotations.XStreamAlias;
 import com.thoughtworks.xstream.annotations.XStreamAsAttribute;
+import com.thoughtworks.xstream.converters.MarshallingContext;
+import com.thoughtworks.xstream.converters.UnmarshallingContext;
+import com.thoughtworks.xstream.converters.reflection.ReflectionConverter;
+import com.thoughtworks.xstream.converters.reflection.ReflectionProvider;
+import com.thoughtworks.xstream.io.HierarchicalStreamReader;
+import com.thoughtworks.xstream.io.HierarchicalStreamWriter;
+import com.thoughtworks.xstream.mapper.Mapper;
 import org.jivesoftware.smack.filter.AndFilter;
 import org.jivesoftware.smack.filter.PacketFilter;
 import org.jivesoftware.smack.packet.Packet;
@@ -14,7 +22,9 @@ import org.jivesoftware.smack.packet.Packet;
  */
 public abstract class SarosSessionPacketExtension extends SarosPacketExtension {
 
-  @XStreamAlias("sid")
+  private static final String SESSION_ID_ATTRIBUTE = "sid";
+
+  @XStreamAlias(SESSION_ID_ATTRIBUTE)
   @XStreamAsAttribute
   protected final String sessionID;
 
@@ -26,6 +36,11 @@ public abstract class SarosSessionPacketExtension extends SarosPacketExtension {
     return sessionID;
   }
 
+  /**
+   * Provider for session packet extensions. The session ID of an extension is the scope of its
+   * conversion, so converters that depend on a session are registered for the ID of their session
+   * and several sessions can use the provider at the same time.
+   */
   public abstract static class Provider<T extends SarosSessionPacketExtension>
       extends SarosPacketExtension.Provider<T> {
 
@@ -33,6 +48,12 @@ public abstract class SarosSessionPacketExtension extends SarosPacketExtension {
       super(elementName, classes);
     }
 
+    @Override
+    protected void configure(XStream xstream) {
+      xstream.registerConverter(
+          new SessionScopeConverter(xstream.getMapper(), xstream.getReflectionProvider()));
+    }
+
     public PacketFilter getPacketFilter(final String sessionID) {
 
       return new AndFilter(
@@ -48,5 +69,40 @@ public abstract class SarosSessionPacketExtension extends SarosPacketExtension {
             }
           });
     }
+
+    /**
+     * Converts session packet extensions like the default reflection converter, but uses the
+     * session ID of the extension as the scope while its fields are converted.
+     */
+    private static class SessionScopeConverter extends ReflectionConverter {
+
+      private SessionScopeConverter(Mapper mapper, ReflectionProvider reflectionProvider) {
+        super(mapper, reflectionProvider);
+      }
+
+      @SuppressWarnings("rawtypes")
+      @Override
+      public boolean canConvert(Class type) {
+        return type != null && SarosSessionPacketExtension.class.isAssignableFrom(type);
+      }
+
+      @Override
+      public void marshal(
+          Object original, HierarchicalStreamWriter writer, MarshallingContext context) {
+
+        withScope(
+            ((SarosSessionPacketExtension) original).getSessionID(),
+            () -> {
+              super.marshal(original, writer, context);
+              return null;
+            });
+      }
+
+      @Override
+      public Object unmarshal(HierarchicalStreamReader reader, UnmarshallingContext context) {
+        return withScope(
+            reader.getAttribute(SESSION_ID_ATTRIBUTE), () -> super.unmarshal(reader, context));
+      }
+    }
   }
 }
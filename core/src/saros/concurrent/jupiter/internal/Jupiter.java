@@ -348,6 +348,27 @@ public class Jupiter implements Algorithm {
     return this.isClientSide;
   }
 
+  /**
+   * Returns whether this algorithm has sent operations that are not acknowledged by the other site
+   * yet. If not, the whole state of the algorithm is described by its {@link #getTimestamp()
+   * timestamp}.
+   *
+   * @return <code>true</code> if there are unacknowledged operations, <code>false</code> otherwise
+   */
+  public synchronized boolean hasUnacknowledgedOperations() {
+    return !ackJupiterActivityList.isEmpty();
+  }
+
+  /**
+   * Returns the number of sent operations that are not acknowledged by the other site yet.
+   * Received operations have to be transformed against these operations.
+   *
+   * @return the number of unacknowledged operations
+   */
+  public synchronized int getUnacknowledgedOperationCount() {
+    return ackJupiterActivityList.size();
+  }
+
   @Override
   public void updateVectorTime(Timestamp timestamp) throws TransformationException {
     if (this.ackJupiterActivityList.size() > 0) {
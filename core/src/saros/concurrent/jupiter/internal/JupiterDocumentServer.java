@@ -1,8 +1,10 @@
 package saros.concurrent.jupiter.internal;
 
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 import org.apache.log4j.Logger;
 import saros.activities.ChecksumActivity;
 import saros.activities.JupiterActivity;
@@ -10,11 +12,16 @@ import saros.concurrent.jupiter.Operation;
 import saros.concurrent.jupiter.Timestamp;
 import saros.concurrent.jupiter.TransformationException;
 import saros.filesystem.IFile;
+import saros.monitoring.JfrSupport;
+import saros.monitoring.jfr.JupiterTransformEvent;
 import saros.session.User;
 
 /**
  * The JupiterDocumentServer is the host side component managing all server Jupiter instances.
  *
+ * <p>All methods are synchronized on the instance, so a JupiterDocumentServer can be used as the
+ * lock of its document.
+ *
  * <p>TODO [CO] Document and review this class
  */
 public class JupiterDocumentServer {
@@ -38,13 +45,72 @@ public class JupiterDocumentServer {
     if (!proxies.containsKey(user)) proxies.put(user, new Jupiter(false));
   }
 
+  /**
+   * Adds a proxy client whose Jupiter instance continues at the given vector time. This is only
+   * valid for vector times returned by {@link #getVectorTimes()}.
+   *
+   * @param user the user to add the proxy client for
+   * @param vectorTime the vector time to continue at
+   * @throws TransformationException if the vector time could not be set
+   */
+  public synchronized void addProxyClient(final User user, final Timestamp vectorTime)
+      throws TransformationException {
+
+    final Jupiter proxy = new Jupiter(false);
+    proxy.updateVectorTime(vectorTime);
+    proxies.put(user, proxy);
+  }
+
   public synchronized boolean removeProxyClient(final User user) {
     return proxies.remove(user) != null;
   }
 
-  // FIXME why is this not synchronized ?!
-  public Map<User, JupiterActivity> transformJupiterActivity(final JupiterActivity activity)
-      throws TransformationException {
+  /**
+   * Returns the users for which proxy clients are registered.
+   *
+   * @return the users with proxy clients
+   */
+  public synchronized Set<User> getProxyClients() {
+    return new HashSet<User>(proxies.keySet());
+  }
+
+  /**
+   * Returns the number of operations that are not acknowledged by the clients yet, summed up over
+   * all proxy clients. This is the depth of the history incoming operations are transformed
+   * against.
+   *
+   * @return the number of unacknowledged operations
+   */
+  public synchronized int getUnacknowledgedOperationCount() {
+    int count = 0;
+
+    for (final Jupiter proxy : proxies.values()) count += proxy.getUnacknowledgedOperationCount();
+
+    return count;
+  }
+
+  /**
+   * Returns the vector times of all proxy clients, provided that none of them has unacknowledged
+   * operations. In this case, the proxy clients can be completely restored from the vector times
+   * with {@link #addProxyClient(User, Timestamp)}.
+   *
+   * @return the vector times of all proxy clients or <code>null</code> if at least one proxy client
+   *     has unacknowledged operations
+   */
+  public synchronized Map<User, Timestamp> getVectorTimes() {
+    final Map<User, Timestamp> result = new HashMap<User, Timestamp>();
+
+    for (final Entry<User, Jupiter> entry : proxies.entrySet()) {
+      if (entry.getValue().hasUnacknowledgedOperations()) return null;
+
+      result.put(entry.getKey(), entry.getValue().getTimestamp());
+    }
+
+    return result;
+  }
+
+  public synchronized Map<User, JupiterActivity> transformJupiterActivity(
+      final JupiterActivity activity) throws TransformationException {
 
     final Map<User, JupiterActivity> result = new HashMap<User, JupiterActivity>();
 
@@ -62,6 +128,10 @@ public class JupiterDocumentServer {
     if (sourceProxy == null)
       throw new IllegalStateException("no proxy client registered for user: " + source);
 
+    final Object event = JfrSupport.ENABLED ? JupiterTransformEvent.start() : null;
+
+    final int historyDepth = event != null ? sourceProxy.getUnacknowledgedOperationCount() : 0;
+
     final Operation op = sourceProxy.receiveJupiterActivity(activity);
 
     // 2. Generate outgoing JupiterActivities for all other clients and the
@@ -80,6 +150,9 @@ public class JupiterDocumentServer {
       result.put(user, transformed);
     }
 
+    if (event != null)
+      JupiterTransformEvent.finish(event, file, source, historyDepth, result.size());
+
     return result;
   }
 
@@ -105,7 +178,7 @@ public class JupiterDocumentServer {
     if (removeProxyClient(user)) addProxyClient(user);
   }
 
-  public Map<User, ChecksumActivity> withTimestamp(final ChecksumActivity activity)
+  public synchronized Map<User, ChecksumActivity> withTimestamp(final ChecksumActivity activity)
       throws TransformationException {
 
     final Map<User, ChecksumActivity> result = new HashMap<User, ChecksumActivity>();
@@ -53,7 +53,7 @@ public class ConcurrentDocumentClient implements Startable {
   /**
    * This is called when an activity has been caused by the local user This method checks if an
    * activity has to be transformed into a Jupiter-specific-activity and transforms it if
-   * needed. @GUI Must be called on the GUI Thread to ensure proper synchronization
+   * needed. Must be called by the {@link DocumentClientExecutor} to ensure proper synchronization
    *
    * @host and @client This is called whenever activities are created locally both on the client and
    *     on the host
@@ -62,9 +62,6 @@ public class ConcurrentDocumentClient implements Startable {
    */
   public IActivity transformToJupiter(IActivity activity) {
 
-    // assert isGUI() :
-    // "CDC.transformOutgoing must be called on the SWT Thread";
-
     if (activity instanceof TextEditActivity) {
       // Transform textEdit-into jupiterActivities
       TextEditActivity textEdit = (TextEditActivity) activity;
@@ -91,7 +88,8 @@ public class ConcurrentDocumentClient implements Startable {
    * This method is called when activities received over the network should be executed locally.
    *
    * <p>This method will transform them back from Jupiter-specific activities to locally executable
-   * activities. @GUI Must be called on the GUI Thread to ensure proper synchronization
+   * activities. Must be called by the {@link DocumentClientExecutor} to ensure proper
+   * synchronization.
    *
    * <p>Drops activities that are reported as filtered out by {@link
    * ResourceActivityFilter#isFiltered(IActivity)}.
@@ -103,9 +101,6 @@ public class ConcurrentDocumentClient implements Startable {
    */
   public List<IActivity> transformFromJupiter(IActivity activity) {
 
-    // assert isGUI() :
-    // "CDC.transformIncoming must be called on the SWT Thread";
-
     List<IActivity> activities = new ArrayList<IActivity>();
 
     try {
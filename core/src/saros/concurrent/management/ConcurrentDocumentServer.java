@@ -12,6 +12,7 @@ import saros.activities.JupiterActivity;
 import saros.activities.QueueItem;
 import saros.concurrent.jupiter.TransformationException;
 import saros.filesystem.IFile;
+import saros.monitoring.metrics.MetricRegistry;
 import saros.repackaged.picocontainer.Startable;
 import saros.session.ISarosSession;
 import saros.session.ISessionListener;
@@ -30,10 +31,14 @@ public class ConcurrentDocumentServer implements Startable {
 
   private static Logger log = Logger.getLogger(ConcurrentDocumentServer.class);
 
+  private static final String DOCUMENTS_GAUGE = "concurrent.jupiter.documents";
+
   private final ISarosSession sarosSession;
 
   private final JupiterServer server;
 
+  private final MetricRegistry metrics;
+
   private final ResourceActivityFilter resourceActivityFilter;
 
   /** {@link ISessionListener} for updating Jupiter documents on the host. */
@@ -51,9 +56,10 @@ public class ConcurrentDocumentServer implements Startable {
         }
       };
 
-  public ConcurrentDocumentServer(final ISarosSession sarosSession) {
+  public ConcurrentDocumentServer(final ISarosSession sarosSession, final MetricRegistry metrics) {
     this.sarosSession = sarosSession;
-    this.server = new JupiterServer(sarosSession);
+    this.metrics = metrics;
+    this.server = new JupiterServer(sarosSession, metrics);
 
     Consumer<IFile> deletedFileHandler =
         file -> {
@@ -68,14 +74,25 @@ public class ConcurrentDocumentServer implements Startable {
   public void start() {
     sarosSession.addListener(sessionListener);
     resourceActivityFilter.initialize();
+    metrics.gauge(DOCUMENTS_GAUGE, server::getDocumentCount);
   }
 
   @Override
   public void stop() {
+    metrics.remove(DOCUMENTS_GAUGE);
     sarosSession.removeListener(sessionListener);
     resourceActivityFilter.dispose();
   }
 
+  /**
+   * Returns the statistics of all documents that are managed by this server.
+   *
+   * @return the statistics in no particular order
+   */
+  public List<DocumentStatistics> getDocumentStatistics() {
+    return server.getDocumentStatistics();
+  }
+
   /**
    * Calls {@link ResourceActivityFilter#handleFileDeletion(IActivity)} and {@link
    * ResourceActivityFilter#handleFileCreation(IActivity)} with the given activity.
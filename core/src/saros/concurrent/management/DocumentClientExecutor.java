@@ -0,0 +1,134 @@
+package saros.concurrent.management;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.apache.log4j.Logger;
+import saros.repackaged.picocontainer.Startable;
+import saros.util.NamedThreadFactory;
+import saros.util.ThreadUtils;
+
+/**
+ * The thread the {@link ConcurrentDocumentClient} of the session is confined to. Local activities
+ * are handed off to this thread without waiting, so the thread producing them is never blocked.
+ *
+ * <p>The order in which the Jupiter algorithm sees local and remote operations must match the
+ * order in which they were applied to the documents. As both are applied on the UI thread, the UI
+ * thread waits for the transformation of remote activities with {@link #call(Supplier)}. This
+ * returns after all local activities handed off before were transformed.
+ *
+ * <p>Tasks submitted while this executor is not running, i.e. before it was started or after it
+ * was stopped, are executed by the calling thread.
+ */
+public final class DocumentClientExecutor implements Startable {
+
+  private static final Logger log = Logger.getLogger(DocumentClientExecutor.class);
+
+  /** join timeout when stopping this component */
+  private static final long TIMEOUT = 10000;
+
+  private volatile ExecutorService executor;
+
+  private volatile Thread executorThread;
+
+  @Override
+  public void start() {
+    final ExecutorService newExecutor =
+        Executors.newSingleThreadExecutor(new NamedThreadFactory("DocumentClient", false));
+
+    newExecutor.execute(() -> executorThread = Thread.currentThread());
+
+    executor = newExecutor;
+  }
+
+  @Override
+  public void stop() {
+    final ExecutorService currentExecutor = executor;
+
+    executor = null;
+
+    if (currentExecutor == null) return;
+
+    currentExecutor.shutdown();
+
+    try {
+      if (!currentExecutor.awaitTermination(TIMEOUT, TimeUnit.MILLISECONDS))
+        log.error("document client executor is still running");
+    } catch (InterruptedException e) {
+      log.warn("interrupted while waiting for the document client executor to terminate");
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /** Returns whether the current thread is the thread of this executor. */
+  public boolean isExecutorThread() {
+    return Thread.currentThread() == executorThread;
+  }
+
+  /**
+   * Executes the given task on the thread of this executor without waiting for it. Tasks are
+   * executed in the order they were submitted. If called from the thread of this executor, the
+   * task is executed immediately to preserve the order of nested submissions.
+   *
+   * @param task the task to execute
+   */
+  public void execute(final Runnable task) {
+    final ExecutorService currentExecutor = executor;
+
+    if (currentExecutor == null || isExecutorThread()) {
+      task.run();
+      return;
+    }
+
+    try {
+      currentExecutor.execute(ThreadUtils.wrapSafe(log, task));
+    } catch (RejectedExecutionException e) {
+      task.run();
+    }
+  }
+
+  /**
+   * Executes the given task on the thread of this executor after all previously submitted tasks and
+   * waits for its result. The wait is not interruptible, as the task would still be executed
+   * without the caller noticing, but the interrupted status of the calling thread is preserved.
+   *
+   * @param task the task to execute
+   * @return the result of the task
+   * @throws RuntimeException if the task threw a runtime exception
+   */
+  public <T> T call(final Supplier<T> task) {
+    final ExecutorService currentExecutor = executor;
+
+    if (currentExecutor == null || isExecutorThread()) return task.get();
+
+    final Future<T> future;
+
+    try {
+      future = currentExecutor.submit(task::get);
+    } catch (RejectedExecutionException e) {
+      return task.get();
+    }
+
+    boolean interrupted = false;
+
+    try {
+      while (true) {
+        try {
+          return future.get();
+        } catch (InterruptedException e) {
+          interrupted = true;
+        } catch (ExecutionException e) {
+          if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+
+          throw new IllegalStateException(e.getCause());
+        }
+      }
+    } finally {
+      if (interrupted) Thread.currentThread().interrupt();
+    }
+  }
+}
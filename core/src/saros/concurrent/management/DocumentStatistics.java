@@ -0,0 +1,54 @@
+package saros.concurrent.management;
+
+import saros.filesystem.IFile;
+
+/** The state of the Jupiter server of a single document on the host. */
+public final class DocumentStatistics {
+
+  private final IFile file;
+  private final boolean evicted;
+  private final int historyDepth;
+  private final long transformationCount;
+  private final long transformationTime;
+
+  DocumentStatistics(
+      final IFile file,
+      final boolean evicted,
+      final int historyDepth,
+      final long transformationCount,
+      final long transformationTime) {
+    this.file = file;
+    this.evicted = evicted;
+    this.historyDepth = historyDepth;
+    this.transformationCount = transformationCount;
+    this.transformationTime = transformationTime;
+  }
+
+  /** Returns the document. */
+  public IFile getFile() {
+    return file;
+  }
+
+  /** Returns whether the Jupiter server of the document is currently evicted. */
+  public boolean isEvicted() {
+    return evicted;
+  }
+
+  /**
+   * Returns the number of operations that are not acknowledged by the clients yet. Incoming
+   * operations have to be transformed against all of them.
+   */
+  public int getHistoryDepth() {
+    return historyDepth;
+  }
+
+  /** Returns the number of activities of the document that were transformed. */
+  public long getTransformationCount() {
+    return transformationCount;
+  }
+
+  /** Returns the total time in microseconds it took to transform the activities of the document. */
+  public long getTransformationTime() {
+    return transformationTime;
+  }
+}
@@ -13,7 +13,6 @@ import saros.repackaged.picocontainer.Startable;
 import saros.session.AbstractActivityProducer;
 import saros.session.ISarosSession;
 import saros.session.User;
-import saros.synchronize.UISynchronizer;
 import saros.util.NamedThreadFactory;
 
 /**
@@ -34,18 +33,18 @@ public class HeartbeatDispatcher extends AbstractActivityProducer implements Sta
   private static final Logger log = Logger.getLogger(HeartbeatDispatcher.class);
 
   private final ISarosSession session;
-  private final UISynchronizer uiSynchronizer;
+  private final DocumentClientExecutor documentClientExecutor;
   private final JupiterClient jupiterClient;
 
   private ScheduledThreadPoolExecutor heartbeatScheduledExecutor;
 
   public HeartbeatDispatcher(
       final ISarosSession session,
-      final UISynchronizer uiSynchronizer,
+      final DocumentClientExecutor documentClientExecutor,
       final ConcurrentDocumentClient documentClient) {
 
     this.session = session;
-    this.uiSynchronizer = uiSynchronizer;
+    this.documentClientExecutor = documentClientExecutor;
     this.jupiterClient = documentClient.getJupiterClient();
   }
 
@@ -66,15 +65,13 @@ public class HeartbeatDispatcher extends AbstractActivityProducer implements Sta
      * On the next interval fire changes for the next 10 documents on so on.
      */
 
-    // client documents should only be accessed by the main thread
+    // client documents should only be accessed by the document client executor
     heartbeatScheduledExecutor.scheduleWithFixedDelay(
-        () -> uiSynchronizer.syncExec(this::dispatchHeartbeats), 1, 1, TimeUnit.MINUTES);
+        () -> documentClientExecutor.execute(this::dispatchHeartbeats), 1, 1, TimeUnit.MINUTES);
   }
 
   private void dispatchHeartbeats() {
 
-    assert uiSynchronizer.isUIThread() : "invalid thread access";
-
     final User localUser = session.getLocalUser();
 
     for (Entry<IFile, Jupiter> entry : jupiterClient.getClientDocs().entrySet()) {
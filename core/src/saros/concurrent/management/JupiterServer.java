@@ -1,14 +1,23 @@
 package saros.concurrent.management;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
-import java.util.Set;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.apache.log4j.Logger;
 import saros.activities.ChecksumActivity;
 import saros.activities.JupiterActivity;
+import saros.concurrent.jupiter.Timestamp;
 import saros.concurrent.jupiter.TransformationException;
 import saros.concurrent.jupiter.internal.JupiterDocumentServer;
 import saros.filesystem.IFile;
+import saros.monitoring.metrics.Counter;
+import saros.monitoring.metrics.Histogram;
+import saros.monitoring.metrics.MetricRegistry;
 import saros.session.ISarosSession;
 import saros.session.User;
 
@@ -16,92 +25,327 @@ import saros.session.User;
  * A JupiterServer manages Jupiter server instances for a number of users AND number of files.
  *
  * <p>(in contrast to a JupiterDocumentServer which only handles a single file)
+ *
+ * <p>The documents are kept in a concurrent registry and every document is locked on its own, so
+ * activities for different files can be transformed in parallel. Users joining or leaving the
+ * session are not applied to all documents at once. Instead, every document remembers the version
+ * of the user membership it was last updated to and catches up the next time it is accessed.
+ *
+ * <p>Documents that have not been accessed for {@link #DOCUMENT_EVICTION_TIMEOUT} milliseconds and
+ * whose proxy clients have no unacknowledged operations are evicted. Only the vector times of their
+ * proxy clients are kept, which suffice to restore the document once it is accessed again.
  */
 public class JupiterServer {
 
+  private static final Logger log = Logger.getLogger(JupiterServer.class);
+
+  /** Time in milliseconds after which a document that was not accessed is evicted. */
+  static final long DOCUMENT_EVICTION_TIMEOUT =
+      Long.getLong("saros.concurrent.JUPITER_DOCUMENT_EVICTION_TIMEOUT", 30 * 60 * 1000L);
+
   /**
    * Jupiter server instance documents
    *
    * @host
    */
-  private final HashMap<IFile, JupiterDocumentServer> concurrentDocuments = new HashMap<>();
+  private final Map<IFile, Document> concurrentDocuments = new ConcurrentHashMap<>();
+
+  /**
+   * The current clients and the membership version they joined at. The version is incremented on
+   * every membership change, the join version of a client only if it (re)joined.
+   */
+  private volatile Membership membership = new Membership(0, Collections.emptyMap());
 
-  private final Set<User> currentClients = new HashSet<User>();
+  private volatile long lastEviction = System.currentTimeMillis();
 
   private final ISarosSession sarosSession;
 
-  public JupiterServer(final ISarosSession sarosSession) {
+  private final long evictionTimeout;
+
+  private final Counter transformations;
+
+  private final Histogram transformationTime;
+
+  private final Counter evictions;
+
+  public JupiterServer(final ISarosSession sarosSession, final MetricRegistry metrics) {
+    this(sarosSession, DOCUMENT_EVICTION_TIMEOUT, metrics);
+  }
+
+  JupiterServer(final ISarosSession sarosSession, final long evictionTimeout) {
+    this(sarosSession, evictionTimeout, new MetricRegistry());
+  }
+
+  JupiterServer(
+      final ISarosSession sarosSession, final long evictionTimeout, final MetricRegistry metrics) {
     this.sarosSession = sarosSession;
+    this.evictionTimeout = evictionTimeout;
+    this.transformations = metrics.counter("concurrent.jupiter.transformations");
+    this.transformationTime = metrics.histogram("concurrent.jupiter.transformation_time_us");
+    this.evictions = metrics.counter("concurrent.jupiter.evictions");
   }
 
-  public synchronized void removeFile(final IFile file) {
+  public void removeFile(final IFile file) {
     concurrentDocuments.remove(file);
   }
 
+  /**
+   * Adds the given user to all documents. Adding a user that is already a client keeps its proxy
+   * clients, but adds proxy clients to documents that were created before the user had their
+   * reference point.
+   *
+   * @param user the user to add
+   */
   public synchronized void addUser(final User user) {
-    currentClients.add(user);
+    final Map<User, Long> clients = new HashMap<>(membership.clients);
+    final long version = membership.version + 1;
 
-    for (final JupiterDocumentServer server : concurrentDocuments.values())
-      server.addProxyClient(user);
+    clients.putIfAbsent(user, version);
+    membership = new Membership(version, clients);
   }
 
   public synchronized void removeUser(final User user) {
-    currentClients.remove(user);
+    final Map<User, Long> clients = new HashMap<>(membership.clients);
+
+    clients.remove(user);
+    membership = new Membership(membership.version + 1, clients);
+  }
+
+  public void reset(final IFile file, final User user) {
+    try {
+      execute(
+          file,
+          server -> {
+            server.reset(user);
+            return null;
+          },
+          false);
+    } catch (TransformationException e) {
+      // only thrown when restoring an evicted document, see execute
+      log.error("failed to reset jupiter server for user " + user + " and file " + file, e);
+    }
+  }
+
+  public Map<User, JupiterActivity> transform(final JupiterActivity activity)
+      throws TransformationException {
+
+    final long startTime = System.nanoTime();
+
+    final Map<User, JupiterActivity> result =
+        execute(
+            activity.getResource(), server -> server.transformJupiterActivity(activity), true);
+
+    transformations.increment();
+    transformationTime.record(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startTime));
+
+    return result;
+  }
+
+  public Map<User, ChecksumActivity> withTimestamp(final ChecksumActivity activity)
+      throws TransformationException {
+
+    return execute(activity.getResource(), server -> server.withTimestamp(activity), false);
+  }
+
+  /** Returns the number of documents, including the evicted ones. */
+  public int getDocumentCount() {
+    return concurrentDocuments.size();
+  }
+
+  /** Returns the number of documents that are currently evicted. */
+  int getEvictedDocumentCount() {
+    int count = 0;
+
+    for (final Document document : concurrentDocuments.values()) {
+      synchronized (document) {
+        if (document.server == null) count++;
+      }
+    }
+
+    return count;
+  }
+
+  /**
+   * Returns the statistics of all documents, including the evicted ones. Every document is locked
+   * on its own while its statistics are collected, so this does not block the transformation of
+   * activities for other documents.
+   *
+   * @return the statistics in no particular order
+   */
+  public List<DocumentStatistics> getDocumentStatistics() {
+    final List<DocumentStatistics> statistics = new ArrayList<>(concurrentDocuments.size());
 
-    for (final JupiterDocumentServer server : concurrentDocuments.values()) {
-      server.removeProxyClient(user);
+    for (final Document document : concurrentDocuments.values()) {
+      synchronized (document) {
+        statistics.add(
+            new DocumentStatistics(
+                document.file,
+                document.server == null,
+                document.server == null ? 0 : document.server.getUnacknowledgedOperationCount(),
+                document.transformations,
+                TimeUnit.NANOSECONDS.toMicros(document.transformationTime)));
+      }
     }
+
+    return statistics;
   }
 
   /**
-   * Retrieves the JupiterDocumentServer for a given file. If no JupiterDocumentServer exists for
-   * this file, a new one is created and returned afterwards.
+   * Runs the given operation on the JupiterDocumentServer of the given file while holding the lock
+   * of the document. If no JupiterDocumentServer exists for this file, a new one is created.
    *
+   * @param transformation whether the operation transforms an activity and its time should be
+   *     added to the statistics of the document
    * @host
    */
-  private synchronized JupiterDocumentServer getServer(final IFile file) {
+  private <T> T execute(
+      final IFile file, final DocumentOperation<T> operation, final boolean transformation)
+      throws TransformationException {
+
+    final long now = System.currentTimeMillis();
+
+    final T result;
 
-    JupiterDocumentServer docServer = concurrentDocuments.get(file);
+    final Document document = concurrentDocuments.computeIfAbsent(file, this::createDocument);
 
-    if (docServer == null) {
+    synchronized (document) {
+      if (document.server == null) document.restore();
 
-      docServer = new JupiterDocumentServer(file);
+      document.update(membership);
+      document.lastAccess = now;
 
-      for (final User client : currentClients) {
-        /*
-         * Make sure that we only add clients that already have the
-         * resources in question. Other clients that haven't accepted
-         * the reference point yet will be added later.
-         */
-        if (sarosSession.userHasReferencePoint(client, file.getReferencePoint())) {
-          docServer.addProxyClient(client);
-        }
+      final long startTime = transformation ? System.nanoTime() : 0;
+
+      result = operation.apply(document.server);
+
+      if (transformation) {
+        document.transformations++;
+        document.transformationTime += System.nanoTime() - startTime;
       }
+    }
+
+    if (now - lastEviction >= evictionTimeout / 2) evictIdleDocuments(now);
+
+    return result;
+  }
 
-      docServer.addProxyClient(sarosSession.getHost());
+  private Document createDocument(final IFile file) {
+    final Membership current = membership;
 
-      concurrentDocuments.put(file, docServer);
+    final JupiterDocumentServer docServer = new JupiterDocumentServer(file);
+
+    for (final User client : current.clients.keySet()) {
+      /*
+       * Make sure that we only add clients that already have the
+       * resources in question. Other clients that haven't accepted
+       * the reference point yet will be added later.
+       */
+      if (sarosSession.userHasReferencePoint(client, file.getReferencePoint())) {
+        docServer.addProxyClient(client);
+      }
     }
-    return docServer;
+
+    docServer.addProxyClient(sarosSession.getHost());
+
+    return new Document(file, docServer, current.version);
   }
 
-  public synchronized void reset(final IFile file, final User user) {
-    getServer(file).reset(user);
+  private void evictIdleDocuments(final long now) {
+    lastEviction = now;
+
+    for (final Document document : concurrentDocuments.values()) {
+      synchronized (document) {
+        if (document.server != null && now - document.lastAccess >= evictionTimeout)
+          document.evict();
+      }
+    }
   }
 
-  public synchronized Map<User, JupiterActivity> transform(final JupiterActivity activity)
-      throws TransformationException {
+  private interface DocumentOperation<T> {
+    T apply(JupiterDocumentServer server) throws TransformationException;
+  }
 
-    final JupiterDocumentServer docServer = getServer(activity.getResource());
+  /** An immutable snapshot of the current clients. */
+  private static final class Membership {
+    private final long version;
+    private final Map<User, Long> clients;
 
-    return docServer.transformJupiterActivity(activity);
+    private Membership(final long version, final Map<User, Long> clients) {
+      this.version = version;
+      this.clients = clients;
+    }
   }
 
-  public synchronized Map<User, ChecksumActivity> withTimestamp(final ChecksumActivity activity)
-      throws TransformationException {
+  /** A document entry, all fields are guarded by the entry itself. */
+  private final class Document {
+    private final IFile file;
 
-    final JupiterDocumentServer docServer = getServer(activity.getResource());
+    private JupiterDocumentServer server;
+    private Map<User, Timestamp> evictedVectorTimes;
 
-    return docServer.withTimestamp(activity);
+    private long membershipVersion;
+    private long lastAccess;
+
+    private long transformations;
+    private long transformationTime;
+
+    private Document(
+        final IFile file, final JupiterDocumentServer server, final long membershipVersion) {
+      this.file = file;
+      this.server = server;
+      this.membershipVersion = membershipVersion;
+      this.lastAccess = System.currentTimeMillis();
+    }
+
+    /** Applies all membership changes since the last update to the document. */
+    private void update(final Membership current) {
+      if (membershipVersion == current.version) return;
+
+      /*
+       * Users that (re)joined since the last update start with a fresh
+       * proxy, like they would have if the join had been applied to all
+       * documents at once. The proxies of all other users are kept, they
+       * are only added if they are missing.
+       */
+      for (final Entry<User, Long> client : current.clients.entrySet()) {
+        if (client.getValue() > membershipVersion) server.removeProxyClient(client.getKey());
+
+        server.addProxyClient(client.getKey());
+      }
+
+      final User host = sarosSession.getHost();
+
+      for (final User user : server.getProxyClients()) {
+        if (!user.equals(host) && !current.clients.containsKey(user))
+          server.removeProxyClient(user);
+      }
+
+      membershipVersion = current.version;
+    }
+
+    private void evict() {
+      final Map<User, Timestamp> vectorTimes = server.getVectorTimes();
+
+      // there are operations in flight, try again later
+      if (vectorTimes == null) return;
+
+      log.debug("evicting idle jupiter server for " + file);
+
+      evictedVectorTimes = vectorTimes;
+      server = null;
+      evictions.increment();
+    }
+
+    private void restore() throws TransformationException {
+      log.debug("restoring evicted jupiter server for " + file);
+
+      final JupiterDocumentServer restored = new JupiterDocumentServer(file);
+
+      for (final Entry<User, Timestamp> entry : evictedVectorTimes.entrySet())
+        restored.addProxyClient(entry.getKey(), entry.getValue());
+
+      server = restored;
+      evictedVectorTimes = null;
+    }
   }
 }
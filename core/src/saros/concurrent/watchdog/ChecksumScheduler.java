@@ -0,0 +1,274 @@
+package saros.concurrent.watchdog;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import saros.filesystem.IFile;
+import saros.session.User;
+
+/**
+ * Decides when the checksum of an open document has to be calculated and broadcast by the {@link
+ * ConsistencyWatchdogServer}.
+ *
+ * <ul>
+ *   <li>A document is checked once its edits have settled, i.e. no edit happened for the settle
+ *       delay. During continuous editing, a document is checked at least every minimum interval.
+ *   <li>The check interval of an idle document doubles with every check up to the maximum
+ *       interval.
+ *   <li>A checksum is not broadcast again if neither the checksum nor its recipients changed since
+ *       the last broadcast, unless a recipient reported an inconsistency in the meantime or the
+ *       maximum interval is reached.
+ *   <li>Every recipient has a token bucket limiting the number of checksums it receives. A
+ *       broadcast that would exceed the budget of a recipient is deferred to the next tick.
+ * </ul>
+ *
+ * <p>This class is not thread safe except for the counter getters.
+ */
+class ChecksumScheduler {
+
+  /** The decision made for a due document. */
+  enum Decision {
+    /** The checksum has to be broadcast. */
+    SEND,
+    /** The checksum did not change and does not have to be broadcast. */
+    SKIP,
+    /** The checksum has to be broadcast, but the budget of at least one recipient is exhausted. */
+    DEFER
+  }
+
+  private static final Comparator<Schedule> BY_NEXT_CHECK =
+      Comparator.comparingLong(schedule -> schedule.nextCheck);
+
+  private final long settleDelay;
+  private final long minInterval;
+  private final long maxInterval;
+  private final double peerRate;
+  private final double peerBurst;
+
+  private final Map<IFile, Schedule> schedules = new HashMap<>();
+  private final Map<User, Budget> budgets = new HashMap<>();
+
+  private final AtomicLong checked = new AtomicLong();
+  private final AtomicLong sent = new AtomicLong();
+  private final AtomicLong skipped = new AtomicLong();
+  private final AtomicLong deferred = new AtomicLong();
+
+  /**
+   * Creates a new scheduler.
+   *
+   * @param settleDelay time in milliseconds without edits after which an edited document is checked
+   * @param minInterval the minimum check interval in milliseconds
+   * @param maxInterval the maximum check interval in milliseconds
+   * @param peerRate the number of checksums per second every recipient may receive
+   * @param peerBurst the number of checksums every recipient may receive at once
+   */
+  ChecksumScheduler(
+      long settleDelay, long minInterval, long maxInterval, double peerRate, double peerBurst) {
+
+    this.settleDelay = settleDelay;
+    this.minInterval = minInterval;
+    this.maxInterval = Math.max(minInterval, maxInterval);
+    this.peerRate = peerRate;
+    this.peerBurst = Math.max(1, peerBurst);
+  }
+
+  /**
+   * Updates the set of open documents and returns the documents that are due for a check, most
+   * overdue first. Documents that were not open before are due immediately.
+   *
+   * @param openFiles the files of all currently open documents
+   * @param now the current time in milliseconds
+   * @return the files of the documents that have to be checked
+   */
+  List<IFile> getDueFiles(Set<IFile> openFiles, long now) {
+    schedules.keySet().retainAll(openFiles);
+
+    for (IFile file : openFiles) schedules.computeIfAbsent(file, f -> new Schedule(f, now));
+
+    List<Schedule> due = new ArrayList<>();
+
+    for (Schedule schedule : schedules.values()) if (schedule.nextCheck <= now) due.add(schedule);
+
+    due.sort(BY_NEXT_CHECK);
+
+    List<IFile> files = new ArrayList<>(due.size());
+
+    for (Schedule schedule : due) files.add(schedule.file);
+
+    return files;
+  }
+
+  /**
+   * Informs the scheduler that the given document was edited.
+   *
+   * @param file the file of the document
+   * @param now the current time in milliseconds
+   */
+  void documentEdited(IFile file, long now) {
+    Schedule schedule = schedules.get(file);
+
+    if (schedule == null) return;
+
+    if (schedule.firstEdit < 0) schedule.firstEdit = now;
+
+    schedule.interval = minInterval;
+    schedule.nextCheck = Math.min(now + settleDelay, schedule.firstEdit + minInterval);
+  }
+
+  /**
+   * Informs the scheduler that a recipient reported the given document to be inconsistent. Its
+   * checksum is broadcast again after the settle delay, even if it did not change.
+   *
+   * @param file the file of the document
+   * @param now the current time in milliseconds
+   */
+  void inconsistencyReported(IFile file, long now) {
+    Schedule schedule = schedules.get(file);
+
+    if (schedule == null) return;
+
+    schedule.forced = true;
+    schedule.interval = minInterval;
+    schedule.nextCheck = Math.min(schedule.nextCheck, now + settleDelay);
+  }
+
+  /**
+   * Decides whether the checksum of a due document has to be broadcast and reschedules the document
+   * accordingly. If the checksum has to be broadcast, the budgets of all recipients are charged.
+   *
+   * @param file the file of the document
+   * @param hash the current hash of the document
+   * @param length the current length of the document
+   * @param recipients the users that would receive the checksum
+   * @param now the current time in milliseconds
+   * @return the decision
+   */
+  Decision decide(IFile file, long hash, long length, Set<User> recipients, long now) {
+    Schedule schedule = schedules.get(file);
+
+    if (schedule == null) throw new IllegalStateException("document is not scheduled: " + file);
+
+    checked.incrementAndGet();
+
+    boolean unchanged =
+        schedule.sentHash == hash
+            && schedule.sentLength == length
+            && schedule.sentRecipients.containsAll(recipients);
+
+    boolean refresh = schedule.forced || schedule.interval >= maxInterval;
+
+    if (unchanged && !refresh) {
+      skipped.incrementAndGet();
+      reschedule(schedule, now, Math.min(schedule.interval * 2, maxInterval));
+      return Decision.SKIP;
+    }
+
+    if (!charge(recipients, now)) {
+      deferred.incrementAndGet();
+      return Decision.DEFER;
+    }
+
+    sent.incrementAndGet();
+
+    schedule.sentHash = hash;
+    schedule.sentLength = length;
+    schedule.sentRecipients = new HashSet<>(recipients);
+    schedule.forced = false;
+
+    reschedule(schedule, now, unchanged ? schedule.interval : minInterval);
+
+    return Decision.SEND;
+  }
+
+  /**
+   * Removes the budgets of users that are no longer part of the session.
+   *
+   * @param users the remote users of the session
+   */
+  void retainUsers(Set<User> users) {
+    budgets.keySet().retainAll(users);
+  }
+
+  /** Returns the number of checksums calculated for due documents. */
+  long getCheckedCount() {
+    return checked.get();
+  }
+
+  /** Returns the number of broadcast checksums. */
+  long getSentCount() {
+    return sent.get();
+  }
+
+  /** Returns the number of broadcasts skipped because the checksum did not change. */
+  long getSkippedCount() {
+    return skipped.get();
+  }
+
+  /** Returns the number of broadcasts deferred because of an exhausted recipient budget. */
+  long getDeferredCount() {
+    return deferred.get();
+  }
+
+  private void reschedule(Schedule schedule, long now, long interval) {
+    schedule.firstEdit = -1;
+    schedule.interval = interval;
+    schedule.nextCheck = now + interval;
+  }
+
+  private boolean charge(Set<User> recipients, long now) {
+    List<Budget> charged = new ArrayList<>(recipients.size());
+
+    for (User user : recipients) {
+      Budget budget = budgets.computeIfAbsent(user, u -> new Budget(now));
+
+      budget.refill(now);
+
+      if (budget.tokens < 1) return false;
+
+      charged.add(budget);
+    }
+
+    for (Budget budget : charged) budget.tokens -= 1;
+
+    return true;
+  }
+
+  private final class Schedule {
+    private final IFile file;
+
+    private long nextCheck;
+    private long interval;
+    private long firstEdit = -1;
+
+    private boolean forced;
+    private long sentHash = Long.MIN_VALUE;
+    private long sentLength = Long.MIN_VALUE;
+    private Set<User> sentRecipients = new HashSet<>();
+
+    private Schedule(IFile file, long now) {
+      this.file = file;
+      this.nextCheck = now;
+      this.interval = minInterval;
+    }
+  }
+
+  private final class Budget {
+    private double tokens;
+    private long lastRefill;
+
+    private Budget(long now) {
+      this.tokens = peerBurst;
+      this.lastRefill = now;
+    }
+
+    private void refill(long now) {
+      tokens = Math.min(peerBurst, tokens + (now - lastRefill) * peerRate / 1000D);
+      lastRefill = now;
+    }
+  }
+}
@@ -0,0 +1,323 @@
+package saros.concurrent.watchdog;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.apache.log4j.Logger;
+import saros.activities.FolderChecksumActivity;
+import saros.activities.FolderChecksumActivity.Entry;
+import saros.activities.FolderChecksumRequestActivity;
+import saros.annotations.Component;
+import saros.filesystem.IContainer;
+import saros.filesystem.IFile;
+import saros.filesystem.IReferencePoint;
+import saros.filesystem.IResource.Type;
+import saros.filesystem.checksum.IChecksumCache;
+import saros.repackaged.picocontainer.Startable;
+import saros.session.AbstractActivityConsumer;
+import saros.session.AbstractActivityProducer;
+import saros.session.IActivityConsumer;
+import saros.session.IActivityConsumer.Priority;
+import saros.session.ISarosSession;
+import saros.util.NamedThreadFactory;
+import saros.util.ThreadUtils;
+
+/**
+ * The client side of the <i>consistency audit</i>. It compares the {@link FolderChecksumActivity
+ * folder checksums} sent by the {@link ConsistencyAuditServer} with the checksums of the local
+ * files and requests the checksums of all subtrees that differ.
+ *
+ * <p>As the checksums are calculated from the file contents on disk while the session is running,
+ * a file is only reported to the {@link ConsistencyWatchdogClient} as inconsistent if it differed
+ * in two consecutive audit rounds. Files that match the host's checksums are reported as consistent
+ * again. For a reference point that was {@linkplain #distrust distrusted} the next round reports
+ * differing files right away.
+ *
+ * <p>All calculations are performed on a single low priority thread.
+ */
+@Component(module = "consistency")
+public class ConsistencyAuditClient extends AbstractActivityProducer implements Startable {
+
+  private static final Logger log = Logger.getLogger(ConsistencyAuditClient.class);
+
+  private static final long TERMINATION_TIMEOUT = 10000;
+
+  private final ISarosSession session;
+  private final ConsistencyWatchdogClient watchdogClient;
+  private final ReferencePointChecksumCalculator calculator;
+
+  /** Only accessed by the audit thread. */
+  private final Map<IReferencePoint, AuditRound> rounds = new HashMap<>();
+
+  /** Only accessed by the audit thread. */
+  private final Set<IReferencePoint> distrustedReferencePoints = new HashSet<>();
+
+  private ExecutorService auditExecutor;
+
+  private volatile boolean stopped;
+
+  /** The state of the current audit round for one reference point. */
+  private static class AuditRound {
+    private final int round;
+    private final ReferencePointChecksumTree localTree;
+
+    /** Files that differed in the previous round. */
+    private final Set<IFile> previousMismatches;
+
+    /** Whether differing files are reported without awaiting confirmation by the next round. */
+    private final boolean distrusted;
+
+    /** Files that differ in this round. */
+    private final Set<IFile> mismatches = new HashSet<>();
+
+    private AuditRound(
+        int round,
+        ReferencePointChecksumTree localTree,
+        Set<IFile> previousMismatches,
+        boolean distrusted) {
+      this.round = round;
+      this.localTree = localTree;
+      this.previousMismatches = previousMismatches;
+      this.distrusted = distrusted;
+    }
+  }
+
+  private final IActivityConsumer consumer =
+      new AbstractActivityConsumer() {
+        @Override
+        public void receive(final FolderChecksumActivity activity) {
+          if (stopped) return;
+
+          auditExecutor.execute(ThreadUtils.wrapSafe(log, () -> handleChecksums(activity)));
+        }
+      };
+
+  /**
+   * Creates a ConsistencyAuditClient.
+   *
+   * @param session the currently running session
+   * @param watchdogClient {@link ConsistencyWatchdogClient} to report inconsistencies to
+   * @param checksumCache {@link IChecksumCache} to take file checksums from
+   */
+  public ConsistencyAuditClient(
+      ISarosSession session,
+      ConsistencyWatchdogClient watchdogClient,
+      IChecksumCache checksumCache) {
+    this.session = session;
+    this.watchdogClient = watchdogClient;
+    this.calculator =
+        new ReferencePointChecksumCalculator(
+            checksumCache, ConsistencyAuditServer.AUDIT_MAX_BYTES_PER_SECOND);
+  }
+
+  @Override
+  public void start() {
+    stopped = false;
+
+    auditExecutor =
+        new ThreadPoolExecutor(
+            1,
+            1,
+            0,
+            TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(),
+            runnable -> {
+              Thread thread =
+                  new NamedThreadFactory("Consistency-Audit-Client", false).newThread(runnable);
+              thread.setPriority(Thread.MIN_PRIORITY);
+              return thread;
+            });
+
+    session.addActivityConsumer(consumer, Priority.PASSIVE);
+    session.addActivityProducer(this);
+  }
+
+  @Override
+  public void stop() {
+    stopped = true;
+
+    session.removeActivityConsumer(consumer);
+    session.removeActivityProducer(this);
+
+    auditExecutor.shutdownNow();
+
+    try {
+      if (!auditExecutor.awaitTermination(TERMINATION_TIMEOUT, TimeUnit.MILLISECONDS))
+        log.error("Consistency audit client is still running");
+    } catch (InterruptedException e) {
+      log.warn("Interrupted while waiting for consistency audit client to terminate");
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Marks the given reference point as likely to be inconsistent, e.g. because activities targeting
+   * it were lost. Files that differ from the host in the next audit round of the reference point
+   * are reported as inconsistent without awaiting the confirmation by another round.
+   *
+   * @param referencePoint the reference point to distrust
+   */
+  public void distrust(final IReferencePoint referencePoint) {
+    if (stopped) return;
+
+    log.warn("distrusting local state of reference point " + referencePoint);
+
+    auditExecutor.execute(() -> distrustedReferencePoints.add(referencePoint));
+  }
+
+  private void handleChecksums(FolderChecksumActivity activity) {
+    IContainer container = activity.getResource();
+    IReferencePoint referencePoint = container.getReferencePoint();
+
+    AuditRound auditRound = rounds.get(referencePoint);
+
+    if (container.getType() == Type.REFERENCE_POINT) {
+      auditRound = startRound(activity, auditRound);
+
+      if (auditRound == null) return;
+
+    } else if (auditRound == null || auditRound.round != activity.getRound()) {
+      log.debug("ignoring checksums of outdated audit round: " + activity);
+      return;
+    }
+
+    compare(auditRound, container, activity.getEntries());
+  }
+
+  private AuditRound startRound(FolderChecksumActivity activity, AuditRound previousRound) {
+    IReferencePoint referencePoint = (IReferencePoint) activity.getResource();
+
+    Set<Path> excludedPaths = new HashSet<>();
+
+    for (IFile file : activity.getExcludedFiles())
+      excludedPaths.add(file.getReferencePointRelativePath());
+
+    ReferencePointChecksumTree localTree;
+
+    try {
+      localTree = calculator.calculate(referencePoint, excludedPaths, () -> stopped);
+    } catch (IOException e) {
+      log.warn("failed to calculate checksums for reference point " + referencePoint, e);
+      return null;
+    }
+
+    if (localTree == null) return null;
+
+    Set<IFile> previousMismatches =
+        previousRound != null ? previousRound.mismatches : new HashSet<>();
+
+    /*
+     * Files that were excluded in this round can't be confirmed as inconsistent. The watchdog
+     * covers them while they are open.
+     */
+    previousMismatches.removeAll(activity.getExcludedFiles());
+
+    AuditRound auditRound =
+        new AuditRound(
+            activity.getRound(),
+            localTree,
+            previousMismatches,
+            distrustedReferencePoints.remove(referencePoint));
+
+    rounds.put(referencePoint, auditRound);
+
+    return auditRound;
+  }
+
+  private void compare(AuditRound auditRound, IContainer container, List<Entry> remoteEntries) {
+    Path containerPath = container.getReferencePointRelativePath();
+
+    List<Entry> localEntries = auditRound.localTree.getEntries(containerPath);
+
+    Map<String, Entry> localEntriesByName = new HashMap<>();
+
+    if (localEntries != null) {
+      for (Entry entry : localEntries) localEntriesByName.put(entry.getName(), entry);
+    }
+
+    List<IFile> consistentFiles = new ArrayList<>();
+    List<IFile> inconsistentFiles = new ArrayList<>();
+
+    for (Entry remoteEntry : remoteEntries) {
+      Entry localEntry = localEntriesByName.remove(remoteEntry.getName());
+
+      Path path = containerPath.resolve(remoteEntry.getName());
+
+      if (remoteEntry.isFolder()) {
+        if (localEntry != null && localEntry.isFolder()) {
+          if (localEntry.getChecksum() == remoteEntry.getChecksum()) continue;
+
+        } else if (localEntry != null) {
+          addMismatch(auditRound, container.getFile(remoteEntry.getName()), inconsistentFiles);
+        }
+
+        fireActivity(
+            new FolderChecksumRequestActivity(
+                session.getLocalUser(),
+                session.getHost(),
+                container.getFolder(remoteEntry.getName()),
+                auditRound.round));
+
+        continue;
+      }
+
+      IFile file = container.getFile(remoteEntry.getName());
+
+      if (localEntry != null && localEntry.isFolder()) {
+        addFolderMismatch(auditRound, container.getReferencePoint(), path, inconsistentFiles);
+        addMismatch(auditRound, file, inconsistentFiles);
+
+      } else if (localEntry == null || localEntry.getChecksum() != remoteEntry.getChecksum()) {
+        addMismatch(auditRound, file, inconsistentFiles);
+
+      } else {
+        consistentFiles.add(file);
+      }
+    }
+
+    // resources that only exist locally
+    for (Entry localEntry : localEntriesByName.values()) {
+      Path path = containerPath.resolve(localEntry.getName());
+
+      if (localEntry.isFolder())
+        addFolderMismatch(auditRound, container.getReferencePoint(), path, inconsistentFiles);
+      else addMismatch(auditRound, container.getFile(localEntry.getName()), inconsistentFiles);
+    }
+
+    if (!inconsistentFiles.isEmpty())
+      log.info(
+          "consistency audit detected "
+              + inconsistentFiles.size()
+              + " inconsistent files in "
+              + container);
+
+    watchdogClient.reportAuditResult(inconsistentFiles, consistentFiles);
+  }
+
+  private void addFolderMismatch(
+      AuditRound auditRound,
+      IReferencePoint referencePoint,
+      Path folderPath,
+      List<IFile> inconsistentFiles) {
+
+    for (Path path : auditRound.localTree.getFiles(folderPath))
+      addMismatch(auditRound, referencePoint.getFile(path), inconsistentFiles);
+  }
+
+  private void addMismatch(AuditRound auditRound, IFile file, List<IFile> inconsistentFiles) {
+    auditRound.mismatches.add(file);
+
+    if (auditRound.distrusted || auditRound.previousMismatches.contains(file))
+      inconsistentFiles.add(file);
+    else log.debug("file differs from host, awaiting confirmation by next audit round: " + file);
+  }
+}
@@ -0,0 +1,270 @@
+package saros.concurrent.watchdog;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.apache.log4j.Logger;
+import saros.activities.FolderChecksumActivity;
+import saros.activities.FolderChecksumActivity.Entry;
+import saros.activities.FolderChecksumRequestActivity;
+import saros.annotations.Component;
+import saros.editor.IEditorManager;
+import saros.editor.remote.UserEditorStateManager;
+import saros.filesystem.IContainer;
+import saros.filesystem.IFile;
+import saros.filesystem.IReferencePoint;
+import saros.filesystem.checksum.IChecksumCache;
+import saros.repackaged.picocontainer.Startable;
+import saros.session.AbstractActivityConsumer;
+import saros.session.AbstractActivityProducer;
+import saros.session.IActivityConsumer;
+import saros.session.IActivityConsumer.Priority;
+import saros.session.ISarosSession;
+import saros.session.User;
+import saros.synchronize.Blockable;
+import saros.synchronize.StopManager;
+import saros.synchronize.UISynchronizer;
+import saros.util.NamedThreadFactory;
+import saros.util.ThreadUtils;
+
+/**
+ * The server side of the <i>consistency audit</i>. In contrast to the {@link
+ * ConsistencyWatchdogServer}, which only covers files that are currently open in an editor, it
+ * periodically calculates the {@link ReferencePointChecksumTree checksum trees} of all shared
+ * reference points and sends the checksums of the reference point roots to the clients. Clients
+ * descend into differing subtrees by {@link FolderChecksumRequestActivity requesting} the checksums
+ * of the corresponding folders, which are answered from the snapshot of the current audit round.
+ *
+ * <p>The audit runs on a single low priority thread. File checksums are taken from the {@link
+ * IChecksumCache} whenever possible and all remaining file reads are throttled, so the audit does
+ * not compete with the editing of the session participants.
+ *
+ * <p>This component is only run on the session's host.
+ */
+@Component(module = "consistency")
+public class ConsistencyAuditServer extends AbstractActivityProducer
+    implements Startable, Blockable {
+
+  private static final Logger log = Logger.getLogger(ConsistencyAuditServer.class);
+
+  /** Interval between two audit rounds in milliseconds. */
+  static final long AUDIT_INTERVAL =
+      Long.getLong("saros.consistency.AUDIT_INTERVAL", 5 * 60 * 1000L);
+
+  /** Maximum number of bytes per second read to calculate the checksums of uncached files. */
+  static final long AUDIT_MAX_BYTES_PER_SECOND =
+      Long.getLong("saros.consistency.AUDIT_MAX_BYTES_PER_SECOND", 4 * 1024 * 1024L);
+
+  private static final long TERMINATION_TIMEOUT = 10000;
+
+  private final ISarosSession session;
+  private final IEditorManager editorManager;
+  private final UserEditorStateManager userEditorStateManager;
+  private final StopManager stopManager;
+  private final UISynchronizer synchronizer;
+  private final ReferencePointChecksumCalculator calculator;
+
+  private final Map<IReferencePoint, ReferencePointChecksumTree> snapshots =
+      new ConcurrentHashMap<>();
+
+  private ScheduledThreadPoolExecutor auditExecutor;
+
+  private volatile int round;
+  private volatile boolean blocked;
+  private volatile boolean stopped;
+
+  private final IActivityConsumer consumer =
+      new AbstractActivityConsumer() {
+        @Override
+        public void receive(FolderChecksumRequestActivity request) {
+          handleRequest(request);
+        }
+      };
+
+  /**
+   * Creates a ConsistencyAuditServer.
+   *
+   * @param session the currently running session
+   * @param editorManager {@link IEditorManager} to get the locally open editors from
+   * @param userEditorStateManager {@link UserEditorStateManager} to get the remotely open editors
+   *     from
+   * @param stopManager {@link StopManager} to listen to for (un)block requests
+   * @param synchronizer {@link UISynchronizer} to use
+   * @param checksumCache {@link IChecksumCache} to take file checksums from
+   */
+  public ConsistencyAuditServer(
+      ISarosSession session,
+      IEditorManager editorManager,
+      UserEditorStateManager userEditorStateManager,
+      StopManager stopManager,
+      UISynchronizer synchronizer,
+      IChecksumCache checksumCache) {
+    this.session = session;
+    this.editorManager = editorManager;
+    this.userEditorStateManager = userEditorStateManager;
+    this.stopManager = stopManager;
+    this.synchronizer = synchronizer;
+    this.calculator =
+        new ReferencePointChecksumCalculator(checksumCache, AUDIT_MAX_BYTES_PER_SECOND);
+  }
+
+  @Override
+  public void start() {
+    if (!session.isHost())
+      throw new IllegalStateException("Component can only be run on the session's host");
+
+    stopped = false;
+
+    session.addActivityConsumer(consumer, Priority.PASSIVE);
+    session.addActivityProducer(this);
+    stopManager.addBlockable(this);
+
+    auditExecutor =
+        new ScheduledThreadPoolExecutor(
+            1,
+            runnable -> {
+              Thread thread =
+                  new NamedThreadFactory("Consistency-Audit-Server", false).newThread(runnable);
+              thread.setPriority(Thread.MIN_PRIORITY);
+              return thread;
+            });
+
+    auditExecutor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+
+    auditExecutor.scheduleWithFixedDelay(
+        ThreadUtils.wrapSafe(log, this::audit),
+        AUDIT_INTERVAL,
+        AUDIT_INTERVAL,
+        TimeUnit.MILLISECONDS);
+  }
+
+  @Override
+  public void stop() {
+    stopped = true;
+
+    session.removeActivityConsumer(consumer);
+    session.removeActivityProducer(this);
+    stopManager.removeBlockable(this);
+
+    auditExecutor.shutdownNow();
+
+    try {
+      if (!auditExecutor.awaitTermination(TERMINATION_TIMEOUT, TimeUnit.MILLISECONDS))
+        log.error("Consistency audit server is still running");
+    } catch (InterruptedException e) {
+      log.warn("Interrupted while waiting for consistency audit server to terminate");
+      Thread.currentThread().interrupt();
+    }
+
+    snapshots.clear();
+  }
+
+  @Override
+  public void block() {
+    blocked = true;
+  }
+
+  @Override
+  public void unblock() {
+    /*
+     * A round that was aborted because of the blocking is simply repeated
+     * with the next scheduled audit.
+     */
+    blocked = false;
+  }
+
+  private void audit() {
+    if (blocked) return;
+
+    final Set<IFile> openEditors = new HashSet<>();
+
+    synchronizer.syncExec(
+        () -> {
+          openEditors.addAll(editorManager.getOpenEditors());
+          openEditors.addAll(userEditorStateManager.getOpenEditors());
+        });
+
+    final int currentRound = round + 1;
+
+    snapshots.clear();
+
+    for (IReferencePoint referencePoint : session.getReferencePoints()) {
+      List<IFile> excludedFiles = new ArrayList<>();
+      Set<Path> excludedPaths = new HashSet<>();
+
+      for (IFile file : openEditors) {
+        if (!referencePoint.equals(file.getReferencePoint())) continue;
+
+        excludedFiles.add(file);
+        excludedPaths.add(file.getReferencePointRelativePath());
+      }
+
+      ReferencePointChecksumTree tree;
+
+      try {
+        tree = calculator.calculate(referencePoint, excludedPaths, () -> blocked || stopped);
+      } catch (IOException e) {
+        log.warn("failed to calculate checksums for reference point " + referencePoint, e);
+        continue;
+      }
+
+      if (tree == null) {
+        log.debug("audit round " + currentRound + " was aborted");
+        snapshots.clear();
+        return;
+      }
+
+      snapshots.put(referencePoint, tree);
+
+      round = currentRound;
+
+      for (User user : session.getRemoteUsers()) {
+        if (!session.userHasReferencePoint(user, referencePoint)) continue;
+
+        fireActivity(
+            new FolderChecksumActivity(
+                session.getLocalUser(),
+                user,
+                referencePoint,
+                currentRound,
+                tree.getEntries(ReferencePointChecksumTree.ROOT),
+                excludedFiles));
+      }
+    }
+  }
+
+  private void handleRequest(FolderChecksumRequestActivity request) {
+    IContainer container = request.getResource();
+
+    if (request.getRound() != round) {
+      log.debug("ignoring checksum request of outdated audit round: " + request);
+      return;
+    }
+
+    ReferencePointChecksumTree tree = snapshots.get(container.getReferencePoint());
+
+    if (tree == null) {
+      log.debug("ignoring checksum request for reference point without snapshot: " + request);
+      return;
+    }
+
+    List<Entry> entries = tree.getEntries(container.getReferencePointRelativePath());
+
+    fireActivity(
+        new FolderChecksumActivity(
+            session.getLocalUser(),
+            request.getSource(),
+            container,
+            request.getRound(),
+            entries != null ? entries : Collections.emptyList(),
+            null));
+  }
+}
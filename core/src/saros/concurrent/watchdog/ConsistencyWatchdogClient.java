@@ -1,6 +1,7 @@
 package saros.concurrent.watchdog;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Random;
@@ -333,7 +334,27 @@ public class ConsistencyWatchdogClient extends AbstractActivityProducer implemen
 
     if (!changed) return;
 
-    // Update InconsistencyToResolve observable
+    updateInconsistencyToResolve();
+  }
+
+  /**
+   * Updates the set of inconsistent files with the result of a {@linkplain ConsistencyAuditClient
+   * consistency audit}.
+   *
+   * @param inconsistentFiles files that were found to be inconsistent
+   * @param consistentFiles files that were found to be consistent
+   */
+  void reportAuditResult(Collection<IFile> inconsistentFiles, Collection<IFile> consistentFiles) {
+    boolean changed = filesWithWrongChecksums.removeAll(consistentFiles);
+
+    changed |= filesWithWrongChecksums.addAll(inconsistentFiles);
+
+    if (!changed) return;
+
+    updateInconsistencyToResolve();
+  }
+
+  private void updateInconsistencyToResolve() {
     if (filesWithWrongChecksums.isEmpty()) {
       if (inconsistencyToResolve.getValue()) {
         log.info("All Inconsistencies are resolved");
@@ -21,9 +21,10 @@ import saros.session.IActivityConsumer;
 import saros.session.IActivityConsumer.Priority;
 import saros.session.ISarosSession;
 import saros.session.User;
+import saros.synchronize.BlockingScope;
 import saros.synchronize.StartHandle;
 import saros.synchronize.UISynchronizer;
-import saros.util.ThreadUtils;
+import saros.util.TaskExecutor;
 
 /**
  * This component is responsible for handling Consistency Errors on the host. It both produces and
@@ -88,14 +89,16 @@ public final class ConsistencyWatchdogHandler extends AbstractActivityProducer
      * TODO ensure that only one recovery is run at the same time ? i.e use
      * a single ThreadWorker ?
      */
-    ThreadUtils.runSafeAsync(
-        log,
-        new Runnable() {
-          @Override
-          public void run() {
-            runRecovery(checksumError);
-          }
-        });
+    TaskExecutor.getDefault()
+        .execute(
+            "consistency-recovery",
+            log,
+            new Runnable() {
+              @Override
+              public void run() {
+                runRecovery(checksumError);
+              }
+            });
   }
 
   private void runRecovery(final ChecksumErrorActivity checksumError) throws CancellationException {
@@ -104,7 +107,17 @@ public final class ConsistencyWatchdogHandler extends AbstractActivityProducer
 
     try {
 
-      startHandles = session.getStopManager().stop(session.getUsers(), "Consistency recovery");
+      /*
+       * Only the inconsistent files are recovered, so all other files can
+       * still be edited during the recovery.
+       */
+      final List<IFile> files = checksumError.getFiles();
+
+      final BlockingScope scope =
+          files == null || files.isEmpty() ? BlockingScope.SESSION : BlockingScope.of(files);
+
+      startHandles =
+          session.getStopManager().stop(session.getUsers(), "Consistency recovery", scope);
 
       recoverFiles(checksumError);
 
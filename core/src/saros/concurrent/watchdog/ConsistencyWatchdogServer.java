@@ -9,29 +9,43 @@ import java.util.Set;
 import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import org.apache.log4j.Logger;
 import saros.activities.ChecksumActivity;
+import saros.activities.ChecksumErrorActivity;
 import saros.activities.TextEditActivity;
 import saros.annotations.Component;
 import saros.editor.IEditorManager;
 import saros.editor.ISharedEditorListener;
 import saros.editor.remote.UserEditorStateManager;
 import saros.filesystem.IFile;
+import saros.monitoring.JfrSupport;
+import saros.monitoring.jfr.UISyncExecEvent;
 import saros.repackaged.picocontainer.Startable;
+import saros.session.AbstractActivityConsumer;
 import saros.session.AbstractActivityProducer;
+import saros.session.IActivityConsumer;
+import saros.session.IActivityConsumer.Priority;
 import saros.session.ISarosSession;
+import saros.session.User;
 import saros.synchronize.Blockable;
+import saros.synchronize.BlockingScope;
 import saros.synchronize.StopManager;
 import saros.synchronize.UISynchronizer;
 import saros.util.NamedThreadFactory;
 import saros.util.ThreadUtils;
 
 /**
- * The server side of the <i>consistency watchdog</i> infrastructure. It periodically checksums the
- * files associated with all locally and remotely open {@link IEditorManager editors} in the current
+ * The server side of the <i>consistency watchdog</i> infrastructure. It checksums the files
+ * associated with all locally and remotely open {@link IEditorManager editors} in the current
  * session. It then sends these checksums to all watchdog clients, which can compare them with their
  * own checksum calculations to detect inconsistencies and request file recovery if needed.
  *
+ * <p>The checks are scheduled adaptively by a {@link ChecksumScheduler}: a document is checked soon
+ * after its edits settled, idle documents are checked with an exponentially growing interval,
+ * unchanged checksums are not broadcast again and every client only receives a limited number of
+ * checksums per second. The decisions are counted and can be queried for monitoring purposes.
+ *
  * <p>This component is only run on the session's host.
  */
 @Component(module = "consistency")
@@ -40,7 +54,29 @@ public class ConsistencyWatchdogServer extends AbstractActivityProducer
 
   private static final Logger log = Logger.getLogger(ConsistencyWatchdogServer.class);
 
-  private static final long CHECKSUM_CALCULATION_INTERVAL = 10000;
+  /** Interval in milliseconds in which the scheduler is asked for due documents. */
+  private static final long CHECKSUM_SCHEDULING_INTERVAL = 1000;
+
+  /** Time in milliseconds without edits after which an edited document is checked. */
+  static final long CHECKSUM_SETTLE_DELAY =
+      Long.getLong("saros.consistency.CHECKSUM_SETTLE_DELAY", 1500L);
+
+  /** Check interval in milliseconds of recently changed documents. */
+  static final long CHECKSUM_MIN_INTERVAL =
+      Long.getLong("saros.consistency.CHECKSUM_MIN_INTERVAL", 10000L);
+
+  /** Maximum check interval in milliseconds of idle documents. */
+  static final long CHECKSUM_MAX_INTERVAL =
+      Long.getLong("saros.consistency.CHECKSUM_MAX_INTERVAL", 5 * 60 * 1000L);
+
+  /** Number of checksums per second every client may receive on average. */
+  static final int CHECKSUM_PEER_RATE =
+      Integer.getInteger("saros.consistency.CHECKSUM_PEER_RATE", 5);
+
+  /** Number of checksums every client may receive at once. */
+  static final int CHECKSUM_PEER_BURST =
+      Integer.getInteger("saros.consistency.CHECKSUM_PEER_BURST", 50);
+
   private static final long TERMINATION_TIMEOUT = 10000;
 
   private final ISarosSession session;
@@ -50,29 +86,50 @@ public class ConsistencyWatchdogServer extends AbstractActivityProducer
   private final UISynchronizer synchronizer;
 
   private final Map<IFile, DocumentChecksum> documentChecksums = new HashMap<>();
+
+  private final ChecksumScheduler scheduler =
+      new ChecksumScheduler(
+          CHECKSUM_SETTLE_DELAY,
+          CHECKSUM_MIN_INTERVAL,
+          CHECKSUM_MAX_INTERVAL,
+          CHECKSUM_PEER_RATE,
+          CHECKSUM_PEER_BURST);
+
   private ScheduledThreadPoolExecutor checksumCalculationExecutor;
   private Future<?> checksumCalculationFuture;
-  private boolean blocked;
+  private volatile BlockingScope blockedScope = BlockingScope.NONE;
+
+  /** Whether a checksum calculation was handed to the UI thread and has not started yet. */
+  private final AtomicBoolean checksumCalculationPending = new AtomicBoolean();
 
   private final Runnable checksumCalculation =
       new Runnable() {
         /**
-         * Called periodically to calculate new checksums for all editors and send them to clients.
+         * Called periodically to calculate new checksums for all due editors and send them to
+         * clients.
          */
         @Override
         public void run() {
           /*
            * Run on the UI thread to guarantee that the editor contents won't
            * be changed while we calculate the checksums. We also do this to
-           * synchronize with block().
+           * synchronize with block(). The calculation is not awaited so a
+           * busy UI thread does not stall this thread, instead cycles are
+           * skipped until the pending calculation started.
            */
-          synchronizer.syncExec(
+          if (!checksumCalculationPending.compareAndSet(false, true)) return;
+
+          synchronizer.asyncExec(
               ThreadUtils.wrapSafe(
                   log,
                   new Runnable() {
                     @Override
                     public void run() {
-                      if (blocked) return;
+                      checksumCalculationPending.set(false);
+
+                      if (blockedScope.isSession() || checksumCalculationExecutor.isShutdown())
+                        return;
+
                       calculateChecksums();
                     }
                   }));
@@ -91,6 +148,27 @@ public class ConsistencyWatchdogServer extends AbstractActivityProducer
           DocumentChecksum checksum = documentChecksums.get(textEdit.getResource());
 
           if (checksum != null) checksum.markDirty();
+
+          scheduler.documentEdited(textEdit.getResource(), System.currentTimeMillis());
+        }
+      };
+
+  private final IActivityConsumer consumer =
+      new AbstractActivityConsumer() {
+        @Override
+        public void receive(ChecksumErrorActivity checksumError) {
+          /*
+           * Run on the UI thread as the scheduler is only accessed from there.
+           * The checksum error is the closest thing to a negative
+           * acknowledgment of a broadcast checksum the protocol offers.
+           */
+          synchronizer.asyncExec(
+              () -> {
+                long now = System.currentTimeMillis();
+
+                for (IFile file : checksumError.getFiles())
+                  scheduler.inconsistencyReported(file, now);
+              });
         }
       };
 
@@ -122,6 +200,7 @@ public class ConsistencyWatchdogServer extends AbstractActivityProducer
       throw new IllegalStateException("Component can only be run on the session's host");
 
     session.addActivityProducer(this);
+    session.addActivityConsumer(consumer, Priority.PASSIVE);
     stopManager.addBlockable(this);
     editorManager.addSharedEditorListener(sharedEditorListener);
 
@@ -133,12 +212,13 @@ public class ConsistencyWatchdogServer extends AbstractActivityProducer
 
     checksumCalculationFuture =
         checksumCalculationExecutor.scheduleWithFixedDelay(
-            checksumCalculation, 0, CHECKSUM_CALCULATION_INTERVAL, TimeUnit.MILLISECONDS);
+            checksumCalculation, 0, CHECKSUM_SCHEDULING_INTERVAL, TimeUnit.MILLISECONDS);
   }
 
   @Override
   public void stop() {
     session.removeActivityProducer(this);
+    session.removeActivityConsumer(consumer);
     stopManager.removeBlockable(this);
     editorManager.removeSharedEditorListener(sharedEditorListener);
 
@@ -175,29 +255,38 @@ public class ConsistencyWatchdogServer extends AbstractActivityProducer
 
   @Override
   public void block() {
+    block(BlockingScope.SESSION);
+  }
+
+  @Override
+  public void block(final BlockingScope scope) {
     /*
-     * Set the blocking flag synchronously on the UI thread to guarantee
-     * that no checksum calculation is in progress or being started after
-     * this method returns.
+     * Set the blocked scope synchronously on the UI thread to guarantee
+     * that no checksum calculation for a blocked file is in progress or
+     * being started after this method returns.
      */
-    synchronizer.syncExec(
+    final Runnable setBlockedScope =
         new Runnable() {
           @Override
           public void run() {
-            blocked = true;
+            blockedScope = scope;
           }
-        });
+        };
+
+    if (JfrSupport.ENABLED)
+      UISyncExecEvent.syncExec(synchronizer, "ConsistencyWatchdogServer.block", setBlockedScope);
+    else synchronizer.syncExec(setBlockedScope);
   }
 
   @Override
   public void unblock() {
     /*
      * We don't need to run on the UI thread here - the checksum calculation
-     * runnable will pick up the unset blocking flag eventually. A missed
+     * runnable will pick up the cleared blocked scope eventually. A missed
      * calculation cycle has no negative impact other than slightly delaying
      * possibly needed recovery operations.
      */
-    blocked = false;
+    blockedScope = BlockingScope.NONE;
   }
 
   private void calculateChecksums() {
@@ -225,15 +314,60 @@ public class ConsistencyWatchdogServer extends AbstractActivityProducer
     }
 
     /*
-     * Update or create checksums for all currently open documents.
+     * Update or create checksums for all currently open documents that are
+     * due for a check.
      */
 
-    for (IFile file : allEditors) {
+    long now = System.currentTimeMillis();
+
+    scheduler.retainUsers(new HashSet<>(session.getRemoteUsers()));
+
+    for (IFile file : scheduler.getDueFiles(allEditors, now)) {
+      // blocked files stay due and are checked once they are unblocked
+      if (blockedScope.contains(file)) continue;
+
       updateChecksum(file, localEditors, remoteEditors);
-      broadcastChecksum(file);
+      broadcastChecksum(file, now);
     }
   }
 
+  /**
+   * Returns the number of checksums calculated for documents that were due for a check.
+   *
+   * @return the number of checks
+   */
+  public long getCheckedCount() {
+    return scheduler.getCheckedCount();
+  }
+
+  /**
+   * Returns the number of checksums broadcast to the clients.
+   *
+   * @return the number of broadcast checksums
+   */
+  public long getSentCount() {
+    return scheduler.getSentCount();
+  }
+
+  /**
+   * Returns the number of broadcasts that were skipped because the checksum did not change.
+   *
+   * @return the number of skipped broadcasts
+   */
+  public long getSkippedCount() {
+    return scheduler.getSkippedCount();
+  }
+
+  /**
+   * Returns the number of broadcasts that were deferred because the budget of a client was
+   * exhausted.
+   *
+   * @return the number of deferred broadcasts
+   */
+  public long getDeferredCount() {
+    return scheduler.getDeferredCount();
+  }
+
   private void updateChecksum(IFile file, Set<IFile> localEditors, Set<IFile> remoteEditors) {
 
     DocumentChecksum checksum = documentChecksums.get(file);
@@ -287,11 +421,27 @@ public class ConsistencyWatchdogServer extends AbstractActivityProducer
     checksum.update(normalizedEditorContent);
   }
 
-  private void broadcastChecksum(IFile file) {
+  private void broadcastChecksum(IFile file, long now) {
 
     DocumentChecksum checksum = documentChecksums.get(file);
     if (checksum == null) return;
 
+    Set<User> recipients = new HashSet<>();
+
+    for (User user : session.getRemoteUsers()) {
+      if (session.userHasReferencePoint(user, file.getReferencePoint())) recipients.add(user);
+    }
+
+    switch (scheduler.decide(file, checksum.getHash(), checksum.getLength(), recipients, now)) {
+      case SKIP:
+        return;
+      case DEFER:
+        log.debug("deferring checksum broadcast, client budget exhausted: " + checksum);
+        return;
+      default:
+        break;
+    }
+
     ChecksumActivity checksumActivity =
         new ChecksumActivity(
             session.getLocalUser(),
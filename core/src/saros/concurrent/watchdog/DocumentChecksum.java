@@ -1,6 +1,8 @@
 package saros.concurrent.watchdog;
 
 import saros.filesystem.IFile;
+import saros.monitoring.JfrSupport;
+import saros.monitoring.jfr.ChecksumEvent;
 
 /**
  * Represents a checksum of a document in the workspace. It consists of the document's file, the
@@ -102,6 +104,8 @@ public class DocumentChecksum {
   public void update(String documentContent) {
     if (!dirty) return;
 
+    final Object event = JfrSupport.ENABLED ? ChecksumEvent.start() : null;
+
     if (documentContent == null) {
       length = hash = NOT_AVAILABLE;
     } else {
@@ -109,6 +113,10 @@ public class DocumentChecksum {
       hash = documentContent.hashCode();
     }
 
+    if (event != null)
+      ChecksumEvent.finish(
+          event, ChecksumEvent.DOCUMENT, file, documentContent == null ? 0 : length);
+
     dirty = false;
   }
 
@@ -0,0 +1,172 @@
+package saros.concurrent.watchdog;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BooleanSupplier;
+import org.apache.log4j.Logger;
+import saros.activities.FolderChecksumActivity.Entry;
+import saros.filesystem.FileSystem;
+import saros.filesystem.IContainer;
+import saros.filesystem.IFile;
+import saros.filesystem.IReferencePoint;
+import saros.filesystem.IResource;
+import saros.filesystem.checksum.IChecksumCache;
+
+/**
+ * Calculates {@link ReferencePointChecksumTree checksum trees} for reference points.
+ *
+ * <p>File checksums are taken from the given {@link IChecksumCache} if possible. Files whose
+ * checksums have to be calculated are read with at most the configured number of bytes per second
+ * so that the calculation does not compete with the rest of the application for I/O bandwidth.
+ */
+class ReferencePointChecksumCalculator {
+
+  private static final Logger log = Logger.getLogger(ReferencePointChecksumCalculator.class);
+
+  private static final Comparator<IResource> BY_NAME = Comparator.comparing(IResource::getName);
+
+  private final IChecksumCache checksumCache;
+
+  private final long maxBytesPerSecond;
+
+  private long startTime;
+
+  private long bytesRead;
+
+  /**
+   * Creates a new calculator.
+   *
+   * @param checksumCache the checksum cache to use
+   * @param maxBytesPerSecond the maximum number of bytes to read per second when calculating file
+   *     checksums, values lower than <code>1</code> disable the throttling
+   */
+  ReferencePointChecksumCalculator(IChecksumCache checksumCache, long maxBytesPerSecond) {
+    this.checksumCache = checksumCache;
+    this.maxBytesPerSecond = maxBytesPerSecond;
+  }
+
+  /**
+   * Calculates the checksum tree of the given reference point.
+   *
+   * @param referencePoint the reference point
+   * @param excludedFiles the reference-point-relative paths of the files to exclude
+   * @param isCanceled supplier that is queried regularly whether the calculation should be aborted
+   * @return the checksum tree or <code>null</code> if the calculation was aborted
+   * @throws IOException if the members of a container could not be obtained
+   */
+  ReferencePointChecksumTree calculate(
+      IReferencePoint referencePoint, Set<Path> excludedFiles, BooleanSupplier isCanceled)
+      throws IOException {
+
+    startTime = System.currentTimeMillis();
+    bytesRead = 0;
+
+    Map<Path, List<Entry>> folders = new HashMap<>();
+
+    if (calculate(referencePoint, excludedFiles, isCanceled, folders) == null) return null;
+
+    if (log.isDebugEnabled())
+      log.debug(
+          "calculated checksums of "
+              + folders.size()
+              + " folders for "
+              + referencePoint
+              + " in "
+              + (System.currentTimeMillis() - startTime)
+              + " ms, read "
+              + bytesRead
+              + " bytes");
+
+    return new ReferencePointChecksumTree(folders);
+  }
+
+  private Long calculate(
+      IContainer container,
+      Set<Path> excludedFiles,
+      BooleanSupplier isCanceled,
+      Map<Path, List<Entry>> folders)
+      throws IOException {
+
+    List<IResource> members = new ArrayList<>(container.members());
+    members.sort(BY_NAME);
+
+    List<Entry> entries = new ArrayList<>(members.size());
+
+    for (IResource member : members) {
+      if (isCanceled.getAsBoolean() || Thread.currentThread().isInterrupted()) return null;
+
+      if (member.isIgnored()) continue;
+
+      switch (member.getType()) {
+        case FILE:
+          if (excludedFiles.contains(member.getReferencePointRelativePath())) continue;
+
+          Long fileChecksum = calculate((IFile) member);
+
+          if (fileChecksum != null) entries.add(new Entry(member.getName(), false, fileChecksum));
+
+          break;
+
+        case FOLDER:
+          Long folderChecksum = calculate((IContainer) member, excludedFiles, isCanceled, folders);
+
+          if (folderChecksum == null) return null;
+
+          entries.add(new Entry(member.getName(), true, folderChecksum));
+
+          break;
+
+        default:
+          break;
+      }
+    }
+
+    folders.put(container.getReferencePointRelativePath(), entries);
+
+    return ReferencePointChecksumTree.combine(entries);
+  }
+
+  private Long calculate(IFile file) {
+    Long checksum = checksumCache.getChecksum(file);
+
+    if (checksum != null) return checksum;
+
+    try {
+      long size = file.getSize();
+
+      checksum = FileSystem.checksum(file);
+      checksumCache.addChecksum(file, checksum);
+
+      throttle(size);
+
+    } catch (IOException e) {
+      log.warn("could not calculate checksum of file " + file, e);
+      return null;
+    }
+
+    return checksum;
+  }
+
+  private void throttle(long size) {
+    if (maxBytesPerSecond < 1) return;
+
+    bytesRead += size;
+
+    long expectedTime = bytesRead * 1000 / maxBytesPerSecond;
+    long elapsedTime = System.currentTimeMillis() - startTime;
+
+    if (expectedTime <= elapsedTime) return;
+
+    try {
+      Thread.sleep(expectedTime - elapsedTime);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
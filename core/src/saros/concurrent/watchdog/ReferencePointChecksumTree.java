@@ -0,0 +1,107 @@
+package saros.concurrent.watchdog;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+import saros.activities.FolderChecksumActivity.Entry;
+
+/**
+ * Snapshot of the hierarchical checksums of a reference point. For every folder of the reference
+ * point, including the reference point itself, the snapshot contains one {@link Entry entry} per
+ * direct child.
+ *
+ * <p>The checksum of a file is its content checksum. The checksum of a folder is calculated over
+ * the entries of the folder, so two folders have the same checksum if (and, apart from hash
+ * collisions, only if) their whole subtrees are equal.
+ *
+ * <p>Folders are identified by their reference-point-relative path. The reference point itself is
+ * identified by the empty path.
+ */
+class ReferencePointChecksumTree {
+
+  static final Path ROOT = Paths.get("");
+
+  private final Map<Path, List<Entry>> folders;
+
+  /**
+   * Creates a new checksum tree.
+   *
+   * @param folders the entries of all folders, sorted by name, keyed by the
+   *     reference-point-relative path of the folder
+   */
+  ReferencePointChecksumTree(Map<Path, List<Entry>> folders) {
+    this.folders = folders;
+  }
+
+  /**
+   * Returns the entries of the folder with the given path.
+   *
+   * @param folderPath the reference-point-relative path of the folder
+   * @return the entries of the folder, or <code>null</code> if the folder is not part of the
+   *     snapshot
+   */
+  List<Entry> getEntries(Path folderPath) {
+    return folders.get(folderPath);
+  }
+
+  /**
+   * Returns the reference-point-relative paths of all files contained in the subtree of the folder
+   * with the given path.
+   *
+   * @param folderPath the reference-point-relative path of the folder
+   * @return the paths of all files in the subtree, empty if the folder is not part of the snapshot
+   */
+  List<Path> getFiles(Path folderPath) {
+    if (!folders.containsKey(folderPath)) return Collections.emptyList();
+
+    List<Path> files = new ArrayList<>();
+    Deque<Path> pending = new ArrayDeque<>();
+
+    pending.push(folderPath);
+
+    while (!pending.isEmpty()) {
+      Path current = pending.pop();
+
+      for (Entry entry : folders.get(current)) {
+        Path child = current.resolve(entry.getName());
+
+        if (!entry.isFolder()) files.add(child);
+        else if (folders.containsKey(child)) pending.push(child);
+      }
+    }
+
+    return files;
+  }
+
+  /**
+   * Combines the given entries to the checksum of the folder containing them.
+   *
+   * @param entries the entries of the folder, sorted by name
+   * @return the checksum of the folder
+   */
+  static long combine(List<Entry> entries) {
+    CRC32 crc = new CRC32();
+
+    byte[] checksum = new byte[Long.BYTES];
+
+    for (Entry entry : entries) {
+      crc.update(entry.getName().getBytes(StandardCharsets.UTF_8));
+      crc.update(entry.isFolder() ? 1 : 0);
+
+      long value = entry.getChecksum();
+
+      for (int i = 0; i < checksum.length; i++) checksum[i] = (byte) (value >>> (i * 8));
+
+      crc.update(checksum);
+    }
+
+    return (crc.getValue() << 32) | entries.size();
+  }
+}
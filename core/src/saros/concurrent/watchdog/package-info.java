@@ -35,6 +35,12 @@
  *       inconsistent files
  *   <li>ConsistencyWatchdogHandler --- Network component which can sent/receive requests for
  *       recoveries from clients to the host.
+ *   <li>ConsistencyAuditServer --- Periodically calculates hierarchical checksums of all shared
+ *       reference points (including files that are not opened anywhere) in the background and
+ *       sends them to the clients
+ *   <li>ConsistencyAuditClient --- Compares the received checksums with the local files, requests
+ *       the checksums of differing subtrees and reports inconsistent files to the
+ *       ConsistencyWatchdogClient
  * </ul>
  */
 package saros.concurrent.watchdog;
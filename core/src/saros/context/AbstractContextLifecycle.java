@@ -4,6 +4,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import saros.SarosPluginContext;
+import saros.repackaged.picocontainer.ComponentMonitor;
 
 /**
  * Abstract superclass which specifies and allows customization of the Saros startup and shutdown
@@ -39,6 +40,19 @@ public abstract class AbstractContextLifecycle {
    */
   protected abstract Collection<IContextFactory> additionalContextFactories();
 
+  /**
+   * Returns the component monitor of the context, e.g. a {@link StartupProfiler}. Called once in
+   * the {@link #start() start method} before the context is created.
+   *
+   * <p>This method can be overwritten by the platform specific subclass and returns <code>null
+   * </code> by default.
+   *
+   * @return the component monitor or <code>null</code> to use none
+   */
+  protected ComponentMonitor createComponentMonitor() {
+    return null;
+  }
+
   /**
    * Performs additional initialization logic which will be called in the {@link #start start
    * method}. The call happens <b>after</b> {@link ContainerContext#initialize()} and <b>before</b>
@@ -90,7 +104,7 @@ public abstract class AbstractContextLifecycle {
     factories.add(new CoreContextFactory());
     factories.addAll(additionalContextFactories());
 
-    containerContext = new ContainerContext(factories, null);
+    containerContext = new ContainerContext(factories, createComponentMonitor());
     containerContext.initialize();
 
     initializeContext(containerContext);
@@ -1,7 +1,9 @@
 package saros.context;
 
 import java.io.File;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import org.apache.log4j.Logger;
 import saros.account.XMPPAccountStore;
 import saros.communication.extensions.ActivitiesExtension;
@@ -21,6 +23,8 @@ import saros.communication.extensions.PingExtension;
 import saros.communication.extensions.PongExtension;
 import saros.communication.extensions.ResourceNegotiationMissingFilesExtension;
 import saros.communication.extensions.ResourceNegotiationOfferingExtension;
+import saros.communication.extensions.ResumeSessionRequest;
+import saros.communication.extensions.ResumeSessionResponse;
 import saros.communication.extensions.StartActivityQueuingRequest;
 import saros.communication.extensions.StartActivityQueuingResponse;
 import saros.communication.extensions.UserFinishedResourceNegotiationExtension;
@@ -28,6 +32,7 @@ import saros.communication.extensions.UserListExtension;
 import saros.communication.extensions.UserListReceivedExtension;
 import saros.net.util.XMPPUtils;
 import saros.net.xmpp.XMPPConnectionService;
+import saros.repackaged.picocontainer.ComponentAdapter;
 import saros.repackaged.picocontainer.ComponentMonitor;
 import saros.repackaged.picocontainer.MutablePicoContainer;
 import saros.repackaged.picocontainer.PicoBuilder;
@@ -54,8 +59,9 @@ import saros.repackaged.picocontainer.injectors.Reinjector;
  *
  * <p><b>Note:</b> The <code>create</code> and <code>dispose</code> methods are not thread safe.
  *
- * <p><b>Restriction:</b> Instantiating the context <b>multiple</b> times is only allowed by using
- * different class loaders !
+ * <p><b>Restriction:</b> Multiple contexts in the same class loader, e.g. the sessions hosted by
+ * one server, share the process-wide state of their components, like the Smack configuration and
+ * the local Socks5 proxy. Such contexts must use the same network settings.
  */
 public class ContainerContext implements IContainerContext {
 
@@ -139,6 +145,8 @@ public class ContainerContext implements IContainerContext {
       // Session extensions for Timeout-Handling during a session
       Class.forName(PingExtension.class.getName());
       Class.forName(PongExtension.class.getName());
+      Class.forName(ResumeSessionRequest.class.getName());
+      Class.forName(ResumeSessionResponse.class.getName());
 
       // Server extensions
       Class.forName(JoinSessionRequestExtension.class.getName());
@@ -159,7 +167,12 @@ public class ContainerContext implements IContainerContext {
 
     log.info("initializing context...");
 
-    for (IContextFactory factory : factories) factory.createComponents(container);
+    final Set<Object> lazyComponentKeys = new HashSet<Object>();
+
+    for (IContextFactory factory : factories) {
+      factory.createComponents(container);
+      lazyComponentKeys.addAll(factory.getLazyComponentKeys());
+    }
 
     container.addComponent(IContainerContext.class, this);
 
@@ -174,12 +187,18 @@ public class ContainerContext implements IContainerContext {
      * dependencies at all and so would never be instantiated although they
      * do critical work, e.g listening to several events
      */
-    final List<Object> components = container.getComponents();
+    for (final ComponentAdapter<?> adapter : container.getComponentAdapters()) {
+      final Object key = adapter.getComponentKey();
 
-    if (log.isDebugEnabled()) {
-      for (final Object component : components) {
-        log.debug("created context component: " + component.getClass().getName());
+      if (lazyComponentKeys.contains(key)) {
+        log.debug("deferring creation of context component: " + key);
+        continue;
       }
+
+      final Object component = container.getComponent(key);
+
+      if (log.isDebugEnabled())
+        log.debug("created context component: " + component.getClass().getName());
     }
 
     container.start();
@@ -8,6 +8,10 @@ import saros.communication.chat.single.SingleUserChatService;
 import saros.communication.connection.ConnectionHandler;
 import saros.concurrent.watchdog.IsInconsistentObservable;
 import saros.editor.colorstorage.ColorIDSetStorage;
+import saros.monitoring.metrics.FileMetricsExporter;
+import saros.monitoring.metrics.JmxMetricsExporter;
+import saros.monitoring.metrics.MetricRegistry;
+import saros.monitoring.metrics.TaskExecutorMetrics;
 import saros.monitoring.remote.RemoteProgressManager;
 import saros.negotiation.AdditionalResourceDataFactory;
 import saros.negotiation.SessionNegotiationFactory;
@@ -97,7 +101,13 @@ public class CoreContextFactory extends AbstractContextFactory {
 
       // Observables
       Component.create(FileReplacementInProgressObservable.class),
-      Component.create(IsInconsistentObservable.class)
+      Component.create(IsInconsistentObservable.class),
+
+      // Monitoring
+      Component.create(MetricRegistry.class),
+      Component.create(JmxMetricsExporter.class),
+      Component.create(FileMetricsExporter.class),
+      Component.create(TaskExecutorMetrics.class)
     };
   }
 
@@ -1,5 +1,7 @@
 package saros.context;
 
+import java.util.Collection;
+import java.util.Collections;
 import saros.repackaged.picocontainer.MutablePicoContainer;
 
 /**
@@ -15,4 +17,19 @@ public interface IContextFactory {
    * @param container the container to insert the components to
    */
   public void createComponents(MutablePicoContainer container);
+
+  /**
+   * Returns the keys of the components that do not have to be created when the context is
+   * initialized, e.g. because the platform does not use them. Such a component is created on first
+   * access, i.e. when a component that depends on it is created. The keys may refer to components
+   * added by other factories.
+   *
+   * <p>Components that do their work by listening to events without being referenced by other
+   * components must not be lazy, as they would never be created.
+   *
+   * @return the keys of the lazy components, by default none
+   */
+  public default Collection<Object> getLazyComponentKeys() {
+    return Collections.emptyList();
+  }
 }
@@ -45,4 +45,15 @@ public interface IContextKeyBindings {
   public @interface PlatformVersion {
     // marker interface
   }
+
+  /**
+   * Binds the name that distinguishes the metrics of a context from the metrics of other contexts
+   * running in the same process, see {@link saros.monitoring.metrics.MetricRegistry#getScope()}.
+   */
+  @Retention(RetentionPolicy.RUNTIME)
+  @Target({ElementType.FIELD, ElementType.PARAMETER})
+  @Bind
+  public @interface MetricsScope {
+    // marker interface
+  }
 }
@@ -0,0 +1,216 @@
+package saros.context;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.TimeUnit;
+import saros.repackaged.picocontainer.ComponentAdapter;
+import saros.repackaged.picocontainer.MutablePicoContainer;
+import saros.repackaged.picocontainer.PicoContainer;
+import saros.repackaged.picocontainer.monitors.NullComponentMonitor;
+
+/**
+ * Measures the startup of a context. Used as the {@linkplain ContainerContext#ContainerContext
+ * component monitor} of a context, it records how long the constructor and the <code>start</code>
+ * method of each component take. The dependencies of a component are created before its
+ * constructor is invoked, so the recorded times do not include the times of the dependencies.
+ *
+ * <p>Further steps, e.g. connecting to the XMPP server, are recorded with {@link #mark(String)}.
+ * {@link #getReport(int)} lists the steps and the most expensive components.
+ *
+ * <p>The profiler only takes two time stamps per constructor and per <code>start</code> method, so
+ * it is cheap enough to be always enabled.
+ *
+ * <p>This class is thread safe.
+ */
+public class StartupProfiler extends NullComponentMonitor {
+
+  private static final long serialVersionUID = 1L;
+
+  private static final String START_METHOD = "start";
+
+  private final long created = System.nanoTime();
+
+  private long lastMark = created;
+
+  private final Map<String, Long> steps = new LinkedHashMap<String, Long>();
+
+  private final Map<String, long[]> components = new LinkedHashMap<String, long[]>();
+
+  private final transient ThreadLocal<Deque<Long>> pending =
+      ThreadLocal.withInitial(ArrayDeque::new);
+
+  /**
+   * Records the end of a startup step that started with the creation of this profiler or with the
+   * end of the previous step.
+   *
+   * @param step the name of the step
+   */
+  public synchronized void mark(final String step) {
+    final long now = System.nanoTime();
+
+    steps.merge(step, now - lastMark, Long::sum);
+    lastMark = now;
+  }
+
+  /** Returns the time in milliseconds that passed between the creation and the last mark. */
+  public synchronized long getElapsedTime() {
+    return TimeUnit.NANOSECONDS.toMillis(lastMark - created);
+  }
+
+  /**
+   * Returns the time in nanoseconds it took to create and start the given component.
+   *
+   * @param implementation the name of the implementation class of the component
+   * @return the time or -1 if the component was not created
+   */
+  public synchronized long getComponentTime(final String implementation) {
+    final long[] times = components.get(implementation);
+
+    return times == null ? -1 : total(times);
+  }
+
+  /**
+   * Returns a human readable report of the recorded steps and components. The components are
+   * ordered by the time it took to create and start them.
+   *
+   * @param maxComponents the maximum number of components to list
+   * @return the report
+   */
+  public synchronized String getReport(final int maxComponents) {
+    final StringBuilder report = new StringBuilder();
+
+    report.append("startup took ").append(getElapsedTime()).append(" ms");
+
+    for (final Entry<String, Long> step : steps.entrySet())
+      report.append(String.format("%n  %8.1f ms  %s", toMillis(step.getValue()), step.getKey()));
+
+    final List<Entry<String, long[]>> ranking =
+        new ArrayList<Entry<String, long[]>>(components.entrySet());
+
+    Collections.sort(ranking, (a, b) -> Long.compare(total(b.getValue()), total(a.getValue())));
+
+    final int count = Math.min(maxComponents, ranking.size());
+
+    report.append(
+        String.format("%n  most expensive %d of %d components:", count, components.size()));
+
+    for (final Entry<String, long[]> entry : ranking.subList(0, count)) {
+      final long[] times = entry.getValue();
+
+      report.append(
+          String.format(
+              "%n  %8.1f ms  %s (create %.1f ms, start %.1f ms)",
+              toMillis(total(times)),
+              entry.getKey(),
+              toMillis(times[0]),
+              toMillis(times[1])));
+    }
+
+    return report.toString();
+  }
+
+  @Override
+  public <T> Constructor<T> instantiating(
+      final PicoContainer container,
+      final ComponentAdapter<T> componentAdapter,
+      final Constructor<T> constructor) {
+    pending.get().push(System.nanoTime());
+    return constructor;
+  }
+
+  @Override
+  public <T> void instantiated(
+      final PicoContainer container,
+      final ComponentAdapter<T> componentAdapter,
+      final Constructor<T> constructor,
+      final Object instantiated,
+      final Object[] injected,
+      final long duration) {
+    record(constructor.getDeclaringClass().getName(), 0);
+  }
+
+  @Override
+  public <T> void instantiationFailed(
+      final PicoContainer container,
+      final ComponentAdapter<T> componentAdapter,
+      final Constructor<T> constructor,
+      final Exception cause) {
+    pending.get().poll();
+  }
+
+  @Override
+  public Object invoking(
+      final PicoContainer container,
+      final ComponentAdapter<?> componentAdapter,
+      final Member member,
+      final Object instance,
+      final Object[] args) {
+    if (isStart(member)) pending.get().push(System.nanoTime());
+
+    return KEEP;
+  }
+
+  @Override
+  public void invoked(
+      final PicoContainer container,
+      final ComponentAdapter<?> componentAdapter,
+      final Member member,
+      final Object instance,
+      final long duration,
+      final Object[] args,
+      final Object retVal) {
+    if (isStart(member)) record(instance.getClass().getName(), 1);
+  }
+
+  @Override
+  public void invocationFailed(final Member member, final Object instance, final Exception e) {
+    if (isStart(member)) pending.get().poll();
+  }
+
+  @Override
+  public void lifecycleInvocationFailed(
+      final MutablePicoContainer container,
+      final ComponentAdapter<?> componentAdapter,
+      final Method method,
+      final Object instance,
+      final RuntimeException cause) {
+    if (isStart(method)) pending.get().poll();
+
+    super.lifecycleInvocationFailed(container, componentAdapter, method, instance, cause);
+  }
+
+  private void record(final String implementation, final int phase) {
+    final Long start = pending.get().poll();
+
+    if (start == null) return;
+
+    final long duration = System.nanoTime() - start;
+
+    synchronized (this) {
+      components.computeIfAbsent(implementation, k -> new long[2])[phase] += duration;
+    }
+  }
+
+  private static boolean isStart(final Member member) {
+    return member instanceof Method
+        && START_METHOD.equals(member.getName())
+        && ((Method) member).getParameterTypes().length == 0;
+  }
+
+  private static long total(final long[] times) {
+    return times[0] + times[1];
+  }
+
+  private static double toMillis(final long nanos) {
+    return nanos / 1e6;
+  }
+}
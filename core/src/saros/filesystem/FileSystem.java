@@ -10,6 +10,8 @@ import java.util.Collections;
 import java.util.List;
 import java.util.zip.Adler32;
 import org.apache.commons.io.IOUtils;
+import saros.monitoring.JfrSupport;
+import saros.monitoring.jfr.ChecksumEvent;
 
 /**
  * Utility class offering static methods to perform file and folder manipulation. If not stated
@@ -40,18 +42,26 @@ public class FileSystem {
       throw new IOException("failed to calculate checksum", e);
     }
 
+    final Object event = JfrSupport.ENABLED ? ChecksumEvent.start() : null;
+
     byte[] buffer = new byte[BUFFER_SIZE];
 
     Adler32 adler = new Adler32();
 
     int read;
+    long size = 0;
 
     try {
-      while ((read = in.read(buffer)) != -1) adler.update(buffer, 0, read);
+      while ((read = in.read(buffer)) != -1) {
+        adler.update(buffer, 0, read);
+        size += read;
+      }
     } finally {
       IOUtils.closeQuietly(in);
     }
 
+    if (event != null) ChecksumEvent.finish(event, ChecksumEvent.FILE, file, size);
+
     return adler.getValue();
   }
 
@@ -2,6 +2,8 @@ package saros.filesystem;
 
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.List;
 
 /**
@@ -30,6 +32,44 @@ public interface IContainer extends IResource {
    */
   List<IResource> members() throws IOException;
 
+  /**
+   * Visits all existing resources contained in this container, i.e. its members and their members.
+   * Folders are visited before their members. The container itself is not visited.
+   *
+   * <p>Implementations should read the attributes of each resource while listing its parent, so a
+   * traversal costs one file system query per resource. This default implementation does not
+   * provide modification times.
+   *
+   * @param visitor the visitor
+   * @throws IOException if this container does not exist, the members of a folder could not be read
+   *     or the visitor aborted the traversal
+   */
+  default void accept(final IResourceVisitor visitor) throws IOException {
+    final Deque<IResource> stack = new ArrayDeque<>(members());
+
+    while (!stack.isEmpty()) {
+      final IResource resource = stack.pop();
+
+      if (!resource.exists()) continue;
+
+      if (resource.getType() == Type.FILE) {
+        final long size = ((IFile) resource).getSize();
+
+        visitor.visit(
+            resource, new ResourceAttributes(Type.FILE, size, ResourceAttributes.UNKNOWN));
+
+      } else if (visitor.visit(
+          resource,
+          new ResourceAttributes(
+              resource.getType(), ResourceAttributes.UNKNOWN, ResourceAttributes.UNKNOWN))) {
+
+        final List<IResource> members = ((IContainer) resource).members();
+
+        for (int i = members.size() - 1; i >= 0; i--) stack.push(members.get(i));
+      }
+    }
+  }
+
   /**
    * Returns a handle for the file with the given relative path to this resource.
    *
@@ -0,0 +1,19 @@
+package saros.filesystem;
+
+import java.io.IOException;
+
+/** A visitor for the {@linkplain IContainer#accept(IResourceVisitor) traversal} of a container. */
+@FunctionalInterface
+public interface IResourceVisitor {
+
+  /**
+   * Visits the given resource.
+   *
+   * @param resource the resource
+   * @param attributes the attributes of the resource, read together with the resource itself
+   * @return <code>true</code> if the members of the resource should be visited, <code>false</code>
+   *     to skip them; the result is ignored for files
+   * @throws IOException to abort the traversal
+   */
+  boolean visit(IResource resource, ResourceAttributes attributes) throws IOException;
+}
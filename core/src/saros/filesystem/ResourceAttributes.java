@@ -0,0 +1,54 @@
+package saros.filesystem;
+
+import saros.filesystem.IResource.Type;
+
+/**
+ * The attributes of a resource as they were read during a {@linkplain
+ * IContainer#accept(IResourceVisitor) traversal}. The attributes are a snapshot and are not updated
+ * if the resource changes afterwards.
+ */
+public final class ResourceAttributes {
+
+  /** Value of the size and the modification time if they are not known. */
+  public static final long UNKNOWN = -1;
+
+  private final Type type;
+
+  private final long size;
+
+  private final long lastModified;
+
+  /**
+   * Creates the attributes of a resource.
+   *
+   * @param type the type of the resource
+   * @param size the size of the resource in bytes or {@link #UNKNOWN}
+   * @param lastModified the modification time of the resource in milliseconds since the epoch or
+   *     {@link #UNKNOWN}
+   */
+  public ResourceAttributes(final Type type, final long size, final long lastModified) {
+    this.type = type;
+    this.size = size;
+    this.lastModified = lastModified;
+  }
+
+  /** Returns the type of the resource. */
+  public Type getType() {
+    return type;
+  }
+
+  /** Returns the size of the resource in bytes or {@link #UNKNOWN}. */
+  public long getSize() {
+    return size;
+  }
+
+  /** Returns the modification time in milliseconds since the epoch or {@link #UNKNOWN}. */
+  public long getLastModified() {
+    return lastModified;
+  }
+
+  @Override
+  public String toString() {
+    return "[type=" + type + ", size=" + size + ", lastModified=" + lastModified + "]";
+  }
+}
@@ -8,6 +8,9 @@ import java.util.List;
 import java.util.Map;
 import org.apache.log4j.Logger;
 import saros.filesystem.IFile;
+import saros.filesystem.ResourceAttributes;
+import saros.monitoring.metrics.Counter;
+import saros.monitoring.metrics.MetricRegistry;
 
 /**
  * Default implementation of the checksum cache {@link IChecksumCache interface} .
@@ -37,6 +40,10 @@ public final class FileSystemChecksumCache implements IChecksumCache {
     long h2;
     T object;
 
+    /* attributes of the file when the object was set, used for validation */
+    long size = ResourceAttributes.UNKNOWN;
+    long lastModified = ResourceAttributes.UNKNOWN;
+
     public Murmur3Hash(long h1, long h2) {
       this.h1 = h1;
       this.h2 = h2;
@@ -68,6 +75,11 @@ public final class FileSystemChecksumCache implements IChecksumCache {
     public T getObject() {
       return object;
     }
+
+    public void setAttributes(long size, long lastModified) {
+      this.size = size;
+      this.lastModified = lastModified;
+    }
   }
 
   private final IFileContentChangedListener fileContentChangedListener =
@@ -75,6 +87,8 @@ public final class FileSystemChecksumCache implements IChecksumCache {
 
         @Override
         public void fileContentChanged(IFile file) {
+          invalidations.increment();
+
           synchronized (FileSystemChecksumCache.this) {
             final String path = absolutePathResolver.getAbsolutePath(file);
 
@@ -105,9 +119,26 @@ public final class FileSystemChecksumCache implements IChecksumCache {
 
   private Map<Integer, Object> cache = new HashMap<Integer, Object>();
 
+  private final Counter hits;
+
+  private final Counter misses;
+
+  private final Counter invalidations;
+
   public FileSystemChecksumCache(
       IFileContentChangedNotifier fileContentChangedNotifier,
       IAbsolutePathResolver absolutePathResolver) {
+    this(fileContentChangedNotifier, absolutePathResolver, new MetricRegistry());
+  }
+
+  public FileSystemChecksumCache(
+      IFileContentChangedNotifier fileContentChangedNotifier,
+      IAbsolutePathResolver absolutePathResolver,
+      MetricRegistry metrics) {
+
+    this.hits = metrics.counter("checksum.cache.hits");
+    this.misses = metrics.counter("checksum.cache.misses");
+    this.invalidations = metrics.counter("checksum.cache.invalidations");
 
     fileContentChangedNotifier.addFileContentChangedListener(fileContentChangedListener);
 
@@ -115,8 +146,53 @@ public final class FileSystemChecksumCache implements IChecksumCache {
   }
 
   @Override
-  @SuppressWarnings({"unchecked"})
   public synchronized Long getChecksum(IFile file) {
+    return getChecksum(file, null);
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>A checksum is considered invalid if it was added together with attributes and the size or
+   * the modification time of the given attributes differ from them. This detects modifications
+   * that were not reported by the file content changed notifier, e.g. modifications that happened
+   * while no session was running.
+   */
+  @Override
+  public synchronized Long getChecksum(IFile file, ResourceAttributes attributes) {
+    final Murmur3Hash<Long> hash = lookupHash(file);
+
+    Long checksum = hash != null ? hash.getObject() : null;
+
+    if (checksum != null && attributes != null && !isUpToDate(hash, attributes)) {
+      if (log.isTraceEnabled()) log.trace("checksum is outdated, file was modified: " + file);
+
+      invalidations.increment();
+      hash.setObject(null);
+      checksum = null;
+    }
+
+    if (checksum == null) misses.increment();
+    else hits.increment();
+
+    return checksum;
+  }
+
+  private static boolean isUpToDate(Murmur3Hash<Long> hash, ResourceAttributes attributes) {
+    final long size = attributes.getSize();
+    final long lastModified = attributes.getLastModified();
+
+    return isUnknownOrEqual(hash.size, size) && isUnknownOrEqual(hash.lastModified, lastModified);
+  }
+
+  private static boolean isUnknownOrEqual(long recorded, long current) {
+    return recorded == ResourceAttributes.UNKNOWN
+        || current == ResourceAttributes.UNKNOWN
+        || recorded == current;
+  }
+
+  @SuppressWarnings({"unchecked"})
+  private Murmur3Hash<Long> lookupHash(IFile file) {
 
     final String path = absolutePathResolver.getAbsolutePath(file);
 
@@ -138,7 +214,7 @@ public final class FileSystemChecksumCache implements IChecksumCache {
       if (hash.equals(object)) {
         Murmur3Hash<Long> currentHash = (Murmur3Hash<Long>) object;
         logValidChecksum(path, currentHash);
-        return currentHash.getObject();
+        return currentHash;
       } else {
         logNoValidChecksum(path);
         return null;
@@ -155,12 +231,18 @@ public final class FileSystemChecksumCache implements IChecksumCache {
 
     Murmur3Hash<Long> currentHash = hashes.get(index);
     logValidChecksum(path, currentHash);
-    return currentHash.getObject();
+    return currentHash;
   }
 
   @Override
-  @SuppressWarnings("unchecked")
   public synchronized boolean addChecksum(IFile file, long checksum) {
+    return addChecksum(file, checksum, null);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public synchronized boolean addChecksum(
+      IFile file, long checksum, ResourceAttributes attributes) {
 
     final String path = absolutePathResolver.getAbsolutePath(file);
 
@@ -169,8 +251,13 @@ public final class FileSystemChecksumCache implements IChecksumCache {
       return false;
     }
 
+    final long size = attributes != null ? attributes.getSize() : ResourceAttributes.UNKNOWN;
+    final long lastModified =
+        attributes != null ? attributes.getLastModified() : ResourceAttributes.UNKNOWN;
+
     Murmur3Hash<Long> hash = create128BitMurmur3Hash(path);
     hash.setObject(checksum);
+    hash.setAttributes(size, lastModified);
 
     Object object = cache.get(path.hashCode());
 
@@ -182,6 +269,8 @@ public final class FileSystemChecksumCache implements IChecksumCache {
     Murmur3Hash<Long> currentHash = getHash(path, hash);
 
     if (currentHash != null) {
+      currentHash.setAttributes(size, lastModified);
+
       if (currentHash.getObject() == null) {
         currentHash.setObject(checksum);
         return true;
@@ -1,6 +1,7 @@
 package saros.filesystem.checksum;
 
 import saros.filesystem.IFile;
+import saros.filesystem.ResourceAttributes;
 
 /**
  * An interface that can be used to access checksums. So they do not need to be recalculated as long
@@ -25,4 +26,31 @@ public interface IChecksumCache {
    * @return <code>true</code> if the former checksum was invalid, <code>false</code> otherwise
    */
   public abstract boolean addChecksum(IFile file, long checksum);
+
+  /**
+   * Returns the checksum for the given file if it is still valid for the given attributes of the
+   * file, e.g. because the file was not modified since the checksum was added. Implementations
+   * that do not record attributes ignore them.
+   *
+   * @param file the file to lookup
+   * @param attributes the current attributes of the file
+   * @return the checksum or <code>null</code> if no checksum for this file exists or the checksum
+   *     has become invalid
+   */
+  public default Long getChecksum(IFile file, ResourceAttributes attributes) {
+    return getChecksum(file);
+  }
+
+  /**
+   * Adds or update a checksum in the cache for the given file and records the attributes the file
+   * had when the checksum was calculated.
+   *
+   * @param file file to add/update
+   * @param checksum the checksum to add
+   * @param attributes the attributes of the file
+   * @return <code>true</code> if the former checksum was invalid, <code>false</code> otherwise
+   */
+  public default boolean addChecksum(IFile file, long checksum, ResourceAttributes attributes) {
+    return addChecksum(file, checksum);
+  }
 }
@@ -47,12 +47,12 @@ public class ResourceTransportWrapperConverter implements Converter, Startable {
 
   @Override
   public void start() {
-    ActivitiesExtension.PROVIDER.registerConverter(this);
+    ActivitiesExtension.PROVIDER.registerConverter(session.getID(), this);
   }
 
   @Override
   public void stop() {
-    ActivitiesExtension.PROVIDER.unregisterConverter(this);
+    ActivitiesExtension.PROVIDER.unregisterConverter(session.getID(), this);
   }
 
   @Override
@@ -81,7 +81,7 @@ public class ResourceTransportWrapperConverter implements Converter, Startable {
 
     Type type = resource.getType();
 
-    if (type != Type.FILE && type != Type.FOLDER) {
+    if (type != Type.FILE && type != Type.FOLDER && type != Type.REFERENCE_POINT) {
       throw new IllegalStateException(
           "Illegal resource type " + type + " for resource " + resource);
     }
@@ -109,10 +109,12 @@ public class ResourceTransportWrapperConverter implements Converter, Startable {
       return null;
     }
 
-    Path path = PathUtils.fromPortableString(p);
-
     Type type = Type.valueOf(t);
 
+    if (type == Type.REFERENCE_POINT) return new ResourceTransportWrapper<>(referencePoint);
+
+    Path path = PathUtils.fromPortableString(p);
+
     if (type == Type.FILE) {
       return new ResourceTransportWrapper<>(referencePoint.getFile(path));
     } else if (type == Type.FOLDER) {
@@ -0,0 +1,79 @@
+package saros.misc.xstream;
+
+import com.thoughtworks.xstream.converters.Converter;
+import com.thoughtworks.xstream.converters.MarshallingContext;
+import com.thoughtworks.xstream.converters.UnmarshallingContext;
+import com.thoughtworks.xstream.io.HierarchicalStreamReader;
+import com.thoughtworks.xstream.io.HierarchicalStreamWriter;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.log4j.Logger;
+
+/**
+ * A {@link ScopedConverter} is an XStream {@link Converter} that delegates to one of several
+ * converters of the same class, depending on the {@linkplain XStreamExtensionProvider#getScope()
+ * scope} of the payload that is currently converted, e.g. the session the payload belongs to. This
+ * allows several sessions to register their own converters with the same XStream instance.
+ */
+class ScopedConverter implements Converter {
+
+  private static final Logger log = Logger.getLogger(ScopedConverter.class);
+
+  private final Map<String, Converter> delegates = new ConcurrentHashMap<String, Converter>();
+
+  /** Answers {@link #canConvert(Class)}, which XStream calls lazily and caches the result of. */
+  private volatile Converter prototype;
+
+  public ScopedConverter(Converter prototype) {
+    if (prototype == null) throw new IllegalArgumentException("prototype must not be null");
+
+    this.prototype = prototype;
+  }
+
+  /** Uses the given converter for payloads of the given scope. */
+  public void register(String scope, Converter converter) {
+    delegates.put(scope, converter);
+    prototype = converter;
+  }
+
+  /** Stops using the converter that was registered for the given scope. */
+  public void unregister(String scope) {
+    delegates.remove(scope);
+  }
+
+  @SuppressWarnings("rawtypes")
+  @Override
+  public boolean canConvert(Class clazz) {
+    return prototype.canConvert(clazz);
+  }
+
+  @Override
+  public void marshal(Object value, HierarchicalStreamWriter writer, MarshallingContext context) {
+    Converter delegate = getDelegate();
+
+    if (delegate == null) {
+      log.debug("Tried to marshal " + value + " without converter for the current scope");
+      return;
+    }
+
+    delegate.marshal(value, writer, context);
+  }
+
+  @Override
+  public Object unmarshal(HierarchicalStreamReader reader, UnmarshallingContext context) {
+    Converter delegate = getDelegate();
+
+    if (delegate == null) {
+      log.debug("Tried to unmarshal without converter for the current scope");
+      return null;
+    }
+
+    return delegate.unmarshal(reader, context);
+  }
+
+  private Converter getDelegate() {
+    String scope = XStreamExtensionProvider.getScope();
+
+    return scope == null ? null : delegates.get(scope);
+  }
+}
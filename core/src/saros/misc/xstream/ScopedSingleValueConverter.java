@@ -0,0 +1,76 @@
+package saros.misc.xstream;
+
+import com.thoughtworks.xstream.converters.SingleValueConverter;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.log4j.Logger;
+
+/**
+ * A {@link ScopedSingleValueConverter} is an XStream {@link SingleValueConverter} that delegates to
+ * one of several converters of the same class, depending on the {@linkplain
+ * XStreamExtensionProvider#getScope() scope} of the payload that is currently converted, e.g. the
+ * session the payload belongs to.
+ */
+class ScopedSingleValueConverter implements SingleValueConverter {
+
+  private static final Logger log = Logger.getLogger(ScopedSingleValueConverter.class);
+
+  private final Map<String, SingleValueConverter> delegates =
+      new ConcurrentHashMap<String, SingleValueConverter>();
+
+  /** Answers {@link #canConvert(Class)}, which XStream calls lazily and caches the result of. */
+  private volatile SingleValueConverter prototype;
+
+  public ScopedSingleValueConverter(SingleValueConverter prototype) {
+    if (prototype == null) throw new IllegalArgumentException("prototype must not be null");
+
+    this.prototype = prototype;
+  }
+
+  /** Uses the given converter for payloads of the given scope. */
+  public void register(String scope, SingleValueConverter converter) {
+    delegates.put(scope, converter);
+    prototype = converter;
+  }
+
+  /** Stops using the converter that was registered for the given scope. */
+  public void unregister(String scope) {
+    delegates.remove(scope);
+  }
+
+  @SuppressWarnings("rawtypes")
+  @Override
+  public boolean canConvert(Class type) {
+    return prototype.canConvert(type);
+  }
+
+  @Override
+  public String toString(Object obj) {
+    SingleValueConverter delegate = getDelegate();
+
+    if (delegate == null) {
+      log.debug("Tried to marshal " + obj + " without converter for the current scope");
+      return "";
+    }
+
+    return delegate.toString(obj);
+  }
+
+  @Override
+  public Object fromString(String str) {
+    SingleValueConverter delegate = getDelegate();
+
+    if (delegate == null) {
+      log.debug("Tried to unmarshal " + str + " without converter for the current scope");
+      return null;
+    }
+
+    return delegate.fromString(str);
+  }
+
+  private SingleValueConverter getDelegate() {
+    String scope = XStreamExtensionProvider.getScope();
+
+    return scope == null ? null : delegates.get(scope);
+  }
+}
@@ -23,12 +23,12 @@ public class UserConverter extends AbstractSingleValueConverter implements Start
 
   @Override
   public void start() {
-    ActivitiesExtension.PROVIDER.registerConverter(this);
+    ActivitiesExtension.PROVIDER.registerConverter(session.getID(), this);
   }
 
   @Override
   public void stop() {
-    ActivitiesExtension.PROVIDER.unregisterConverter(this);
+    ActivitiesExtension.PROVIDER.unregisterConverter(session.getID(), this);
   }
 
   @SuppressWarnings({"rawtypes"})
@@ -12,6 +12,7 @@ import java.io.StringWriter;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.function.Supplier;
 import org.apache.log4j.Logger;
 import org.jivesoftware.smack.filter.PacketExtensionFilter;
 import org.jivesoftware.smack.filter.PacketFilter;
@@ -34,16 +35,30 @@ public class XStreamExtensionProvider<T> implements PacketExtensionProvider, IQP
 
   private static volatile ClassLoader currentClassloader;
 
+  /** The scope of the payload that is currently converted by this thread, see {@link #getScope}. */
+  private static final ThreadLocal<String> currentScope = new ThreadLocal<String>();
+
   protected final String namespace;
 
   protected final String elementName;
 
-  private final XStream xstream;
+  private final ClassLoader classLoader;
+
+  private final Class<?>[] classes;
+
+  /** Created on first use, see {@link #getXStream()}. */
+  private volatile XStream xstream;
 
   private Map<Class<? extends Converter>, ReplaceableConverter> replaceables;
   private Map<Class<? extends SingleValueConverter>, ReplaceableSingleValueConverter>
       replaceableSingles;
 
+  private final Map<Class<? extends Converter>, ScopedConverter> scopedConverters =
+      new HashMap<Class<? extends Converter>, ScopedConverter>();
+  private final Map<Class<? extends SingleValueConverter>, ScopedSingleValueConverter>
+      scopedSingles =
+          new HashMap<Class<? extends SingleValueConverter>, ScopedSingleValueConverter>();
+
   /**
    * Sets the class loader to use when a new provider is created. This class loader will be used by
    * {@link XStream} to unmarshal the given packet extension.
@@ -63,6 +78,10 @@ public class XStreamExtensionProvider<T> implements PacketExtensionProvider, IQP
    *
    * <p><b>Important</b>: use valid XML element names and namespaces or the receiving side will be
    * unable to decode the extension !
+   *
+   * <p>The provider is registered immediately, but the underlying {@link XStream} instance, whose
+   * annotation processing is comparatively expensive, is only created when the first extension is
+   * serialized or parsed.
    */
   public XStreamExtensionProvider(String namespace, String elementName, Class<?>... classes) {
 
@@ -72,17 +91,8 @@ public class XStreamExtensionProvider<T> implements PacketExtensionProvider, IQP
 
     this.elementName = elementName;
     this.namespace = namespace;
-
-    xstream = XStreamFactory.getSecureXStream();
-
-    if (classLoader != null) xstream.setClassLoader(classLoader);
-    else xstream.setClassLoader(getClass().getClassLoader());
-
-    xstream.registerConverter(BooleanConverter.BINARY);
-    xstream.registerConverter(new UrlEncodingStringConverter());
-    xstream.processAnnotations(XStreamPacketExtension.class);
-    xstream.processAnnotations(classes);
-    xstream.alias(elementName, XStreamPacketExtension.class);
+    this.classLoader = classLoader != null ? classLoader : getClass().getClassLoader();
+    this.classes = classes.clone();
 
     ProviderManager providerManager = ProviderManager.getInstance();
     providerManager.addExtensionProvider(getElementName(), getNamespace(), this);
@@ -95,6 +105,147 @@ public class XStreamExtensionProvider<T> implements PacketExtensionProvider, IQP
         new HashMap<Class<? extends SingleValueConverter>, ReplaceableSingleValueConverter>();
   }
 
+  private XStream getXStream() {
+    XStream result = xstream;
+
+    if (result != null) return result;
+
+    synchronized (this) {
+      if (xstream != null) return xstream;
+
+      result = XStreamFactory.getSecureXStream();
+
+      result.setClassLoader(classLoader);
+      result.registerConverter(BooleanConverter.BINARY);
+      result.registerConverter(new UrlEncodingStringConverter());
+      result.processAnnotations(XStreamPacketExtension.class);
+      result.processAnnotations(classes);
+      result.alias(elementName, XStreamPacketExtension.class);
+
+      configure(result);
+
+      xstream = result;
+    }
+
+    return result;
+  }
+
+  /**
+   * Called once when the {@link XStream} instance of this provider is created. Subclasses can
+   * register additional converters, e.g. to determine the {@linkplain #getScope() scope} of their
+   * payloads. Does nothing by default.
+   *
+   * @param xstream the XStream instance of this provider
+   */
+  protected void configure(XStream xstream) {
+    // NOP
+  }
+
+  /**
+   * Returns the scope of the payload that is currently converted by the calling thread, or <code>
+   * null</code> if the payload has no scope. The scope selects which of the converters registered
+   * with {@link #registerConverter(String, Converter)} is used.
+   */
+  static String getScope() {
+    return currentScope.get();
+  }
+
+  /**
+   * Calls the given supplier with the given scope, so the converters registered for this scope are
+   * used for all conversions the supplier performs on the calling thread.
+   *
+   * @param scope the scope, e.g. the ID of the session the converted payload belongs to
+   * @param supplier the supplier to call
+   * @return the result of the supplier
+   */
+  protected static <R> R withScope(String scope, Supplier<R> supplier) {
+    String previous = currentScope.get();
+
+    currentScope.set(scope);
+
+    try {
+      return supplier.get();
+    } finally {
+      currentScope.set(previous);
+    }
+  }
+
+  /**
+   * Registers a {@link Converter} that is only used while payloads of the given {@linkplain
+   * #getScope() scope} are converted. This allows several sessions to register their own instances
+   * of the same converter class at the same time.
+   *
+   * @param scope the scope, e.g. the ID of a session
+   * @param converter the converter to use for payloads of the given scope. There can only be one
+   *     instance per converter class and scope.
+   */
+  public synchronized void registerConverter(String scope, Converter converter) {
+    Class<? extends Converter> clazz = converter.getClass();
+
+    ScopedConverter scoped = scopedConverters.get(clazz);
+
+    if (scoped == null) {
+      log.debug("Registering new scoped converter of " + clazz);
+
+      scoped = new ScopedConverter(converter);
+      getXStream().registerConverter(scoped);
+      scopedConverters.put(clazz, scoped);
+    }
+
+    scoped.register(scope, converter);
+  }
+
+  /**
+   * Unregisters a {@link Converter} that was registered for the given scope. The converters of
+   * other scopes are still used.
+   *
+   * @param scope the scope the converter was registered for
+   * @param converter the converter, more precisely one of the same class
+   */
+  public synchronized void unregisterConverter(String scope, Converter converter) {
+    ScopedConverter scoped = scopedConverters.get(converter.getClass());
+
+    if (scoped != null) scoped.unregister(scope);
+  }
+
+  /**
+   * Registers a {@link SingleValueConverter} that is only used while payloads of the given
+   * {@linkplain #getScope() scope} are converted.
+   *
+   * @param scope the scope, e.g. the ID of a session
+   * @param converter the converter to use for payloads of the given scope. There can only be one
+   *     instance per converter class and scope.
+   * @see #registerConverter(String, Converter)
+   */
+  public synchronized void registerConverter(String scope, SingleValueConverter converter) {
+    Class<? extends SingleValueConverter> clazz = converter.getClass();
+
+    ScopedSingleValueConverter scoped = scopedSingles.get(clazz);
+
+    if (scoped == null) {
+      log.debug("Registering new scoped converter of " + clazz);
+
+      scoped = new ScopedSingleValueConverter(converter);
+      getXStream().registerConverter(scoped);
+      scopedSingles.put(clazz, scoped);
+    }
+
+    scoped.register(scope, converter);
+  }
+
+  /**
+   * Unregisters a {@link SingleValueConverter} that was registered for the given scope. The
+   * converters of other scopes are still used.
+   *
+   * @param scope the scope the converter was registered for
+   * @param converter the converter, more precisely one of the same class
+   */
+  public synchronized void unregisterConverter(String scope, SingleValueConverter converter) {
+    ScopedSingleValueConverter scoped = scopedSingles.get(converter.getClass());
+
+    if (scoped != null) scoped.unregister(scope);
+  }
+
   /**
    * Register additional {@link Converter}s at runtime. This is useful if a converter cannot be used
    * isolatedly, e.g. because it requires a running Saros session.
@@ -115,7 +266,7 @@ public class XStreamExtensionProvider<T> implements PacketExtensionProvider, IQP
     log.debug("Registering new converter of " + clazz);
 
     ReplaceableConverter replaceable = new ReplaceableConverter(converter);
-    xstream.registerConverter(replaceable);
+    getXStream().registerConverter(replaceable);
     replaceables.put(clazz, replaceable);
   }
 
@@ -155,7 +306,7 @@ public class XStreamExtensionProvider<T> implements PacketExtensionProvider, IQP
     log.debug("Registering new converter of " + clazz);
 
     ReplaceableSingleValueConverter replaceable = new ReplaceableSingleValueConverter(converter);
-    xstream.registerConverter(replaceable);
+    getXStream().registerConverter(replaceable);
     replaceableSingles.put(clazz, replaceable);
   }
 
@@ -237,7 +388,7 @@ public class XStreamExtensionProvider<T> implements PacketExtensionProvider, IQP
     @Override
     public String toXML() {
       StringWriter writer = new StringWriter(512);
-      provider.xstream.marshal(this, new CompactWriter(writer));
+      provider.getXStream().marshal(this, new CompactWriter(writer));
       return writer.toString();
     }
   }
@@ -274,7 +425,7 @@ public class XStreamExtensionProvider<T> implements PacketExtensionProvider, IQP
   public PacketExtension parseExtension(XmlPullParser parser) {
     try {
       XStreamPacketExtension<T> result =
-          (XStreamPacketExtension<T>) xstream.unmarshal(new XppReader(parser));
+          (XStreamPacketExtension<T>) getXStream().unmarshal(new XppReader(parser));
       result.provider = this;
       return result;
     } catch (RuntimeException e) {
@@ -322,7 +473,7 @@ public class XStreamExtensionProvider<T> implements PacketExtensionProvider, IQP
   @SuppressWarnings("unchecked")
   public T parseString(String string) throws IOException {
     try {
-      return ((XStreamPacketExtension<T>) xstream.fromXML(string)).getPayload();
+      return ((XStreamPacketExtension<T>) getXStream().fromXML(string)).getPayload();
     } catch (Exception e) {
       throw new IOException(e);
     }
@@ -341,7 +492,7 @@ public class XStreamExtensionProvider<T> implements PacketExtensionProvider, IQP
   public IQ parseIQ(XmlPullParser parser) throws Exception {
     try {
       XStreamPacketExtension<T> result =
-          (XStreamPacketExtension<T>) xstream.unmarshal(new XppReader(parser));
+          (XStreamPacketExtension<T>) getXStream().unmarshal(new XppReader(parser));
       result.provider = this;
       return new XStreamIQPacket<T>(result);
     } catch (RuntimeException e) {
@@ -0,0 +1,26 @@
+package saros.monitoring;
+
+/**
+ * Tells whether the Java Flight Recorder events in {@link saros.monitoring.jfr} can be used. The
+ * bundle still runs on Java 8 runtimes that do not provide the <code>jdk.jfr</code> module, so
+ * callers must check {@link #ENABLED} before touching any of the event classes. Otherwise loading
+ * an event class fails with a {@link NoClassDefFoundError}.
+ */
+public final class JfrSupport {
+
+  /** <code>true</code> if the runtime provides the Java Flight Recorder event API */
+  public static final boolean ENABLED = isAvailable();
+
+  private JfrSupport() {
+    // NOP
+  }
+
+  private static boolean isAvailable() {
+    try {
+      Class.forName("jdk.jfr.Event", false, JfrSupport.class.getClassLoader());
+      return true;
+    } catch (ClassNotFoundException | LinkageError e) {
+      return false;
+    }
+  }
+}
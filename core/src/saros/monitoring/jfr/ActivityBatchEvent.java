@@ -0,0 +1,70 @@
+package saros.monitoring.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/** A batch of activities that was sent to or received from a session participant. */
+@Name("saros.ActivityBatch")
+@Label("Activity Batch")
+@Category({"Saros", "Session"})
+@Description("Marshalling and sending, or executing, a batch of activities")
+public final class ActivityBatchEvent extends jdk.jfr.Event {
+
+  public static final String SENT = "sent";
+
+  public static final String RECEIVED = "received";
+
+  @Label("Direction")
+  public String direction;
+
+  @Label("Peer")
+  public String peer;
+
+  @Label("Sequence Number")
+  @Description("Sequence number of the first activity of the batch")
+  public int sequenceNumber;
+
+  @Label("Activities")
+  public int size;
+
+  /**
+   * Creates and begins a new event.
+   *
+   * @return the event, to be passed to {@link #finish}
+   */
+  public static Object start() {
+    final ActivityBatchEvent event = new ActivityBatchEvent();
+    event.begin();
+    return event;
+  }
+
+  /**
+   * Ends the given event and commits it if it is enabled.
+   *
+   * @param event the event returned by {@link #start()}
+   * @param direction either {@link #SENT} or {@link #RECEIVED}
+   * @param peer the user the batch was sent to or received from
+   * @param sequenceNumber the sequence number of the first activity of the batch
+   * @param size the number of activities of the batch
+   */
+  public static void finish(
+      final Object event,
+      final String direction,
+      final Object peer,
+      final int sequenceNumber,
+      final int size) {
+
+    final ActivityBatchEvent batchEvent = (ActivityBatchEvent) event;
+    batchEvent.end();
+
+    if (!batchEvent.shouldCommit()) return;
+
+    batchEvent.direction = direction;
+    batchEvent.peer = String.valueOf(peer);
+    batchEvent.sequenceNumber = sequenceNumber;
+    batchEvent.size = size;
+    batchEvent.commit();
+  }
+}
@@ -0,0 +1,60 @@
+package saros.monitoring.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/** The creation or extraction of an archive during a resource negotiation. */
+@Name("saros.Archive")
+@Label("Archive")
+@Category({"Saros", "Negotiation"})
+public final class ArchiveEvent extends jdk.jfr.Event {
+
+  public static final String COMPRESS = "compress";
+
+  public static final String DECOMPRESS = "decompress";
+
+  @Label("Operation")
+  public String operation;
+
+  @Label("Files")
+  public int files;
+
+  @Label("Size")
+  @DataAmount
+  public long size;
+
+  /**
+   * Creates and begins a new event.
+   *
+   * @return the event, to be passed to {@link #finish}
+   */
+  public static Object start() {
+    final ArchiveEvent event = new ArchiveEvent();
+    event.begin();
+    return event;
+  }
+
+  /**
+   * Ends the given event and commits it if it is enabled.
+   *
+   * @param event the event returned by {@link #start()}
+   * @param operation either {@link #COMPRESS} or {@link #DECOMPRESS}
+   * @param files the number of files of the archive
+   * @param size the uncompressed size of the files
+   */
+  public static void finish(
+      final Object event, final String operation, final int files, final long size) {
+
+    final ArchiveEvent archiveEvent = (ArchiveEvent) event;
+    archiveEvent.end();
+
+    if (!archiveEvent.shouldCommit()) return;
+
+    archiveEvent.operation = operation;
+    archiveEvent.files = files;
+    archiveEvent.size = size;
+    archiveEvent.commit();
+  }
+}
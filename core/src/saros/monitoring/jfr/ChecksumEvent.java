@@ -0,0 +1,60 @@
+package saros.monitoring.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/** The calculation of the checksum of a file or of the content of an editor. */
+@Name("saros.Checksum")
+@Label("Checksum Calculation")
+@Category({"Saros", "Consistency"})
+public final class ChecksumEvent extends jdk.jfr.Event {
+
+  public static final String FILE = "file";
+
+  public static final String DOCUMENT = "document";
+
+  @Label("Kind")
+  public String kind;
+
+  @Label("Path")
+  public String path;
+
+  @Label("Size")
+  @DataAmount
+  public long size;
+
+  /**
+   * Creates and begins a new event.
+   *
+   * @return the event, to be passed to {@link #finish}
+   */
+  public static Object start() {
+    final ChecksumEvent event = new ChecksumEvent();
+    event.begin();
+    return event;
+  }
+
+  /**
+   * Ends the given event and commits it if it is enabled.
+   *
+   * @param event the event returned by {@link #start()}
+   * @param kind either {@link #FILE} or {@link #DOCUMENT}
+   * @param path the file the checksum was calculated for
+   * @param size the number of bytes or characters the checksum was calculated over
+   */
+  public static void finish(
+      final Object event, final String kind, final Object path, final long size) {
+
+    final ChecksumEvent checksumEvent = (ChecksumEvent) event;
+    checksumEvent.end();
+
+    if (!checksumEvent.shouldCommit()) return;
+
+    checksumEvent.kind = kind;
+    checksumEvent.path = String.valueOf(path);
+    checksumEvent.size = size;
+    checksumEvent.commit();
+  }
+}
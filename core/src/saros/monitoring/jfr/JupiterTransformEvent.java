@@ -0,0 +1,65 @@
+package saros.monitoring.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/** The transformation of a Jupiter activity by the Jupiter server on the host. */
+@Name("saros.JupiterTransform")
+@Label("Jupiter Transform")
+@Category({"Saros", "Concurrent Editing"})
+public final class JupiterTransformEvent extends jdk.jfr.Event {
+
+  @Label("File")
+  public String file;
+
+  @Label("Source")
+  public String source;
+
+  @Label("History Depth")
+  @Description("Number of unacknowledged operations the activity was transformed against")
+  public int historyDepth;
+
+  @Label("Recipients")
+  public int recipients;
+
+  /**
+   * Creates and begins a new event.
+   *
+   * @return the event, to be passed to {@link #finish}
+   */
+  public static Object start() {
+    final JupiterTransformEvent event = new JupiterTransformEvent();
+    event.begin();
+    return event;
+  }
+
+  /**
+   * Ends the given event and commits it if it is enabled.
+   *
+   * @param event the event returned by {@link #start()}
+   * @param file the file the activity belongs to
+   * @param source the user who created the activity
+   * @param historyDepth the number of unacknowledged operations of the source's proxy
+   * @param recipients the number of users a transformed activity was generated for
+   */
+  public static void finish(
+      final Object event,
+      final Object file,
+      final Object source,
+      final int historyDepth,
+      final int recipients) {
+
+    final JupiterTransformEvent transformEvent = (JupiterTransformEvent) event;
+    transformEvent.end();
+
+    if (!transformEvent.shouldCommit()) return;
+
+    transformEvent.file = String.valueOf(file);
+    transformEvent.source = String.valueOf(source);
+    transformEvent.historyDepth = historyDepth;
+    transformEvent.recipients = recipients;
+    transformEvent.commit();
+  }
+}
@@ -0,0 +1,52 @@
+package saros.monitoring.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A lock cycle of the StopManager, lasting from the creation of a start handle until it is
+ * started. The event is committed by the thread that starts the handle.
+ */
+@Name("saros.StopManagerLock")
+@Label("StopManager Lock")
+@Category({"Saros", "Session"})
+@Description("Time a user was stopped by the StopManager")
+public final class StopManagerLockEvent extends jdk.jfr.Event {
+
+  @Label("User")
+  public String user;
+
+  @Label("Scope")
+  public String scope;
+
+  /**
+   * Creates and begins a new event.
+   *
+   * @return the event, to be passed to {@link #finish}
+   */
+  public static Object start() {
+    final StopManagerLockEvent event = new StopManagerLockEvent();
+    event.begin();
+    return event;
+  }
+
+  /**
+   * Ends the given event and commits it if it is enabled.
+   *
+   * @param event the event returned by {@link #start()}
+   * @param user the user that was stopped
+   * @param scope the blocking scope of the lock
+   */
+  public static void finish(final Object event, final Object user, final Object scope) {
+    final StopManagerLockEvent lockEvent = (StopManagerLockEvent) event;
+    lockEvent.end();
+
+    if (!lockEvent.shouldCommit()) return;
+
+    lockEvent.user = String.valueOf(user);
+    lockEvent.scope = String.valueOf(scope);
+    lockEvent.commit();
+  }
+}
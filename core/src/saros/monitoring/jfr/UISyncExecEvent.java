@@ -0,0 +1,57 @@
+package saros.monitoring.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+import saros.synchronize.UISynchronizer;
+
+/**
+ * A synchronous execution on the UI thread. The duration of the event covers waiting for the UI
+ * thread and the execution itself, the time spent waiting is recorded separately.
+ */
+@Name("saros.UISyncExec")
+@Label("UI SyncExec")
+@Category({"Saros", "UI"})
+@Description("Synchronous execution of Saros code on the UI thread")
+public final class UISyncExecEvent extends jdk.jfr.Event {
+
+  @Label("Operation")
+  public String operation;
+
+  @Label("Wait Time")
+  @Description("Time spent waiting for the UI thread")
+  @Timespan(Timespan.NANOSECONDS)
+  public long waitTime;
+
+  /**
+   * Executes the given runnable synchronously on the UI thread and records the execution as an
+   * event.
+   *
+   * @param synchronizer the synchronizer to use for the execution
+   * @param operation the name of the operation recorded for the event
+   * @param runnable the runnable to execute
+   */
+  public static void syncExec(
+      final UISynchronizer synchronizer, final String operation, final Runnable runnable) {
+
+    final UISyncExecEvent event = new UISyncExecEvent();
+    event.begin();
+
+    final long beginTime = System.nanoTime();
+
+    synchronizer.syncExec(
+        () -> {
+          event.waitTime = System.nanoTime() - beginTime;
+          runnable.run();
+        });
+
+    event.end();
+
+    if (event.shouldCommit()) {
+      event.operation = operation;
+      event.commit();
+    }
+  }
+}
@@ -0,0 +1,13 @@
+/**
+ * Custom Java Flight Recorder events for the hot paths of Saros. The events are only recorded if a
+ * flight recording with the <code>Saros</code> category enabled is running, e.g. started with
+ * <code>jcmd &lt;pid&gt; JFR.start</code>. Otherwise creating and committing an event has nearly no
+ * overhead, so fields that are costly to compute are only set after <code>shouldCommit()</code>
+ * returned <code>true</code>.
+ *
+ * <p>The classes of this package must only be loaded if {@link saros.monitoring.JfrSupport#ENABLED}
+ * is <code>true</code>. Callers therefore only use the static <code>start</code> and <code>finish
+ * </code> methods of the events, which do not expose any <code>jdk.jfr</code> type in their
+ * signature, and keep the returned event as an <code>Object</code>.
+ */
+package saros.monitoring.jfr;
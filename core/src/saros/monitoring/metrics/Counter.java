@@ -0,0 +1,34 @@
+package saros.monitoring.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A monotonically increasing count, e.g. the number of transformed operations or sent bytes.
+ *
+ * <p>This class is thread safe and optimized for frequent updates from multiple threads.
+ */
+public final class Counter {
+
+  private final LongAdder value = new LongAdder();
+
+  /** Increments the count by one. */
+  public void increment() {
+    value.increment();
+  }
+
+  /**
+   * Increments the count by the given amount.
+   *
+   * @param amount the amount to add, must not be negative
+   */
+  public void add(final long amount) {
+    if (amount < 0) throw new IllegalArgumentException("amount is negative: " + amount);
+
+    value.add(amount);
+  }
+
+  /** Returns the current count. */
+  public long get() {
+    return value.sum();
+  }
+}
@@ -0,0 +1,108 @@
+package saros.monitoring.metrics;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map.Entry;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.apache.log4j.Logger;
+import saros.repackaged.picocontainer.Startable;
+import saros.util.NamedThreadFactory;
+import saros.util.ThreadUtils;
+
+/**
+ * Periodically appends the values of the {@link MetricRegistry} to a local file. The export is
+ * enabled by setting the system property <code>saros.metrics.FILE</code> to the path of the file.
+ * The interval in milliseconds can be changed with <code>saros.metrics.DUMP_INTERVAL</code>. The
+ * metrics of a {@linkplain MetricRegistry#getScope() scoped} registry are written to a file of the
+ * same path with the scope appended as an extension.
+ *
+ * <p>Each dump is written as a single line containing the current time in milliseconds followed by
+ * the <code>name=value</code> pairs of all metrics, separated by spaces.
+ */
+public class FileMetricsExporter implements Startable {
+
+  private static final Logger log = Logger.getLogger(FileMetricsExporter.class);
+
+  private static final String FILE = System.getProperty("saros.metrics.FILE");
+
+  private static final long DUMP_INTERVAL = Long.getLong("saros.metrics.DUMP_INTERVAL", 60000L);
+
+  private final MetricRegistry registry;
+
+  private final File file;
+
+  private final long interval;
+
+  private ScheduledThreadPoolExecutor scheduler;
+
+  public FileMetricsExporter(final MetricRegistry registry) {
+    this(registry, getFile(registry.getScope()), DUMP_INTERVAL);
+  }
+
+  FileMetricsExporter(final MetricRegistry registry, final File file, final long interval) {
+    this.registry = registry;
+    this.file = file;
+    this.interval = interval;
+  }
+
+  @Override
+  public synchronized void start() {
+    if (file == null || scheduler != null) return;
+
+    log.info("dumping metrics every " + interval + " ms to " + file.getAbsolutePath());
+
+    scheduler = new ScheduledThreadPoolExecutor(1, new NamedThreadFactory("metrics-dump", false));
+
+    scheduler.scheduleWithFixedDelay(
+        ThreadUtils.wrapSafe(log, this::dump), interval, interval, TimeUnit.MILLISECONDS);
+  }
+
+  @Override
+  public synchronized void stop() {
+    if (scheduler == null) return;
+
+    scheduler.shutdown();
+
+    try {
+      scheduler.awaitTermination(interval, TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+
+    scheduler = null;
+
+    // the final values are of interest when analyzing a run
+    dump();
+  }
+
+  /*
+   * Registries of different scopes write to different files, so the lines
+   * of concurrently running contexts are not interleaved.
+   */
+  private static File getFile(final String scope) {
+    if (FILE == null) return null;
+
+    return scope == null ? new File(FILE) : new File(FILE + "." + scope);
+  }
+
+  void dump() {
+    final StringBuilder line = new StringBuilder().append(System.currentTimeMillis());
+
+    for (final Entry<String, Long> entry : registry.getValues().entrySet())
+      line.append(' ').append(entry.getKey()).append('=').append(entry.getValue());
+
+    line.append('\n');
+
+    try (Writer out =
+        new OutputStreamWriter(new FileOutputStream(file, true), StandardCharsets.UTF_8)) {
+      out.write(line.toString());
+    } catch (IOException e) {
+      log.warn("failed to dump metrics to " + file.getAbsolutePath(), e);
+    }
+  }
+}
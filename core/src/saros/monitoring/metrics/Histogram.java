@@ -0,0 +1,107 @@
+package saros.monitoring.metrics;
+
+import java.util.Arrays;
+
+/**
+ * A histogram of non-negative values, e.g. latencies in milliseconds, with a bounded relative
+ * error. Values below {@value #LINEAR_LIMIT} are counted exactly, larger values are counted in
+ * {@value #SUB_BUCKETS} buckets per power of two. This keeps the error of the reported percentiles
+ * below 7% while using a fixed amount of memory.
+ *
+ * <p>This class is thread safe.
+ */
+public final class Histogram {
+
+  private static final int SUB_BUCKET_BITS = 4;
+
+  private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+  private static final int LINEAR_LIMIT = SUB_BUCKETS * 2;
+
+  private static final int BUCKET_COUNT =
+      LINEAR_LIMIT + (Long.SIZE - SUB_BUCKET_BITS - 1) * SUB_BUCKETS;
+
+  private final long[] buckets = new long[BUCKET_COUNT];
+
+  private long count;
+
+  private long max;
+
+  /**
+   * Records the given value. Negative values, e.g. latencies affected by clock skew between two
+   * machines, are recorded as zero.
+   *
+   * @param value the value to record
+   */
+  public synchronized void record(long value) {
+    if (value < 0) value = 0;
+
+    buckets[indexOf(value)]++;
+    count++;
+    max = Math.max(max, value);
+  }
+
+  /** Returns the number of recorded values. */
+  public synchronized long getCount() {
+    return count;
+  }
+
+  /** Returns the largest recorded value or 0 if no values were recorded. */
+  public synchronized long getMax() {
+    return max;
+  }
+
+  /**
+   * Returns the smallest value such that at least the given percentage of all recorded values is
+   * less than or equal to it.
+   *
+   * @param percentile the percentile, must be in the range of (0, 100]
+   * @return the value at the given percentile or 0 if no values were recorded
+   */
+  public synchronized long getPercentile(final double percentile) {
+    if (percentile <= 0 || percentile > 100)
+      throw new IllegalArgumentException("percentile out of range: " + percentile);
+
+    if (count == 0) return 0;
+
+    final long rank = Math.max(1, (long) Math.ceil(count * percentile / 100D));
+
+    long seen = 0;
+
+    for (int i = 0; i < buckets.length; i++) {
+      seen += buckets[i];
+
+      if (seen >= rank) return Math.min(upperBoundOf(i), max);
+    }
+
+    return max;
+  }
+
+  /** Removes all recorded values. */
+  public synchronized void reset() {
+    Arrays.fill(buckets, 0);
+    count = 0;
+    max = 0;
+  }
+
+  static int indexOf(final long value) {
+    if (value < LINEAR_LIMIT) return (int) value;
+
+    final int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+    final int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+
+    return LINEAR_LIMIT + (exponent - SUB_BUCKET_BITS - 1) * SUB_BUCKETS + subBucket;
+  }
+
+  static long upperBoundOf(final int index) {
+    if (index < LINEAR_LIMIT) return index;
+
+    final int exponent = (index - LINEAR_LIMIT) / SUB_BUCKETS + SUB_BUCKET_BITS + 1;
+    final long subBucket = (index - LINEAR_LIMIT) % SUB_BUCKETS;
+    final int shift = exponent - SUB_BUCKET_BITS;
+
+    final long lowerBound = (1L << exponent) + (subBucket << shift);
+
+    return lowerBound + (1L << shift) - 1;
+  }
+}
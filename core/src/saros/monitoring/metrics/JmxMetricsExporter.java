@@ -0,0 +1,144 @@
+package saros.monitoring.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.SortedMap;
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.JMException;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanInfo;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.apache.log4j.Logger;
+import saros.repackaged.picocontainer.Startable;
+
+/**
+ * Exports the values of the {@link MetricRegistry} as read-only attributes of the MBean <code>
+ * saros:type=Metrics</code> to the platform MBean server, e.g. for inspection with JConsole or
+ * VisualVM. The metrics of a {@linkplain MetricRegistry#getScope() scoped} registry are exported as
+ * <code>saros:type=Metrics,scope=&lt;scope&gt;</code>.
+ *
+ * <p>The export can be disabled with the system property <code>saros.metrics.JMX=false</code>.
+ */
+public class JmxMetricsExporter implements Startable {
+
+  private static final Logger log = Logger.getLogger(JmxMetricsExporter.class);
+
+  private static final boolean ENABLED =
+      Boolean.parseBoolean(System.getProperty("saros.metrics.JMX", "true"));
+
+  private static final String OBJECT_NAME = "saros:type=Metrics";
+
+  private final MetricRegistry registry;
+
+  private ObjectName registeredName;
+
+  public JmxMetricsExporter(final MetricRegistry registry) {
+    this.registry = registry;
+  }
+
+  @Override
+  public synchronized void start() {
+    if (!ENABLED) return;
+
+    try {
+      final ObjectName name = getObjectName();
+      final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+      if (server.isRegistered(name)) {
+        log.warn("MBean " + name + " is already registered, metrics are not exported");
+        return;
+      }
+
+      server.registerMBean(new MetricsMBean(), name);
+      registeredName = name;
+    } catch (JMException | RuntimeException e) {
+      log.error("failed to register MBean for metrics scope " + registry.getScope(), e);
+    }
+  }
+
+  @Override
+  public synchronized void stop() {
+    if (registeredName == null) return;
+
+    try {
+      ManagementFactory.getPlatformMBeanServer().unregisterMBean(registeredName);
+    } catch (JMException | RuntimeException e) {
+      log.warn("failed to unregister MBean " + registeredName, e);
+    }
+
+    registeredName = null;
+  }
+
+  private ObjectName getObjectName() throws JMException {
+    final String scope = registry.getScope();
+
+    if (scope == null) return new ObjectName(OBJECT_NAME);
+
+    return new ObjectName(OBJECT_NAME + ",scope=" + ObjectName.quote(scope));
+  }
+
+  private class MetricsMBean implements DynamicMBean {
+
+    @Override
+    public Object getAttribute(final String attribute) throws AttributeNotFoundException {
+      final Long value = registry.getValues().get(attribute);
+
+      if (value == null) throw new AttributeNotFoundException(attribute);
+
+      return value;
+    }
+
+    @Override
+    public AttributeList getAttributes(final String[] attributes) {
+      final SortedMap<String, Long> values = registry.getValues();
+      final AttributeList result = new AttributeList();
+
+      for (final String attribute : attributes) {
+        final Long value = values.get(attribute);
+
+        if (value != null) result.add(new Attribute(attribute, value));
+      }
+
+      return result;
+    }
+
+    @Override
+    public void setAttribute(final Attribute attribute) throws AttributeNotFoundException {
+      throw new AttributeNotFoundException("metrics are read-only: " + attribute.getName());
+    }
+
+    @Override
+    public AttributeList setAttributes(final AttributeList attributes) {
+      return new AttributeList();
+    }
+
+    @Override
+    public Object invoke(final String actionName, final Object[] params, final String[] signature) {
+      throw new UnsupportedOperationException("metrics do not provide operations");
+    }
+
+    @Override
+    public MBeanInfo getMBeanInfo() {
+      final List<MBeanAttributeInfo> attributes = new ArrayList<MBeanAttributeInfo>();
+
+      for (final Entry<String, Long> entry : registry.getValues().entrySet())
+        attributes.add(
+            new MBeanAttributeInfo(
+                entry.getKey(), Long.class.getName(), entry.getKey(), true, false, false));
+
+      return new MBeanInfo(
+          MetricRegistry.class.getName(),
+          "Saros metrics",
+          attributes.toArray(new MBeanAttributeInfo[0]),
+          null,
+          null,
+          null);
+    }
+  }
+}
@@ -0,0 +1,153 @@
+package saros.monitoring.metrics;
+
+import java.util.Map.Entry;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.LongSupplier;
+import org.apache.log4j.Logger;
+import saros.context.IContextKeyBindings.MetricsScope;
+
+/**
+ * Central registry for the operational metrics of the application, i.e. {@linkplain Counter
+ * counters}, gauges and {@linkplain Histogram histograms}. Metrics are identified by a dot
+ * separated name, e.g. <code>session.activities.sent</code>, and are created on first access.
+ *
+ * <p>Components obtain the registry from the context and keep the returned metric objects, so
+ * updating a metric does not involve a lookup. Gauges are evaluated only when the values are read,
+ * e.g. by the {@link JmxMetricsExporter} or the {@link FileMetricsExporter}. Components with a
+ * shorter lifetime than the context, e.g. session components, must {@linkplain #remove remove}
+ * their gauges when they are stopped.
+ *
+ * <p>If several contexts run in the same process, e.g. the sessions hosted by one server, each of
+ * them has its own registry. The {@linkplain #getScope() scope} of the registry is then used by the
+ * exporters to tell the metrics of the contexts apart.
+ *
+ * <p>This class is thread safe.
+ */
+public class MetricRegistry {
+
+  private static final Logger log = Logger.getLogger(MetricRegistry.class);
+
+  private final ConcurrentMap<String, Object> metrics = new ConcurrentHashMap<String, Object>();
+
+  private final String scope;
+
+  /** Creates a registry without a scope. */
+  public MetricRegistry() {
+    this(null);
+  }
+
+  /**
+   * Creates a registry for the metrics of the given scope.
+   *
+   * @param scope the scope or <code>null</code> if this is the only registry of the process
+   */
+  public MetricRegistry(@MetricsScope final String scope) {
+    this.scope = scope;
+  }
+
+  /**
+   * Returns the scope of the metrics of this registry.
+   *
+   * @return the scope or <code>null</code> if this is the only registry of the process
+   */
+  public String getScope() {
+    return scope;
+  }
+
+  /**
+   * Returns the counter with the given name. The counter is created if it does not exist.
+   *
+   * @param name the name of the counter
+   * @return the counter
+   * @throws IllegalArgumentException if a metric of another type is registered with this name
+   */
+  public Counter counter(final String name) {
+    return get(name, Counter.class, new Counter());
+  }
+
+  /**
+   * Returns the histogram with the given name. The histogram is created if it does not exist.
+   *
+   * @param name the name of the histogram
+   * @return the histogram
+   * @throws IllegalArgumentException if a metric of another type is registered with this name
+   */
+  public Histogram histogram(final String name) {
+    return get(name, Histogram.class, new Histogram());
+  }
+
+  /**
+   * Registers a gauge with the given name, replacing the gauge that is currently registered with
+   * this name. The gauge is evaluated each time the values of this registry are read and therefore
+   * must be cheap and must not block.
+   *
+   * @param name the name of the gauge
+   * @param gauge supplies the current value
+   * @throws IllegalArgumentException if a metric of another type is registered with this name
+   */
+  public void gauge(final String name, final LongSupplier gauge) {
+    final Object current = metrics.get(name);
+
+    if (current != null && !(current instanceof LongSupplier))
+      throw new IllegalArgumentException("metric " + name + " is not a gauge");
+
+    metrics.put(name, gauge);
+  }
+
+  /**
+   * Removes the metric with the given name.
+   *
+   * @param name the name of the metric
+   */
+  public void remove(final String name) {
+    metrics.remove(name);
+  }
+
+  /**
+   * Returns the current values of all metrics sorted by their names. Histograms are reported with
+   * the suffixes <code>.count</code>, <code>.p50</code>, <code>.p99</code> and <code>.max</code>.
+   *
+   * @return the current values
+   */
+  public SortedMap<String, Long> getValues() {
+    final SortedMap<String, Long> values = new TreeMap<String, Long>();
+
+    for (final Entry<String, Object> entry : metrics.entrySet()) {
+      final String name = entry.getKey();
+      final Object metric = entry.getValue();
+
+      if (metric instanceof Counter) {
+        values.put(name, ((Counter) metric).get());
+      } else if (metric instanceof Histogram) {
+        final Histogram histogram = (Histogram) metric;
+
+        values.put(name + ".count", histogram.getCount());
+        values.put(name + ".p50", histogram.getPercentile(50));
+        values.put(name + ".p99", histogram.getPercentile(99));
+        values.put(name + ".max", histogram.getMax());
+      } else {
+        try {
+          values.put(name, ((LongSupplier) metric).getAsLong());
+        } catch (RuntimeException e) {
+          log.warn("failed to evaluate gauge " + name, e);
+        }
+      }
+    }
+
+    return values;
+  }
+
+  private <T> T get(final String name, final Class<T> type, final T metric) {
+    final Object current = metrics.putIfAbsent(name, metric);
+
+    if (current == null) return metric;
+
+    if (!type.isInstance(current))
+      throw new IllegalArgumentException("metric " + name + " is not a " + type.getSimpleName());
+
+    return type.cast(current);
+  }
+}
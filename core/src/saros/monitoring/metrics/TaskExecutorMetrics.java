@@ -0,0 +1,47 @@
+package saros.monitoring.metrics;
+
+import saros.repackaged.picocontainer.Startable;
+import saros.util.TaskExecutor;
+
+/**
+ * Registers gauges for the {@linkplain TaskExecutor#getDefault() default task executor} in the
+ * {@link MetricRegistry}: the number of its threads, the number of running and completed tasks and
+ * the percentiles of the time in microseconds the tasks waited before they were started.
+ */
+public class TaskExecutorMetrics implements Startable {
+
+  private static final String PREFIX = "executor.";
+
+  private static final String THREADS = PREFIX + "threads";
+  private static final String ACTIVE_TASKS = PREFIX + "tasks.active";
+  private static final String COMPLETED_TASKS = PREFIX + "tasks.completed";
+  private static final String LATENCY_P50 = PREFIX + "tasks.latency_us.p50";
+  private static final String LATENCY_P99 = PREFIX + "tasks.latency_us.p99";
+  private static final String LATENCY_MAX = PREFIX + "tasks.latency_us.max";
+
+  private final MetricRegistry registry;
+
+  public TaskExecutorMetrics(final MetricRegistry registry) {
+    this.registry = registry;
+  }
+
+  @Override
+  public void start() {
+    registry.gauge(THREADS, () -> TaskExecutor.getDefault().getThreadCount());
+    registry.gauge(ACTIVE_TASKS, () -> TaskExecutor.getDefault().getActiveTaskCount());
+    registry.gauge(COMPLETED_TASKS, () -> TaskExecutor.getDefault().getCompletedTaskCount());
+    registry.gauge(LATENCY_P50, () -> TaskExecutor.getDefault().getLatency().getPercentile(50));
+    registry.gauge(LATENCY_P99, () -> TaskExecutor.getDefault().getLatency().getPercentile(99));
+    registry.gauge(LATENCY_MAX, () -> TaskExecutor.getDefault().getLatency().getMax());
+  }
+
+  @Override
+  public void stop() {
+    registry.remove(THREADS);
+    registry.remove(ACTIVE_TASKS);
+    registry.remove(COMPLETED_TASKS);
+    registry.remove(LATENCY_P50);
+    registry.remove(LATENCY_P99);
+    registry.remove(LATENCY_MAX);
+  }
+}
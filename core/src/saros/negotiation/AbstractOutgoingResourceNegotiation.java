@@ -6,6 +6,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Random;
 import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
 import org.apache.log4j.Logger;
 import org.jivesoftware.smack.packet.Packet;
 import saros.communication.extensions.ResourceNegotiationMissingFilesExtension;
@@ -30,6 +31,7 @@ import saros.session.ISarosSession;
 import saros.session.ISarosSessionManager;
 import saros.session.SessionEndReason;
 import saros.session.User;
+import saros.synchronize.BlockingScope;
 import saros.synchronize.StartHandle;
 
 /**
@@ -54,6 +56,9 @@ public abstract class AbstractOutgoingResourceNegotiation extends ResourceNegoti
 
   private final AdditionalResourceDataFactory additionalResourceDataFactory;
 
+  /** The file lists created for the shared reference points, keyed by the reference point ID */
+  private final Map<String, FileList> localFileLists = new ConcurrentHashMap<>();
+
   protected AbstractOutgoingResourceNegotiation( //
       final JID peer, //
       final ResourceSharingData resourceSharingData, //
@@ -267,15 +272,26 @@ public abstract class AbstractOutgoingResourceNegotiation extends ResourceNegoti
 
     final List<User> usersToStop = new ArrayList<User>(session.getUsers());
 
-    log.debug(this + " : stopping users " + usersToStop);
+    /*
+     * Only the negotiated reference points have to be stable during the
+     * negotiation, all other work of the participants can continue.
+     */
+    final List<IReferencePoint> referencePoints = new ArrayList<>();
+
+    for (IReferencePoint referencePoint : resourceSharingData) referencePoints.add(referencePoint);
 
-    monitor.beginTask("Locking the session...", IProgressMonitor.UNKNOWN);
+    final BlockingScope scope =
+        referencePoints.isEmpty() ? BlockingScope.SESSION : BlockingScope.of(referencePoints);
+
+    log.debug(this + " : stopping users " + usersToStop + " for " + scope);
+
+    monitor.beginTask("Locking the shared resources...", IProgressMonitor.UNKNOWN);
 
     // FIXME better handling of users that do not reply !!!
     try {
       return session
           .getStopManager()
-          .stop(usersToStop, "archive creation for OPN [id=" + getID() + "]");
+          .stop(usersToStop, "archive creation for OPN [id=" + getID() + "]", scope);
     } catch (CancellationException e) {
       log.warn("failed to stop users", e);
       return null;
@@ -346,6 +362,8 @@ public abstract class AbstractOutgoingResourceNegotiation extends ResourceNegoti
 
         referencePointFileList.setReferencePointID(referencePointID);
 
+        localFileLists.put(referencePointID, referencePointFileList);
+
         Map<String, String> additionalResourceData =
             additionalResourceDataFactory.build(referencePoint);
 
@@ -375,6 +393,21 @@ public abstract class AbstractOutgoingResourceNegotiation extends ResourceNegoti
     return negData;
   }
 
+  /**
+   * Returns the size the given file had when the file list of its reference point was created.
+   * This avoids querying the file system again for sizes that were already read while scanning the
+   * reference point.
+   *
+   * @param referencePointID the ID of the reference point
+   * @param path the reference point relative path of the file
+   * @return the size in bytes or <code>null</code> if it is not known
+   */
+  protected Long getScannedFileSize(final String referencePointID, final String path) {
+    final FileList list = localFileLists.get(referencePointID);
+
+    return list == null ? null : list.getFileSize(path);
+  }
+
   /**
    * Sends an activity queuing request to the remote side and awaits the confirmation of the
    * request.
@@ -142,6 +142,12 @@ public class ArchiveOutgoingResourceNegotiation extends AbstractOutgoingResource
 
     final List<IResource> resourcesToLock = new ArrayList<IResource>();
 
+    /*
+     * the sizes were already read while scanning the reference points, fall
+     * back to reading them again if one of them is unknown
+     */
+    long totalSize = 0;
+
     for (final FileList list : fileLists) {
       final String referencePointID = list.getReferencePointID();
 
@@ -176,6 +182,10 @@ public class ArchiveOutgoingResourceNegotiation extends AbstractOutgoingResource
 
         filesToCompress.add(new ImmutablePair<>(file, qualifiedPath));
 
+        final Long size = totalSize < 0 ? null : getScannedFileSize(referencePointID, path);
+
+        totalSize = size == null ? -1 : totalSize + size;
+
         aliasBuilder.setLength(prefixLength);
       }
     }
@@ -187,7 +197,7 @@ public class ArchiveOutgoingResourceNegotiation extends AbstractOutgoingResource
     try {
       tempArchive = File.createTempFile("saros_" + getID(), ".zip");
       workspace.run(
-          new CreateArchiveTask(tempArchive, filesToCompress, monitor),
+          new CreateArchiveTask(tempArchive, filesToCompress, totalSize, monitor),
           resourcesToLock.toArray(new IResource[0]));
     } catch (OperationCanceledException e) {
       LocalCancellationException canceled = new LocalCancellationException();
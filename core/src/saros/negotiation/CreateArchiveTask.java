@@ -17,7 +17,9 @@ import saros.exceptions.OperationCanceledException;
 import saros.filesystem.IFile;
 import saros.filesystem.IWorkspaceRunnable;
 import saros.monitoring.IProgressMonitor;
+import saros.monitoring.JfrSupport;
 import saros.monitoring.NullProgressMonitor;
+import saros.monitoring.jfr.ArchiveEvent;
 import saros.util.CoreUtils;
 
 // TODO java doc
@@ -30,14 +32,30 @@ public class CreateArchiveTask implements IWorkspaceRunnable {
   private final File archive;
   private final List<Pair<IFile, String>> filesToCompress;
   private final IProgressMonitor monitor;
+  private final long totalSizeHint;
 
   public CreateArchiveTask(
       final File archive,
       final List<Pair<IFile, String>> filesToCompress,
       final IProgressMonitor monitor) {
+    this(archive, filesToCompress, -1, monitor);
+  }
+
+  /**
+   * Creates a task that uses the given total size of the files to report the progress instead of
+   * querying the size of each file before the archive is created.
+   *
+   * @param totalSize the total size of the files in bytes or a negative value if it is unknown
+   */
+  public CreateArchiveTask(
+      final File archive,
+      final List<Pair<IFile, String>> filesToCompress,
+      final long totalSize,
+      final IProgressMonitor monitor) {
 
     this.archive = archive;
     this.filesToCompress = filesToCompress;
+    this.totalSizeHint = totalSize;
     this.monitor = monitor;
   }
 
@@ -47,7 +65,9 @@ public class CreateArchiveTask implements IWorkspaceRunnable {
 
     if (monitor == null) monitor = new NullProgressMonitor();
 
-    long totalSize = getTotalFileSize(filesToCompress);
+    long totalSize = totalSizeHint >= 0 ? totalSizeHint : getTotalFileSize(filesToCompress);
+
+    final Object event = JfrSupport.ENABLED ? ArchiveEvent.start() : null;
 
     StopWatch stopWatch = new StopWatch();
     stopWatch.start();
@@ -117,6 +137,8 @@ public class CreateArchiveTask implements IWorkspaceRunnable {
     }
 
     stopWatch.stop();
+    if (event != null)
+      ArchiveEvent.finish(event, ArchiveEvent.COMPRESS, filesToCompress.size(), totalRead);
 
     log.debug(
         String.format(
@@ -16,6 +16,8 @@ import saros.filesystem.IWorkspace;
 import saros.filesystem.IWorkspaceRunnable;
 import saros.monitoring.CancelableInputStream;
 import saros.monitoring.IProgressMonitor;
+import saros.monitoring.JfrSupport;
+import saros.monitoring.jfr.ArchiveEvent;
 import saros.session.ISarosSession;
 
 public class DecompressArchiveTask implements IWorkspaceRunnable {
@@ -58,6 +60,11 @@ public class DecompressArchiveTask implements IWorkspaceRunnable {
   public void run(IProgressMonitor monitor) throws IOException, OperationCanceledException {
     if (this.monitor != null) monitor = this.monitor;
 
+    final Object event = JfrSupport.ENABLED ? ArchiveEvent.start() : null;
+
+    int files = 0;
+    long size = 0;
+
     ZipFile zipFile = null;
 
     try {
@@ -120,6 +127,9 @@ public class DecompressArchiveTask implements IWorkspaceRunnable {
           }
         }
 
+        files++;
+        size += entry.getSize();
+
         monitor.worked(1);
 
         if (log.isTraceEnabled()) log.trace("file written to disk: " + path);
@@ -133,5 +143,7 @@ public class DecompressArchiveTask implements IWorkspaceRunnable {
         log.warn("failed to close zip file " + zipFile.getName() + " : " + e.getMessage());
       }
     }
+
+    if (event != null) ArchiveEvent.finish(event, ArchiveEvent.DECOMPRESS, files, size);
   }
 }
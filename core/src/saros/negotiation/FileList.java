@@ -250,6 +250,12 @@ public class FileList {
     @XStreamAlias("crc")
     long checksum;
 
+    /**
+     * Size of this file in bytes as seen while creating the list or <code>null</code> if unknown.
+     * The size is only known locally, it is not transferred.
+     */
+    @XStreamOmitField Long size;
+
     @Override
     public boolean equals(Object o) {
       if (o == this) return true;
@@ -285,6 +291,18 @@ public class FileList {
     return root.getMetaData(path);
   }
 
+  /**
+   * Returns the size the file with the given path had when this list was created.
+   *
+   * @param path the path of the file
+   * @return the size in bytes or <code>null</code> if the file is not contained in this list or its
+   *     size is unknown, e.g. because this list was received from a remote peer
+   */
+  Long getFileSize(String path) {
+    MetaData metaData = getMetaData(path);
+    return metaData == null ? null : metaData.size;
+  }
+
   /** Creates an empty file list. */
   FileList() {
     this.root = File.createRoot();
@@ -1,16 +1,15 @@
 package saros.negotiation;
 
 import java.io.IOException;
-import java.util.Collections;
-import java.util.Deque;
-import java.util.LinkedList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 import org.apache.log4j.Logger;
 import saros.filesystem.FileSystem;
 import saros.filesystem.IFile;
-import saros.filesystem.IFolder;
 import saros.filesystem.IReferencePoint;
-import saros.filesystem.IResource;
+import saros.filesystem.ResourceAttributes;
 import saros.filesystem.checksum.IChecksumCache;
 import saros.monitoring.IProgressMonitor;
 import saros.monitoring.NullProgressMonitor;
@@ -77,7 +76,7 @@ public class FileListFactory {
 
     FileList list = new FileList();
 
-    List<IFile> files = calculateMembers(list, referencePoint);
+    Map<IFile, ResourceAttributes> files = calculateMembers(list, referencePoint);
 
     IProgressMonitor monitor =
         suggestedMonitor != null ? suggestedMonitor : new NullProgressMonitor();
@@ -89,48 +88,47 @@ public class FileListFactory {
 
   /**
    * Calculates all files contained in the given reference point and adds them to the given file
-   * list. Returns a list of all found files.
+   * list. Returns the attributes of all found files, which were read during the traversal of the
+   * reference point.
    *
    * @param list the file list
    * @param referencePoint the reference point for which to calculate the members
-   * @return a list of all found files
+   * @return the attributes of all found files
    * @throws IOException if the members contained in the reference point or one of its folders or
    *     the charset of a contained file could not be obtained
    */
-  private static List<IFile> calculateMembers(
+  private static Map<IFile, ResourceAttributes> calculateMembers(
       final FileList list, final IReferencePoint referencePoint) throws IOException {
 
-    List<IResource> resources = referencePoint.members();
+    final Map<IFile, ResourceAttributes> files = new LinkedHashMap<>();
 
-    if (resources.isEmpty()) return Collections.emptyList();
+    referencePoint.accept(
+        (resource, attributes) -> {
+          if (resource.isIgnored()) return false;
 
-    Deque<IResource> stack = new LinkedList<>(resources);
+          String path = PathUtils.toPortableString(resource.getReferencePointRelativePath());
 
-    List<IFile> files = new LinkedList<>();
+          if (list.contains(path)) return false;
 
-    while (!stack.isEmpty()) {
-      IResource resource = stack.pop();
+          switch (resource.getType()) {
+            case FILE:
+              final long size = attributes.getSize();
 
-      if (resource.isIgnored() || !resource.exists()) continue;
+              files.put((IFile) resource, attributes);
+              MetaData data = new MetaData();
+              if (size != ResourceAttributes.UNKNOWN) data.size = size;
+              list.addPath(path, data, false);
+              list.addEncoding(((IFile) resource).getCharset());
+              return false;
 
-      String path = PathUtils.toPortableString(resource.getReferencePointRelativePath());
+            case FOLDER:
+              list.addPath(path, null, true);
+              return true;
 
-      if (list.contains(path)) continue;
-
-      switch (resource.getType()) {
-        case FILE:
-          files.add((IFile) resource);
-          MetaData data = new MetaData();
-          list.addPath(path, data, false);
-          list.addEncoding(((IFile) resource).getCharset());
-          break;
-
-        case FOLDER:
-          stack.addAll(((IFolder) resource).members());
-          list.addPath(path, null, true);
-          break;
-      }
-    }
+            default:
+              return false;
+          }
+        });
 
     return files;
   }
@@ -139,19 +137,22 @@ public class FileListFactory {
    * Calculates the checksums of the given files and adds them to the given file list.
    *
    * @param list the file list
-   * @param files the files for which to calculate the checksum
+   * @param files the files for which to calculate the checksum and their attributes
    * @param checksumCache the checksum cache to use during the checksum calculation
    * @param monitor the progress monitor to report to
    */
   private static void calculateChecksums(
       final FileList list,
-      final List<IFile> files,
+      final Map<IFile, ResourceAttributes> files,
       final IChecksumCache checksumCache,
       final IProgressMonitor monitor) {
 
     monitor.beginTask("Calculating checksums...", files.size());
 
-    for (IFile file : files) {
+    for (Entry<IFile, ResourceAttributes> entry : files.entrySet()) {
+      final IFile file = entry.getKey();
+      final ResourceAttributes attributes = entry.getValue();
+
       try {
         monitor.subTask(
             file.getReferencePoint().getName() + ": " + file.getReferencePointRelativePath());
@@ -161,12 +162,12 @@ public class FileListFactory {
 
         Long checksum = null;
 
-        if (checksumCache != null) checksum = checksumCache.getChecksum(file);
+        if (checksumCache != null) checksum = checksumCache.getChecksum(file, attributes);
 
         data.checksum = checksum == null ? FileSystem.checksum(file) : checksum;
 
         if (checksumCache != null) {
-          boolean isInvalid = checksumCache.addChecksum(file, data.checksum);
+          boolean isInvalid = checksumCache.addChecksum(file, data.checksum, attributes);
 
           if (isInvalid && checksum != null) log.warn("calculated checksum on dirty data: " + file);
         }
@@ -103,7 +103,7 @@ public class InstantOutgoingResourceNegotiation extends AbstractOutgoingResource
   protected void prepareTransfer(IProgressMonitor monitor, List<FileList> fileLists)
       throws IOException, SarosCancellationException {
 
-    /* until further patch, lock the complete session */
+    /* lock the negotiated reference points until the transfer is prepared */
     stoppedUsers = stopUsers(monitor);
     sendAndAwaitActivityQueueingActivation(monitor);
 
@@ -54,6 +54,10 @@ abstract class Negotiation {
 
   private boolean terminated;
 
+  private final long creationTime = System.currentTimeMillis();
+
+  private long terminationTime;
+
   private volatile NegotiationListener listener;
 
   private Status exitStatus;
@@ -371,6 +375,7 @@ abstract class Negotiation {
       status = exitStatus;
       cause = cancellationCause;
       terminated = true;
+      terminationTime = System.currentTimeMillis();
     }
 
     /*
@@ -397,6 +402,16 @@ abstract class Negotiation {
     return exitStatus;
   }
 
+  /**
+   * Returns the time in milliseconds the negotiation was running. If the negotiation is not
+   * terminated yet, the time it is running so far is returned.
+   *
+   * @return the duration of the negotiation in milliseconds
+   */
+  public final synchronized long getDuration() {
+    return (terminated ? terminationTime : System.currentTimeMillis()) - creationTime;
+  }
+
   /**
    * Informs the listener, that the negotiation is terminated. Otherwise, the SessionManager would
    * block the execution and wait until the negotiation is terminated
@@ -1,21 +1,23 @@
 package saros.net;
 
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.Executor;
 import org.apache.log4j.Logger;
 import saros.annotations.Component;
 import saros.repackaged.picocontainer.Disposable;
-import saros.util.NamedThreadFactory;
+import saros.util.SerialExecutor;
 import saros.util.ThreadUtils;
 
-/** The ExecutorService under which all incoming activities should be executed. */
+/**
+ * The executor under which all incoming activities should be executed. The activities are executed
+ * one after another in the order of their arrival, but only occupy a thread while there are
+ * activities to execute.
+ */
 @Component(module = "core")
 public class DispatchThreadContext implements Disposable {
 
   private static final Logger log = Logger.getLogger(DispatchThreadContext.class);
 
-  protected ExecutorService dispatch =
-      Executors.newSingleThreadExecutor(new NamedThreadFactory("DispatchContext", false));
+  protected SerialExecutor dispatch = new SerialExecutor("DispatchContext");
 
   /**
    * Execute the given runnable as if it was received via the network component.
@@ -24,16 +26,16 @@ public class DispatchThreadContext implements Disposable {
    * network which originated on the host to the JupiterServer.
    */
   public void executeAsDispatch(Runnable runnable) {
-    dispatch.submit(ThreadUtils.wrapSafe(log, runnable));
+    dispatch.execute(ThreadUtils.wrapSafe(log, runnable));
   }
 
-  public ExecutorService getDispatchExecutor() {
+  public Executor getDispatchExecutor() {
     return dispatch;
   }
 
   @Override
   public void dispose() {
-    dispatch.shutdownNow();
+    dispatch.shutdown();
   }
 
   @Override
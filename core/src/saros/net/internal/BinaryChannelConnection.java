@@ -12,10 +12,16 @@ import java.net.ProtocolException;
 import java.net.SocketException;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import org.apache.log4j.Logger;
 import saros.net.stream.ByteStream;
 import saros.net.stream.StreamMode;
 import saros.net.xmpp.JID;
+import saros.util.TaskExecutor;
 
 /**
  * BinaryChannelConnection is a class that encapsulates a bidirectional communication channel
@@ -46,7 +52,8 @@ public class BinaryChannelConnection implements IByteStreamConnection {
   private static final int CHUNKSIZE = 32 * 1024 - 1;
 
   private IByteStreamConnectionListener listener;
-  private ReceiverThread receiveThread;
+  private Future<?> receiveTask;
+  private volatile Thread receiveThread;
 
   private final JID remoteAddress;
   private final JID localAddress;
@@ -78,15 +85,17 @@ public class BinaryChannelConnection implements IByteStreamConnection {
   private int nextNamespaceId = 0;
   private int nextElementNameId = 0;
 
-  private class ReceiverThread extends Thread {
+  private class Receiver implements Runnable {
 
     @Override
     public void run() {
       String connection = BinaryChannelConnection.this.toString();
 
-      log.debug(connection + " ReceiverThread started.");
+      receiveThread = Thread.currentThread();
+
+      log.debug(connection + " Receiver started.");
       try {
-        while (!isInterrupted()) {
+        while (!receiveThread.isInterrupted()) {
           final BinaryXMPPExtension extension = readNextXMPPExtension();
           if (receiver != null) receiver.receive(extension);
         }
@@ -142,9 +151,9 @@ public class BinaryChannelConnection implements IByteStreamConnection {
      * it is ok to start the receiver a bit later because the data will be
      * already buffered by SMACK or the OS
      */
-    receiveThread = new ReceiverThread();
-    receiveThread.setName("BinaryChannel-" + remoteAddress.getName());
-    receiveThread.start();
+    receiveTask =
+        TaskExecutor.getDefault()
+            .execute("BinaryChannel-" + remoteAddress.getName(), log, new Receiver());
     connected = true;
     initialized = true;
   }
@@ -173,18 +182,18 @@ public class BinaryChannelConnection implements IByteStreamConnection {
       }
     }
 
-    assert receiveThread != null;
+    assert receiveTask != null;
 
     if (Thread.currentThread() != receiveThread) {
       try {
-        receiveThread.join(TERMINATE_TIMEOUT);
+        receiveTask.get(TERMINATE_TIMEOUT, TimeUnit.MILLISECONDS);
       } catch (InterruptedException e) {
         Thread.currentThread().interrupt();
-      }
-
-      if (receiveThread.isAlive()) {
+      } catch (ExecutionException | CancellationException e) {
+        // the receiver logs its own errors
+      } catch (TimeoutException e) {
         log.warn("timeout while waiting for closure of binary channel " + this);
-        receiveThread.interrupt();
+        receiveTask.cancel(true);
       }
     }
 
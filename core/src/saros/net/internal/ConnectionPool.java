@@ -61,6 +61,11 @@ final class ConnectionPool {
     return pool.get(id);
   }
 
+  /** Returns the number of pooled connections. */
+  public synchronized int size() {
+    return pool.size();
+  }
+
   /**
    * Adds the connection with the given id to the pool.
    *
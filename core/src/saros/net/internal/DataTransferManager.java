@@ -4,8 +4,11 @@ import java.io.IOException;
 import java.io.InterruptedIOException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.EnumMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeUnit;
@@ -16,6 +19,8 @@ import org.jivesoftware.smack.Connection;
 import saros.annotations.Component;
 import saros.context.IContextKeyBindings.IBBStreamService;
 import saros.context.IContextKeyBindings.Socks5StreamService;
+import saros.monitoring.metrics.Counter;
+import saros.monitoring.metrics.MetricRegistry;
 import saros.net.ConnectionState;
 import saros.net.IConnectionManager;
 import saros.net.stream.IStreamService;
@@ -61,6 +66,17 @@ public class DataTransferManager implements IConnectionListener, IConnectionMana
   private final CopyOnWriteArrayList<IByteStreamConnectionListener> connectionListeners =
       new CopyOnWriteArrayList<>();
 
+  private final Map<StreamMode, Counter> establishedConnections =
+      new EnumMap<StreamMode, Counter>(StreamMode.class);
+
+  private final Map<StreamMode, Counter> sentBytes =
+      new EnumMap<StreamMode, Counter>(StreamMode.class);
+
+  private final Map<StreamMode, Counter> receivedBytes =
+      new EnumMap<StreamMode, Counter>(StreamMode.class);
+
+  private final Counter failedConnections;
+
   private final IByteStreamConnectionListener byteStreamConnectionListener =
       new IByteStreamConnectionListener() {
 
@@ -119,6 +135,8 @@ public class DataTransferManager implements IConnectionListener, IConnectionMana
             }
           }
 
+          counterFor(establishedConnections, connection.getMode()).increment();
+
           connection.initialize();
         }
 
@@ -134,6 +152,25 @@ public class DataTransferManager implements IConnectionListener, IConnectionMana
       XMPPConnectionService connectionService,
       @Nullable @Socks5StreamService IStreamService mainService,
       @Nullable @IBBStreamService IStreamService fallbackService) {
+    this(connectionService, mainService, fallbackService, new MetricRegistry());
+  }
+
+  public DataTransferManager(
+      XMPPConnectionService connectionService,
+      @Nullable @Socks5StreamService IStreamService mainService,
+      @Nullable @IBBStreamService IStreamService fallbackService,
+      MetricRegistry metrics) {
+
+    for (final StreamMode mode : StreamMode.values()) {
+      final String name = mode.name().toLowerCase(Locale.ENGLISH);
+
+      establishedConnections.put(mode, metrics.counter("net.connections.established." + name));
+      sentBytes.put(mode, metrics.counter("net.bytes.sent." + name));
+      receivedBytes.put(mode, metrics.counter("net.bytes.received." + name));
+    }
+
+    failedConnections = metrics.counter("net.connections.failed");
+    metrics.gauge("net.connections.open", connectionPool::size);
 
     this.fallbackService = fallbackService;
     this.mainService = mainService;
@@ -230,6 +267,31 @@ public class DataTransferManager implements IConnectionListener, IConnectionMana
     connectionListeners.remove(listener);
   }
 
+  /**
+   * Records the number of bytes that were sent over a connection using the given mode.
+   *
+   * @param mode the mode of the connection
+   * @param bytes the number of bytes that were written to the connection
+   */
+  void recordSent(final StreamMode mode, final long bytes) {
+    counterFor(sentBytes, mode).add(bytes);
+  }
+
+  /**
+   * Records the number of bytes that were received over a connection using the given mode.
+   *
+   * @param mode the mode of the connection
+   * @param bytes the number of bytes that were read from the connection
+   */
+  void recordReceived(final StreamMode mode, final long bytes) {
+    counterFor(receivedBytes, mode).add(bytes);
+  }
+
+  private static Counter counterFor(
+      final Map<StreamMode, Counter> counters, final StreamMode mode) {
+    return counters.get(mode == null ? StreamMode.NONE : mode);
+  }
+
   private IByteStreamConnection connectInternal(String connectionID, JID peer) throws IOException {
 
     IByteStreamConnection connection = null;
@@ -300,6 +362,8 @@ public class DataTransferManager implements IConnectionListener, IConnectionMana
         return connection;
       }
 
+      failedConnections.increment();
+
       throw new IOException(
           "could not connect to "
               + peer
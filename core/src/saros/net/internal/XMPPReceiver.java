@@ -42,6 +42,8 @@ public class XMPPReceiver implements IReceiver, IBinaryXMPPExtensionReceiver {
 
   private final DispatchThreadContext dispatchThreadContext;
 
+  private final DataTransferManager dataTransferManager;
+
   private final Map<PacketListener, PacketFilter> listeners =
       Collections.synchronizedMap(new HashMap<PacketListener, PacketFilter>());
 
@@ -86,6 +88,7 @@ public class XMPPReceiver implements IReceiver, IBinaryXMPPExtensionReceiver {
       DataTransferManager dataTransferManager) {
 
     this.dispatchThreadContext = dispatchThreadContext;
+    this.dataTransferManager = dataTransferManager;
     this.parser = new MXParser();
 
     connectionService.addListener(connectionListener);
@@ -236,6 +239,9 @@ public class XMPPReceiver implements IReceiver, IBinaryXMPPExtensionReceiver {
       extension.setPayload(compressedPayloadLength, payload);
     }
 
+    dataTransferManager.recordReceived(
+        extension.getTransferMode(), extension.getCompressedSize());
+
     notifyDataReceived(
         extension.getTransferMode(),
         extension.getCompressedSize(),
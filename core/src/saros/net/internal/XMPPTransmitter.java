@@ -203,6 +203,8 @@ public class XMPPTransmitter implements ITransmitter, IConnectionListener {
       throw e;
     }
 
+    dataManager.recordSent(connection.getMode(), payload.length);
+
     notifyDataSent(
         connection.getMode(),
         payload.length,
@@ -7,13 +7,13 @@ import java.lang.reflect.Field;
 import java.net.Socket;
 import java.net.SocketTimeoutException;
 import java.util.HashMap;
-import java.util.List;
+import java.util.Queue;
 import java.util.Random;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Exchanger;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
@@ -34,7 +34,7 @@ import saros.net.internal.IByteStreamConnection;
 import saros.net.internal.IByteStreamConnectionListener;
 import saros.net.util.NetworkingUtils;
 import saros.net.xmpp.JID;
-import saros.util.NamedThreadFactory;
+import saros.util.TaskExecutor;
 
 /**
  * Transport class for SOCKS5 bytestreams. When a Request is received always it is tried to
@@ -101,7 +101,9 @@ public class Socks5StreamService implements IStreamService, BytestreamListener {
 
   private HashMap<String, Exchanger<Socks5BytestreamSession>> runningRemoteConnects =
       new HashMap<String, Exchanger<Socks5BytestreamSession>>();
-  private ExecutorService executorService;
+  /** Pending attempts to establish a response connection, cancelled on uninitialize */
+  private final Queue<Future<Socks5BytestreamSession>> responseFutures =
+      new ConcurrentLinkedQueue<Future<Socks5BytestreamSession>>();
 
   private volatile Socks5BytestreamManager socks5Manager;
   private volatile IByteStreamConnectionListener connectionListener;
@@ -116,41 +118,51 @@ public class Socks5StreamService implements IStreamService, BytestreamListener {
   private Future<Socks5BytestreamSession> futureToEstablishResponseSession(
       final String sessionID, final String peer) {
 
-    return executorService.submit(
-        new Callable<Socks5BytestreamSession>() {
-          @Override
-          public Socks5BytestreamSession call() throws Exception {
-            return (Socks5BytestreamSession) establishResponseSession(sessionID, peer);
-          }
-        });
+    final Future<Socks5BytestreamSession> future =
+        TaskExecutor.getDefault()
+            .submit(
+                "SOCKS5ConnectionResponse-" + peer,
+                new Callable<Socks5BytestreamSession>() {
+                  @Override
+                  public Socks5BytestreamSession call() throws Exception {
+                    return (Socks5BytestreamSession) establishResponseSession(sessionID, peer);
+                  }
+                });
+
+    responseFutures.add(future);
+    responseFutures.removeIf(Future::isDone);
+
+    return future;
   }
 
   /**
-   * Starts a new thread that waits until the connection is established to close it correctly.
+   * Starts a new task that waits until the connection is established to close it correctly.
    *
    * @param future
    */
   private void waitToCloseResponse(final Future<Socks5BytestreamSession> future) {
     log.debug(prefix() + "canceling response connection as it is not needed");
 
-    Thread waitToCloseResponse =
-        new Thread("CloseUnneededResponseConnection") {
-
-          @Override
-          public void run() {
-            try {
-              closeQuietly(future.get());
-            } catch (InterruptedException e) {
-              // nothing to do here
-            } catch (ExecutionException e) {
-              log.debug(
-                  prefix()
-                      + "Exception while waiting to close unneeded connection: "
-                      + e.getMessage());
-            }
-          }
-        };
-    waitToCloseResponse.start();
+    TaskExecutor.getDefault()
+        .execute(
+            "CloseUnneededResponseConnection",
+            log,
+            new Runnable() {
+
+              @Override
+              public void run() {
+                try {
+                  closeQuietly(future.get());
+                } catch (InterruptedException e) {
+                  // nothing to do here
+                } catch (ExecutionException | CancellationException e) {
+                  log.debug(
+                      prefix()
+                          + "Exception while waiting to close unneeded connection: "
+                          + e.getMessage());
+                }
+              }
+            });
   }
 
   private String verboseLocalProxyInfo() {
@@ -672,9 +684,6 @@ public class Socks5StreamService implements IStreamService, BytestreamListener {
       connectionListener = listener;
       socks5Manager.addIncomingBytestreamListener(this);
     }
-
-    executorService =
-        Executors.newCachedThreadPool(new NamedThreadFactory("SOCKS5ConnectionResponse-"));
   }
 
   @Override
@@ -688,12 +697,8 @@ public class Socks5StreamService implements IStreamService, BytestreamListener {
       connectionListener = null;
     }
 
-    assert (executorService != null);
-
-    List<Runnable> notCommenced = executorService.shutdownNow();
-    if (notCommenced.size() > 0)
-      log.warn(prefix() + "threads for response connections found that didn't commence yet");
-    executorService = null;
+    for (Future<Socks5BytestreamSession> future; (future = responseFutures.poll()) != null; )
+      future.cancel(true);
   }
 
   // *********** IStreamService impl end
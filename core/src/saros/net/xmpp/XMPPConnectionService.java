@@ -67,6 +67,15 @@ public class XMPPConnectionService {
   /** The listening port of the current Socks5Proxy. Is <b>-1</b> if the proxy is not running. */
   private int socks5ProxyPort;
 
+  /**
+   * The number of services that use the Socks5Proxy. The proxy is a singleton that is shared by all
+   * contexts of the process, e.g. by the sessions hosted by one server, so it is only stopped when
+   * the last of them disconnects.
+   */
+  private static int socks5ProxyUsers;
+
+  private static final Object SOCKS5_PROXY_LOCK = new Object();
+
   private List<String> proxyAddresses;
 
   private final Object portMappingLock = new Object();
@@ -418,7 +427,11 @@ public class XMPPConnectionService {
 
     final Socks5Proxy proxy = Socks5Proxy.getSocks5Proxy();
 
-    proxy.start();
+    synchronized (SOCKS5_PROXY_LOCK) {
+      proxy.start();
+      socks5ProxyUsers++;
+    }
+
     socks5ProxyPort = proxy.getPort();
 
     log.debug(
@@ -549,7 +562,9 @@ public class XMPPConnectionService {
   private void uninitialzeNetworkComponents() {
     if (socks5ProxyPort == -1) return;
 
-    Socks5Proxy.getSocks5Proxy().stop();
+    synchronized (SOCKS5_PROXY_LOCK) {
+      if (--socks5ProxyUsers == 0) Socks5Proxy.getSocks5Proxy().stop();
+    }
 
     deleteMapping:
     synchronized (portMappingLock) {
@@ -25,4 +25,12 @@ public interface IActivityHandlerCallback {
    * @param activity the activity to execute
    */
   public void execute(IActivity activity);
+
+  /**
+   * Gets called after all activities that were dispatched together have been {@linkplain
+   * #execute(IActivity) executed}.
+   */
+  public default void batchExecuted() {
+    // NOP
+  }
 }
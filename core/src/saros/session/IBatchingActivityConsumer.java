@@ -0,0 +1,32 @@
+package saros.session;
+
+import saros.activities.IActivity;
+
+/**
+ * An {@link IActivityConsumer} that collects consecutive activities of one batch of remote
+ * activities in order to execute them together, e.g. to merge many file system operations into
+ * fewer ones.
+ *
+ * <p>The session {@linkplain #flush() flushes} the consumer before an activity the consumer does
+ * not {@linkplain #isBatched(IActivity) batch} is passed to any consumer and after the last
+ * activity of a batch was executed. So all other consumers observe the same state they would
+ * observe if the collected activities were executed immediately.
+ */
+public interface IBatchingActivityConsumer extends IActivityConsumer {
+
+  /**
+   * Returns whether the given activity may be collected by this consumer. The session flushes the
+   * consumer before any other activity is executed.
+   *
+   * @param activity the activity that is about to be executed
+   * @return <code>true</code> if the consumer may defer the execution of the activity
+   */
+  public boolean isBatched(IActivity activity);
+
+  /**
+   * Executes all collected activities.
+   *
+   * <p>Implementations may expect that this method is called from the UI thread (EDT).
+   */
+  public void flush();
+}
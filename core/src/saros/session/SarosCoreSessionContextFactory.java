@@ -2,7 +2,10 @@ package saros.session;
 
 import saros.concurrent.management.ConcurrentDocumentClient;
 import saros.concurrent.management.ConcurrentDocumentServer;
+import saros.concurrent.management.DocumentClientExecutor;
 import saros.concurrent.management.HeartbeatDispatcher;
+import saros.concurrent.watchdog.ConsistencyAuditClient;
+import saros.concurrent.watchdog.ConsistencyAuditServer;
 import saros.concurrent.watchdog.ConsistencyWatchdogClient;
 import saros.concurrent.watchdog.ConsistencyWatchdogHandler;
 import saros.concurrent.watchdog.ConsistencyWatchdogServer;
@@ -15,6 +18,7 @@ import saros.negotiation.ResourceNegotiationFactory;
 import saros.repackaged.picocontainer.MutablePicoContainer;
 import saros.session.internal.ActivityHandler;
 import saros.session.internal.ActivitySequencer;
+import saros.session.internal.AwarenessRateController;
 import saros.session.internal.ChangeColorManager;
 import saros.session.internal.DeletionAcknowledgmentDispatcher;
 import saros.session.internal.LeaveAndKickHandler;
@@ -22,6 +26,7 @@ import saros.session.internal.PermissionManager;
 import saros.session.internal.UserInformationHandler;
 import saros.session.internal.timeout.ClientSessionTimeoutHandler;
 import saros.session.internal.timeout.ServerSessionTimeoutHandler;
+import saros.session.trace.ActivityTracer;
 import saros.synchronize.StopManager;
 
 /**
@@ -43,6 +48,7 @@ public class SarosCoreSessionContextFactory implements ISarosSessionContextFacto
     if (session.isHost()) container.addComponent(ConcurrentDocumentServer.class);
 
     container.addComponent(ConcurrentDocumentClient.class);
+    container.addComponent(DocumentClientExecutor.class);
     container.addComponent(HeartbeatDispatcher.class);
 
     // Session Timeout Handling
@@ -53,7 +59,11 @@ public class SarosCoreSessionContextFactory implements ISarosSessionContextFacto
     if (session.isHost()) {
       container.addComponent(ConsistencyWatchdogServer.class);
       container.addComponent(ConsistencyWatchdogHandler.class);
-    } else container.addComponent(ConsistencyWatchdogClient.class);
+      container.addComponent(ConsistencyAuditServer.class);
+    } else {
+      container.addComponent(ConsistencyWatchdogClient.class);
+      container.addComponent(ConsistencyAuditClient.class);
+    }
 
     // Session-dependent XStream Converter
     container.addComponent(ResourceTransportWrapperConverter.class);
@@ -62,6 +72,8 @@ public class SarosCoreSessionContextFactory implements ISarosSessionContextFacto
     // Other
     container.addComponent(ActivityHandler.class);
     container.addComponent(ActivitySequencer.class);
+    container.addComponent(ActivityTracer.class);
+    container.addComponent(AwarenessRateController.class);
     container.addComponent(ChangeColorManager.class);
     container.addComponent(DeletionAcknowledgmentDispatcher.class);
     container.addComponent(FollowModeManager.class);
@@ -6,6 +6,7 @@ import java.util.List;
 import java.util.Random;
 import java.util.Set;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
@@ -15,6 +16,7 @@ import saros.communication.connection.ConnectionHandler;
 import saros.communication.connection.IConnectionStateListener;
 import saros.context.IContainerContext;
 import saros.filesystem.IReferencePoint;
+import saros.monitoring.metrics.MetricRegistry;
 import saros.negotiation.AbstractIncomingResourceNegotiation;
 import saros.negotiation.AbstractOutgoingResourceNegotiation;
 import saros.negotiation.IncomingSessionNegotiation;
@@ -38,7 +40,7 @@ import saros.preferences.IPreferenceStore;
 import saros.preferences.PreferenceStore;
 import saros.session.internal.SarosSession;
 import saros.util.StackTrace;
-import saros.util.ThreadUtils;
+import saros.util.TaskExecutor;
 
 /**
  * The SessionManager is responsible for initiating new Saros sessions and for reacting to
@@ -85,10 +87,12 @@ public class SarosSessionManager implements ISarosSessionManager {
 
   private final ResourceNegotiationCollector nextResourceNegotiation =
       new ResourceNegotiationCollector();
-  private Thread nextResourceNegotiationWorker;
+  private Future<?> nextResourceNegotiationWorker;
 
   private final ConnectionHandler connectionHandler;
 
+  private final MetricRegistry metrics;
+
   private final List<ISessionLifecycleListener> sessionLifecycleListeners =
       new CopyOnWriteArrayList<ISessionLifecycleListener>();
 
@@ -105,12 +109,21 @@ public class SarosSessionManager implements ISarosSessionManager {
         @Override
         public void negotiationTerminated(final SessionNegotiation negotiation) {
           currentSessionNegotiations.remove(negotiation);
+
+          metrics.histogram("negotiation.session.duration_ms").record(negotiation.getDuration());
+
+          if (negotiation.isCanceled()) metrics.counter("negotiation.session.canceled").increment();
         }
 
         @Override
         public void negotiationTerminated(final ResourceNegotiation negotiation) {
           currentResourceNegotiations.remove(negotiation);
 
+          metrics.histogram("negotiation.resource.duration_ms").record(negotiation.getDuration());
+
+          if (negotiation.isCanceled())
+            metrics.counter("negotiation.resource.canceled").increment();
+
           if (session != null
               && session.isHost()
               && negotiation instanceof AbstractIncomingResourceNegotiation
@@ -153,9 +166,28 @@ public class SarosSessionManager implements ISarosSessionManager {
       ConnectionHandler connectionHandler,
       ITransmitter transmitter,
       IReceiver receiver) {
+    this(
+        context,
+        sessionNegotiationFactory,
+        hookManager,
+        connectionHandler,
+        transmitter,
+        receiver,
+        new MetricRegistry());
+  }
+
+  public SarosSessionManager(
+      IContainerContext context,
+      SessionNegotiationFactory sessionNegotiationFactory,
+      SessionNegotiationHookManager hookManager,
+      ConnectionHandler connectionHandler,
+      ITransmitter transmitter,
+      IReceiver receiver,
+      MetricRegistry metrics) {
 
     this.context = context;
     this.connectionHandler = connectionHandler;
+    this.metrics = metrics;
     this.currentSessionNegotiations = new SessionNegotiationObservable();
     this.currentResourceNegotiations = new ResourceNegotiationObservable();
     this.connectionHandler.addConnectionStateListener(connectionListener);
@@ -516,7 +548,7 @@ public class SarosSessionManager implements ISarosSessionManager {
 
     nextResourceNegotiation.addReferencePoints(referencePoints);
 
-    if (nextResourceNegotiationWorker != null && nextResourceNegotiationWorker.isAlive()) {
+    if (nextResourceNegotiationWorker != null && !nextResourceNegotiationWorker.isDone()) {
       return;
     } else if (currentResourceNegotiations.isEmpty()) {
       /* shortcut to direct handling */
@@ -524,7 +556,7 @@ public class SarosSessionManager implements ISarosSessionManager {
       return;
     }
 
-    /* else create a worker thread */
+    /* else create a worker task */
     Runnable worker =
         new Runnable() {
           @Override
@@ -543,7 +575,8 @@ public class SarosSessionManager implements ISarosSessionManager {
             startNextResourceNegotiation();
           }
         };
-    nextResourceNegotiationWorker = ThreadUtils.runSafeAsync(log, worker);
+    nextResourceNegotiationWorker =
+        TaskExecutor.getDefault().execute("resource-negotiation-worker", log, worker);
   }
 
   /**
@@ -14,12 +14,19 @@ import saros.activities.JupiterActivity;
 import saros.activities.QueueItem;
 import saros.concurrent.management.ConcurrentDocumentClient;
 import saros.concurrent.management.ConcurrentDocumentServer;
+import saros.concurrent.management.DocumentClientExecutor;
 import saros.concurrent.management.TransformationResult;
 import saros.filesystem.IResource;
+import saros.monitoring.JfrSupport;
+import saros.monitoring.jfr.UISyncExecEvent;
+import saros.monitoring.metrics.Histogram;
+import saros.monitoring.metrics.MetricRegistry;
 import saros.repackaged.picocontainer.Startable;
 import saros.session.IActivityHandlerCallback;
 import saros.session.ISarosSession;
 import saros.session.User;
+import saros.session.trace.ActivityTrace;
+import saros.session.trace.ActivityTracer;
 import saros.synchronize.UISynchronizer;
 import saros.util.ThreadUtils;
 
@@ -33,7 +40,8 @@ public final class ActivityHandler implements Startable {
 
   private static final Logger log = Logger.getLogger(ActivityHandler.class);
 
-  private static final List<IActivity> POISON_PILL = new ArrayList<>();
+  private static final PendingActivities POISON_PILL =
+      new PendingActivities(Collections.<IActivity>emptyList(), null);
 
   /** join timeout when stopping this component */
   private static final long TIMEOUT = 10000;
@@ -53,8 +61,21 @@ public final class ActivityHandler implements Startable {
     DISPATCH_MODE = dispatchModeToUse;
   }
 
-  private final LinkedBlockingQueue<List<IActivity>> dispatchQueue =
-      new LinkedBlockingQueue<List<IActivity>>();
+  private static final String DISPATCH_QUEUE_GAUGE = "session.dispatch.queue_depth";
+
+  /** Activities waiting for their dispatch together with the trace they were received with. */
+  private static class PendingActivities {
+    private final List<IActivity> activities;
+    private final ActivityTrace trace;
+
+    private PendingActivities(List<IActivity> activities, ActivityTrace trace) {
+      this.activities = activities;
+      this.trace = trace;
+    }
+  }
+
+  private final LinkedBlockingQueue<PendingActivities> dispatchQueue =
+      new LinkedBlockingQueue<PendingActivities>();
 
   private final IActivityHandlerCallback callback;
 
@@ -64,8 +85,18 @@ public final class ActivityHandler implements Startable {
 
   private final ConcurrentDocumentClient documentClient;
 
+  private final DocumentClientExecutor documentClientExecutor;
+
   private final UISynchronizer synchronizer;
 
+  private final AwarenessRateController awarenessRateController;
+
+  private final ActivityTracer tracer;
+
+  private final MetricRegistry metrics;
+
+  private final Histogram executionTime;
+
   /*
    * We must use a thread for synchronous execution otherwise we would block
    * the DispatchThreadContext which handles the dispatching of all network
@@ -76,8 +107,9 @@ public final class ActivityHandler implements Startable {
   private final Runnable dispatchThreadRunnable =
       new Runnable() {
 
-        final List<List<IActivity>> pendingActivities = new ArrayList<List<IActivity>>();
+        final List<PendingActivities> pendingActivities = new ArrayList<PendingActivities>();
         final List<IActivity> activitiesToExecute = new ArrayList<IActivity>();
+        final List<ActivityTrace> tracesToComplete = new ArrayList<ActivityTrace>();
 
         @Override
         public void run() {
@@ -88,6 +120,7 @@ public final class ActivityHandler implements Startable {
           while (!Thread.currentThread().isInterrupted() && !isPoisoned) {
             pendingActivities.clear();
             activitiesToExecute.clear();
+            tracesToComplete.clear();
 
             try {
               pendingActivities.add(dispatchQueue.take());
@@ -97,16 +130,18 @@ public final class ActivityHandler implements Startable {
 
             dispatchQueue.drainTo(pendingActivities);
 
-            for (final List<IActivity> activities : pendingActivities) {
-              if (activities == POISON_PILL) { // NOPMD - object reference comparison needed
+            for (final PendingActivities pending : pendingActivities) {
+              if (pending == POISON_PILL) { // NOPMD - object reference comparison needed
                 isPoisoned = true;
                 break;
               }
 
-              activitiesToExecute.addAll(activities);
+              activitiesToExecute.addAll(pending.activities);
+
+              if (pending.trace != null) tracesToComplete.add(pending.trace);
             }
 
-            dispatchAndExecuteActivities(activitiesToExecute);
+            dispatchAndExecuteActivities(activitiesToExecute, tracesToComplete);
           }
 
           log.debug("activity dispatcher stopped");
@@ -118,8 +153,21 @@ public final class ActivityHandler implements Startable {
       ISarosSession session,
       IActivityHandlerCallback callback,
       ConcurrentDocumentClient documentClient,
-      UISynchronizer synchronizer) {
-    this(session, callback, null, documentClient, synchronizer);
+      DocumentClientExecutor documentClientExecutor,
+      UISynchronizer synchronizer,
+      AwarenessRateController awarenessRateController,
+      ActivityTracer tracer,
+      MetricRegistry metrics) {
+    this(
+        session,
+        callback,
+        null,
+        documentClient,
+        documentClientExecutor,
+        synchronizer,
+        awarenessRateController,
+        tracer,
+        metrics);
   }
 
   // Server CTOR
@@ -128,12 +176,21 @@ public final class ActivityHandler implements Startable {
       IActivityHandlerCallback callback,
       ConcurrentDocumentServer documentServer,
       ConcurrentDocumentClient documentClient,
-      UISynchronizer synchronizer) {
+      DocumentClientExecutor documentClientExecutor,
+      UISynchronizer synchronizer,
+      AwarenessRateController awarenessRateController,
+      ActivityTracer tracer,
+      MetricRegistry metrics) {
     this.session = session;
     this.callback = callback;
     this.documentServer = documentServer;
     this.documentClient = documentClient;
+    this.documentClientExecutor = documentClientExecutor;
     this.synchronizer = synchronizer;
+    this.awarenessRateController = awarenessRateController;
+    this.tracer = tracer;
+    this.metrics = metrics;
+    this.executionTime = metrics.histogram("session.dispatch.execution_time_ms");
   }
 
   /**
@@ -151,11 +208,13 @@ public final class ActivityHandler implements Startable {
        * <p>This is where the server (or server-part of the host) receives activities. The Server
        * may transform activities again if necessary and afterward sends them to the correct
        * clients. (Note that the callback.send() methods get an actual list of recipients.)
+       * Awareness activities are passed through the AwarenessRateController which limits the rate
+       * they are sent with to every recipient.
        */
       TransformationResult result = directServerActivities(activities);
       for (QueueItem item : result.getSendToPeers()) {
         List<User> recipients = getRecipientsForQueueItem(item);
-        callback.send(recipients, item.activity);
+        awarenessRateController.send(recipients, item.activity);
       }
 
       activities = result.getLocalActivities();
@@ -170,8 +229,17 @@ public final class ActivityHandler implements Startable {
      */
     if (activities.isEmpty()) return;
 
-    if (DISPATCH_MODE == DISPATCH_MODE_ASYNC) dispatchAndExecuteActivities(activities);
-    else dispatchQueue.add(activities);
+    final ActivityTrace trace = tracer.current();
+
+    if (DISPATCH_MODE == DISPATCH_MODE_ASYNC) {
+      final List<ActivityTrace> traces = new ArrayList<ActivityTrace>(1);
+
+      if (trace != null) traces.add(trace);
+
+      dispatchAndExecuteActivities(activities, traces);
+    } else {
+      dispatchQueue.add(new PendingActivities(activities, trace));
+    }
   }
 
   /**
@@ -216,13 +284,17 @@ public final class ActivityHandler implements Startable {
    * Transforms and determines the recipients of the activities. The {@linkplain
    * IActivityHandlerCallback callback} will be notified about the results.
    *
+   * <p>The transformation is handed off to the {@link DocumentClientExecutor}, so this method does
+   * not block the calling thread.
+   *
    * @param activities an <b>immutable</b> list containing the activities
    */
   /*
-   * Note: transformation and executing has to be performed together in the
-   * SWT thread. Else, it would be possible that local activities are executed
-   * between transformation and application of remote operations. In other
-   * words, the transformation would be applied to an out-dated state.
+   * Note: the transformation of local and remote activities has to happen
+   * in the order they were applied to the documents. Else, a local activity
+   * could be transformed against a remote operation it was not based on.
+   * Both are handed to the document client executor in the order of the UI
+   * thread, see dispatchAndExecuteActivities.
    */
   public void handleOutgoingActivities(final List<IActivity> activities) {
     /**
@@ -237,25 +309,29 @@ public final class ActivityHandler implements Startable {
      * Please note: The Host itself has both client and server part, so even his activities will be
      * "sent" to himself first.
      */
-    synchronizer.syncExec(
-        ThreadUtils.wrapSafe(
-            log,
-            new Runnable() {
 
-              @Override
-              public void run() {
-                for (IActivity activity : activities) {
+    // begin before the hand-off so the trace includes the time waiting for the executor
+    final ActivityTrace trace = tracer.begin(session.getLocalUser());
 
-                  IActivity transformationResult = documentClient.transformToJupiter(activity);
+    documentClientExecutor.execute(
+        () ->
+            tracer.runWith(
+                trace,
+                () -> {
+                  for (IActivity activity : activities) {
 
-                  callback.send(Collections.singletonList(session.getHost()), transformationResult);
-                }
-              }
-            }));
+                    IActivity transformationResult = documentClient.transformToJupiter(activity);
+
+                    awarenessRateController.send(
+                        Collections.singletonList(session.getHost()), transformationResult);
+                  }
+                }));
   }
 
   @Override
   public void start() {
+    metrics.gauge(DISPATCH_QUEUE_GAUGE, dispatchQueue::size);
+
     if (DISPATCH_MODE == DISPATCH_MODE_ASYNC) return;
 
     dispatchThread = ThreadUtils.runSafeAsync("activity-dispatcher", log, dispatchThreadRunnable);
@@ -263,6 +339,8 @@ public final class ActivityHandler implements Startable {
 
   @Override
   public void stop() {
+    metrics.remove(DISPATCH_QUEUE_GAUGE);
+
     if (DISPATCH_MODE == DISPATCH_MODE_ASYNC) return;
 
     dispatchQueue.add(POISON_PILL);
@@ -313,22 +391,29 @@ public final class ActivityHandler implements Startable {
    * </pre>
    *
    * @param activities the activities to execute
+   * @param traces the traces of the activities which are completed after the execution
    */
   /*
    * Note: transformation and executing has to be performed together in the
    * SWT thread. Else, it would be possible that local activities are executed
    * between transformation and application of remote operations. In other
-   * words, the transformation would be applied to an out-dated state.
+   * words, the transformation would be applied to an out-dated state. The
+   * transformation itself is delegated to the document client executor, which
+   * the SWT thread waits for.
    */
-  private void dispatchAndExecuteActivities(final List<IActivity> activities) {
+  private void dispatchAndExecuteActivities(
+      final List<IActivity> activities, final List<ActivityTrace> traces) {
 
     final List<IActivity> optimizedActivities = ActivityOptimizer.optimize(activities);
+    final List<ActivityTrace> tracesToComplete = new ArrayList<ActivityTrace>(traces);
 
     final Runnable transformingRunnable =
         new Runnable() {
           @Override
           public void run() {
 
+            final long startTime = System.currentTimeMillis();
+
             for (IActivity activity : optimizedActivities) {
 
               User source = activity.getSource();
@@ -351,7 +436,13 @@ public final class ActivityHandler implements Startable {
                 continue;
               }
 
-              List<IActivity> transformedActivities = documentClient.transformFromJupiter(activity);
+              /*
+               * Waits for all local activities that were handed off
+               * before, so the order of the transformations matches the
+               * order in which the activities are applied.
+               */
+              List<IActivity> transformedActivities =
+                  documentClientExecutor.call(() -> documentClient.transformFromJupiter(activity));
 
               for (IActivity transformedActivity : transformedActivities) {
                 try {
@@ -361,6 +452,16 @@ public final class ActivityHandler implements Startable {
                 }
               }
             }
+
+            try {
+              callback.batchExecuted();
+            } catch (Exception e) {
+              log.error("failed to complete activity batch: " + optimizedActivities, e);
+            }
+
+            executionTime.record(System.currentTimeMillis() - startTime);
+
+            for (ActivityTrace trace : tracesToComplete) tracer.complete(trace);
           }
         };
 
@@ -379,9 +480,13 @@ public final class ActivityHandler implements Startable {
               + optimizedActivities);
     }
 
-    if (DISPATCH_MODE == DISPATCH_MODE_SYNC)
-      synchronizer.syncExec(ThreadUtils.wrapSafe(log, transformingRunnable));
-    else synchronizer.asyncExec(ThreadUtils.wrapSafe(log, transformingRunnable));
+    final Runnable runnable = ThreadUtils.wrapSafe(log, transformingRunnable);
+
+    if (DISPATCH_MODE != DISPATCH_MODE_SYNC) synchronizer.asyncExec(runnable);
+    else if (JfrSupport.ENABLED)
+      UISyncExecEvent.syncExec(
+          synchronizer, "ActivityHandler.dispatchAndExecuteActivities", runnable);
+    else synchronizer.syncExec(runnable);
   }
 
   /**
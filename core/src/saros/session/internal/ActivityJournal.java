@@ -0,0 +1,191 @@
+package saros.session.internal;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import saros.activities.IActivity;
+import saros.communication.extensions.ActivitiesExtension;
+import saros.net.xmpp.JID;
+
+/**
+ * Keeps the most recent activities sent to every remote user, keyed by the sequence numbers of the
+ * {@linkplain ActivitiesExtension activity packets}. If a user is suspended, e.g. because its
+ * connection was lost, activities for the user are only appended to its journal. The user can then
+ * be resumed from the first sequence number it has not applied yet, as long as this sequence number
+ * is still covered by the journal.
+ *
+ * <p>The journal of every user is bounded by a number of activities, the oldest activities are
+ * discarded first.
+ *
+ * <p>This class is thread-safe.
+ */
+class ActivityJournal {
+
+  private final int capacity;
+
+  private final Map<JID, Journal> journals = new HashMap<JID, Journal>();
+
+  ActivityJournal(final int capacity) {
+    this.capacity = Math.max(1, capacity);
+  }
+
+  /**
+   * Records activities that are sent to the given user. Activities that were recorded for the same
+   * or a higher sequence number before are replaced.
+   *
+   * @param jid the recipient of the activities
+   * @param sequenceNumber the sequence number of the first activity
+   * @param activities the activities in the order they are sent
+   */
+  synchronized void record(
+      final JID jid, final int sequenceNumber, final List<IActivity> activities) {
+
+    final Journal journal = getJournal(jid, sequenceNumber);
+
+    journal.truncate(sequenceNumber);
+
+    for (final IActivity activity : activities) journal.append(activity);
+  }
+
+  /**
+   * Appends an activity for a suspended user. The activity gets the next sequence number of the
+   * journal.
+   *
+   * @param jid the recipient of the activity
+   * @param activity the activity to append
+   * @return <code>false</code> if the user is not suspended
+   */
+  synchronized boolean append(final JID jid, final IActivity activity) {
+    final Journal journal = journals.get(jid);
+
+    if (journal == null || !journal.suspended) return false;
+
+    journal.append(activity);
+    return true;
+  }
+
+  /**
+   * Suspends the given user. Activities for the user have to be {@linkplain #append appended}
+   * until the user is {@linkplain #resume resumed}.
+   *
+   * @param jid the user to suspend
+   * @param nextSequenceNumber the sequence number the next activity sent to the user would get
+   */
+  synchronized void suspend(final JID jid, final int nextSequenceNumber) {
+    getJournal(jid, nextSequenceNumber).suspended = true;
+  }
+
+  /** Returns whether the given user is suspended. */
+  synchronized boolean isSuspended(final JID jid) {
+    final Journal journal = journals.get(jid);
+
+    return journal != null && journal.suspended;
+  }
+
+  /**
+   * Resumes the given suspended user.
+   *
+   * @param jid the user to resume
+   * @param sequenceNumber the sequence number of the first activity the user has not applied yet
+   * @return the activities the user has missed starting with the given sequence number or <code>
+   *     null</code> if the user is not suspended or the journal does not cover the given sequence
+   *     number anymore, in which case the journal of the user is discarded
+   */
+  synchronized List<IActivity> resume(final JID jid, final int sequenceNumber) {
+    final Journal journal = journals.get(jid);
+
+    if (journal == null || !journal.suspended) return null;
+
+    if (sequenceNumber < journal.firstSequenceNumber
+        || sequenceNumber > journal.nextSequenceNumber) {
+      journals.remove(jid);
+      return null;
+    }
+
+    final List<IActivity> missed =
+        new ArrayList<IActivity>(journal.nextSequenceNumber - sequenceNumber);
+
+    final Iterator<IActivity> it = journal.activities.iterator();
+
+    for (int i = journal.firstSequenceNumber; it.hasNext(); i++) {
+      final IActivity activity = it.next();
+
+      if (i >= sequenceNumber) missed.add(activity);
+    }
+
+    journal.suspended = false;
+    return missed;
+  }
+
+  /** Discards the journal of the given user. */
+  synchronized void remove(final JID jid) {
+    journals.remove(jid);
+  }
+
+  /** Discards all journals. */
+  synchronized void clear() {
+    journals.clear();
+  }
+
+  /** Returns the number of activities currently recorded for the given user. */
+  synchronized int size(final JID jid) {
+    final Journal journal = journals.get(jid);
+
+    return journal == null ? 0 : journal.activities.size();
+  }
+
+  private Journal getJournal(final JID jid, final int sequenceNumber) {
+    Journal journal = journals.get(jid);
+
+    if (journal == null) {
+      journal = new Journal(sequenceNumber);
+      journals.put(jid, journal);
+    }
+
+    return journal;
+  }
+
+  private final class Journal {
+    private final Deque<IActivity> activities = new ArrayDeque<IActivity>();
+
+    private int firstSequenceNumber;
+    private int nextSequenceNumber;
+
+    private boolean suspended;
+
+    private Journal(final int sequenceNumber) {
+      firstSequenceNumber = sequenceNumber;
+      nextSequenceNumber = sequenceNumber;
+    }
+
+    private void append(final IActivity activity) {
+      activities.addLast(activity);
+      nextSequenceNumber++;
+
+      if (activities.size() > capacity) {
+        activities.removeFirst();
+        firstSequenceNumber++;
+      }
+    }
+
+    /** Removes all activities with the given or a higher sequence number. */
+    private void truncate(final int sequenceNumber) {
+      if (sequenceNumber < firstSequenceNumber || sequenceNumber > nextSequenceNumber) {
+        // not continuous, start over
+        activities.clear();
+        firstSequenceNumber = sequenceNumber;
+        nextSequenceNumber = sequenceNumber;
+        return;
+      }
+
+      while (nextSequenceNumber > sequenceNumber) {
+        activities.removeLast();
+        nextSequenceNumber--;
+      }
+    }
+  }
+}
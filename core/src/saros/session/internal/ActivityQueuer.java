@@ -1,14 +1,32 @@
 package saros.session.internal;
 
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import org.apache.log4j.Logger;
 import saros.activities.EditorActivity;
 import saros.activities.EditorActivity.Type;
 import saros.activities.IActivity;
 import saros.activities.IResourceActivity;
 import saros.activities.JupiterActivity;
+import saros.activities.TextSelectionActivity;
+import saros.activities.ViewportActivity;
+import saros.communication.extensions.ActivitiesExtension;
 import saros.filesystem.IFile;
 import saros.filesystem.IReferencePoint;
 import saros.filesystem.IResource;
@@ -16,25 +34,266 @@ import saros.session.User;
 
 /**
  * This class enables the queuing of {@linkplain IActivity activities} for given reference points.
+ *
+ * <p>Only the latest {@linkplain TextSelectionActivity text selection} and {@linkplain
+ * ViewportActivity viewport} of every user and file is kept, as earlier ones are superseded anyway.
+ * All other activities are kept in the order they were queued.
+ *
+ * <p>If more than {@link #SPILL_THRESHOLD} activities are queued in memory for a reference point,
+ * they are spilled to a temporary log file. Flushing reads the log back in order before the
+ * activities that are still in memory. Every spilled batch is written as one record that only
+ * counts as spilled once it was written completely. If the log can't be read back, the {@link
+ * SpillFailureHandler} is notified about the reference point whose activities were lost. The log
+ * is deleted as soon as it was read back or the queuer is {@linkplain #dispose() disposed}.
  */
 public class ActivityQueuer {
 
-  private static class ReferencePointQueue {
+  private static final Logger log = Logger.getLogger(ActivityQueuer.class);
+
+  /** The number of activities queued in memory per reference point before they are spilled. */
+  static final int SPILL_THRESHOLD =
+      Integer.getInteger("saros.session.ACTIVITY_QUEUE_SPILL_THRESHOLD", 10000);
+
+  /** Serializes queued activities that are spilled to disk. */
+  interface ActivityCodec {
+    String encode(List<IActivity> activities) throws IOException;
+
+    List<IActivity> decode(String data) throws IOException;
+  }
+
+  /** Gets notified if spilled activities could not be read back and are therefore lost. */
+  interface SpillFailureHandler {
+    void activitiesLost(IReferencePoint referencePoint);
+  }
+
+  /**
+   * Returns a codec that serializes the activities like they are sent to the other participants.
+   * The session ID selects the converters of the session the activities belong to.
+   */
+  private static ActivityCodec extensionCodec(final String sessionID) {
+    return new ActivityCodec() {
+      @Override
+      public String encode(final List<IActivity> activities) throws IOException {
+        try {
+          return ActivitiesExtension.PROVIDER
+              .create(new ActivitiesExtension(sessionID, activities, 0))
+              .toXML();
+        } catch (RuntimeException e) {
+          throw new IOException("failed to marshal activities", e);
+        }
+      }
+
+      @Override
+      public List<IActivity> decode(final String data) throws IOException {
+        return ActivitiesExtension.PROVIDER.parseString(data).getActivities();
+      }
+    };
+  }
+
+  private class ReferencePointQueue {
     private final IReferencePoint referencePoint;
     private final List<IResourceActivity<? extends IResource>> buffer;
     private int readyToFlush;
 
+    /** Position of the latest queued awareness activity per user, file and activity type. */
+    private final Map<AwarenessKey, Long> latestAwareness = new HashMap<>();
+
+    /** Number of activities queued so far, used as position of the next activity. */
+    private long queued;
+
+    private File spillFile;
+    private FileChannel spillChannel;
+
+    /** Length of the spill file up to the end of the last completely written record. */
+    private long spillLength;
+
     private ReferencePointQueue(IReferencePoint referencePoint) {
       this.referencePoint = referencePoint;
       buffer = new ArrayList<>();
       readyToFlush = 1;
     }
+
+    private void add(final IResourceActivity<? extends IResource> activity) {
+      final AwarenessKey key = AwarenessKey.of(activity);
+
+      if (key != null) latestAwareness.put(key, queued);
+
+      queued++;
+      buffer.add(activity);
+
+      if (buffer.size() >= spillThreshold) spill();
+    }
+
+    private void spill() {
+      try {
+        if (spillChannel == null) {
+          spillFile = File.createTempFile("saros-activity-queue", ".log", spillDirectory);
+
+          spillChannel = FileChannel.open(spillFile.toPath(), StandardOpenOption.WRITE);
+        }
+
+        final byte[] data =
+            codec.encode(new ArrayList<IActivity>(buffer)).getBytes(StandardCharsets.UTF_8);
+
+        final ByteBuffer record = ByteBuffer.allocate(2 * Integer.BYTES + data.length);
+        record.putInt(buffer.size()).putInt(data.length).put(data);
+        record.flip();
+
+        appendRecord(record);
+
+        log.debug(
+            "spilled " + buffer.size() + " queued activities of " + referencePoint + " to disk");
+
+        buffer.clear();
+      } catch (IOException e) {
+        // keep the activities in memory, spilling is tried again next time
+        log.error("failed to spill queued activities of " + referencePoint + " to disk", e);
+      }
+    }
+
+    /**
+     * Writes the record behind the last complete record of the spill file. If the record can't be
+     * written completely, the file is truncated back to the end of the last complete record.
+     */
+    private void appendRecord(final ByteBuffer record) throws IOException {
+      long position = spillLength;
+
+      try {
+        while (record.hasRemaining()) position += spillChannel.write(record, position);
+      } catch (IOException e) {
+        try {
+          spillChannel.truncate(spillLength);
+        } catch (IOException truncateException) {
+          // the next record overwrites the partial one, it is never read back anyway
+          e.addSuppressed(truncateException);
+        }
+
+        throw e;
+      }
+
+      spillLength = position;
+    }
+
+    /**
+     * Reads all spilled activities back in order and deletes the log. If the log can't be read
+     * completely, the {@link SpillFailureHandler} is notified after all readable activities were
+     * passed to the consumer.
+     */
+    private void readSpilled(final ActivityConsumer consumer) {
+      if (spillFile == null) return;
+
+      long position = 0;
+
+      try {
+        if (spillChannel != null) spillChannel.close();
+
+        try (DataInputStream in =
+            new DataInputStream(new BufferedInputStream(new FileInputStream(spillFile)))) {
+
+          long read = 0;
+
+          while (read < spillLength) {
+            final int count = in.readInt();
+            final byte[] data = new byte[in.readInt()];
+            in.readFully(data);
+
+            read += 2 * Integer.BYTES + data.length;
+
+            final List<IActivity> activities =
+                codec.decode(new String(data, StandardCharsets.UTF_8));
+
+            if (activities.size() != count)
+              throw new IOException(
+                  "expected " + count + " spilled activities, got " + activities.size());
+
+            for (final IActivity activity : activities)
+              consumer.accept((IResourceActivity<? extends IResource>) activity, position++);
+          }
+        }
+      } catch (IOException | RuntimeException e) {
+        log.error(
+            "failed to read spilled activities of "
+                + referencePoint
+                + ", "
+                + (queued - buffer.size() - position)
+                + " queued activities are lost",
+            e);
+
+        spillFailureHandler.activitiesLost(referencePoint);
+      } finally {
+        deleteSpillFile();
+      }
+    }
+
+    /** Closes and deletes the spill file, dropping all activities that were spilled to it. */
+    private void deleteSpillFile() {
+      if (spillFile == null) return;
+
+      try {
+        if (spillChannel != null) spillChannel.close();
+      } catch (IOException e) {
+        log.warn("could not close spill file " + spillFile, e);
+      }
+
+      if (!spillFile.delete()) log.warn("could not delete spill file " + spillFile);
+
+      spillChannel = null;
+      spillLength = 0;
+      spillFile = null;
+    }
+
+    /** Returns whether the activity at the given position is superseded by a later one. */
+    private boolean isSuperseded(final IActivity activity, final long position) {
+      final AwarenessKey key = AwarenessKey.of(activity);
+
+      return key != null && latestAwareness.get(key) != position;
+    }
+  }
+
+  private interface ActivityConsumer {
+    void accept(IResourceActivity<? extends IResource> activity, long position);
   }
 
-  private final List<ReferencePointQueue> referencePointQueues;
+  private final Map<IReferencePoint, ReferencePointQueue> referencePointQueues;
+
+  private final int spillThreshold;
+
+  private final ActivityCodec codec;
+
+  private final SpillFailureHandler spillFailureHandler;
+
+  /** The directory of the spill files, <code>null</code> for the default temporary directory. */
+  private final File spillDirectory;
 
   public ActivityQueuer() {
-    referencePointQueues = new ArrayList<ReferencePointQueue>();
+    this(null, referencePoint -> {});
+  }
+
+  ActivityQueuer(final String sessionID, final SpillFailureHandler spillFailureHandler) {
+    this(SPILL_THRESHOLD, extensionCodec(sessionID), spillFailureHandler);
+  }
+
+  ActivityQueuer(final int spillThreshold, final ActivityCodec codec) {
+    this(spillThreshold, codec, referencePoint -> {});
+  }
+
+  ActivityQueuer(
+      final int spillThreshold,
+      final ActivityCodec codec,
+      final SpillFailureHandler spillFailureHandler) {
+    this(spillThreshold, codec, spillFailureHandler, null);
+  }
+
+  ActivityQueuer(
+      final int spillThreshold,
+      final ActivityCodec codec,
+      final SpillFailureHandler spillFailureHandler,
+      final File spillDirectory) {
+    this.spillThreshold = Math.max(1, spillThreshold);
+    this.codec = codec;
+    this.spillFailureHandler = spillFailureHandler;
+    this.spillDirectory = spillDirectory;
+    referencePointQueues = new LinkedHashMap<IReferencePoint, ReferencePointQueue>();
   }
 
   /**
@@ -71,16 +330,14 @@ public class ActivityQueuer {
    * @param referencePoint reference point
    */
   public synchronized void enableQueuing(final IReferencePoint referencePoint) {
-    for (final ReferencePointQueue referencePointQueue : referencePointQueues) {
+    final ReferencePointQueue referencePointQueue = referencePointQueues.get(referencePoint);
 
-      if (referencePointQueue.referencePoint.equals(referencePoint)) {
-
-        referencePointQueue.readyToFlush++;
-        return;
-      }
+    if (referencePointQueue != null) {
+      referencePointQueue.readyToFlush++;
+      return;
     }
 
-    referencePointQueues.add(new ReferencePointQueue(referencePoint));
+    referencePointQueues.put(referencePoint, new ReferencePointQueue(referencePoint));
   }
 
   /**
@@ -98,42 +355,26 @@ public class ActivityQueuer {
    * @param referencePoint reference point
    */
   public synchronized void disableQueuing(final IReferencePoint referencePoint) {
-    for (final ReferencePointQueue referencePointQueue : referencePointQueues) {
-
-      if (referencePointQueue.referencePoint.equals(referencePoint)) {
+    final ReferencePointQueue referencePointQueue = referencePointQueues.get(referencePoint);
 
-        if (referencePointQueue.readyToFlush > 0) referencePointQueue.readyToFlush--;
-
-        return;
-      }
-    }
+    if (referencePointQueue != null && referencePointQueue.readyToFlush > 0)
+      referencePointQueue.readyToFlush--;
   }
 
-  private boolean alreadyRememberedEditorActivity(
-      final Map<IFile, List<User>> editorActivities, final IFile file, final User user) {
-
-    final List<User> users = editorActivities.get(file);
-    return users != null && users.contains(user);
-  }
-
-  private void rememberEditorActivity(
-      final Map<IFile, List<User>> editorActivities, final IFile file, final User user) {
-
-    List<User> users = editorActivities.get(file);
-
-    if (users == null) {
-      users = new ArrayList<User>();
-      editorActivities.put(file, users);
-    }
+  /**
+   * Drops all queued activities and deletes their spill files. Must be called when the queuer is
+   * no longer used, e.g. when the session is stopped while activities are still queued.
+   */
+  public synchronized void dispose() {
+    for (final ReferencePointQueue referencePointQueue : referencePointQueues.values())
+      referencePointQueue.deleteSpillFile();
 
-    if (!users.contains(user)) users.add(user);
+    referencePointQueues.clear();
   }
 
   private void queueActivities(
       final List<IActivity> activitiesToExecute, final List<IActivity> activities) {
 
-    ReferencePointQueue referencePointQueue = null;
-
     for (final IActivity activity : activities) {
       if (activity instanceof IResourceActivity) {
 
@@ -144,15 +385,11 @@ public class ActivityQueuer {
 
         // can't queue activities without resource
         if (resource != null) {
-
-          // try to reuse the queue as lookup is O(n)
-          if (referencePointQueue == null
-              || !referencePointQueue.referencePoint.equals(resource.getReferencePoint())) {
-            referencePointQueue = getReferencePointQueue(resource.getReferencePoint());
-          }
+          final ReferencePointQueue referencePointQueue =
+              referencePointQueues.get(resource.getReferencePoint());
 
           if (referencePointQueue != null) {
-            referencePointQueue.buffer.add(resourceActivity);
+            referencePointQueue.add(resourceActivity);
             continue;
           }
         }
@@ -163,10 +400,10 @@ public class ActivityQueuer {
   }
 
   private void flushQueues(final List<IActivity> activities) {
-    final List<ReferencePointQueue> referencePointQueuesToRemove =
-        new ArrayList<ReferencePointQueue>();
+    final Iterator<ReferencePointQueue> it = referencePointQueues.values().iterator();
 
-    for (final ReferencePointQueue referencePointQueue : referencePointQueues) {
+    while (it.hasNext()) {
+      final ReferencePointQueue referencePointQueue = it.next();
 
       if (referencePointQueue.readyToFlush > 0) continue;
 
@@ -180,54 +417,100 @@ public class ActivityQueuer {
        * fired on the remote sides.
        */
 
-      final Map<IFile, List<User>> editorActivities = new HashMap<>();
+      final Map<IFile, Set<User>> editorActivities = new HashMap<>();
 
-      for (final IResourceActivity<? extends IResource> resourceActivity :
-          referencePointQueue.buffer) {
+      final ActivityConsumer consumer =
+          (resourceActivity, position) -> {
+            if (referencePointQueue.isSuperseded(resourceActivity, position)) return;
 
-        // resource cannot be null, see for-loop below
-        final IResource resource = resourceActivity.getResource();
-        final User source = resourceActivity.getSource();
+            flushActivity(activities, editorActivities, resourceActivity);
+          };
 
-        if (resourceActivity instanceof EditorActivity) {
-          IFile file = (IFile) resource;
+      referencePointQueue.readSpilled(consumer);
 
-          final EditorActivity ea = (EditorActivity) resourceActivity;
+      long position = referencePointQueue.queued - referencePointQueue.buffer.size();
 
-          if (!alreadyRememberedEditorActivity(editorActivities, file, source)
-              && ea.getType() != Type.ACTIVATED) {
+      for (final IResourceActivity<? extends IResource> resourceActivity :
+          referencePointQueue.buffer) consumer.accept(resourceActivity, position++);
 
-            activities.add(new EditorActivity(ea.getSource(), Type.ACTIVATED, file));
-          }
+      it.remove();
+    }
+  }
 
-          rememberEditorActivity(editorActivities, file, source);
+  private static void flushActivity(
+      final List<IActivity> activities,
+      final Map<IFile, Set<User>> editorActivities,
+      final IResourceActivity<? extends IResource> resourceActivity) {
 
-        } else if (resourceActivity instanceof JupiterActivity) {
-          IFile file = (IFile) resource;
+    // resource cannot be null, see queueActivities
+    final IResource resource = resourceActivity.getResource();
+    final User source = resourceActivity.getSource();
 
-          if (!alreadyRememberedEditorActivity(editorActivities, file, source)) {
-            activities.add(new EditorActivity(resourceActivity.getSource(), Type.ACTIVATED, file));
+    if (resourceActivity instanceof EditorActivity) {
+      IFile file = (IFile) resource;
 
-            rememberEditorActivity(editorActivities, file, source);
-          }
-        }
+      final EditorActivity ea = (EditorActivity) resourceActivity;
 
-        activities.add(resourceActivity);
+      if (!rememberEditorActivity(editorActivities, file, source)
+          && ea.getType() != Type.ACTIVATED) {
+
+        activities.add(new EditorActivity(ea.getSource(), Type.ACTIVATED, file));
       }
 
-      referencePointQueuesToRemove.add(referencePointQueue);
+    } else if (resourceActivity instanceof JupiterActivity) {
+      IFile file = (IFile) resource;
+
+      if (!rememberEditorActivity(editorActivities, file, source))
+        activities.add(new EditorActivity(resourceActivity.getSource(), Type.ACTIVATED, file));
     }
 
-    for (final ReferencePointQueue referencePointQueue : referencePointQueuesToRemove)
-      referencePointQueues.remove(referencePointQueue);
+    activities.add(resourceActivity);
   }
 
-  private ReferencePointQueue getReferencePointQueue(final IReferencePoint referencePoint) {
+  /** @return <code>true</code> if an editor activity was already remembered for the file */
+  private static boolean rememberEditorActivity(
+      final Map<IFile, Set<User>> editorActivities, final IFile file, final User user) {
+
+    return !editorActivities.computeIfAbsent(file, f -> new HashSet<User>()).add(user);
+  }
+
+  private static final class AwarenessKey {
+    private final User source;
+    private final IResource resource;
+    private final Class<?> type;
+
+    private AwarenessKey(final User source, final IResource resource, final Class<?> type) {
+      this.source = source;
+      this.resource = resource;
+      this.type = type;
+    }
+
+    private static AwarenessKey of(final IActivity activity) {
+      if (!(activity instanceof TextSelectionActivity) && !(activity instanceof ViewportActivity))
+        return null;
+
+      return new AwarenessKey(
+          activity.getSource(),
+          ((IResourceActivity<?>) activity).getResource(),
+          activity.getClass());
+    }
 
-    for (final ReferencePointQueue referencePointQueue : referencePointQueues) {
-      if (referencePointQueue.referencePoint.equals(referencePoint)) return referencePointQueue;
+    @Override
+    public int hashCode() {
+      return Objects.hash(source, resource, type);
     }
 
-    return null;
+    @Override
+    public boolean equals(final Object obj) {
+      if (this == obj) return true;
+
+      if (!(obj instanceof AwarenessKey)) return false;
+
+      final AwarenessKey other = (AwarenessKey) obj;
+
+      return Objects.equals(source, other.source)
+          && Objects.equals(resource, other.resource)
+          && type.equals(other.type);
+    }
   }
 }
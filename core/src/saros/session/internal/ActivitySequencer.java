@@ -18,6 +18,11 @@ import saros.activities.ActivityOptimizer;
 import saros.activities.FileActivity;
 import saros.activities.IActivity;
 import saros.communication.extensions.ActivitiesExtension;
+import saros.monitoring.JfrSupport;
+import saros.monitoring.jfr.ActivityBatchEvent;
+import saros.monitoring.metrics.Counter;
+import saros.monitoring.metrics.Histogram;
+import saros.monitoring.metrics.MetricRegistry;
 import saros.net.DispatchThreadContext;
 import saros.net.IReceiver;
 import saros.net.ITransmitter;
@@ -25,11 +30,19 @@ import saros.net.xmpp.JID;
 import saros.repackaged.picocontainer.Startable;
 import saros.session.ISarosSession;
 import saros.session.User;
+import saros.session.trace.ActivityTrace;
+import saros.session.trace.ActivityTracer;
 import saros.util.ThreadUtils;
 
 /**
  * The ActivitySequencer is responsible for making sure that transformed {@linkplain IActivity
  * activities} are sent and received in the right order.
+ *
+ * <p>All sent activities are recorded in an {@link ActivityJournal}. If a transmission error occurs
+ * the affected user is suspended instead of forgotten, so the exchange of activities can be resumed
+ * by {@link #resumeUser} as long as the journal still covers the activities the user missed.
+ * Activities from a suspended user are still accepted in order, so both sides can resume from the
+ * sequence number the other side expects next.
  */
 public class ActivitySequencer implements Startable {
 
@@ -41,13 +54,22 @@ public class ActivitySequencer implements Startable {
   /** Sequence numbers for outgoing and incoming activities start with this value. */
   private static final int FIRST_SEQUENCE_NUMBER = 0;
 
+  /** The maximum number of sent activities that are kept per user to resume a user. */
+  private static final int JOURNAL_CAPACITY =
+      Integer.getInteger("saros.session.ACTIVITY_JOURNAL_CAPACITY", 4096);
+
+  private static final String PENDING_ACTIVITIES_GAUGE = "session.activities.pending";
+
   private static class SequencedActivities {
     private final int sequenceNumber;
     private final List<IActivity> activites;
+    private final ActivityTrace trace;
 
-    private SequencedActivities(List<IActivity> activites, int sequenceNumber) {
+    private SequencedActivities(
+        List<IActivity> activites, int sequenceNumber, ActivityTrace trace) {
       this.activites = activites;
       this.sequenceNumber = sequenceNumber;
+      this.trace = trace;
     }
   }
 
@@ -58,9 +80,15 @@ public class ActivitySequencer implements Startable {
      */
     private boolean isInTransmission;
 
+    /** The number of activities that are currently sent. */
+    private int activitiesInTransmission;
+
     private int nextSequenceNumber;
     private final Deque<T> activities = new LinkedList<T>();
 
+    /** The trace of the first traced activity that was added since the last transmission. */
+    private ActivityTrace trace;
+
     private ActivityBuffer(int firstSequenceNumber) {
       nextSequenceNumber = firstSequenceNumber;
     }
@@ -99,15 +127,23 @@ public class ActivitySequencer implements Startable {
 
                 List<IActivity> optimizedActivities = ActivityOptimizer.optimize(buffer.activities);
 
+                batchSize.record(optimizedActivities.size());
+
                 buffer.activities.clear();
                 buffer.isInTransmission = true;
+                buffer.activitiesInTransmission = optimizedActivities.size();
 
                 int currentSequenceNumber = buffer.nextSequenceNumber;
                 buffer.nextSequenceNumber += optimizedActivities.size();
 
+                journal.record(entry.getKey(), currentSequenceNumber, optimizedActivities);
+
                 activitiesToSend.put(
                     entry.getKey(),
-                    new SequencedActivities(optimizedActivities, currentSequenceNumber));
+                    new SequencedActivities(
+                        optimizedActivities, currentSequenceNumber, buffer.trace));
+
+                buffer.trace = null;
               }
 
               if (activitiesToSend.isEmpty()) {
@@ -121,7 +157,11 @@ public class ActivitySequencer implements Startable {
             }
 
             for (Entry<JID, SequencedActivities> e : activitiesToSend.entrySet()) {
-              sendActivities(e.getKey(), e.getValue().activites, e.getValue().sequenceNumber);
+              sendActivities(
+                  e.getKey(),
+                  e.getValue().activites,
+                  e.getValue().sequenceNumber,
+                  e.getValue().trace);
             }
 
             synchronized (bufferedOutgoingActivities) {
@@ -133,6 +173,7 @@ public class ActivitySequencer implements Startable {
                 if (buffer == null) continue;
 
                 buffer.isInTransmission = false;
+                buffer.activitiesInTransmission = 0;
               }
 
               // notify waiting threads in flush method that we are done
@@ -164,13 +205,46 @@ public class ActivitySequencer implements Startable {
 
   private final Map<JID, ActivityBuffer<IActivity>> bufferedOutgoingActivities;
 
+  private final ActivityJournal journal = new ActivityJournal(JOURNAL_CAPACITY);
+
+  private final ActivityTracer tracer;
+
+  private final MetricRegistry metrics;
+
+  private final Counter sentActivities;
+
+  private final Counter receivedActivities;
+
+  private final Histogram batchSize;
+
   public ActivitySequencer(
       final ISarosSession sarosSession,
       final ITransmitter transmitter,
       final IReceiver receiver,
       final DispatchThreadContext threadContext) {
+    this(
+        sarosSession,
+        transmitter,
+        receiver,
+        threadContext,
+        new ActivityTracer(),
+        new MetricRegistry());
+  }
+
+  public ActivitySequencer(
+      final ISarosSession sarosSession,
+      final ITransmitter transmitter,
+      final IReceiver receiver,
+      final DispatchThreadContext threadContext,
+      final ActivityTracer tracer,
+      final MetricRegistry metrics) {
 
     this.dispatchThread = threadContext;
+    this.tracer = tracer;
+    this.metrics = metrics;
+    this.sentActivities = metrics.counter("session.activities.sent");
+    this.receivedActivities = metrics.counter("session.activities.received");
+    this.batchSize = metrics.histogram("session.activities.batch_size");
     this.sarosSession = sarosSession;
     this.transmitter = transmitter;
     this.receiver = receiver;
@@ -226,6 +300,8 @@ public class ActivitySequencer implements Startable {
     receiver.addPacketListener(
         activitiesPacketListener, ActivitiesExtension.PROVIDER.getPacketFilter(currentSessionID));
 
+    metrics.gauge(PENDING_ACTIVITIES_GAUGE, this::getPendingActivityCount);
+
     activitySendThread = ThreadUtils.runSafeAsync("activity-sender", log, activitySender);
   }
 
@@ -249,6 +325,8 @@ public class ActivitySequencer implements Startable {
 
     receiver.removePacketListener(activitiesPacketListener);
 
+    metrics.remove(PENDING_ACTIVITIES_GAUGE);
+
     synchronized (bufferedOutgoingActivities) {
       stopSending = true;
       bufferedOutgoingActivities.notifyAll();
@@ -277,6 +355,8 @@ public class ActivitySequencer implements Startable {
       bufferedIncomingActivities.clear();
     }
 
+    journal.clear();
+
     activitySendThread = null;
 
     if (isStoppingInterrupted) Thread.currentThread().interrupt();
@@ -287,10 +367,16 @@ public class ActivitySequencer implements Startable {
   }
 
   private void executeActivities(
-      final JID sender, final List<IActivity> activities, final int sequenceNumber) {
+      final JID sender,
+      final List<IActivity> activities,
+      final int sequenceNumber,
+      final ActivityTrace trace) {
 
     boolean transmissionError = false;
 
+    /* number of activities that were already executed before they were sent again on resume */
+    int alreadyExecuted;
+
     synchronized (bufferedIncomingActivities) {
       ActivityBuffer<IActivity> buffer = bufferedIncomingActivities.get(sender);
 
@@ -303,25 +389,58 @@ public class ActivitySequencer implements Startable {
         return;
       }
 
-      if (buffer.nextSequenceNumber != sequenceNumber) {
+      alreadyExecuted = buffer.nextSequenceNumber - sequenceNumber;
+
+      if (alreadyExecuted >= activities.size()) {
+        log.debug("dropping already executed activities from " + sender + ": " + activities);
+        return;
+      }
+
+      if (alreadyExecuted < 0) {
         transmissionError = true;
       } else {
-        buffer.nextSequenceNumber += activities.size();
+        buffer.nextSequenceNumber = sequenceNumber + activities.size();
       }
     }
 
     if (transmissionError) {
-      unregisterUser(sender);
+      if (journal.isSuspended(sender)) {
+        log.debug(
+            "dropping activities from suspended user "
+                + sender
+                + " with sequence number "
+                + sequenceNumber
+                + ": "
+                + activities);
+        return;
+      }
+
+      suspendUser(sender);
       notifyTransmissionError(sender);
       return;
     }
 
-    sarosSession.exec(activities);
+    final List<IActivity> activitiesToExecute =
+        alreadyExecuted == 0 ? activities : activities.subList(alreadyExecuted, activities.size());
+
+    final Object event = JfrSupport.ENABLED ? ActivityBatchEvent.start() : null;
+
+    tracer.runWith(trace, () -> sarosSession.exec(activitiesToExecute));
+
+    if (event != null)
+      ActivityBatchEvent.finish(
+          event,
+          ActivityBatchEvent.RECEIVED,
+          sender,
+          sequenceNumber + alreadyExecuted,
+          activitiesToExecute.size());
   }
 
   /** Sends an activity to the given recipients. */
   public void sendActivity(List<User> recipients, final IActivity activity) {
 
+    final ActivityTrace currentTrace = tracer.current();
+
     ArrayList<User> remoteRecipients = new ArrayList<User>();
     for (User user : recipients) {
 
@@ -332,11 +451,14 @@ public class ActivitySequencer implements Startable {
 
       log.trace("dispatching activity " + activity + " to the local user: " + user);
 
+      final ActivityTrace localTrace = tracer.queued(currentTrace);
+
       dispatchThread.executeAsDispatch(
           new Runnable() {
             @Override
             public void run() {
-              sarosSession.exec(Collections.singletonList(activity));
+              tracer.runWith(
+                  localTrace, () -> sarosSession.exec(Collections.singletonList(activity)));
             }
           });
     }
@@ -347,6 +469,8 @@ public class ActivitySequencer implements Startable {
       for (User recipient : remoteRecipients) {
         ActivityBuffer<IActivity> buffer = bufferedOutgoingActivities.get(recipient.getJID());
 
+        if (buffer == null && journal.append(recipient.getJID(), activity)) continue;
+
         if (buffer == null) {
           log.warn(
               "cannot send activity to "
@@ -356,6 +480,8 @@ public class ActivitySequencer implements Startable {
           continue;
         }
         buffer.activities.add(activity);
+
+        if (buffer.trace == null) buffer.trace = tracer.queued(currentTrace);
       }
 
       // ActivitySender thread is flushing the buffers
@@ -392,6 +518,81 @@ public class ActivitySequencer implements Startable {
    */
   public void unregisterUser(User user) {
     unregisterUser(user.getJID());
+    journal.remove(user.getJID());
+  }
+
+  /**
+   * Suspends a user, disallowing the sending to this user until it is {@linkplain #resumeUser
+   * resumed}. Activities that are sent to a suspended user are recorded in the journal instead.
+   * Activities from a suspended user are still accepted as long as they arrive in order. This is
+   * done automatically if a transmission error occurs. Does nothing if the user is not registered.
+   *
+   * @param user
+   */
+  public void suspendUser(User user) {
+    suspendUser(user.getJID());
+  }
+
+  /**
+   * Resumes a suspended user. All activities starting with the given sequence number are sent
+   * again. Activities the user sends again that were already executed are ignored.
+   *
+   * @param user the suspended user
+   * @param nextSequenceNumber the sequence number of the first activity the user has not applied
+   *     yet
+   * @return <code>false</code> if the user is not suspended or the journal does not cover the
+   *     activities the user missed, in which case the user has to be unregistered and the session
+   *     has to be negotiated again
+   */
+  public boolean resumeUser(User user, int nextSequenceNumber) {
+    final JID jid = user.getJID();
+    final List<IActivity> missedActivities;
+
+    synchronized (bufferedOutgoingActivities) {
+      missedActivities = journal.resume(jid, nextSequenceNumber);
+
+      if (missedActivities == null) {
+        log.warn(
+            "cannot resume "
+                + user
+                + " at sequence number "
+                + nextSequenceNumber
+                + ", the activities are no longer available");
+        return false;
+      }
+
+      final ActivityBuffer<IActivity> buffer = new ActivityBuffer<IActivity>(nextSequenceNumber);
+      buffer.activities.addAll(missedActivities);
+
+      bufferedOutgoingActivities.put(jid, buffer);
+      bufferedOutgoingActivities.notifyAll();
+    }
+
+    log.info(
+        "resumed "
+            + user
+            + " at sequence number "
+            + nextSequenceNumber
+            + ", resending "
+            + missedActivities.size()
+            + " activities");
+
+    return true;
+  }
+
+  /**
+   * Returns the sequence number of the next activity that is expected from the given user. A
+   * suspended user has to resume sending activities with this sequence number.
+   *
+   * @param user
+   * @return the sequence number or <code>-1</code> if the user is not registered
+   */
+  public int getNextIncomingSequenceNumber(User user) {
+    synchronized (bufferedIncomingActivities) {
+      ActivityBuffer<IActivity> buffer = bufferedIncomingActivities.get(user.getJID());
+
+      return buffer == null ? -1 : buffer.nextSequenceNumber;
+    }
   }
 
   /**
@@ -417,6 +618,53 @@ public class ActivitySequencer implements Startable {
     }
   }
 
+  /**
+   * Returns the number of activities that are waiting to be sent to the given user. If activities
+   * are currently transmitted to the user, these are counted as well.
+   *
+   * @param user
+   * @return the number of pending activities or <code>0</code> if the user is not registered
+   */
+  public int getPendingActivityCount(User user) {
+    synchronized (bufferedOutgoingActivities) {
+      ActivityBuffer<IActivity> buffer = bufferedOutgoingActivities.get(user.getJID());
+
+      if (buffer == null) return 0;
+
+      return buffer.activities.size() + buffer.activitiesInTransmission;
+    }
+  }
+
+  /**
+   * Returns the sequence number of the next activity that will be sent to the given user. The
+   * sequence number grows with every activity that is sent, so the difference of two calls is the
+   * number of activities that were sent to the user in between.
+   *
+   * @param user
+   * @return the sequence number or <code>-1</code> if the user is not registered
+   */
+  public int getNextOutgoingSequenceNumber(User user) {
+    synchronized (bufferedOutgoingActivities) {
+      ActivityBuffer<IActivity> buffer = bufferedOutgoingActivities.get(user.getJID());
+
+      if (buffer == null) return -1;
+
+      return buffer.nextSequenceNumber;
+    }
+  }
+
+  private int getPendingActivityCount() {
+    int count = 0;
+
+    synchronized (bufferedOutgoingActivities) {
+      for (ActivityBuffer<IActivity> buffer : bufferedOutgoingActivities.values()) {
+        if (buffer != null) count += buffer.activities.size() + buffer.activitiesInTransmission;
+      }
+    }
+
+    return count;
+  }
+
   private void unregisterUser(JID jid) {
     /*
      * FIXME This stuff is to lazy if called outside the UI-Thread as it is
@@ -435,7 +683,26 @@ public class ActivitySequencer implements Startable {
     }
   }
 
-  private void sendActivities(JID recipient, List<IActivity> activities, int sequenceNumber) {
+  private void suspendUser(JID jid) {
+    synchronized (bufferedOutgoingActivities) {
+      ActivityBuffer<IActivity> buffer = bufferedOutgoingActivities.get(jid);
+
+      if (buffer == null) return;
+
+      journal.suspend(jid, buffer.nextSequenceNumber);
+
+      // activities that were not sent yet will be sent on resume
+      for (IActivity activity : buffer.activities) journal.append(jid, activity);
+
+      bufferedOutgoingActivities.put(jid, null);
+      bufferedOutgoingActivities.notifyAll();
+
+      log.debug("suspended " + jid + " at sequence number " + buffer.nextSequenceNumber);
+    }
+  }
+
+  private void sendActivities(
+      JID recipient, List<IActivity> activities, int sequenceNumber, ActivityTrace trace) {
 
     if (activities.size() == 0) return;
 
@@ -480,12 +747,18 @@ public class ActivitySequencer implements Startable {
        * If the marshalling is delayed in the ITransmitter this would cause errors.
        */
 
+      final Object event = JfrSupport.ENABLED ? ActivityBatchEvent.start() : null;
+
+      // the trace is only attached to the first packet
       final PacketExtension activityPacketExtension =
           ActivitiesExtension.PROVIDER.create(
               new ActivitiesExtension(
                   currentSessionID,
                   new ArrayList<IActivity>(activitiesToMarshall),
-                  sequenceNumber));
+                  sequenceNumber,
+                  tracer.sent(trace)));
+
+      trace = null;
 
       if (log.isTraceEnabled()) {
         log.trace(
@@ -501,10 +774,19 @@ public class ActivitySequencer implements Startable {
 
       try {
         transmitter.send(ISarosSession.SESSION_CONNECTION_ID, recipient, activityPacketExtension);
+        sentActivities.add(activitiesToMarshall.size());
+
+        if (event != null)
+          ActivityBatchEvent.finish(
+              event,
+              ActivityBatchEvent.SENT,
+              recipient,
+              sequenceNumber,
+              activitiesToMarshall.size());
       } catch (IOException e) {
         log.error("failed to sent activities: " + activities, e);
 
-        unregisterUser(recipient);
+        suspendUser(recipient);
         notifyTransmissionError(recipient);
         return;
       } finally {
@@ -545,6 +827,8 @@ public class ActivitySequencer implements Startable {
 
     List<IActivity> activities = payload.getActivities();
 
+    receivedActivities.add(activities.size());
+
     if (log.isTraceEnabled()) {
       log.trace(
           "rcvd (" + String.format("%03d", activities.size()) + ") " + from + " -> " + activities);
@@ -552,7 +836,19 @@ public class ActivitySequencer implements Startable {
       log.debug("rcvd (" + String.format("%03d", activities.size()) + ") " + from);
     }
 
-    executeActivities(from, activities, payload.getSequenceNumber());
+    executeActivities(
+        from, activities, payload.getSequenceNumber(), tracer.received(payload.getTrace()));
+  }
+
+  /**
+   * Returns whether the given user is suspended.
+   *
+   * @param user
+   * @return <code>true</code> if the user is {@linkplain #suspendUser suspended} and was not
+   *     resumed or unregistered since
+   */
+  public boolean isUserSuspended(User user) {
+    return journal.isSuspended(user.getJID());
   }
 
   /**
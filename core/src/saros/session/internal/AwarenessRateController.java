@@ -0,0 +1,315 @@
+package saros.session.internal;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToIntFunction;
+import org.apache.log4j.Logger;
+import saros.activities.IActivity;
+import saros.activities.IResourceActivity;
+import saros.activities.TextSelectionActivity;
+import saros.activities.ViewportActivity;
+import saros.filesystem.IResource;
+import saros.repackaged.picocontainer.Startable;
+import saros.session.IActivityHandlerCallback;
+import saros.session.User;
+import saros.util.NamedThreadFactory;
+import saros.util.ThreadUtils;
+
+/**
+ * Limits the rate at which awareness activities, i.e. {@link TextSelectionActivity text
+ * selections} and {@link ViewportActivity viewports}, are sent to every remote recipient.
+ *
+ * <p>Awareness activities are sampled per recipient, source, file and activity type. An activity
+ * is sent immediately if the last activity of the same kind was sent to the recipient at least one
+ * interval ago. Otherwise it is kept as pending and replaces the activity that was pending before.
+ * Pending activities are sent as soon as their interval elapsed, so every recipient always receives
+ * the final state.
+ *
+ * <p>The interval of a recipient starts at {@link #MIN_INTERVAL} and doubles up to {@link
+ * #MAX_INTERVAL} as long as more than {@link #BACKLOG_THRESHOLD} activities are waiting to be sent
+ * to it. It halves again once its backlog is cleared.
+ *
+ * <p>All other activities are passed through. Before an activity is sent to a recipient, the
+ * awareness activities of the same source that are pending for this recipient are sent, so the
+ * order of the activities of a source is retained.
+ */
+public class AwarenessRateController implements Startable {
+
+  private static final Logger log = Logger.getLogger(AwarenessRateController.class);
+
+  /**
+   * The minimum interval in milliseconds between two awareness activities a recipient receives per
+   * source and file, derived from the configured number of activities per second.
+   */
+  static final long MIN_INTERVAL =
+      1000 / Math.max(1, Long.getLong("saros.session.AWARENESS_RATE", 10));
+
+  /** The maximum interval in milliseconds a backed up recipient is throttled to. */
+  static final long MAX_INTERVAL = Long.getLong("saros.session.AWARENESS_MAX_INTERVAL", 2000);
+
+  /** The number of outgoing activities after which a recipient is considered to be backed up. */
+  static final int BACKLOG_THRESHOLD =
+      Integer.getInteger("saros.session.AWARENESS_BACKLOG_THRESHOLD", 50);
+
+  private final IActivityHandlerCallback callback;
+  private final ToIntFunction<User> backlog;
+
+  private final long minInterval;
+  private final long maxInterval;
+  private final int backlogThreshold;
+
+  private final Map<User, Recipient> recipients = new HashMap<>();
+
+  private ScheduledThreadPoolExecutor flushExecutor;
+  private ScheduledFuture<?> flushFuture;
+
+  public AwarenessRateController(
+      final IActivityHandlerCallback callback, final ActivitySequencer sequencer) {
+    this(
+        callback,
+        sequencer::getPendingActivityCount,
+        MIN_INTERVAL,
+        MAX_INTERVAL,
+        BACKLOG_THRESHOLD);
+  }
+
+  AwarenessRateController(
+      final IActivityHandlerCallback callback,
+      final ToIntFunction<User> backlog,
+      final long minInterval,
+      final long maxInterval,
+      final int backlogThreshold) {
+    this.callback = callback;
+    this.backlog = backlog;
+    this.minInterval = Math.max(1, minInterval);
+    this.maxInterval = Math.max(this.minInterval, maxInterval);
+    this.backlogThreshold = backlogThreshold;
+  }
+
+  @Override
+  public synchronized void start() {
+    flushExecutor =
+        new ScheduledThreadPoolExecutor(1, new NamedThreadFactory("awareness-rate-control", false));
+
+    flushExecutor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+
+    flushFuture =
+        flushExecutor.scheduleWithFixedDelay(
+            ThreadUtils.wrapSafe(log, () -> flush(System.currentTimeMillis())),
+            minInterval,
+            minInterval,
+            TimeUnit.MILLISECONDS);
+  }
+
+  @Override
+  public synchronized void stop() {
+    flushFuture.cancel(false);
+    flushExecutor.shutdown();
+
+    recipients.clear();
+  }
+
+  /**
+   * Sends the given activity to the given recipients via the {@linkplain IActivityHandlerCallback
+   * callback}. Awareness activities are sent to remote recipients at a limited rate.
+   *
+   * @param users the recipients of the activity
+   * @param activity the activity to send
+   */
+  public void send(final List<User> users, final IActivity activity) {
+    send(users, activity, System.currentTimeMillis());
+  }
+
+  synchronized void send(final List<User> users, final IActivity activity, final long now) {
+    final Key key = getKey(activity);
+
+    if (key == null) {
+      for (final User user : users) {
+        final Recipient recipient = recipients.get(user);
+
+        if (recipient != null) recipient.sendPending(user, activity.getSource());
+      }
+
+      callback.send(users, activity);
+      return;
+    }
+
+    final List<User> dueUsers = new ArrayList<>(users.size());
+
+    for (final User user : users) {
+      if (user.isLocal()) {
+        dueUsers.add(user);
+        continue;
+      }
+
+      final Recipient recipient = recipients.computeIfAbsent(user, u -> new Recipient(now));
+
+      recipient.adjustInterval(user, now);
+
+      if (recipient.isDue(key, now)) {
+        recipient.pending.remove(key);
+        recipient.lastSent.put(key, now);
+        dueUsers.add(user);
+      } else {
+        recipient.pending.put(key, activity);
+      }
+    }
+
+    if (!dueUsers.isEmpty()) callback.send(dueUsers, activity);
+  }
+
+  /**
+   * Sends all pending awareness activities whose interval elapsed and discards the state of users
+   * that left the session.
+   *
+   * @param now the current time in milliseconds
+   */
+  synchronized void flush(final long now) {
+    final Iterator<Map.Entry<User, Recipient>> it = recipients.entrySet().iterator();
+
+    while (it.hasNext()) {
+      final Map.Entry<User, Recipient> entry = it.next();
+      final User user = entry.getKey();
+      final Recipient recipient = entry.getValue();
+
+      if (!user.isInSession()) {
+        it.remove();
+        continue;
+      }
+
+      recipient.adjustInterval(user, now);
+
+      final Iterator<Map.Entry<Key, IActivity>> pendingIt = recipient.pending.entrySet().iterator();
+
+      while (pendingIt.hasNext()) {
+        final Map.Entry<Key, IActivity> pending = pendingIt.next();
+
+        if (!pending.getKey().source.isInSession()) {
+          pendingIt.remove();
+          continue;
+        }
+
+        if (!recipient.isDue(pending.getKey(), now)) continue;
+
+        pendingIt.remove();
+        recipient.lastSent.put(pending.getKey(), now);
+        callback.send(Collections.singletonList(user), pending.getValue());
+      }
+
+      recipient.lastSent.keySet().removeIf(key -> !key.source.isInSession());
+    }
+  }
+
+  /** Returns the current interval of the given recipient or the minimum interval if unknown. */
+  synchronized long getInterval(final User user) {
+    final Recipient recipient = recipients.get(user);
+
+    return recipient == null ? minInterval : recipient.interval;
+  }
+
+  private static Key getKey(final IActivity activity) {
+    if (!(activity instanceof TextSelectionActivity) && !(activity instanceof ViewportActivity))
+      return null;
+
+    final IResource resource = ((IResourceActivity<?>) activity).getResource();
+
+    if (activity.getSource() == null || resource == null) return null;
+
+    return new Key(activity.getSource(), resource, activity.getClass());
+  }
+
+  private final class Recipient {
+    private final Map<Key, Long> lastSent = new HashMap<>();
+    private final Map<Key, IActivity> pending = new LinkedHashMap<>();
+
+    private long interval = minInterval;
+    private long lastAdjustment;
+
+    private Recipient(final long now) {
+      this.lastAdjustment = now;
+    }
+
+    private boolean isDue(final Key key, final long now) {
+      final Long sent = lastSent.get(key);
+
+      return sent == null || now - sent >= interval;
+    }
+
+    private void adjustInterval(final User user, final long now) {
+      if (now - lastAdjustment < interval) return;
+
+      lastAdjustment = now;
+
+      final int pendingActivities = backlog.applyAsInt(user);
+
+      final long previous = interval;
+
+      if (pendingActivities > backlogThreshold) interval = Math.min(interval * 2, maxInterval);
+      else if (pendingActivities == 0) interval = Math.max(interval / 2, minInterval);
+
+      if (previous != interval && log.isDebugEnabled())
+        log.debug(
+            "changed awareness interval for "
+                + user
+                + " to "
+                + interval
+                + " ms, backlog: "
+                + pendingActivities);
+    }
+
+    /** Sends all pending activities of the given source, regardless of their interval. */
+    private void sendPending(final User user, final User source) {
+      if (pending.isEmpty()) return;
+
+      final Iterator<Map.Entry<Key, IActivity>> it = pending.entrySet().iterator();
+
+      while (it.hasNext()) {
+        final Map.Entry<Key, IActivity> entry = it.next();
+
+        if (!entry.getKey().source.equals(source)) continue;
+
+        it.remove();
+        callback.send(Collections.singletonList(user), entry.getValue());
+      }
+    }
+  }
+
+  private static final class Key {
+    private final User source;
+    private final IResource resource;
+    private final Class<?> type;
+
+    private Key(final User source, final IResource resource, final Class<?> type) {
+      this.source = source;
+      this.resource = resource;
+      this.type = type;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(source, resource, type);
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+      if (this == obj) return true;
+
+      if (!(obj instanceof Key)) return false;
+
+      final Key other = (Key) obj;
+
+      return source.equals(other.source)
+          && resource.equals(other.resource)
+          && type.equals(other.type);
+    }
+  }
+}
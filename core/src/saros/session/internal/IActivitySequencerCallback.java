@@ -12,11 +12,12 @@ public interface IActivitySequencerCallback {
 
   /**
    * Gets called when a transmission failure occurs during activity sending. The user is already
-   * unregistered at this point so there is not need to call {@link
-   * ActivitySequencer#unregisterUser(User)}.
+   * suspended at this point so there is not need to call {@link
+   * ActivitySequencer#unregisterUser(User)} unless the user should not be {@linkplain
+   * ActivitySequencer#resumeUser resumed}.
    *
-   * @param jid the {@link JID} of the user that was unregistered from the {@linkplain
-   *     ActivitySequencer sequencer}
+   * @param jid the {@link JID} of the user that was suspended in the {@linkplain ActivitySequencer
+   *     sequencer}
    */
   public void transmissionFailed(JID jid);
 }
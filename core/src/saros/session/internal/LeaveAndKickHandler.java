@@ -12,7 +12,7 @@ import saros.session.ISarosSession;
 import saros.session.ISarosSessionManager;
 import saros.session.SessionEndReason;
 import saros.session.User;
-import saros.util.ThreadUtils;
+import saros.util.TaskExecutor;
 
 /**
  * A session component which listens for leave and kick messages from the session's host and stops
@@ -105,26 +105,28 @@ public class LeaveAndKickHandler implements Startable {
      * Must be run asynchronously. Otherwise the user list synchronization
      * will time out as we block the packet receiving thread here.
      */
-    ThreadUtils.runSafeAsync(
-        "remove-" + user,
-        log,
-        new Runnable() {
-          @Override
-          public void run() {
-            session.removeUser(user);
-          }
-        });
+    TaskExecutor.getDefault()
+        .execute(
+            "remove-" + user,
+            log,
+            new Runnable() {
+              @Override
+              public void run() {
+                session.removeUser(user);
+              }
+            });
   }
 
   private void stopSession(final SessionEndReason reason) {
-    ThreadUtils.runSafeAsync(
-        "stop-host",
-        log,
-        new Runnable() {
-          @Override
-          public void run() {
-            sessionManager.stopSession(reason);
-          }
-        });
+    TaskExecutor.getDefault()
+        .execute(
+            "stop-host",
+            log,
+            new Runnable() {
+              @Override
+              public void run() {
+                sessionManager.stopSession(reason);
+              }
+            });
   }
 }
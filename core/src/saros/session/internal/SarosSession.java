@@ -17,6 +17,7 @@ import saros.activities.NOPActivity;
 import saros.communication.extensions.KickUserExtension;
 import saros.communication.extensions.LeaveSessionExtension;
 import saros.concurrent.management.ConcurrentDocumentClient;
+import saros.concurrent.watchdog.ConsistencyAuditClient;
 import saros.context.IContainerContext;
 import saros.filesystem.IReferencePoint;
 import saros.filesystem.IResource;
@@ -31,6 +32,7 @@ import saros.session.IActivityConsumer.Priority;
 import saros.session.IActivityHandlerCallback;
 import saros.session.IActivityListener;
 import saros.session.IActivityProducer;
+import saros.session.IBatchingActivityConsumer;
 import saros.session.ISarosSession;
 import saros.session.ISarosSessionContextFactory;
 import saros.session.ISessionListener;
@@ -77,6 +79,9 @@ public final class SarosSession implements ISarosSession {
   private final List<IActivityConsumer> passiveActivityConsumers =
       new CopyOnWriteArrayList<IActivityConsumer>();
 
+  private final List<IBatchingActivityConsumer> batchingActivityConsumers =
+      new CopyOnWriteArrayList<IBatchingActivityConsumer>();
+
   /* Instance fields */
   private final User localUser;
 
@@ -150,6 +155,14 @@ public final class SarosSession implements ISarosSession {
             }
           }
 
+          /*
+           * Activities collected by batching consumers have to be executed
+           * before any other activity can observe their absence.
+           */
+          for (IBatchingActivityConsumer consumer : batchingActivityConsumers) {
+            if (!consumer.isBatched(activity)) flush(consumer);
+          }
+
           /**
            * @JTourBusStop 10, Activity sending, Local Execution, first dispatch:
            *
@@ -183,6 +196,19 @@ public final class SarosSession implements ISarosSession {
             }
           }
         }
+
+        @Override
+        public void batchExecuted() {
+          for (IBatchingActivityConsumer consumer : batchingActivityConsumers) flush(consumer);
+        }
+
+        private void flush(IBatchingActivityConsumer consumer) {
+          try {
+            consumer.flush();
+          } catch (RuntimeException e) {
+            log.error("error while flushing batching activity consumer: " + consumer, e);
+          }
+        }
       };
 
   // FIXME those parameter passing feels strange, find a better way
@@ -546,6 +572,8 @@ public final class SarosSession implements ISarosSession {
     sessionContainer.stop();
     sessionContainer.dispose();
 
+    activityQueuer.dispose();
+
     if (reason == SessionEndReason.LOCAL_USER_LEFT) {
       notifyParticipants();
     }
@@ -683,12 +711,16 @@ public final class SarosSession implements ISarosSession {
         passiveActivityConsumers.add(consumer);
         break;
     }
+
+    if (consumer instanceof IBatchingActivityConsumer)
+      batchingActivityConsumers.add((IBatchingActivityConsumer) consumer);
   }
 
   @Override
   public void removeActivityConsumer(IActivityConsumer consumer) {
     activeActivityConsumers.remove(consumer);
     passiveActivityConsumers.remove(consumer);
+    batchingActivityConsumers.remove(consumer);
   }
 
   @Override
@@ -765,6 +797,17 @@ public final class SarosSession implements ISarosSession {
     sendActivity(Collections.singletonList(localUser), new NOPActivity(localUser, localUser, 0));
   }
 
+  /**
+   * Called if queued activities of the given reference point could not be read back. On a client
+   * the next consistency audit reports the resulting differences to the host right away, so they
+   * can be resolved by a consistency recovery.
+   */
+  private void queuedActivitiesLost(final IReferencePoint referencePoint) {
+    final ConsistencyAuditClient auditClient = getComponent(ConsistencyAuditClient.class);
+
+    if (auditClient != null) auditClient.distrust(referencePoint);
+  }
+
   private SarosSession(
       final String id,
       IContainerContext context,
@@ -775,7 +818,7 @@ public final class SarosSession implements ISarosSession {
 
     this.sessionID = id;
     this.referencePointMapper = new SharedReferencePointMapper();
-    this.activityQueuer = new ActivityQueuer();
+    this.activityQueuer = new ActivityQueuer(id, this::queuedActivitiesLost);
     this.containerContext = context;
 
     assert localUserJID != null;
@@ -6,10 +6,15 @@ import org.jivesoftware.smack.PacketListener;
 import org.jivesoftware.smack.packet.Packet;
 import saros.communication.extensions.PingExtension;
 import saros.communication.extensions.PongExtension;
+import saros.communication.extensions.ResumeSessionRequest;
+import saros.communication.extensions.ResumeSessionResponse;
+import saros.net.IConnectionManager;
 import saros.net.IReceiver;
 import saros.net.ITransmitter;
+import saros.net.PacketCollector;
 import saros.session.ISarosSession;
 import saros.session.ISarosSessionManager;
+import saros.session.User;
 import saros.session.internal.ActivitySequencer;
 import saros.util.ThreadUtils;
 
@@ -18,6 +23,11 @@ public final class ClientSessionTimeoutHandler extends SessionTimeoutHandler {
 
   private static final Logger log = Logger.getLogger(ClientSessionTimeoutHandler.class);
 
+  /** Delay in milliseconds between two attempts to resume the session. */
+  private static final long RESUME_RETRY_DELAY = 5000L;
+
+  private final IConnectionManager connectionManager;
+
   private boolean shutdown;
 
   private boolean pingReceived;
@@ -72,7 +82,13 @@ public final class ClientSessionTimeoutHandler extends SessionTimeoutHandler {
             if (abort) {
               log.error("no ping received, reached timeout = " + PING_PONG_TIMEOUT);
               handleNetworkError(session.getHost().getJID(), "rx");
-              return;
+
+              // keep watching, the session may be resumed
+              synchronized (ClientSessionTimeoutHandler.this) {
+                lastPingReceived = System.currentTimeMillis();
+              }
+
+              continue;
             }
 
             try {
@@ -93,8 +109,10 @@ public final class ClientSessionTimeoutHandler extends SessionTimeoutHandler {
       ISarosSessionManager sessionManager,
       ActivitySequencer sequencer,
       ITransmitter transmitter,
-      IReceiver receiver) {
+      IReceiver receiver,
+      IConnectionManager connectionManager) {
     super(session, sessionManager, sequencer, transmitter, receiver);
+    this.connectionManager = connectionManager;
   }
 
   @Override
@@ -135,4 +153,73 @@ public final class ClientSessionTimeoutHandler extends SessionTimeoutHandler {
 
     if (workerThread.isAlive()) log.error(workerThread.getName() + " thread is still running");
   }
+
+  /**
+   * Reconnects to the host and requests to resume the session until the host answers or the {@link
+   * #RESUME_TIMEOUT} elapsed.
+   */
+  @Override
+  protected boolean resume(final User host) {
+    final long deadline = System.currentTimeMillis() + RESUME_TIMEOUT;
+
+    final PacketCollector collector =
+        receiver.createCollector(ResumeSessionResponse.PROVIDER.getPacketFilter(currentSessionID));
+
+    try {
+      while (true) {
+        final long delay = Math.min(deadline - System.currentTimeMillis(), RESUME_RETRY_DELAY);
+
+        synchronized (this) {
+          if (shutdown || delay <= 0) return false;
+        }
+
+        final ResumeSessionResponse response;
+
+        try {
+          connectionManager.connect(ISarosSession.SESSION_CONNECTION_ID, host.getJID());
+
+          transmitter.send(
+              ISarosSession.SESSION_CONNECTION_ID,
+              host.getJID(),
+              ResumeSessionRequest.PROVIDER.create(
+                  new ResumeSessionRequest(
+                      currentSessionID, sequencer.getNextIncomingSequenceNumber(host))));
+
+          response = ResumeSessionResponse.PROVIDER.getPayload(collector.nextResult(delay));
+
+        } catch (IOException e) {
+          log.warn("failed to request resuming the session from " + host + ": " + e.getMessage());
+
+          synchronized (this) {
+            try {
+              if (!shutdown) wait(delay);
+            } catch (InterruptedException ie) {
+              Thread.currentThread().interrupt();
+              return false;
+            }
+          }
+
+          continue;
+        }
+
+        if (response == null) continue;
+
+        if (!response.isAccepted()) {
+          log.error(host + " refused to resume the session");
+          return false;
+        }
+
+        if (!sequencer.resumeUser(host, response.getNextSequenceNumber())) return false;
+
+        synchronized (this) {
+          lastPingReceived = System.currentTimeMillis();
+        }
+
+        log.info("resumed session with " + host);
+        return true;
+      }
+    } finally {
+      collector.cancel();
+    }
+  }
 }
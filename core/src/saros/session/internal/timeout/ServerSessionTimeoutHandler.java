@@ -3,13 +3,17 @@ package saros.session.internal.timeout;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import org.apache.log4j.Logger;
 import org.jivesoftware.smack.PacketListener;
 import org.jivesoftware.smack.packet.Packet;
 import saros.communication.extensions.PingExtension;
 import saros.communication.extensions.PongExtension;
+import saros.communication.extensions.ResumeSessionRequest;
+import saros.communication.extensions.ResumeSessionResponse;
 import saros.net.IReceiver;
 import saros.net.ITransmitter;
 import saros.net.xmpp.JID;
@@ -18,6 +22,7 @@ import saros.session.ISarosSessionManager;
 import saros.session.ISessionListener;
 import saros.session.User;
 import saros.session.internal.ActivitySequencer;
+import saros.util.TaskExecutor;
 import saros.util.ThreadUtils;
 
 /** Component for detecting network errors on the server side of a session. */
@@ -32,6 +37,12 @@ public final class ServerSessionTimeoutHandler extends SessionTimeoutHandler {
   /** List containing the current users of the session including their last pong response time. */
   private final List<UserPongStatus> currentUsers = new ArrayList<UserPongStatus>();
 
+  /**
+   * Suspended users that are waited for to resume the session, mapped to the outcome of their
+   * resume request or <code>null</code> if they did not send one yet.
+   */
+  private final Map<JID, Boolean> pendingResumes = new HashMap<JID, Boolean>();
+
   private static class UserPongStatus {
 
     private final User user;
@@ -58,6 +69,29 @@ public final class ServerSessionTimeoutHandler extends SessionTimeoutHandler {
         }
       };
 
+  private final PacketListener resumeRequestListener =
+      new PacketListener() {
+
+        @Override
+        public void processPacket(Packet packet) {
+          final JID jid = new JID(packet.getFrom());
+          final ResumeSessionRequest request = ResumeSessionRequest.PROVIDER.getPayload(packet);
+
+          if (request == null) return;
+
+          TaskExecutor.getDefault()
+              .execute(
+                  "resume-request-" + jid.getName(),
+                  log,
+                  new Runnable() {
+                    @Override
+                    public void run() {
+                      handleResumeRequest(jid, request.getNextSequenceNumber());
+                    }
+                  });
+        }
+      };
+
   private final ISessionListener sessionListener =
       new ISessionListener() {
         @Override
@@ -158,6 +192,9 @@ public final class ServerSessionTimeoutHandler extends SessionTimeoutHandler {
     receiver.addPacketListener(
         pongPacketListener, PongExtension.PROVIDER.getPacketFilter(currentSessionID));
 
+    receiver.addPacketListener(
+        resumeRequestListener, ResumeSessionRequest.PROVIDER.getPacketFilter(currentSessionID));
+
     session.addListener(sessionListener);
 
     workerThread =
@@ -169,6 +206,7 @@ public final class ServerSessionTimeoutHandler extends SessionTimeoutHandler {
     super.stop();
 
     receiver.removePacketListener(pongPacketListener);
+    receiver.removePacketListener(resumeRequestListener);
 
     session.removeListener(sessionListener);
 
@@ -188,6 +226,94 @@ public final class ServerSessionTimeoutHandler extends SessionTimeoutHandler {
     if (workerThread.isAlive()) log.error(workerThread.getName() + " thread is still running");
   }
 
+  /** Waits for a resume request of the given suspended user. */
+  @Override
+  protected synchronized boolean resume(final User user) {
+    final JID jid = user.getJID();
+    final long deadline = System.currentTimeMillis() + RESUME_TIMEOUT;
+
+    pendingResumes.put(jid, null);
+
+    try {
+      while (!shutdown && pendingResumes.get(jid) == null) {
+        final long remaining = deadline - System.currentTimeMillis();
+
+        if (remaining <= 0) {
+          log.warn(user + " did not resume the session, reached timeout = " + RESUME_TIMEOUT);
+          break;
+        }
+
+        wait(remaining);
+      }
+
+      return Boolean.TRUE.equals(pendingResumes.get(jid));
+
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    } finally {
+      pendingResumes.remove(jid);
+    }
+  }
+
+  /**
+   * Resumes the given user and answers its resume request. The user is removed from the session if
+   * the activities it missed are no longer available.
+   *
+   * @param jid the user that requested to resume the session
+   * @param nextSequenceNumber the sequence number of the next activity the user expects
+   */
+  private void handleResumeRequest(final JID jid, final int nextSequenceNumber) {
+    final User user = session.getUser(jid);
+
+    boolean accepted = false;
+    int nextIncomingSequenceNumber = -1;
+
+    if (user != null && !user.isLocal()) {
+      // the user may have noticed the network error before the host did
+      sequencer.suspendUser(user);
+
+      nextIncomingSequenceNumber = sequencer.getNextIncomingSequenceNumber(user);
+
+      accepted =
+          nextIncomingSequenceNumber != -1 && sequencer.resumeUser(user, nextSequenceNumber);
+    }
+
+    final boolean isPending;
+
+    synchronized (this) {
+      isPending = pendingResumes.containsKey(jid);
+
+      if (isPending) {
+        pendingResumes.put(jid, accepted);
+        notifyAll();
+      }
+
+      if (accepted && !isTracked(user)) currentUsers.add(new UserPongStatus(user));
+    }
+
+    log.info((accepted ? "resumed " : "refused to resume ") + "session with " + jid);
+
+    try {
+      transmitter.send(
+          ISarosSession.SESSION_CONNECTION_ID,
+          jid,
+          ResumeSessionResponse.PROVIDER.create(
+              new ResumeSessionResponse(currentSessionID, accepted, nextIncomingSequenceNumber)));
+    } catch (IOException e) {
+      log.error("failed to answer resume request of " + jid, e);
+    }
+
+    // otherwise the pending network error handling removes the user
+    if (!accepted && !isPending && user != null && !user.isLocal()) session.removeUser(user);
+  }
+
+  private synchronized boolean isTracked(final User user) {
+    for (UserPongStatus status : currentUsers) if (status.user == user) return true;
+
+    return false;
+  }
+
   private synchronized List<User> getTimedOutUsers(final long currentTime, final long timeout) {
     List<User> users = new ArrayList<User>();
 
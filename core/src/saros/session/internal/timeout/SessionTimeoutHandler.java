@@ -1,5 +1,7 @@
 package saros.session.internal.timeout;
 
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import org.apache.log4j.Logger;
 import saros.net.IReceiver;
 import saros.net.ITransmitter;
@@ -11,11 +13,16 @@ import saros.session.SessionEndReason;
 import saros.session.User;
 import saros.session.internal.ActivitySequencer;
 import saros.session.internal.IActivitySequencerCallback;
-import saros.util.ThreadUtils;
+import saros.util.TaskExecutor;
 
 /**
  * Abstract base class that is already capable of detecting and handling network errors occurred in
  * the {@link ActivitySequencer} component.
+ *
+ * <p>A network error does not end the participation of a user immediately. The user is suspended
+ * in the {@link ActivitySequencer} and the client tries to {@linkplain #resume resume} the session
+ * within {@link #RESUME_TIMEOUT}. Only if this fails the user is removed from the session (host) or
+ * the session is stopped (client).
  */
 abstract class SessionTimeoutHandler implements Startable {
 
@@ -35,6 +42,13 @@ abstract class SessionTimeoutHandler implements Startable {
   protected static final long PING_PONG_UPDATE_DELAY =
       Long.getLong("saros.session.timeout.PING_PONG_UPDATE_DELAY", 30000L);
 
+  /**
+   * Timeout in milliseconds to resume the session after a network error before the user is removed
+   * (host) or the session is stopped (client).
+   */
+  protected static final long RESUME_TIMEOUT =
+      Long.getLong("saros.session.timeout.RESUME_TIMEOUT", 60L * 1000L);
+
   /** Current session the component is run with. */
   protected final ISarosSession session;
 
@@ -46,7 +60,12 @@ abstract class SessionTimeoutHandler implements Startable {
   /** Current id of the session. */
   protected final String currentSessionID;
 
-  private final ActivitySequencer sequencer;
+  protected final ActivitySequencer sequencer;
+
+  /** Users for which a network error is currently handled. */
+  private final Set<JID> suspendedUsers = ConcurrentHashMap.newKeySet();
+
+  private volatile boolean stopped;
 
   private final IActivitySequencerCallback callback =
       new IActivitySequencerCallback() {
@@ -77,42 +96,58 @@ abstract class SessionTimeoutHandler implements Startable {
 
   @Override
   public void stop() {
+    stopped = true;
     sequencer.setCallback(null);
   }
 
   /**
-   * Handles a network error by either stopping the session or removing the user from the session
-   * depending on the state of the local user. This method returns immediately and performs its work
-   * in the background.
+   * Handles a network error by suspending the user and trying to {@linkplain #resume resume} the
+   * session. If this fails the session is stopped or the user is removed from the session depending
+   * on the state of the local user. Further network errors for the same user are ignored until the
+   * error is handled. This method returns immediately and performs its work in the background.
    *
    * @param jid the {@linkplain JID} of the user
    * @param reason a reason why a network error occurred
    */
   protected final void handleNetworkError(final JID jid, final String reason) {
 
+    if (!suspendedUsers.add(jid)) return;
+
     String threadName = reason == null ? "" : reason;
 
-    if (session.isHost()) {
-      ThreadUtils.runSafeAsync(
-          "kill-user-" + jid.getName() + "-" + threadName,
-          log,
-          new Runnable() {
-            @Override
-            public void run() {
-              User user = session.getUser(jid);
-              if (user != null) session.removeUser(user);
-            }
-          });
-    } else {
-      ThreadUtils.runSafeAsync(
-          "kill-session-" + threadName,
-          log,
-          new Runnable() {
-            @Override
-            public void run() {
-              sessionManager.stopSession(SessionEndReason.CONNECTION_LOST);
-            }
-          });
-    }
+    TaskExecutor.getDefault()
+        .execute(
+            "resume-user-" + jid.getName() + "-" + threadName,
+            log,
+            new Runnable() {
+              @Override
+              public void run() {
+                try {
+                  User user = session.getUser(jid);
+
+                  if (user != null) {
+                    sequencer.suspendUser(user);
+
+                    if (resume(user) || stopped) return;
+                  }
+
+                  if (!session.isHost())
+                    sessionManager.stopSession(SessionEndReason.CONNECTION_LOST);
+                  else if (user != null) session.removeUser(user);
+
+                } finally {
+                  suspendedUsers.remove(jid);
+                }
+              }
+            });
   }
+
+  /**
+   * Tries to resume the exchange of activities with the given suspended user. Blocks until the user
+   * is resumed, the {@link #RESUME_TIMEOUT} elapsed or this component is stopped.
+   *
+   * @param user the suspended user, i.e. the host on the client side
+   * @return <code>true</code> if the user was resumed
+   */
+  protected abstract boolean resume(User user);
 }
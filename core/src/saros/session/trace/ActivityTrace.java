@@ -0,0 +1,120 @@
+package saros.session.trace;
+
+import com.thoughtworks.xstream.annotations.XStreamAlias;
+import com.thoughtworks.xstream.annotations.XStreamAsAttribute;
+import com.thoughtworks.xstream.annotations.XStreamImplicit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import saros.activities.IActivity;
+import saros.communication.extensions.ActivitiesExtension;
+
+/**
+ * Records when a batch of {@linkplain IActivity activities} passed the stages of the session
+ * pipeline. A trace is created where the activities are generated and travels with them inside the
+ * {@linkplain ActivitiesExtension activity packets}, including the relay through the host.
+ *
+ * <p>The timestamps are wall clock times of the machine that stamped them. Durations between stamps
+ * of different machines are therefore affected by clock skew.
+ */
+@XStreamAlias("trace")
+public final class ActivityTrace {
+
+  /** The stages of the session pipeline an activity can pass. */
+  public enum Stage {
+    /** The activity was generated by the local user. */
+    GENERATED,
+    /** The activity was transformed and queued for sending. */
+    QUEUED,
+    /** The activity was handed to the transmitter. */
+    SENT,
+    /** The activity was received by the host or the recipient. */
+    RECEIVED,
+    /** The activity was transformed by the host and queued for sending to the other clients. */
+    RELAYED,
+    /** The relayed activity was handed to the transmitter by the host. */
+    RELAY_SENT,
+    /** The relayed activity was received by the client. */
+    DELIVERED,
+    /** The activity was executed. */
+    EXECUTED
+  }
+
+  @XStreamAlias("o")
+  @XStreamAsAttribute
+  private final String origin;
+
+  @XStreamImplicit private final List<Stamp> stamps;
+
+  ActivityTrace(final String origin) {
+    this(origin, new ArrayList<Stamp>());
+  }
+
+  private ActivityTrace(final String origin, final List<Stamp> stamps) {
+    this.origin = origin;
+    this.stamps = stamps;
+  }
+
+  /** Returns the JID of the user that generated the activities. */
+  public String getOrigin() {
+    return origin;
+  }
+
+  /** Returns the stamps of this trace in the order they were added. */
+  public List<Stamp> getStamps() {
+    return Collections.unmodifiableList(stamps);
+  }
+
+  /** Returns whether this trace was already stamped with the given stage. */
+  public boolean hasStage(final Stage stage) {
+    for (final Stamp stamp : stamps) if (stamp.stage.equals(stage.name())) return true;
+
+    return false;
+  }
+
+  ActivityTrace stamp(final Stage stage, final long time) {
+    stamps.add(new Stamp(stage, time));
+    return this;
+  }
+
+  ActivityTrace copy() {
+    return new ActivityTrace(origin, new ArrayList<Stamp>(stamps));
+  }
+
+  @Override
+  public String toString() {
+    return "ActivityTrace [origin=" + origin + ", stamps=" + stamps + "]";
+  }
+
+  /** The time an activity passed a stage. */
+  @XStreamAlias("s")
+  public static final class Stamp {
+
+    @XStreamAlias("n")
+    @XStreamAsAttribute
+    private final String stage;
+
+    @XStreamAlias("t")
+    @XStreamAsAttribute
+    private final long time;
+
+    private Stamp(final Stage stage, final long time) {
+      this.stage = stage.name();
+      this.time = time;
+    }
+
+    public Stage getStage() {
+      return Stage.valueOf(stage);
+    }
+
+    /** Returns the wall clock time in milliseconds of the machine that added this stamp. */
+    public long getTime() {
+      return time;
+    }
+
+    @Override
+    public String toString() {
+      return stage + "@" + time;
+    }
+  }
+}
@@ -0,0 +1,230 @@
+package saros.session.trace;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.apache.log4j.Logger;
+import saros.monitoring.metrics.Histogram;
+import saros.repackaged.picocontainer.Startable;
+import saros.session.User;
+import saros.session.trace.ActivityTrace.Stage;
+import saros.session.trace.ActivityTrace.Stamp;
+
+/**
+ * Creates, stamps and evaluates {@linkplain ActivityTrace activity traces}. Tracing is disabled by
+ * default and can be enabled with the system property <code>saros.session.TRACE_ACTIVITIES</code>.
+ * If disabled, no traces are created and all methods of this class are no-ops.
+ *
+ * <p>The trace of the activities that are currently processed is bound to the processing thread,
+ * see {@link #runWith}. This way the trace is carried through the layers of the session pipeline
+ * without changing their interfaces.
+ *
+ * <p>Completed traces are aggregated into {@linkplain Histogram histograms} per origin peer and
+ * stage transition. The summary is available via {@link #getStatistics()} and is logged when the
+ * session ends.
+ */
+public class ActivityTracer implements Startable {
+
+  private static final Logger log = Logger.getLogger(ActivityTracer.class);
+
+  private static final String END_TO_END = Stage.GENERATED + "->" + Stage.EXECUTED;
+
+  private static final ThreadLocal<ActivityTrace> currentTrace = new ThreadLocal<ActivityTrace>();
+
+  private final boolean enabled;
+
+  private final ConcurrentMap<String, ConcurrentMap<String, Histogram>> histograms =
+      new ConcurrentHashMap<String, ConcurrentMap<String, Histogram>>();
+
+  public ActivityTracer() {
+    this(Boolean.getBoolean("saros.session.TRACE_ACTIVITIES"));
+  }
+
+  ActivityTracer(final boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  @Override
+  public void start() {
+    if (enabled) log.info("activity tracing is enabled");
+  }
+
+  @Override
+  public void stop() {
+    if (!enabled) return;
+
+    for (LatencyStatistics statistics : getStatistics()) log.info(statistics);
+  }
+
+  /** Returns whether activities are traced. */
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Starts a new trace for activities generated by the given user.
+   *
+   * @param origin the user that generated the activities
+   * @return the new trace or <code>null</code> if tracing is disabled
+   */
+  public ActivityTrace begin(final User origin) {
+    if (!enabled) return null;
+
+    return new ActivityTrace(origin.getJID().toString()).stamp(Stage.GENERATED, now());
+  }
+
+  /**
+   * Returns the trace that is bound to the current thread.
+   *
+   * @return the current trace or <code>null</code> if there is none
+   */
+  public ActivityTrace current() {
+    return enabled ? currentTrace.get() : null;
+  }
+
+  /**
+   * Runs the given runnable with the given trace bound to the current thread.
+   *
+   * @param trace the trace or <code>null</code>
+   * @param runnable
+   */
+  public void runWith(final ActivityTrace trace, final Runnable runnable) {
+    if (!enabled || trace == null) {
+      runnable.run();
+      return;
+    }
+
+    final ActivityTrace previous = currentTrace.get();
+
+    currentTrace.set(trace);
+
+    try {
+      runnable.run();
+    } finally {
+      if (previous == null) currentTrace.remove();
+      else currentTrace.set(previous);
+    }
+  }
+
+  /**
+   * Returns a copy of the given trace for activities that are queued for sending. The copy is
+   * stamped with {@link Stage#RELAYED} if the activities were already queued once, otherwise with
+   * {@link Stage#QUEUED}.
+   *
+   * @param trace the trace or <code>null</code>
+   * @return the stamped copy or <code>null</code> if the trace is <code>null</code> or tracing is
+   *     disabled
+   */
+  public ActivityTrace queued(final ActivityTrace trace) {
+    if (!enabled || trace == null) return null;
+
+    return trace.copy().stamp(trace.hasStage(Stage.QUEUED) ? Stage.RELAYED : Stage.QUEUED, now());
+  }
+
+  /**
+   * Stamps the given trace with {@link Stage#RELAY_SENT} if the activities were relayed, otherwise
+   * with {@link Stage#SENT}.
+   *
+   * @param trace the trace or <code>null</code>
+   * @return the given trace or <code>null</code> if tracing is disabled
+   */
+  public ActivityTrace sent(final ActivityTrace trace) {
+    if (!enabled || trace == null) return null;
+
+    return trace.stamp(trace.hasStage(Stage.RELAYED) ? Stage.RELAY_SENT : Stage.SENT, now());
+  }
+
+  /**
+   * Stamps the given trace with {@link Stage#DELIVERED} if the activities were relayed, otherwise
+   * with {@link Stage#RECEIVED}.
+   *
+   * @param trace the trace or <code>null</code>
+   * @return the given trace or <code>null</code> if tracing is disabled
+   */
+  public ActivityTrace received(final ActivityTrace trace) {
+    if (!enabled || trace == null) return null;
+
+    return trace.stamp(trace.hasStage(Stage.RELAY_SENT) ? Stage.DELIVERED : Stage.RECEIVED, now());
+  }
+
+  /**
+   * Stamps the given trace with {@link Stage#EXECUTED} and records its latencies.
+   *
+   * @param trace the trace or <code>null</code>
+   */
+  public void complete(final ActivityTrace trace) {
+    if (!enabled || trace == null) return;
+
+    final List<Stamp> stamps = trace.copy().stamp(Stage.EXECUTED, now()).getStamps();
+
+    for (int i = 1; i < stamps.size(); i++) {
+      final Stamp from = stamps.get(i - 1);
+      final Stamp to = stamps.get(i);
+
+      record(
+          trace.getOrigin(),
+          from.getStage() + "->" + to.getStage(),
+          to.getTime() - from.getTime());
+    }
+
+    if (stamps.get(0).getStage() == Stage.GENERATED)
+      record(
+          trace.getOrigin(),
+          END_TO_END,
+          stamps.get(stamps.size() - 1).getTime() - stamps.get(0).getTime());
+  }
+
+  /**
+   * Returns the latency statistics of all completed traces, sorted by peer and pipeline stage.
+   *
+   * @return the statistics, empty if tracing is disabled
+   */
+  public List<LatencyStatistics> getStatistics() {
+    final List<LatencyStatistics> result = new ArrayList<LatencyStatistics>();
+
+    for (Entry<String, ConcurrentMap<String, Histogram>> peer : histograms.entrySet()) {
+      for (Entry<String, Histogram> entry : peer.getValue().entrySet()) {
+        final Histogram histogram = entry.getValue();
+
+        result.add(
+            new LatencyStatistics(
+                peer.getKey(),
+                entry.getKey(),
+                histogram.getCount(),
+                histogram.getPercentile(50),
+                histogram.getPercentile(99),
+                histogram.getMax()));
+      }
+    }
+
+    result.sort(
+        (a, b) -> {
+          final int byPeer = a.getPeer().compareTo(b.getPeer());
+          return byPeer != 0 ? byPeer : Integer.compare(ordinalOf(a), ordinalOf(b));
+        });
+
+    return result;
+  }
+
+  private void record(final String peer, final String transition, final long millis) {
+    final Map<String, Histogram> peerHistograms =
+        histograms.computeIfAbsent(peer, k -> new ConcurrentHashMap<String, Histogram>());
+
+    peerHistograms.computeIfAbsent(transition, k -> new Histogram()).record(millis);
+  }
+
+  /* orders the transitions by their stages, the end-to-end latency follows GENERATED->QUEUED */
+  private static int ordinalOf(final LatencyStatistics statistics) {
+    final String[] stages = statistics.getTransition().split("->");
+
+    return Stage.valueOf(stages[0]).ordinal() * Stage.values().length
+        + Stage.valueOf(stages[1]).ordinal();
+  }
+
+  long now() {
+    return System.currentTimeMillis();
+  }
+}
@@ -0,0 +1,67 @@
+package saros.session.trace;
+
+/** The latencies a peer's activities needed to pass from one pipeline stage to another. */
+public final class LatencyStatistics {
+
+  private final String peer;
+  private final String transition;
+  private final long count;
+  private final long median;
+  private final long percentile99;
+  private final long max;
+
+  LatencyStatistics(
+      final String peer,
+      final String transition,
+      final long count,
+      final long median,
+      final long percentile99,
+      final long max) {
+    this.peer = peer;
+    this.transition = transition;
+    this.count = count;
+    this.median = median;
+    this.percentile99 = percentile99;
+    this.max = max;
+  }
+
+  /** Returns the JID of the peer that generated the traced activities. */
+  public String getPeer() {
+    return peer;
+  }
+
+  /**
+   * Returns the measured transition in the form <code>FROM-&gt;TO</code>, e.g. <code>
+   * SENT-&gt;RECEIVED</code>.
+   */
+  public String getTransition() {
+    return transition;
+  }
+
+  /** Returns the number of measurements. */
+  public long getCount() {
+    return count;
+  }
+
+  /** Returns the median latency (p50) in milliseconds. */
+  public long getMedian() {
+    return median;
+  }
+
+  /** Returns the 99th percentile of the latency (p99) in milliseconds. */
+  public long getPercentile99() {
+    return percentile99;
+  }
+
+  /** Returns the maximum latency in milliseconds. */
+  public long getMax() {
+    return max;
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+        "%s %s: count=%d, p50=%dms, p99=%dms, max=%dms",
+        peer, transition, count, median, percentile99, max);
+  }
+}
@@ -4,10 +4,27 @@ package saros.synchronize;
  * Implementers of this interface can be blocked by the StopManager. Being blocked means that they
  * don't generate any activities and don't generate local changes that can be realized by the user,
  * e.g. text changes.
+ *
+ * <p>Blocking can be restricted to a {@link BlockingScope}. Implementers that are not aware of
+ * scopes block everything as soon as anything is blocked.
  */
 public interface Blockable {
 
   public void block();
 
   public void unblock();
+
+  /**
+   * Blocks the given scope. This method is called every time the blocked scope changes while
+   * something is blocked. The given scope always covers everything that is currently blocked, so
+   * implementers must release resources that are no longer covered. {@link #unblock()} is called
+   * once nothing is blocked anymore.
+   *
+   * <p>The default implementation calls {@link #block()}, i.e. blocks everything.
+   *
+   * @param scope the currently blocked scope, never empty
+   */
+  public default void block(BlockingScope scope) {
+    block();
+  }
 }
@@ -0,0 +1,140 @@
+package saros.synchronize;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+import saros.filesystem.IResource;
+
+/**
+ * Describes which part of a session is blocked by the {@link StopManager}. A scope either covers
+ * the complete session or a number of reference points and files.
+ *
+ * <p>Instances of this class are immutable.
+ */
+public final class BlockingScope {
+
+  /** The scope covering the complete session. */
+  public static final BlockingScope SESSION = new BlockingScope(true, Collections.emptySet());
+
+  /** The scope covering nothing. */
+  public static final BlockingScope NONE = new BlockingScope(false, Collections.emptySet());
+
+  private final boolean session;
+
+  private final Set<IResource> resources;
+
+  private BlockingScope(final boolean session, final Set<IResource> resources) {
+    this.session = session;
+    this.resources = resources;
+  }
+
+  /**
+   * Returns a scope covering the given reference points and files.
+   *
+   * @param resources the reference points and files to cover
+   * @return the scope covering the given resources
+   * @throws IllegalArgumentException if one of the resources is neither a reference point nor a
+   *     file
+   */
+  public static BlockingScope of(final Collection<? extends IResource> resources) {
+    for (final IResource resource : resources) {
+      if (resource.getType() != IResource.Type.REFERENCE_POINT
+          && resource.getType() != IResource.Type.FILE)
+        throw new IllegalArgumentException(
+            "scope must only contain reference points and files: " + resource);
+    }
+
+    if (resources.isEmpty()) return NONE;
+
+    return new BlockingScope(false, Collections.unmodifiableSet(new HashSet<>(resources)));
+  }
+
+  /**
+   * Returns a scope covering the given reference points or files.
+   *
+   * @param resources the reference points or files to cover
+   * @return the scope covering the given resources
+   * @see #of(Collection)
+   */
+  public static BlockingScope of(final IResource... resources) {
+    return of(Arrays.asList(resources));
+  }
+
+  /** Returns whether this scope covers the complete session. */
+  public boolean isSession() {
+    return session;
+  }
+
+  /** Returns whether this scope covers nothing. */
+  public boolean isEmpty() {
+    return !session && resources.isEmpty();
+  }
+
+  /**
+   * Returns the reference points and files covered by this scope. The set is empty if this scope
+   * covers the complete session.
+   *
+   * @return an unmodifiable set of the covered reference points and files
+   */
+  public Set<IResource> getResources() {
+    return resources;
+  }
+
+  /**
+   * Returns whether the given resource is covered by this scope, i.e. the scope covers the complete
+   * session, the reference point of the resource, or the resource itself.
+   *
+   * @param resource the resource to check
+   * @return <code>true</code> if the resource is covered, <code>false</code> otherwise
+   */
+  public boolean contains(final IResource resource) {
+    if (session) return true;
+
+    if (resource == null) return false;
+
+    return resources.contains(resource) || resources.contains(resource.getReferencePoint());
+  }
+
+  /**
+   * Returns a scope covering everything covered by this or the given scope.
+   *
+   * @param other the scope to combine this scope with
+   * @return the combined scope
+   */
+  public BlockingScope union(final BlockingScope other) {
+    if (session || other.isEmpty()) return this;
+
+    if (other.session || isEmpty()) return other;
+
+    final Set<IResource> combined = new HashSet<>(resources);
+    combined.addAll(other.resources);
+
+    return new BlockingScope(false, Collections.unmodifiableSet(combined));
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(session, resources);
+  }
+
+  @Override
+  public boolean equals(final Object obj) {
+    if (this == obj) return true;
+
+    if (!(obj instanceof BlockingScope)) return false;
+
+    final BlockingScope other = (BlockingScope) obj;
+
+    return session == other.session && resources.equals(other.resources);
+  }
+
+  @Override
+  public String toString() {
+    if (session) return "BlockingScope [session]";
+
+    return "BlockingScope " + resources;
+  }
+}
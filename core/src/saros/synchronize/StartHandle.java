@@ -1,7 +1,13 @@
 package saros.synchronize;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import org.apache.log4j.Logger;
+import saros.monitoring.JfrSupport;
+import saros.monitoring.jfr.StopManagerLockEvent;
 import saros.session.User;
 import saros.util.StackTrace;
 
@@ -19,16 +25,30 @@ public class StartHandle {
 
   protected String id;
 
+  protected BlockingScope scope;
+
   /** Each start handle may be only started once. This boolean guards this. */
   protected AtomicBoolean startCalled = new AtomicBoolean(false);
 
-  /** Each start handle may be acknowledged once to have been started. */
-  protected AtomicBoolean acknowledged = new AtomicBoolean(false);
+  /**
+   * Each start handle may be acknowledged once to have been started. Completed with
+   * <code>false</code> if the acknowledgment will never arrive.
+   */
+  protected CompletableFuture<Boolean> acknowledged = new CompletableFuture<Boolean>();
 
-  StartHandle(User user, StopManager stopManager, String id) {
+  /**
+   * Covers the lock cycle from the creation of this handle until it is started, <code>null</code>
+   * if flight recorder events are not supported.
+   */
+  private final Object lockEvent;
+
+  StartHandle(User user, StopManager stopManager, String id, BlockingScope scope) {
     this.user = user;
     this.stopManager = stopManager;
     this.id = id;
+    this.scope = scope;
+
+    lockEvent = JfrSupport.ENABLED ? StopManagerLockEvent.start() : null;
   }
 
   /**
@@ -53,6 +73,8 @@ public class StartHandle {
     if (!startCalled.compareAndSet(false, true))
       throw new IllegalStateException("start can only be called once per StartHandle");
 
+    if (lockEvent != null) StopManagerLockEvent.finish(lockEvent, user, scope);
+
     return stopManager.resumeStartHandle(this);
   }
 
@@ -91,19 +113,27 @@ public class StartHandle {
    * <p>Returns whether the handle was acknowledged or not
    */
   public boolean await() {
-
-    long timeoutToExceed = System.currentTimeMillis() + StopManager.TIMEOUT;
-
     try {
-      while (!acknowledged.get()
-          && (System.currentTimeMillis() < timeoutToExceed)
-          && user.isInSession()) Thread.sleep(stopManager.MILLISTOWAIT);
+      return acknowledged.get(StopManager.TIMEOUT, TimeUnit.MILLISECONDS);
     } catch (InterruptedException e) {
       Thread.currentThread().interrupt();
       log.error("Code not designed to be interruptible", e);
+    } catch (ExecutionException | TimeoutException e) {
+      // not acknowledged
     }
 
-    return acknowledged.get();
+    return false;
+  }
+
+  /**
+   * Returns a future that is completed with <code>true</code> as soon as the stopped user
+   * acknowledged the start of this handle, or with <code>false</code> if the acknowledgment will
+   * not arrive, e.g. because the user left the session.
+   *
+   * @return the acknowledgment of this handle
+   */
+  public CompletableFuture<Boolean> getAcknowledgment() {
+    return acknowledged;
   }
 
   /**
@@ -115,6 +145,15 @@ public class StartHandle {
     return user;
   }
 
+  /**
+   * Get the part of the session the user is stopped for.
+   *
+   * @return the blocked scope
+   */
+  public BlockingScope getScope() {
+    return scope;
+  }
+
   /** @return the internal handle id */
   String getHandleID() {
     return id;
@@ -122,7 +161,16 @@ public class StartHandle {
 
   /** Remember that the stopped user has acknowledged this handle. */
   void acknowledge() {
-    if (!acknowledged.compareAndSet(false, true)) {
+    acknowledge(true);
+  }
+
+  /**
+   * Remember whether the stopped user has acknowledged this handle.
+   *
+   * @param success <code>false</code> if the acknowledgment will not arrive
+   */
+  void acknowledge(boolean success) {
+    if (!acknowledged.complete(success)) {
       log.warn("Acknowledge should only be called once per handle", new StackTrace());
     }
   }
@@ -1,24 +1,30 @@
 package saros.synchronize;
 
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
-import java.util.HashSet;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
-import java.util.Set;
 import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import org.apache.log4j.Logger;
 import saros.activities.StopActivity;
 import saros.activities.StopActivity.State;
 import saros.activities.StopActivity.Type;
 import saros.annotations.Component;
+import saros.filesystem.IResource;
 import saros.observables.ObservableValue;
 import saros.repackaged.picocontainer.Startable;
 import saros.session.AbstractActivityConsumer;
@@ -27,6 +33,7 @@ import saros.session.IActivityConsumer;
 import saros.session.IActivityConsumer.Priority;
 import saros.session.ISarosSession;
 import saros.session.User;
+import saros.util.NamedThreadFactory;
 import saros.util.ThreadUtils;
 
 /**
@@ -42,6 +49,15 @@ import saros.util.ThreadUtils;
  *
  * <p>A StartHandle will be returned for each stopped user, it can be used to remove the block of
  * remote users.
+ *
+ * <p>A stop can be restricted to a {@link BlockingScope}, e.g. the reference points of a resource
+ * negotiation or the files of a consistency recovery. The blocked scope of the local user is the
+ * union of the scopes of all its StartHandles. Scope-aware {@link Blockable}s only block the
+ * affected resources, so unrelated work can continue.
+ *
+ * <p>Stops are also available asynchronously via {@link #stopAsync}. The returned futures are
+ * completed directly by the incoming acknowledgments. Timeouts and users leaving the session are
+ * handled by a single scheduler per StopManager, so no thread has to wait for a response.
  */
 @Component(module = "core")
 public final class StopManager extends AbstractActivityProducer implements Startable {
@@ -50,16 +66,18 @@ public final class StopManager extends AbstractActivityProducer implements Start
 
   private static final Random RANDOM = new Random();
 
-  // Waits MILLISTOWAIT ms until the next test for progress cancellation
-  public final int MILLISTOWAIT = 100;
-
   /** Timeout to abort waiting for a response */
   static final long TIMEOUT = 20000;
 
+  /** Interval in milliseconds in which pending requests are checked for users that left */
+  static final long LEAVE_CHECK_INTERVAL = 1000;
+
   protected List<Blockable> blockables = new CopyOnWriteArrayList<Blockable>();
 
   protected ObservableValue<Boolean> blocked = new ObservableValue<Boolean>(false);
 
+  private volatile BlockingScope blockedScope = BlockingScope.NONE;
+
   protected final ISarosSession sarosSession;
 
   /**
@@ -73,16 +91,16 @@ public final class StopManager extends AbstractActivityProducer implements Start
    * For every initiated unlock (identified by its StopActivity id) there is one acknowledgment
    * expected.
    */
-  private Map<String, StartHandle> startsToBeAcknowledged =
-      Collections.synchronizedMap(new HashMap<String, StartHandle>());
+  private final Map<String, StartHandle> startsToBeAcknowledged = new ConcurrentHashMap<>();
 
-  /** For every initiated StopActivity (type: LockRequest) there is one acknowledgment expected. */
-  private Set<StopActivity> expectedAcknowledgments =
-      Collections.synchronizedSet(new HashSet<StopActivity>());
+  /**
+   * For every initiated StopActivity (type: LockRequest, identified by its id) there is one
+   * acknowledgment expected.
+   */
+  private final Map<String, PendingStop> pendingStops = new ConcurrentHashMap<>();
 
-  private final Object notificationLock = new Object();
-  /** Indicates of the component is stopped; */
-  private boolean isStopped = false;
+  /** Runs the timeouts and checks for users that left, only available while started. */
+  private volatile ScheduledThreadPoolExecutor timeoutScheduler;
 
   public StopManager(ISarosSession session) {
     this.sarosSession = session;
@@ -107,9 +125,9 @@ public final class StopManager extends AbstractActivityProducer implements Start
    * @JTourBusStop 2, StopManager:
    *
    * <p>This is where lock/unlock requests and acknowledgments will be handled. When there are
-   * outgoing lock requests the expected answers will be put into the expectedAcknowledgements set
-   * and when the acknowledgment arrives it will be removed from the set. For incoming lock requests
-   * {@link #lockSession(boolean) lockSession(true)} will be called.
+   * outgoing lock requests the expected answers will be put into the pendingStops map and when the
+   * acknowledgment arrives the future of the request is completed. For incoming lock requests
+   * {@link #updateBlockedScope()} will be called.
    */
   private void handleStopActivity(final StopActivity stopActivity) {
     assert sarosSession != null;
@@ -129,29 +147,28 @@ public final class StopManager extends AbstractActivityProducer implements Start
         addStartHandle(generateStartHandle(stopActivity));
         // locks session and acknowledges
 
-        lockSession(true);
+        updateBlockedScope();
         fireActivity(stopActivity.generateAcknowledgment(sarosSession.getLocalUser()));
 
         return;
       }
       if (stopActivity.getState() == State.ACKNOWLEDGED) {
-        synchronized (notificationLock) {
-          if (!expectedAcknowledgments.contains(stopActivity)) {
-            log.warn("Received unexpected StopActivity: " + stopActivity);
-            return;
-          }
-
-          /**
-           * Remove from the expectedAcknowledgements set and inform who ever has been waiting for
-           * that to happen. Warn if the removal is failing besides the above check.
-           */
-          if (!expectedAcknowledgments.remove(stopActivity)) {
-            log.warn("Received unexpected " + "StopActivity acknowledgement: " + stopActivity);
-            return;
-          }
-
-          notificationLock.notifyAll();
+        final PendingStop pending = pendingStops.get(stopActivity.getActivityID());
+
+        if (pending == null || !pending.expectedAck.equals(stopActivity)) {
+          log.warn("Received unexpected StopActivity: " + stopActivity);
+          return;
         }
+
+        /*
+         * Complete the request and inform who ever has been waiting for
+         * that to happen. Warn if the request was completed concurrently,
+         * e.g. by its timeout.
+         */
+        if (!completeStop(pending, null)) {
+          log.warn("Received unexpected " + "StopActivity acknowledgement: " + stopActivity);
+        }
+
         return;
       }
     }
@@ -191,60 +208,74 @@ public final class StopManager extends AbstractActivityProducer implements Start
    */
   public List<StartHandle> stop(final Collection<User> users, final String cause)
       throws CancellationException {
+    return stop(users, cause, BlockingScope.SESSION);
+  }
 
-    final List<StartHandle> resultingHandles =
-        Collections.synchronizedList(new LinkedList<StartHandle>());
-    final LinkedList<Thread> threads = new LinkedList<Thread>();
-
-    final AtomicBoolean isTimeout = new AtomicBoolean(false);
-
-    for (final User user : users) {
-      threads.add(
-          ThreadUtils.runSafeAsync(
-              "stop-" + user + "-" + cause,
-              log,
-              new Runnable() {
-                @Override
-                public void run() {
-                  try {
-                    StartHandle startHandle = stop(user, cause);
-                    resultingHandles.add(startHandle);
-                    log.debug("added " + startHandle + " to resulting handles.");
-                  } catch (CancellationException e) {
-                    isTimeout.set(true);
-                    log.error("user " + user + " did not respond");
-                  } catch (InterruptedException e) {
-                    isTimeout.set(true);
-                    log.error("waiting for response of user " + user + " was interrupted");
-                  }
-                }
-              }));
-    }
+  /**
+   * Blocking method that asks the given users to halt all user-input affecting the given scope and
+   * returns a list of handles to be used when the users can start again.
+   *
+   * @param users the participants who has to stop
+   * @param cause the cause for stopping as it is displayed in the progress monitor
+   * @param scope the part of the session the users have to stop working on
+   * @noGUI this method must not be called from the GUI thread.
+   * @blocking returning after the given users acknowledged the stop
+   * @throws CancellationException if the timeout is exceeded
+   */
+  public List<StartHandle> stop(
+      final Collection<User> users, final String cause, final BlockingScope scope)
+      throws CancellationException {
 
-    /**
-     * We have started all threads and we will wait for all of them to finish now. This is the
-     * safest and most simple approach to avoid ending up with ConcurrentModificationExceptions that
-     * might happen when we resume the remote users while some threads still need to be executed.
+    /*
+     * Do not allow interruption, we would end up with inconsistent state
+     * otherwise. Some remote users might be blocked already and would
+     * remain blocked.
      */
-    while (!threads.isEmpty()) {
-      try {
-        threads.getFirst().join();
-        threads.removeFirst();
-      } catch (InterruptedException e) {
-        // We need to ignore this right now as we would end up with
-        // inconsistent state at the end of this method. Some remote
-        // Users might be blocked already and would remain blocked. We
-        // will just need to try again until all threads have terminated
-      }
+    try {
+      return stopAsync(users, cause, scope).join();
+    } catch (CompletionException e) {
+      throw toCancellationException(e);
     }
+  }
 
-    if (isTimeout.get()) {
-      // Restart the already stopped users
-      log.error("some users do not respond, restarting already stopped users");
-      for (StartHandle startHandle : resultingHandles) startHandle.start();
-      throw new CancellationException();
-    }
-    return resultingHandles;
+  /**
+   * Asks the given users to halt all user-input affecting the given scope. The returned future
+   * completes with a list of handles to be used when the users can start again as soon as all users
+   * acknowledged the stop.
+   *
+   * <p>If one of the users does not acknowledge the stop in time or leaves the session, the already
+   * stopped users are started again and the future completes exceptionally with a {@link
+   * CancellationException}.
+   *
+   * @param users the participants who has to stop
+   * @param cause the cause for stopping, used for logging
+   * @param scope the part of the session the users have to stop working on
+   * @return a future completed with one handle per user
+   */
+  public CompletableFuture<List<StartHandle>> stopAsync(
+      final Collection<User> users, final String cause, final BlockingScope scope) {
+
+    final List<CompletableFuture<StartHandle>> futures = new ArrayList<>(users.size());
+
+    for (final User user : users) futures.add(stopAsync(user, cause, scope));
+
+    return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]))
+        .handle(
+            (result, failure) -> {
+              final List<StartHandle> resultingHandles = new ArrayList<>(futures.size());
+
+              for (final CompletableFuture<StartHandle> future : futures) {
+                if (!future.isCompletedExceptionally()) resultingHandles.add(future.join());
+              }
+
+              if (failure == null) return resultingHandles;
+
+              // Restart the already stopped users
+              log.error("some users do not respond, restarting already stopped users");
+              for (StartHandle startHandle : resultingHandles) startHandle.start();
+
+              throw toCancellationException(failure);
+            });
   }
 
   /**
@@ -271,8 +302,61 @@ public final class StopManager extends AbstractActivityProducer implements Start
    */
   public StartHandle stop(User user, String cause)
       throws CancellationException, InterruptedException {
+    return stop(user, cause, BlockingScope.SESSION);
+  }
+
+  /**
+   * Blocking method that asks the given user to halt all user-input affecting the given scope and
+   * returns a handle to be used when the user can start again.
+   *
+   * @param user the participant who has to stop
+   * @param cause the cause for stopping as it is displayed in the progress monitor
+   * @param scope the part of the session the user has to stop working on
+   * @noGUI this method must not be called from the GUI thread.
+   * @blocking returning after the given user acknowledged the stop
+   * @throws CancellationException if the timeout is exceeded
+   * @throws InterruptedException
+   */
+  public StartHandle stop(User user, String cause, BlockingScope scope)
+      throws CancellationException, InterruptedException {
+
+    final PendingStop pending = initiateStop(user, scope);
+
+    try {
+      return pending.future.get();
+    } catch (InterruptedException e) {
+      completeStop(pending, "waiting for response of user " + user + " was interrupted");
+      throw e;
+    } catch (ExecutionException e) {
+      throw toCancellationException(e);
+    }
+  }
+
+  /**
+   * Asks the given user to halt all user-input affecting the given scope. The returned future
+   * completes with a handle to be used when the user can start again as soon as the user
+   * acknowledged the stop.
+   *
+   * <p>If the user does not acknowledge the stop in time or leaves the session, the user is started
+   * again and the future completes exceptionally with a {@link CancellationException}.
+   *
+   * @param user the participant who has to stop
+   * @param cause the cause for stopping, used for logging
+   * @param scope the part of the session the user has to stop working on
+   * @return a future completed with the handle of the user
+   */
+  public CompletableFuture<StartHandle> stopAsync(User user, String cause, BlockingScope scope) {
+    log.debug("stopping " + user + ": " + cause);
+
+    return initiateStop(user, scope).future;
+  }
+
+  private PendingStop initiateStop(User user, BlockingScope scope) {
     assert sarosSession != null;
 
+    if (scope == null || scope.isEmpty())
+      throw new IllegalArgumentException("scope must not be null or empty");
+
     // Creating StopActivity for asking user to stop
     User localUser = sarosSession.getLocalUser();
     final StopActivity stopActivity =
@@ -282,87 +366,107 @@ public final class StopManager extends AbstractActivityProducer implements Start
             user,
             Type.LOCKREQUEST,
             State.INITIATED,
-            new SimpleDateFormat("HHmmssSS").format(new Date()) + RANDOM.nextLong());
+            new SimpleDateFormat("HHmmssSS").format(new Date()) + RANDOM.nextLong(),
+            scope);
 
     StartHandle handle = generateStartHandle(stopActivity);
     addStartHandle(handle);
 
+    final PendingStop pending =
+        new PendingStop(handle, stopActivity.generateAcknowledgment(user));
+
     // Short cut if affected user is local
     if (user.isLocal()) {
-      lockSession(true);
-      return handle;
+      updateBlockedScope();
+      pending.future.complete(handle);
+      return pending;
     }
 
-    StopActivity expectedAck = stopActivity.generateAcknowledgment(user);
-    expectedAcknowledgments.add(expectedAck);
+    pending.timeout =
+        schedule(
+            () -> completeStop(pending, "No acknowledgment arrived, gave up waiting"), TIMEOUT);
 
-    fireActivity(stopActivity);
+    pendingStops.put(stopActivity.getActivityID(), pending);
 
-    // Block until user acknowledged
+    if (pending.timeout == null) {
+      completeStop(pending, "stop manager is not running");
+      return pending;
+    }
 
-    long timeoutToExceed = System.currentTimeMillis() + StopManager.TIMEOUT;
+    fireActivity(stopActivity);
 
-    boolean isInterrupted = false;
-    boolean acknowledged = false;
-    synchronized (notificationLock) {
-      while ((System.currentTimeMillis() < timeoutToExceed) && user.isInSession()) {
+    // the user may have left before the request could be delivered
+    if (!user.isInSession()) completeStop(pending, "user " + user + " left the session");
 
-        acknowledged = !expectedAcknowledgments.contains(expectedAck);
+    return pending;
+  }
 
-        if (acknowledged && isStopped) {
-          acknowledged = false;
-          break;
-        }
+  /**
+   * Completes the given pending request. If a failure reason is given, the user is started again
+   * and the future of the request completes exceptionally.
+   *
+   * @param pending the request to complete
+   * @param failure the reason why the request failed or <code>null</code> if it was acknowledged
+   * @return <code>false</code> if the request has already been completed
+   */
+  private boolean completeStop(PendingStop pending, String failure) {
+    if (!pendingStops.remove(pending.expectedAck.getActivityID(), pending)) return false;
 
-        if (acknowledged) break;
+    if (pending.timeout != null) pending.timeout.cancel(false);
 
-        try {
-          notificationLock.wait(1000);
-        } catch (InterruptedException e) {
-          isInterrupted = true;
-          break;
-        }
-      }
+    if (failure == null) {
+      log.debug("Acknowledgment arrived " + pending.handle.getUser());
+      pending.future.complete(pending.handle);
+      return true;
     }
 
-    // clean up
-    expectedAcknowledgments.remove(expectedAck);
+    log.warn(failure + ": " + pending.handle);
 
     /*
-     * the user did respond or we got interrupted ... do not care to check
-     * if the user is still in session ... just try to resume ... it does
-     * not matter if it fails
+     * do not care to check if the user is still in session ... just try
+     * to resume ... it does not matter if it fails
      */
+    pending.handle.start();
+    pending.future.completeExceptionally(new CancellationException(failure));
+    return true;
+  }
 
-    if (isInterrupted) {
-      handle.start();
-      throw new InterruptedException();
-    }
-
-    if (!acknowledged) {
-      log.warn("No acknowledgment arrived, gave up waiting");
+  private static CancellationException toCancellationException(Throwable throwable) {
+    Throwable cause = throwable;
 
-      handle.start();
-      throw new CancellationException();
-    }
+    while ((cause instanceof CompletionException || cause instanceof ExecutionException)
+        && cause.getCause() != null) cause = cause.getCause();
 
-    log.debug("Acknowledgment arrived " + user);
+    if (cause instanceof CancellationException) return (CancellationException) cause;
 
-    return handle;
+    final CancellationException exception = new CancellationException(cause.getMessage());
+    exception.initCause(cause);
+    return exception;
   }
 
   /**
    * The goal of this method is to ensure that the local user cannot cause any editing activities
-   * (FileActivities and TextEditActivities).
-   *
-   * @param lock if true the session gets locked, else it gets unlocked
+   * (FileActivities and TextEditActivities) for the resources covered by the StartHandles of the
+   * local user. The blockables are unblocked if there are no such StartHandles.
    */
-  private void lockSession(boolean lock) {
+  private void updateBlockedScope() {
+    BlockingScope scope = BlockingScope.NONE;
+
+    for (StartHandle handle : getStartHandles(sarosSession.getLocalUser()))
+      scope = scope.union(handle.getScope());
+
+    setBlockedScope(scope);
+  }
+
+  private void setBlockedScope(BlockingScope scope) {
+    blockedScope = scope;
+
     for (Blockable blockable : blockables) {
-      if (lock) blockable.block();
+      if (!scope.isEmpty()) blockable.block(scope);
       else blockable.unblock();
     }
-    blocked.setValue(lock);
+
+    blocked.setValue(!scope.isEmpty());
   }
 
   /**
@@ -385,12 +489,14 @@ public final class StopManager extends AbstractActivityProducer implements Start
     }
 
     int remainingHandles = getStartHandles(sarosSession.getLocalUser()).size();
+
+    updateBlockedScope();
+
     if (remainingHandles > 0) {
       log.debug(remainingHandles + " startHandles remaining.");
       return false;
     }
 
-    lockSession(false);
     return true;
   }
 
@@ -405,10 +511,13 @@ public final class StopManager extends AbstractActivityProducer implements Start
     // short cut for local user
     if (handle.getUser().isLocal()) {
       executeUnlock(handle);
+      handle.acknowledge(true);
       return;
     }
 
-    startsToBeAcknowledged.put(handle.getHandleID(), handle);
+    final String id = handle.getHandleID();
+
+    startsToBeAcknowledged.put(id, handle);
 
     final StopActivity activity =
         new StopActivity(
@@ -417,7 +526,8 @@ public final class StopManager extends AbstractActivityProducer implements Start
             handle.getUser(),
             Type.UNLOCKREQUEST,
             State.INITIATED,
-            handle.getHandleID());
+            handle.getHandleID(),
+            handle.getScope());
 
     /**
      * @JTourBusStop 4, Activity sending, Firing the activity:
@@ -426,6 +536,17 @@ public final class StopManager extends AbstractActivityProducer implements Start
      * notified.
      */
     fireActivity(activity);
+
+    if (schedule(() -> failStart(id, handle), TIMEOUT) == null || !handle.getUser().isInSession())
+      failStart(id, handle);
+  }
+
+  /** Gives up waiting for the acknowledgment of the given unlock request. */
+  private void failStart(String id, StartHandle handle) {
+    if (!startsToBeAcknowledged.remove(id, handle)) return;
+
+    log.warn("No acknowledgment arrived for " + handle + ", gave up waiting");
+    handle.acknowledge(false);
   }
 
   /**
@@ -464,7 +585,7 @@ public final class StopManager extends AbstractActivityProducer implements Start
 
   private StartHandle generateStartHandle(StopActivity stopActivity) {
     User user = stopActivity.getAffected();
-    return new StartHandle(user, this, stopActivity.getActivityID());
+    return new StartHandle(user, this, stopActivity.getActivityID(), stopActivity.getScope());
   }
 
   public void addBlockable(Blockable stoppable) {
@@ -479,18 +600,67 @@ public final class StopManager extends AbstractActivityProducer implements Start
     return blocked;
   }
 
-  private void clearExpectedAcknowledgments() {
-    /**
-     * Clear the expectedAcknowledgements and inform the threads that are blocked in the stop method
-     * that there will be no response.
-     */
-    synchronized (this) {
-      expectedAcknowledgments.clear();
-      isStopped = true;
-      notifyAll();
+  /**
+   * Returns the part of the session the local user is currently stopped for.
+   *
+   * @return the blocked scope, {@link BlockingScope#NONE} if the local user is not stopped
+   */
+  public BlockingScope getBlockedScope() {
+    return blockedScope;
+  }
+
+  /**
+   * Returns whether the local user is currently stopped for the given resource.
+   *
+   * @param resource the resource to check
+   * @return <code>true</code> if the resource is covered by the blocked scope
+   */
+  public boolean isBlocked(IResource resource) {
+    return blockedScope.contains(resource);
+  }
+
+  /**
+   * Schedules the given task on the timeout scheduler.
+   *
+   * @return the scheduled task or <code>null</code> if the task could not be scheduled because
+   *     this component is not started
+   */
+  private ScheduledFuture<?> schedule(Runnable task, long delay) {
+    final ScheduledThreadPoolExecutor scheduler = timeoutScheduler;
+
+    if (scheduler == null) return null;
+
+    try {
+      return scheduler.schedule(ThreadUtils.wrapSafe(log, task), delay, TimeUnit.MILLISECONDS);
+    } catch (RejectedExecutionException e) {
+      return null;
     }
   }
 
+  /** Fails all pending requests of users that are no longer part of the session. */
+  private void checkForLeftUsers() {
+    for (PendingStop pending : pendingStops.values()) {
+      if (!pending.handle.getUser().isInSession())
+        completeStop(pending, "user " + pending.handle.getUser() + " left the session");
+    }
+
+    for (Map.Entry<String, StartHandle> entry : startsToBeAcknowledged.entrySet()) {
+      if (!entry.getValue().getUser().isInSession()) failStart(entry.getKey(), entry.getValue());
+    }
+  }
+
+  /**
+   * Clears all pending requests and informs whoever is waiting for them that there will be no
+   * response.
+   */
+  private void clearPendingRequests() {
+    for (PendingStop pending : pendingStops.values())
+      completeStop(pending, "stop manager has been stopped");
+
+    for (Map.Entry<String, StartHandle> entry : startsToBeAcknowledged.entrySet())
+      failStart(entry.getKey(), entry.getValue());
+  }
+
   private Object resumeLock = new Object();
 
   /**
@@ -513,6 +683,18 @@ public final class StopManager extends AbstractActivityProducer implements Start
 
   @Override
   public void start() {
+    timeoutScheduler =
+        new ScheduledThreadPoolExecutor(1, new NamedThreadFactory("stop-manager-timeouts", false));
+
+    timeoutScheduler.setRemoveOnCancelPolicy(true);
+    timeoutScheduler.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+
+    timeoutScheduler.scheduleWithFixedDelay(
+        ThreadUtils.wrapSafe(log, this::checkForLeftUsers),
+        LEAVE_CHECK_INTERVAL,
+        LEAVE_CHECK_INTERVAL,
+        TimeUnit.MILLISECONDS);
+
     sarosSession.addActivityConsumer(consumer, Priority.ACTIVE);
 
     /**
@@ -528,7 +710,24 @@ public final class StopManager extends AbstractActivityProducer implements Start
   public void stop() {
     sarosSession.removeActivityConsumer(consumer);
     sarosSession.removeActivityProducer(this);
-    lockSession(false);
-    clearExpectedAcknowledgments();
+    setBlockedScope(BlockingScope.NONE);
+    clearPendingRequests();
+
+    timeoutScheduler.shutdown();
+    timeoutScheduler = null;
+  }
+
+  /** An outgoing lock request waiting for its acknowledgment. */
+  private static final class PendingStop {
+    private final StartHandle handle;
+    private final StopActivity expectedAck;
+    private final CompletableFuture<StartHandle> future = new CompletableFuture<>();
+
+    private volatile ScheduledFuture<?> timeout;
+
+    private PendingStop(final StartHandle handle, final StopActivity expectedAck) {
+      this.handle = handle;
+      this.expectedAck = expectedAck;
+    }
   }
 }
@@ -0,0 +1,54 @@
+package saros.util;
+
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the tasks in a pool of platform threads that grows with the number of running tasks. This
+ * is the fallback for runtimes that do not support virtual threads.
+ */
+final class PooledTaskExecutor extends TaskExecutor {
+
+  private static final long KEEP_ALIVE_SECONDS = 60;
+
+  private final ThreadPoolExecutor pool;
+
+  PooledTaskExecutor() {
+    pool =
+        new ThreadPoolExecutor(
+            0,
+            Integer.MAX_VALUE,
+            KEEP_ALIVE_SECONDS,
+            TimeUnit.SECONDS,
+            new SynchronousQueue<Runnable>(),
+            new NamedThreadFactory("task-"));
+  }
+
+  @Override
+  public int getThreadCount() {
+    return pool.getPoolSize();
+  }
+
+  @Override
+  public void shutdown() {
+    pool.shutdown();
+  }
+
+  @Override
+  protected void start(final String threadName, final Runnable task) {
+    pool.execute(
+        () -> {
+          final Thread thread = Thread.currentThread();
+          final String poolThreadName = thread.getName();
+
+          thread.setName(threadName);
+
+          try {
+            task.run();
+          } finally {
+            thread.setName(poolThreadName);
+          }
+        });
+  }
+}
@@ -0,0 +1,128 @@
+package saros.util;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import org.apache.log4j.Logger;
+
+/**
+ * Executes the submitted runnables one after another in the order of their submission, like a
+ * single-threaded executor. The runnables are run by a {@link TaskExecutor}, so this executor only
+ * occupies a thread while there is work to do.
+ *
+ * <p>This class is thread safe.
+ */
+public final class SerialExecutor implements Executor {
+
+  private static final Logger log = Logger.getLogger(SerialExecutor.class);
+
+  private final String name;
+
+  private final TaskExecutor executor;
+
+  private final Queue<Runnable> queue = new ArrayDeque<Runnable>();
+
+  private boolean running;
+
+  private boolean shutdown;
+
+  /**
+   * Creates a serial executor that runs the submitted runnables with the {@linkplain
+   * TaskExecutor#getDefault() default executor}.
+   *
+   * @param name the name of the threads that run the submitted runnables
+   */
+  public SerialExecutor(final String name) {
+    this(name, TaskExecutor.getDefault());
+  }
+
+  /**
+   * Creates a serial executor that runs the submitted runnables with the given executor.
+   *
+   * @param name the name of the threads that run the submitted runnables
+   * @param executor the executor to run the submitted runnables with
+   */
+  public SerialExecutor(final String name, final TaskExecutor executor) {
+    this.name = name;
+    this.executor = executor;
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>Exceptions thrown by the runnable are logged and do not affect the execution of the
+   * following runnables.
+   *
+   * @throws RejectedExecutionException if this executor is shut down
+   */
+  @Override
+  public void execute(final Runnable runnable) {
+    synchronized (queue) {
+      if (shutdown) throw new RejectedExecutionException(name + " is shut down");
+
+      queue.add(runnable);
+
+      if (running) return;
+
+      running = true;
+    }
+
+    try {
+      executor.execute(name, log, this::drain);
+    } catch (RejectedExecutionException e) {
+      synchronized (queue) {
+        queue.clear();
+        running = false;
+      }
+
+      throw e;
+    }
+  }
+
+  /**
+   * Stops accepting new runnables and discards the runnables that did not start yet. A runnable
+   * that is currently running is not interrupted.
+   */
+  public void shutdown() {
+    synchronized (queue) {
+      shutdown = true;
+      queue.clear();
+    }
+  }
+
+  /** Returns whether this executor is shut down. */
+  public boolean isShutdown() {
+    synchronized (queue) {
+      return shutdown;
+    }
+  }
+
+  private void drain() {
+    while (true) {
+      final Runnable runnable;
+
+      synchronized (queue) {
+        runnable = queue.poll();
+
+        if (runnable == null) {
+          running = false;
+          return;
+        }
+      }
+
+      try {
+        runnable.run();
+      } catch (RuntimeException e) {
+        log.error("internal error in " + name, e);
+      } catch (Error e) {
+        // the remaining runnables are run on the next submission
+        synchronized (queue) {
+          running = false;
+        }
+
+        throw e;
+      }
+    }
+  }
+}
@@ -0,0 +1,208 @@
+package saros.util;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.log4j.Logger;
+import saros.monitoring.metrics.Histogram;
+
+/**
+ * Executes short-lived and blocking background tasks, e.g. consistency recoveries, resource
+ * negotiation workers or the receivers of network connections, without creating a dedicated
+ * platform thread for each of them.
+ *
+ * <p>The {@linkplain #getDefault() default executor} runs each task in its own virtual thread if
+ * the runtime supports virtual threads and uses a thread pool otherwise. The pool is not bounded,
+ * because some tasks, e.g. the receivers of network connections, run for as long as their
+ * connection is open and a bounded pool would stall all other tasks once such tasks occupy all of
+ * its threads. The implementation can be chosen with the system property <code>saros.executor
+ * </code>, which accepts <code>virtual</code>, <code>pool</code> and <code>auto</code>, or replaced
+ * with {@link #setDefault}.
+ *
+ * <p>Each executor counts its threads and tasks and records the time that passes between the
+ * submission and the start of a task, see {@link #getLatency()}.
+ *
+ * <p>This class is thread safe.
+ */
+public abstract class TaskExecutor {
+
+  private static final Logger log = Logger.getLogger(TaskExecutor.class);
+
+  private static final String KIND = System.getProperty("saros.executor", "auto");
+
+  private static TaskExecutor defaultExecutor;
+
+  private final AtomicInteger activeTasks = new AtomicInteger();
+
+  private final AtomicLong completedTasks = new AtomicLong();
+
+  private final Histogram latency = new Histogram();
+
+  /**
+   * Returns the executor that is used for the background tasks of the application. The executor is
+   * created on first access.
+   *
+   * @return the default executor
+   */
+  public static synchronized TaskExecutor getDefault() {
+    if (defaultExecutor == null) defaultExecutor = create(KIND);
+
+    return defaultExecutor;
+  }
+
+  /**
+   * Replaces the default executor. The previous executor is not shut down, tasks that were already
+   * submitted to it will still be executed.
+   *
+   * @param executor the new default executor
+   */
+  public static synchronized void setDefault(final TaskExecutor executor) {
+    if (executor == null) throw new NullPointerException("executor is null");
+
+    defaultExecutor = executor;
+  }
+
+  /**
+   * Returns whether the runtime supports virtual threads.
+   *
+   * @return <code>true</code> if {@link #newVirtualThreadExecutor()} can be used
+   */
+  public static boolean isVirtualThreadSupported() {
+    return VirtualThreadTaskExecutor.isSupported();
+  }
+
+  /**
+   * Creates an executor that runs each task in a new virtual thread.
+   *
+   * @return the new executor
+   * @throws UnsupportedOperationException if the runtime does not support virtual threads
+   */
+  public static TaskExecutor newVirtualThreadExecutor() {
+    return new VirtualThreadTaskExecutor();
+  }
+
+  /**
+   * Creates an executor that runs the tasks in a pool of platform threads. Idle threads are reused
+   * and discarded after a minute. If all threads are busy, a new thread is started, so tasks are
+   * never queued behind long-running tasks.
+   *
+   * @return the new executor
+   */
+  public static TaskExecutor newPooledExecutor() {
+    return new PooledTaskExecutor();
+  }
+
+  private static TaskExecutor create(final String kind) {
+    final boolean virtual;
+
+    switch (kind) {
+      case "virtual":
+        virtual = true;
+        break;
+      case "pool":
+        virtual = false;
+        break;
+      default:
+        if (!"auto".equals(kind)) log.warn("unknown executor kind '" + kind + "', using auto");
+
+        virtual = isVirtualThreadSupported();
+    }
+
+    if (virtual && isVirtualThreadSupported()) {
+      log.debug("running background tasks in virtual threads");
+      return newVirtualThreadExecutor();
+    }
+
+    if (virtual) log.warn("virtual threads are not supported by this runtime, using a thread pool");
+
+    log.debug("running background tasks in a thread pool");
+    return newPooledExecutor();
+  }
+
+  /**
+   * Executes the given runnable and logs any exception it throws to the given log.
+   *
+   * @param name the name of the task, used as the name of the thread that runs it
+   * @param log the log for exceptions or <code>null</code> to use a default log
+   * @param runnable the runnable to execute
+   * @return a future that completes when the runnable returns and that can be used to interrupt it
+   * @throws RejectedExecutionException if the executor is shut down
+   * @nonBlocking
+   */
+  public final Future<?> execute(final String name, final Logger log, final Runnable runnable) {
+    return submit(name, Executors.callable(ThreadUtils.wrapSafe(log, runnable)));
+  }
+
+  /**
+   * Executes the given callable. Exceptions are not logged but reported by the returned future.
+   *
+   * @param name the name of the task, used as the name of the thread that runs it
+   * @param callable the callable to execute
+   * @return a future that completes with the result of the callable
+   * @throws RejectedExecutionException if the executor is shut down
+   * @nonBlocking
+   */
+  public final <T> Future<T> submit(final String name, final Callable<T> callable) {
+    final long submitted = System.nanoTime();
+
+    final FutureTask<T> task =
+        new FutureTask<T>(
+            () -> {
+              latency.record(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - submitted));
+              activeTasks.incrementAndGet();
+
+              try {
+                return callable.call();
+              } finally {
+                activeTasks.decrementAndGet();
+                completedTasks.incrementAndGet();
+              }
+            });
+
+    start(ThreadUtils.THREAD_PREFIX + (name == null ? "task" : name), task);
+
+    return task;
+  }
+
+  /** Returns the number of threads that currently belong to this executor. */
+  public abstract int getThreadCount();
+
+  /** Returns the number of tasks that are currently running. */
+  public int getActiveTaskCount() {
+    return activeTasks.get();
+  }
+
+  /** Returns the number of tasks that completed normally or exceptionally. */
+  public long getCompletedTaskCount() {
+    return completedTasks.get();
+  }
+
+  /**
+   * Returns the histogram of the time in microseconds that passed between the submission and the
+   * start of the tasks.
+   */
+  public Histogram getLatency() {
+    return latency;
+  }
+
+  /**
+   * Stops accepting new tasks. Tasks that were already submitted are still executed.
+   *
+   * <p>The default executor must not be shut down.
+   */
+  public abstract void shutdown();
+
+  /**
+   * Starts the given task.
+   *
+   * @param threadName the name of the thread that runs the task
+   * @param task the task
+   * @throws RejectedExecutionException if the executor is shut down
+   */
+  protected abstract void start(String threadName, Runnable task);
+}
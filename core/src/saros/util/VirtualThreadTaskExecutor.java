@@ -0,0 +1,68 @@
+package saros.util;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs each task in a new virtual thread. Virtual threads are looked up reflectively because Saros
+ * still has to run on runtimes that do not support them.
+ */
+final class VirtualThreadTaskExecutor extends TaskExecutor {
+
+  private static final ThreadFactory VIRTUAL_THREAD_FACTORY = createVirtualThreadFactory();
+
+  private final AtomicInteger threads = new AtomicInteger();
+
+  private volatile boolean shutdown;
+
+  VirtualThreadTaskExecutor() {
+    if (!isSupported())
+      throw new UnsupportedOperationException("virtual threads are not supported");
+  }
+
+  static boolean isSupported() {
+    return VIRTUAL_THREAD_FACTORY != null;
+  }
+
+  @Override
+  public int getThreadCount() {
+    return threads.get();
+  }
+
+  @Override
+  public void shutdown() {
+    shutdown = true;
+  }
+
+  @Override
+  protected void start(final String threadName, final Runnable task) {
+    if (shutdown) throw new RejectedExecutionException("executor is shut down");
+
+    final Thread thread =
+        VIRTUAL_THREAD_FACTORY.newThread(
+            () -> {
+              try {
+                task.run();
+              } finally {
+                threads.decrementAndGet();
+              }
+            });
+
+    thread.setName(threadName);
+    threads.incrementAndGet();
+    thread.start();
+  }
+
+  private static ThreadFactory createVirtualThreadFactory() {
+    try {
+      final Method ofVirtual = Thread.class.getMethod("ofVirtual");
+      final Class<?> builder = Class.forName("java.lang.Thread$Builder");
+
+      return (ThreadFactory) builder.getMethod("factory").invoke(ofVirtual.invoke(null));
+    } catch (ReflectiveOperationException | LinkageError e) {
+      return null;
+    }
+  }
+}
@@ -10,18 +10,24 @@ import org.junit.runners.Suite;
   saros.communication.extensions.TestSuite.class,
   saros.concurrent.TestSuite.class,
   saros.concurrent.jupiter.test.puzzles.TestSuite.class,
+  saros.concurrent.management.TestSuite.class,
+  saros.concurrent.watchdog.TestSuite.class,
+  saros.context.TestSuite.class,
   saros.editor.colorstorage.TestSuite.class,
   saros.editor.remote.TestSuite.class,
   saros.editor.text.TestSuite.class,
   saros.filesystem.checksum.TestSuite.class,
   saros.misc.xstream.TestSuite.class,
   saros.monitoring.TestSuite.class,
+  saros.monitoring.metrics.TestSuite.class,
   saros.negotiation.TestSuite.class,
   saros.net.TestSuite.class,
   saros.net.internal.TestSuite.class,
   saros.preferences.TestSuite.class,
   saros.session.TestSuite.class,
   saros.session.internal.TestSuite.class,
+  saros.session.internal.timeout.TestSuite.class,
+  saros.session.trace.TestSuite.class,
   saros.synchronize.TestSuite.class,
   saros.util.TestSuite.class,
   saros.versioning.TestSuite.class,
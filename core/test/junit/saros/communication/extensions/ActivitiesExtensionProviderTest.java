@@ -1,14 +1,21 @@
 package saros.communication.extensions;
 
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import org.easymock.EasyMock;
 import org.jivesoftware.smack.packet.PacketExtension;
 import org.junit.Test;
 import saros.activities.EditorActivity;
 import saros.activities.IActivity;
+import saros.activities.StartFollowingActivity;
+import saros.misc.xstream.UserConverter;
 import saros.net.xmpp.JID;
+import saros.session.ISarosSession;
 import saros.session.User;
 
 public class ActivitiesExtensionProviderTest {
@@ -33,4 +40,72 @@ public class ActivitiesExtensionProviderTest {
     assertFalse(marshalled.contains("\t"));
     assertFalse(marshalled.contains("  "));
   }
+
+  @Test
+  public void testConvertersOfConcurrentSessions() throws Exception {
+    JID aliceJID = new JID("alice@test");
+    JID bobJID = new JID("bob@test");
+
+    // both sessions have their own user objects for the same participants
+    User firstAlice = new User(aliceJID, true, true, null);
+    User firstBob = new User(bobJID, false, false, null);
+    User secondAlice = new User(aliceJID, true, true, null);
+    User secondBob = new User(bobJID, false, false, null);
+
+    UserConverter firstConverter =
+        new UserConverter(createSession("first-session", firstAlice, firstBob));
+    UserConverter secondConverter =
+        new UserConverter(createSession("second-session", secondAlice, secondBob));
+
+    firstConverter.start();
+    secondConverter.start();
+
+    try {
+      StartFollowingActivity first = convert("first-session", firstAlice, firstBob);
+      StartFollowingActivity second = convert("second-session", secondAlice, secondBob);
+
+      assertSame(firstAlice, first.getSource());
+      assertSame(firstBob, first.getFollowedUser());
+      assertSame(secondAlice, second.getSource());
+      assertSame(secondBob, second.getFollowedUser());
+
+      // stopping one session must not affect the other one
+      firstConverter.stop();
+
+      second = convert("second-session", secondAlice, secondBob);
+
+      assertSame(secondAlice, second.getSource());
+      assertNull(convert("first-session", firstAlice, firstBob).getSource());
+
+    } finally {
+      firstConverter.stop();
+      secondConverter.stop();
+    }
+  }
+
+  private static ISarosSession createSession(String id, User alice, User bob) {
+    ISarosSession session = EasyMock.createMock(ISarosSession.class);
+    EasyMock.expect(session.getID()).andStubReturn(id);
+    EasyMock.expect(session.getUser(alice.getJID())).andStubReturn(alice);
+    EasyMock.expect(session.getUser(bob.getJID())).andStubReturn(bob);
+    EasyMock.replay(session);
+
+    return session;
+  }
+
+  private static StartFollowingActivity convert(String sessionID, User source, User followed)
+      throws Exception {
+
+    List<IActivity> activities =
+        Collections.<IActivity>singletonList(new StartFollowingActivity(source, followed));
+
+    String marshalled =
+        ActivitiesExtension.PROVIDER
+            .create(new ActivitiesExtension(sessionID, activities, 0))
+            .toXML();
+
+    ActivitiesExtension extension = ActivitiesExtension.PROVIDER.parseString(marshalled);
+
+    return (StartFollowingActivity) extension.getActivities().get(0);
+  }
 }
@@ -0,0 +1,122 @@
+package saros.concurrent.management;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class DocumentClientExecutorTest {
+
+  private DocumentClientExecutor executor;
+
+  @Before
+  public void setUp() {
+    executor = new DocumentClientExecutor();
+  }
+
+  @After
+  public void tearDown() {
+    executor.stop();
+  }
+
+  @Test
+  public void testExecuteDoesNotBlock() throws Exception {
+    executor.start();
+
+    final CountDownLatch release = new CountDownLatch(1);
+    final CountDownLatch done = new CountDownLatch(1);
+
+    executor.execute(
+        () -> {
+          try {
+            release.await();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+          done.countDown();
+        });
+
+    assertEquals(1, done.getCount());
+
+    release.countDown();
+
+    assertTrue(done.await(10, TimeUnit.SECONDS));
+  }
+
+  @Test
+  public void testCallRunsAfterPreviouslyExecutedTasks() {
+    executor.start();
+
+    final List<Integer> order = Collections.synchronizedList(new ArrayList<Integer>());
+
+    for (int i = 0; i < 100; i++) {
+      final int value = i;
+      executor.execute(() -> order.add(value));
+    }
+
+    final Integer size = executor.call(() -> order.size());
+
+    assertEquals(100, size.intValue());
+
+    for (int i = 0; i < 100; i++) assertEquals(i, order.get(i).intValue());
+  }
+
+  @Test
+  public void testNestedExecuteRunsImmediately() {
+    executor.start();
+
+    final List<String> order = new ArrayList<String>();
+
+    executor.call(
+        () -> {
+          assertTrue(executor.isExecutorThread());
+
+          executor.execute(() -> order.add("nested"));
+          order.add("outer");
+          return null;
+        });
+
+    assertEquals(Arrays.asList("nested", "outer"), order);
+  }
+
+  @Test
+  public void testRunsInlineIfNotStarted() {
+    final Thread caller = Thread.currentThread();
+
+    assertSame(caller, executor.call(() -> Thread.currentThread()));
+
+    final List<Thread> threads = new ArrayList<Thread>();
+    executor.execute(() -> threads.add(Thread.currentThread()));
+
+    assertEquals(Collections.singletonList(caller), threads);
+  }
+
+  @Test
+  public void testRunsInlineAfterStop() {
+    executor.start();
+    executor.stop();
+
+    assertFalse(executor.isExecutorThread());
+    assertSame(Thread.currentThread(), executor.call(() -> Thread.currentThread()));
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void testCallPropagatesRuntimeExceptions() {
+    executor.start();
+
+    executor.call(
+        () -> {
+          throw new IllegalStateException();
+        });
+  }
+}
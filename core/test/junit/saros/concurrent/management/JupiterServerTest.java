@@ -0,0 +1,185 @@
+package saros.concurrent.management;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import org.easymock.EasyMock;
+import org.junit.Before;
+import org.junit.Test;
+import saros.activities.JupiterActivity;
+import saros.concurrent.jupiter.internal.Jupiter;
+import saros.concurrent.jupiter.internal.text.InsertOperation;
+import saros.editor.text.TextPosition;
+import saros.filesystem.IFile;
+import saros.filesystem.IReferencePoint;
+import saros.net.xmpp.JID;
+import saros.session.ISarosSession;
+import saros.session.User;
+
+public class JupiterServerTest {
+
+  private User host;
+  private User alice;
+
+  private ISarosSession session;
+  private IFile file;
+
+  private Jupiter hostClient;
+
+  @Before
+  public void setUp() {
+    host = new User(new JID("host@foo/Saros"), true, true, null);
+    alice = new User(new JID("alice@foo/Saros"), false, false, null);
+
+    session = EasyMock.createNiceMock(ISarosSession.class);
+    EasyMock.expect(session.getHost()).andStubReturn(host);
+    EasyMock.expect(
+            session.userHasReferencePoint(
+                EasyMock.anyObject(User.class), EasyMock.anyObject(IReferencePoint.class)))
+        .andStubReturn(true);
+    EasyMock.replay(session);
+
+    file = EasyMock.createNiceMock(IFile.class);
+    EasyMock.replay(file);
+
+    hostClient = new Jupiter(true);
+  }
+
+  @Test
+  public void testUserJoinIsAppliedToExistingDocuments() throws Exception {
+    JupiterServer server = new JupiterServer(session, Long.MAX_VALUE);
+
+    assertTrue(server.transform(hostEdit("a")).isEmpty());
+
+    server.addUser(alice);
+
+    assertEquals(Collections.singleton(alice), server.transform(hostEdit("b")).keySet());
+  }
+
+  @Test
+  public void testUserLeaveIsAppliedToExistingDocuments() throws Exception {
+    JupiterServer server = new JupiterServer(session, Long.MAX_VALUE);
+
+    server.addUser(alice);
+
+    assertEquals(Collections.singleton(alice), server.transform(hostEdit("a")).keySet());
+
+    server.removeUser(alice);
+
+    assertTrue(server.transform(hostEdit("b")).isEmpty());
+  }
+
+  @Test
+  public void testRejoinedUserStartsWithFreshProxy() throws Exception {
+    JupiterServer server = new JupiterServer(session, Long.MAX_VALUE);
+
+    server.addUser(alice);
+
+    server.transform(hostEdit("a"));
+    Map<User, JupiterActivity> result = server.transform(hostEdit("b"));
+
+    assertEquals(1, result.get(alice).getTimestamp().getComponents()[0]);
+
+    server.removeUser(alice);
+    server.addUser(alice);
+
+    result = server.transform(hostEdit("c"));
+
+    assertEquals(0, result.get(alice).getTimestamp().getComponents()[0]);
+  }
+
+  @Test
+  public void testAddingExistingUserKeepsProxy() throws Exception {
+    JupiterServer server = new JupiterServer(session, Long.MAX_VALUE);
+
+    server.addUser(alice);
+
+    server.transform(hostEdit("a"));
+
+    // e.g. alice is added again when another reference point is shared with her
+    server.addUser(alice);
+    server.addUser(alice);
+
+    Map<User, JupiterActivity> result = server.transform(hostEdit("b"));
+
+    assertEquals(1, result.get(alice).getTimestamp().getComponents()[0]);
+  }
+
+  @Test
+  public void testAddingExistingUserAddsMissingProxy() throws Exception {
+    session = EasyMock.createNiceMock(ISarosSession.class);
+    EasyMock.expect(session.getHost()).andStubReturn(host);
+    EasyMock.replay(session);
+
+    JupiterServer server = new JupiterServer(session, Long.MAX_VALUE);
+
+    server.addUser(alice);
+
+    // alice does not have the reference point of the file yet
+    assertTrue(server.transform(hostEdit("a")).isEmpty());
+
+    server.addUser(alice);
+
+    assertEquals(Collections.singleton(alice), server.transform(hostEdit("b")).keySet());
+  }
+
+  @Test
+  public void testIdleDocumentIsEvictedAndRestored() throws Exception {
+    JupiterServer server = new JupiterServer(session, 0);
+
+    server.transform(hostEdit("a"));
+
+    assertEquals(1, server.getDocumentCount());
+    assertEquals(1, server.getEvictedDocumentCount());
+
+    // the restored proxy has to accept the next edit of the host
+    assertTrue(server.transform(hostEdit("b")).isEmpty());
+  }
+
+  @Test
+  public void testDocumentWithUnacknowledgedOperationsIsNotEvicted() throws Exception {
+    JupiterServer server = new JupiterServer(session, 0);
+
+    server.addUser(alice);
+    server.transform(hostEdit("a"));
+
+    assertEquals(0, server.getEvictedDocumentCount());
+  }
+
+  @Test
+  public void testDocumentStatistics() throws Exception {
+    JupiterServer server = new JupiterServer(session, Long.MAX_VALUE);
+
+    server.addUser(alice);
+    server.transform(hostEdit("a"));
+    server.transform(hostEdit("b"));
+
+    List<DocumentStatistics> statistics = server.getDocumentStatistics();
+
+    assertEquals(1, statistics.size());
+    assertEquals(file, statistics.get(0).getFile());
+    assertFalse(statistics.get(0).isEvicted());
+    assertEquals(2, statistics.get(0).getTransformationCount());
+    // the two edits of the host are not acknowledged by alice yet
+    assertEquals(2, statistics.get(0).getHistoryDepth());
+  }
+
+  @Test
+  public void testRemoveFile() throws Exception {
+    JupiterServer server = new JupiterServer(session, Long.MAX_VALUE);
+
+    server.transform(hostEdit("a"));
+    server.removeFile(file);
+
+    assertEquals(0, server.getDocumentCount());
+  }
+
+  private JupiterActivity hostEdit(String text) {
+    return hostClient.generateJupiterActivity(
+        new InsertOperation(new TextPosition(0, 0), 0, text.length(), text), host, file);
+  }
+}
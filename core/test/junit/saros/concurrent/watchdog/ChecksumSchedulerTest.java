@@ -0,0 +1,167 @@
+package saros.concurrent.watchdog;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import org.easymock.EasyMock;
+import org.junit.Before;
+import org.junit.Test;
+import saros.concurrent.watchdog.ChecksumScheduler.Decision;
+import saros.filesystem.IFile;
+import saros.net.xmpp.JID;
+import saros.session.User;
+
+public class ChecksumSchedulerTest {
+
+  private static final long SETTLE_DELAY = 1000;
+  private static final long MIN_INTERVAL = 10000;
+  private static final long MAX_INTERVAL = 80000;
+
+  private ChecksumScheduler scheduler;
+
+  private IFile fileA;
+  private IFile fileB;
+
+  private Set<User> alice;
+  private Set<User> aliceAndBob;
+
+  @Before
+  public void setUp() {
+    scheduler = new ChecksumScheduler(SETTLE_DELAY, MIN_INTERVAL, MAX_INTERVAL, 1, 2);
+
+    fileA = EasyMock.createNiceMock(IFile.class);
+    fileB = EasyMock.createNiceMock(IFile.class);
+
+    User aliceUser = new User(new JID("alice@foo/Saros"), false, false, null);
+    User bobUser = new User(new JID("bob@foo/Saros"), false, false, null);
+
+    alice = Collections.singleton(aliceUser);
+    aliceAndBob = new HashSet<>(Arrays.asList(aliceUser, bobUser));
+  }
+
+  @Test
+  public void testNewDocumentsAreDueImmediately() {
+    assertEquals(
+        new HashSet<>(Arrays.asList(fileA, fileB)),
+        new HashSet<>(scheduler.getDueFiles(set(fileA, fileB), 0)));
+  }
+
+  @Test
+  public void testUnchangedChecksumIsSkippedWithBackoff() {
+    scheduler.getDueFiles(set(fileA), 0);
+
+    assertEquals(Decision.SEND, scheduler.decide(fileA, 1, 1, alice, 0));
+
+    assertTrue(scheduler.getDueFiles(set(fileA), MIN_INTERVAL - 1).isEmpty());
+    assertEquals(Collections.singletonList(fileA), scheduler.getDueFiles(set(fileA), MIN_INTERVAL));
+
+    assertEquals(Decision.SKIP, scheduler.decide(fileA, 1, 1, alice, MIN_INTERVAL));
+
+    long next = MIN_INTERVAL + 2 * MIN_INTERVAL;
+
+    assertTrue(scheduler.getDueFiles(set(fileA), next - 1).isEmpty());
+    assertEquals(Collections.singletonList(fileA), scheduler.getDueFiles(set(fileA), next));
+
+    assertEquals(1, scheduler.getSentCount());
+    assertEquals(1, scheduler.getSkippedCount());
+  }
+
+  @Test
+  public void testUnchangedChecksumIsRefreshedAtMaxInterval() {
+    scheduler.getDueFiles(set(fileA), 0);
+    scheduler.decide(fileA, 1, 1, alice, 0);
+
+    long now = 0;
+    long interval = MIN_INTERVAL;
+
+    while (interval < MAX_INTERVAL) {
+      now += interval;
+      assertEquals(Decision.SKIP, scheduler.decide(fileA, 1, 1, alice, now));
+      interval *= 2;
+    }
+
+    now += MAX_INTERVAL;
+    assertEquals(Decision.SEND, scheduler.decide(fileA, 1, 1, alice, now));
+  }
+
+  @Test
+  public void testChangedChecksumOrNewRecipientIsSent() {
+    scheduler.getDueFiles(set(fileA), 0);
+    scheduler.decide(fileA, 1, 1, alice, 0);
+
+    assertEquals(Decision.SEND, scheduler.decide(fileA, 2, 1, alice, MIN_INTERVAL));
+    assertEquals(Decision.SEND, scheduler.decide(fileA, 2, 1, aliceAndBob, 2 * MIN_INTERVAL));
+  }
+
+  @Test
+  public void testEditsSettleBeforeCheck() {
+    scheduler.getDueFiles(set(fileA), 0);
+    scheduler.decide(fileA, 1, 1, alice, 0);
+
+    scheduler.documentEdited(fileA, 100);
+    scheduler.documentEdited(fileA, 600);
+
+    assertTrue(scheduler.getDueFiles(set(fileA), 600 + SETTLE_DELAY - 1).isEmpty());
+    assertEquals(
+        Collections.singletonList(fileA), scheduler.getDueFiles(set(fileA), 600 + SETTLE_DELAY));
+  }
+
+  @Test
+  public void testContinuousEditingIsCheckedAtMinInterval() {
+    scheduler.getDueFiles(set(fileA), 0);
+    scheduler.decide(fileA, 1, 1, alice, 0);
+
+    for (long now = 100; now < 2 * MIN_INTERVAL; now += 100) scheduler.documentEdited(fileA, now);
+
+    assertEquals(
+        Collections.singletonList(fileA), scheduler.getDueFiles(set(fileA), 100 + MIN_INTERVAL));
+  }
+
+  @Test
+  public void testReportedInconsistencyForcesBroadcast() {
+    scheduler.getDueFiles(set(fileA), 0);
+    scheduler.decide(fileA, 1, 1, alice, 0);
+
+    scheduler.inconsistencyReported(fileA, 100);
+
+    assertEquals(
+        Collections.singletonList(fileA), scheduler.getDueFiles(set(fileA), 100 + SETTLE_DELAY));
+    assertEquals(Decision.SEND, scheduler.decide(fileA, 1, 1, alice, 100 + SETTLE_DELAY));
+  }
+
+  @Test
+  public void testPeerBudgetDefersBroadcasts() {
+    IFile fileC = EasyMock.createNiceMock(IFile.class);
+
+    scheduler.getDueFiles(set(fileA, fileB, fileC), 0);
+
+    assertEquals(Decision.SEND, scheduler.decide(fileA, 1, 1, alice, 0));
+    assertEquals(Decision.SEND, scheduler.decide(fileB, 1, 1, alice, 0));
+    assertEquals(Decision.DEFER, scheduler.decide(fileC, 1, 1, alice, 0));
+
+    assertEquals(
+        Collections.singletonList(fileC), scheduler.getDueFiles(set(fileA, fileB, fileC), 1));
+
+    assertEquals(Decision.SEND, scheduler.decide(fileC, 1, 1, alice, 1000));
+    assertEquals(1, scheduler.getDeferredCount());
+  }
+
+  @Test
+  public void testClosedDocumentsAreRemoved() {
+    scheduler.getDueFiles(set(fileA, fileB), 0);
+    scheduler.decide(fileA, 1, 1, alice, 0);
+
+    assertEquals(Collections.singletonList(fileB), scheduler.getDueFiles(set(fileB), 0));
+
+    // fileA is treated as a new document after being reopened
+    assertTrue(scheduler.getDueFiles(set(fileA, fileB), 1).contains(fileA));
+  }
+
+  private static Set<IFile> set(IFile... files) {
+    return new HashSet<>(Arrays.asList(files));
+  }
+}
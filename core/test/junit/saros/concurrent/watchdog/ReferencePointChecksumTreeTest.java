@@ -0,0 +1,89 @@
+package saros.concurrent.watchdog;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import org.junit.Test;
+import saros.activities.FolderChecksumActivity.Entry;
+
+public class ReferencePointChecksumTreeTest {
+
+  @Test
+  public void testCombineIsDeterministic() {
+    List<Entry> entries = Arrays.asList(new Entry("a", false, 1), new Entry("b", true, 2));
+
+    assertEquals(
+        ReferencePointChecksumTree.combine(entries),
+        ReferencePointChecksumTree.combine(
+            Arrays.asList(new Entry("a", false, 1), new Entry("b", true, 2))));
+  }
+
+  @Test
+  public void testCombineDetectsDifferences() {
+    long checksum =
+        ReferencePointChecksumTree.combine(
+            Arrays.asList(new Entry("a", false, 1), new Entry("b", false, 2)));
+
+    assertNotEquals(
+        checksum,
+        ReferencePointChecksumTree.combine(
+            Arrays.asList(new Entry("a", false, 1), new Entry("b", false, 3))));
+
+    assertNotEquals(
+        checksum,
+        ReferencePointChecksumTree.combine(
+            Arrays.asList(new Entry("a", false, 1), new Entry("c", false, 2))));
+
+    assertNotEquals(
+        checksum,
+        ReferencePointChecksumTree.combine(
+            Arrays.asList(new Entry("a", false, 1), new Entry("b", true, 2))));
+
+    assertNotEquals(
+        checksum, ReferencePointChecksumTree.combine(Arrays.asList(new Entry("a", false, 1))));
+  }
+
+  @Test
+  public void testGetFiles() {
+    Path src = Paths.get("src");
+    Path pkg = src.resolve("pkg");
+
+    Map<Path, List<Entry>> folders = new HashMap<>();
+
+    folders.put(
+        ReferencePointChecksumTree.ROOT,
+        Arrays.asList(new Entry("README", false, 1), new Entry("src", true, 2)));
+    folders.put(src, Arrays.asList(new Entry("Main.java", false, 3), new Entry("pkg", true, 4)));
+    folders.put(pkg, Arrays.asList(new Entry("A.java", false, 5)));
+
+    ReferencePointChecksumTree tree = new ReferencePointChecksumTree(folders);
+
+    assertEquals(
+        new HashSet<>(Arrays.asList(src.resolve("Main.java"), pkg.resolve("A.java"))),
+        new HashSet<>(tree.getFiles(src)));
+
+    assertEquals(3, tree.getFiles(ReferencePointChecksumTree.ROOT).size());
+
+    assertTrue(tree.getFiles(Paths.get("doc")).isEmpty());
+  }
+
+  @Test
+  public void testGetEntriesOfUnknownFolder() {
+    ReferencePointChecksumTree tree =
+        new ReferencePointChecksumTree(
+            Collections.singletonMap(ReferencePointChecksumTree.ROOT, Collections.emptyList()));
+
+    assertEquals(Collections.emptyList(), tree.getEntries(ReferencePointChecksumTree.ROOT));
+    assertNull(tree.getEntries(Paths.get("src")));
+  }
+}
@@ -0,0 +1,103 @@
+package saros.context;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+import saros.repackaged.picocontainer.MutablePicoContainer;
+import saros.repackaged.picocontainer.PicoBuilder;
+import saros.repackaged.picocontainer.Startable;
+
+public class StartupProfilerTest {
+
+  public static class SlowDependency {
+    public SlowDependency() {
+      sleep(30);
+    }
+  }
+
+  public static class SlowStart implements Startable {
+    public SlowStart(SlowDependency dependency) {
+      // NOP
+    }
+
+    @Override
+    public void start() {
+      sleep(30);
+    }
+
+    @Override
+    public void stop() {
+      // NOP
+    }
+  }
+
+  public static class Unused {
+    // NOP
+  }
+
+  private StartupProfiler profiler;
+
+  private MutablePicoContainer container;
+
+  @Before
+  public void setUp() {
+    profiler = new StartupProfiler();
+    container = new PicoBuilder().withCaching().withLifecycle().withMonitor(profiler).build();
+
+    container.addComponent(SlowStart.class);
+    container.addComponent(SlowDependency.class);
+    container.addComponent(Unused.class);
+  }
+
+  @Test
+  public void testRecordsSelfTimeOfComponents() {
+    container.getComponent(SlowStart.class);
+    container.start();
+
+    long dependency = profiler.getComponentTime(SlowDependency.class.getName());
+    long component = profiler.getComponentTime(SlowStart.class.getName());
+
+    // the creation of the dependency must not be attributed to the component
+    assertTrue(dependency >= 25_000_000L);
+    assertTrue(component >= 25_000_000L);
+    assertTrue(component < dependency + 25_000_000L);
+
+    assertEquals(-1, profiler.getComponentTime(Unused.class.getName()));
+  }
+
+  @Test
+  public void testReport() {
+    container.getComponent(SlowStart.class);
+    container.start();
+
+    profiler.mark("create context");
+    profiler.mark("connect");
+
+    String report = profiler.getReport(1);
+
+    assertTrue(report, report.contains("create context"));
+    assertTrue(report, report.contains("connect"));
+    assertTrue(report, report.contains("most expensive 1 of 2 components"));
+    assertTrue(report.contains(SlowStart.class.getName()) != report.contains("SlowDependency"));
+  }
+
+  @Test
+  public void testMarkAccumulatesSteps() {
+    profiler.mark("step");
+    sleep(20);
+    profiler.mark("step");
+
+    assertTrue(profiler.getElapsedTime() >= 20);
+    assertEquals(1, profiler.getReport(0).split("step").length - 1);
+  }
+
+  private static void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -8,6 +8,8 @@ import org.easymock.EasyMock;
 import org.junit.Before;
 import org.junit.Test;
 import saros.filesystem.IFile;
+import saros.filesystem.IResource;
+import saros.filesystem.ResourceAttributes;
 
 public class FileSystemChecksumCacheTest {
 
@@ -153,4 +155,35 @@ public class FileSystemChecksumCacheTest {
     assertEquals(Long.valueOf(1), cache.getChecksum(collidingA0));
     assertEquals(Long.valueOf(1), cache.getChecksum(collidingA1));
   }
+
+  @Test
+  public void testChecksumIsDiscardedIfAttributesChanged() {
+    IChecksumCache cache = new FileSystemChecksumCache(notifier, absolutePathResolver);
+
+    ResourceAttributes attributes = new ResourceAttributes(IResource.Type.FILE, 10L, 1000L);
+
+    cache.addChecksum(nonColliding, 5L, attributes);
+
+    assertEquals(Long.valueOf(5), cache.getChecksum(nonColliding, attributes));
+    assertEquals(Long.valueOf(5), cache.getChecksum(nonColliding));
+
+    assertEquals(
+        null,
+        cache.getChecksum(
+            nonColliding, new ResourceAttributes(IResource.Type.FILE, 10L, 2000L)));
+
+    assertEquals(null, cache.getChecksum(nonColliding, attributes));
+  }
+
+  @Test
+  public void testChecksumIsKeptIfAttributesAreUnknown() {
+    IChecksumCache cache = new FileSystemChecksumCache(notifier, absolutePathResolver);
+
+    cache.addChecksum(nonColliding, 5L);
+
+    assertEquals(
+        Long.valueOf(5),
+        cache.getChecksum(
+            nonColliding, new ResourceAttributes(IResource.Type.FILE, 10L, 1000L)));
+  }
 }
@@ -0,0 +1,80 @@
+package saros.misc.xstream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.thoughtworks.xstream.converters.basic.AbstractSingleValueConverter;
+import org.junit.Test;
+
+public class ScopedSingleValueConverterTest {
+
+  private static class PrefixConverter extends AbstractSingleValueConverter {
+    private final String prefix;
+
+    private PrefixConverter(String prefix) {
+      this.prefix = prefix;
+    }
+
+    @SuppressWarnings("rawtypes")
+    @Override
+    public boolean canConvert(Class type) {
+      return type.equals(String.class);
+    }
+
+    @Override
+    public Object fromString(String str) {
+      return prefix + str;
+    }
+  }
+
+  @Test
+  public void convertersAreSelectedByScope() {
+    ScopedSingleValueConverter scoped = new ScopedSingleValueConverter(new PrefixConverter("a"));
+
+    scoped.register("first", new PrefixConverter("first-"));
+    scoped.register("second", new PrefixConverter("second-"));
+
+    assertEquals(
+        "first-x", XStreamExtensionProvider.withScope("first", () -> scoped.fromString("x")));
+    assertEquals(
+        "second-x", XStreamExtensionProvider.withScope("second", () -> scoped.fromString("x")));
+
+    assertNull("converter was used without scope", scoped.fromString("x"));
+  }
+
+  @Test
+  public void unregisteringKeepsOtherScopes() {
+    ScopedSingleValueConverter scoped = new ScopedSingleValueConverter(new PrefixConverter("a"));
+
+    scoped.register("first", new PrefixConverter("first-"));
+    scoped.register("second", new PrefixConverter("second-"));
+
+    scoped.unregister("first");
+
+    assertNull(XStreamExtensionProvider.withScope("first", () -> scoped.fromString("x")));
+    assertEquals(
+        "second-x", XStreamExtensionProvider.withScope("second", () -> scoped.fromString("x")));
+
+    assertTrue("converter must still claim its type", scoped.canConvert(String.class));
+  }
+
+  @Test
+  public void nestedScopesAreRestored() {
+    ScopedSingleValueConverter scoped = new ScopedSingleValueConverter(new PrefixConverter("a"));
+
+    scoped.register("first", new PrefixConverter("first-"));
+    scoped.register("second", new PrefixConverter("second-"));
+
+    String result =
+        XStreamExtensionProvider.withScope(
+            "first",
+            () -> {
+              XStreamExtensionProvider.withScope("second", () -> scoped.fromString("x"));
+              return (String) scoped.fromString("y");
+            });
+
+    assertEquals("first-y", result);
+    assertNull(XStreamExtensionProvider.getScope());
+  }
+}
@@ -8,6 +8,7 @@ import org.junit.runners.Suite;
   ReplaceableConverterTest.class,
   ReplaceableSingleValueConverterTest.class,
   ResourceTransportWrapperConverterTest.class,
+  ScopedSingleValueConverterTest.class,
   UserConverterTest.class
 })
 public class TestSuite {
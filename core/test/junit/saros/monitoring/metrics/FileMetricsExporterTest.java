@@ -0,0 +1,74 @@
+package saros.monitoring.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class FileMetricsExporterTest {
+
+  private File file;
+
+  @Before
+  public void setUp() throws IOException {
+    file = File.createTempFile("saros_metrics", ".txt");
+    file.delete();
+  }
+
+  @After
+  public void tearDown() {
+    file.delete();
+  }
+
+  @Test
+  public void testDumpAppendsLine() throws IOException {
+    MetricRegistry registry = new MetricRegistry();
+    FileMetricsExporter exporter = new FileMetricsExporter(registry, file, 60000);
+
+    registry.counter("b.counter").add(2);
+    registry.gauge("a.gauge", () -> 7);
+
+    exporter.dump();
+    registry.counter("b.counter").increment();
+    exporter.dump();
+
+    List<String> lines = Files.readAllLines(file.toPath(), StandardCharsets.UTF_8);
+
+    assertEquals(2, lines.size());
+    assertTrue(lines.get(0), lines.get(0).matches("\\d+ a\\.gauge=7 b\\.counter=2"));
+    assertTrue(lines.get(1), lines.get(1).matches("\\d+ a\\.gauge=7 b\\.counter=3"));
+  }
+
+  @Test
+  public void testStopDumpsFinalValues() throws IOException {
+    MetricRegistry registry = new MetricRegistry();
+    FileMetricsExporter exporter = new FileMetricsExporter(registry, file, 60000);
+
+    exporter.start();
+    registry.counter("a.counter").increment();
+    exporter.stop();
+
+    List<String> lines = Files.readAllLines(file.toPath(), StandardCharsets.UTF_8);
+
+    assertEquals(1, lines.size());
+    assertTrue(lines.get(0), lines.get(0).endsWith(" a.counter=1"));
+  }
+
+  @Test
+  public void testDisabledWithoutFile() {
+    FileMetricsExporter exporter = new FileMetricsExporter(new MetricRegistry(), null, 60000);
+
+    exporter.start();
+    exporter.stop();
+
+    assertFalse(file.exists());
+  }
+}
@@ -0,0 +1,84 @@
+package saros.monitoring.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class HistogramTest {
+
+  @Test
+  public void testEmptyHistogram() {
+    Histogram histogram = new Histogram();
+
+    assertEquals(0, histogram.getCount());
+    assertEquals(0, histogram.getPercentile(50));
+    assertEquals(0, histogram.getPercentile(99));
+    assertEquals(0, histogram.getMax());
+  }
+
+  @Test
+  public void testSmallValuesAreExact() {
+    Histogram histogram = new Histogram();
+
+    for (int i = 1; i <= 20; i++) histogram.record(i);
+
+    assertEquals(20, histogram.getCount());
+    assertEquals(10, histogram.getPercentile(50));
+    assertEquals(20, histogram.getPercentile(99));
+    assertEquals(20, histogram.getMax());
+  }
+
+  @Test
+  public void testLargeValuesHaveBoundedError() {
+    Histogram histogram = new Histogram();
+
+    for (int i = 1; i <= 10000; i++) histogram.record(i);
+
+    long median = histogram.getPercentile(50);
+    long p99 = histogram.getPercentile(99);
+
+    assertTrue("median " + median, median >= 5000 && median <= 5000 * 1.07);
+    assertTrue("p99 " + p99, p99 >= 9900 && p99 <= 10000);
+    assertEquals(10000, histogram.getMax());
+  }
+
+  @Test
+  public void testNegativeValuesAreRecordedAsZero() {
+    Histogram histogram = new Histogram();
+
+    histogram.record(-42);
+
+    assertEquals(1, histogram.getCount());
+    assertEquals(0, histogram.getPercentile(100));
+  }
+
+  @Test
+  public void testBucketBoundsCoverValues() {
+    for (long value : new long[] {0, 31, 32, 33, 63, 64, 1000, 123456789L, Long.MAX_VALUE}) {
+      int index = Histogram.indexOf(value);
+
+      assertTrue(value + " above bucket " + index, value <= Histogram.upperBoundOf(index));
+
+      if (index > 0)
+        assertTrue(
+            value + " below bucket " + index, value > Histogram.upperBoundOf(index - 1));
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidPercentile() {
+    new Histogram().getPercentile(0);
+  }
+
+  @Test
+  public void testReset() {
+    Histogram histogram = new Histogram();
+
+    histogram.record(100);
+    histogram.reset();
+
+    assertEquals(0, histogram.getCount());
+    assertEquals(0, histogram.getMax());
+  }
+}
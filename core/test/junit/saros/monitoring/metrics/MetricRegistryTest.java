@@ -0,0 +1,111 @@
+package saros.monitoring.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+
+import java.util.SortedMap;
+import org.junit.Before;
+import org.junit.Test;
+
+public class MetricRegistryTest {
+
+  private MetricRegistry registry;
+
+  @Before
+  public void setUp() {
+    registry = new MetricRegistry();
+  }
+
+  @Test
+  public void testCounter() {
+    Counter counter = registry.counter("a.counter");
+
+    counter.increment();
+    counter.add(41);
+
+    assertSame(counter, registry.counter("a.counter"));
+    assertEquals(Long.valueOf(42), registry.getValues().get("a.counter"));
+  }
+
+  @Test
+  public void testHistogram() {
+    Histogram histogram = registry.histogram("a.histogram");
+
+    histogram.record(10);
+    histogram.record(20);
+
+    assertSame(histogram, registry.histogram("a.histogram"));
+
+    SortedMap<String, Long> values = registry.getValues();
+
+    assertEquals(Long.valueOf(2), values.get("a.histogram.count"));
+    assertEquals(Long.valueOf(10), values.get("a.histogram.p50"));
+    assertEquals(Long.valueOf(20), values.get("a.histogram.p99"));
+    assertEquals(Long.valueOf(20), values.get("a.histogram.max"));
+  }
+
+  @Test
+  public void testGaugeIsEvaluatedOnRead() {
+    final long[] value = {1};
+
+    registry.gauge("a.gauge", () -> value[0]);
+    assertEquals(Long.valueOf(1), registry.getValues().get("a.gauge"));
+
+    value[0] = 2;
+    assertEquals(Long.valueOf(2), registry.getValues().get("a.gauge"));
+
+    registry.gauge("a.gauge", () -> 3);
+    assertEquals(Long.valueOf(3), registry.getValues().get("a.gauge"));
+  }
+
+  @Test
+  public void testFailingGaugeIsSkipped() {
+    registry.counter("a.counter");
+    registry.gauge(
+        "a.gauge",
+        () -> {
+          throw new IllegalStateException();
+        });
+
+    SortedMap<String, Long> values = registry.getValues();
+
+    assertFalse(values.containsKey("a.gauge"));
+    assertEquals(Long.valueOf(0), values.get("a.counter"));
+  }
+
+  @Test
+  public void testRemove() {
+    registry.gauge("a.gauge", () -> 1);
+    registry.remove("a.gauge");
+
+    assertFalse(registry.getValues().containsKey("a.gauge"));
+  }
+
+  @Test
+  public void testValuesAreSortedByName() {
+    registry.counter("b");
+    registry.counter("c");
+    registry.counter("a");
+
+    assertEquals("[a, b, c]", registry.getValues().keySet().toString());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testNameClash() {
+    registry.counter("a.metric");
+    registry.histogram("a.metric");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testGaugeNameClash() {
+    registry.counter("a.metric");
+    registry.gauge("a.metric", () -> 1);
+  }
+
+  @Test
+  public void testScope() {
+    assertEquals(null, registry.getScope());
+    assertEquals("alpha", new MetricRegistry("alpha").getScope());
+  }
+}
@@ -37,12 +37,15 @@ import saros.activities.TextSelectionActivity;
 import saros.activities.ViewportActivity;
 import saros.concurrent.management.ConcurrentDocumentClient;
 import saros.concurrent.management.ConcurrentDocumentServer;
+import saros.concurrent.management.DocumentClientExecutor;
 import saros.filesystem.IFile;
 import saros.filesystem.IFolder;
 import saros.filesystem.IReferencePoint;
+import saros.monitoring.metrics.MetricRegistry;
 import saros.session.IActivityHandlerCallback;
 import saros.session.ISarosSession;
 import saros.session.User;
+import saros.session.trace.ActivityTracer;
 import saros.test.fakes.synchonize.NonUISynchronizer;
 
 public class ActivityHandlerTest {
@@ -73,6 +76,9 @@ public class ActivityHandlerTest {
   // Needed to compare localActivities
   private volatile CountDownLatch gate;
 
+  // Counted down when the execution of a batch completed
+  private volatile CountDownLatch batchGate;
+
   // Roles of the Users in this Test
   private User target;
   private User source;
@@ -99,6 +105,13 @@ public class ActivityHandlerTest {
 
           if (gateToCountdown != null) gateToCountdown.countDown();
         }
+
+        @Override
+        public void batchExecuted() {
+          CountDownLatch gateToCountdown = batchGate;
+
+          if (gateToCountdown != null) gateToCountdown.countDown();
+        }
       };
 
   @Before
@@ -230,6 +243,20 @@ public class ActivityHandlerTest {
     }
   }
 
+  /** This tests that the callback is notified once all activities of a batch were executed. */
+  @Test
+  public void BatchExecutedTest() throws Exception {
+
+    setParameters(alice, bob, true);
+
+    batchGate = new CountDownLatch(1);
+
+    // SUT-CALL
+    handler.handleIncomingActivities(activities);
+
+    assertTrue("batch was not completed", batchGate.await(10, TimeUnit.SECONDS));
+  }
+
   /**
    * This tests if the handleIncomingActivities-method at the client produces the right activities
    * for the localUser.
@@ -451,6 +478,19 @@ public class ActivityHandlerTest {
     EasyMock.replay(server);
 
     // create SUT
-    handler = new ActivityHandler(sessionMock, callback, server, client, synchronizer);
+    AwarenessRateController awarenessRateController =
+        new AwarenessRateController(callback, user -> 0, 100, 2000, 50);
+
+    handler =
+        new ActivityHandler(
+            sessionMock,
+            callback,
+            server,
+            client,
+            new DocumentClientExecutor(),
+            synchronizer,
+            awarenessRateController,
+            new ActivityTracer(),
+            new MetricRegistry());
   }
 }
@@ -0,0 +1,142 @@
+package saros.session.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import saros.activities.IActivity;
+import saros.activities.NOPActivity;
+import saros.net.xmpp.JID;
+import saros.session.User;
+
+public class ActivityJournalTest {
+
+  private static final JID BOB_JID = new JID("bob@test/Saros");
+
+  private final User alice = new User(new JID("alice@test/Saros"), true, true, null);
+  private final User bob = new User(BOB_JID, false, false, null);
+
+  private ActivityJournal journal;
+
+  @Before
+  public void setUp() {
+    journal = new ActivityJournal(5);
+  }
+
+  @Test
+  public void testResumeReturnsMissedActivities() {
+    journal.record(BOB_JID, 0, activities(0, 3));
+
+    journal.suspend(BOB_JID, 3);
+    assertTrue(journal.isSuspended(BOB_JID));
+
+    assertTrue(journal.append(BOB_JID, activity(3)));
+
+    assertEquals(Arrays.asList(1, 2, 3), ids(journal.resume(BOB_JID, 1)));
+    assertFalse(journal.isSuspended(BOB_JID));
+  }
+
+  @Test
+  public void testAppendRequiresSuspendedUser() {
+    journal.record(BOB_JID, 0, activities(0, 1));
+
+    assertFalse(journal.append(BOB_JID, activity(1)));
+    assertEquals(1, journal.size(BOB_JID));
+  }
+
+  @Test
+  public void testJournalIsBounded() {
+    journal.record(BOB_JID, 0, activities(0, 8));
+
+    assertEquals(5, journal.size(BOB_JID));
+
+    journal.suspend(BOB_JID, 8);
+
+    assertNull(journal.resume(BOB_JID, 2));
+
+    // the journal is discarded after a failed resume
+    assertFalse(journal.isSuspended(BOB_JID));
+    assertEquals(0, journal.size(BOB_JID));
+  }
+
+  @Test
+  public void testResumeAtWindowStart() {
+    journal.record(BOB_JID, 0, activities(0, 8));
+    journal.suspend(BOB_JID, 8);
+
+    assertEquals(Arrays.asList(3, 4, 5, 6, 7), ids(journal.resume(BOB_JID, 3)));
+  }
+
+  @Test
+  public void testResumeWithoutMissedActivities() {
+    journal.record(BOB_JID, 0, activities(0, 2));
+    journal.suspend(BOB_JID, 2);
+
+    assertEquals(Collections.emptyList(), ids(journal.resume(BOB_JID, 2)));
+  }
+
+  @Test
+  public void testResumeAheadOfJournalFails() {
+    journal.record(BOB_JID, 0, activities(0, 2));
+    journal.suspend(BOB_JID, 2);
+
+    assertNull(journal.resume(BOB_JID, 3));
+  }
+
+  @Test
+  public void testResumeWithoutSuspendFails() {
+    journal.record(BOB_JID, 0, activities(0, 2));
+
+    assertNull(journal.resume(BOB_JID, 0));
+    assertEquals(2, journal.size(BOB_JID));
+  }
+
+  @Test
+  public void testRecordReplacesResentActivities() {
+    journal.record(BOB_JID, 0, activities(0, 4));
+    journal.record(BOB_JID, 2, Arrays.asList(activity(10)));
+
+    journal.suspend(BOB_JID, 3);
+
+    assertEquals(Arrays.asList(0, 1, 10), ids(journal.resume(BOB_JID, 0)));
+  }
+
+  @Test
+  public void testRemove() {
+    journal.record(BOB_JID, 0, activities(0, 2));
+    journal.suspend(BOB_JID, 2);
+
+    journal.remove(BOB_JID);
+
+    assertFalse(journal.isSuspended(BOB_JID));
+    assertFalse(journal.append(BOB_JID, activity(2)));
+    assertNull(journal.resume(BOB_JID, 0));
+  }
+
+  private List<IActivity> activities(int from, int to) {
+    List<IActivity> activities = new ArrayList<IActivity>();
+
+    for (int i = from; i < to; i++) activities.add(activity(i));
+
+    return activities;
+  }
+
+  private static List<Integer> ids(List<IActivity> activities) {
+    List<Integer> ids = new ArrayList<Integer>();
+
+    for (IActivity activity : activities) ids.add(((NOPActivity) activity).getID());
+
+    return ids;
+  }
+
+  private IActivity activity(int id) {
+    return new NOPActivity(alice, bob, id);
+  }
+}
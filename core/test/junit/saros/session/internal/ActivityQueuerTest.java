@@ -5,14 +5,20 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import org.easymock.EasyMock;
 import org.junit.Before;
 import org.junit.BeforeClass;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import saros.activities.EditorActivity;
 import saros.activities.FolderCreatedActivity;
 import saros.activities.FolderDeletedActivity;
@@ -20,8 +26,12 @@ import saros.activities.IActivity;
 import saros.activities.JupiterActivity;
 import saros.activities.NOPActivity;
 import saros.activities.StartFollowingActivity;
+import saros.activities.TextSelectionActivity;
+import saros.activities.ViewportActivity;
 import saros.concurrent.jupiter.internal.JupiterVectorTime;
 import saros.concurrent.jupiter.internal.text.NoOperation;
+import saros.editor.text.TextPosition;
+import saros.editor.text.TextSelection;
 import saros.filesystem.IFile;
 import saros.filesystem.IFolder;
 import saros.filesystem.IReferencePoint;
@@ -41,6 +51,8 @@ public class ActivityQueuerTest {
   private static IFile FILE_OF_NOT_SHARED_REFERENCE_POINT;
   private static IFolder FOLDER_OF_NOT_SHARED_REFERENCE_POINT;
 
+  @Rule public TemporaryFolder spillFolder = new TemporaryFolder();
+
   private ActivityQueuer activityQueuer;
 
   @BeforeClass
@@ -340,6 +352,170 @@ public class ActivityQueuerTest {
     assertEquals("wrong (Editor)ADO was inserted", bobExpectedEditorADO, activities.get(2));
   }
 
+  @Test
+  public void testSpilledActivitiesAreFlushedInOrder() {
+    SpillCodec codec = new SpillCodec();
+
+    activityQueuer = new ActivityQueuer(2, codec);
+    activityQueuer.enableQueuing(NOT_SHARED_REFERENCE_POINT);
+
+    List<IActivity> queued = new ArrayList<IActivity>();
+
+    for (int i = 0; i < 5; i++)
+      queued.add(new FolderCreatedActivity(BOB, FOLDER_OF_NOT_SHARED_REFERENCE_POINT));
+
+    assertEquals("activities were not queued", 0, activityQueuer.process(queued).size());
+
+    assertEquals("activities were not spilled", 2, codec.encoded);
+
+    activityQueuer.disableQueuing(NOT_SHARED_REFERENCE_POINT);
+
+    List<IActivity> result = activityQueuer.process(Collections.<IActivity>emptyList());
+
+    assertEquals("not all activities were flushed", 5, result.size());
+
+    for (int i = 0; i < 5; i++) assertSame("wrong flushing order", queued.get(i), result.get(i));
+
+    assertTrue("spilled activities were not read", codec.spilled.isEmpty());
+  }
+
+  @Test
+  public void testUnreadableSpilledActivitiesAreReported() {
+    SpillCodec codec = new SpillCodec();
+
+    List<IReferencePoint> lostReferencePoints = new ArrayList<IReferencePoint>();
+
+    activityQueuer = new ActivityQueuer(2, codec, lostReferencePoints::add);
+    activityQueuer.enableQueuing(NOT_SHARED_REFERENCE_POINT);
+
+    List<IActivity> queued = new ArrayList<IActivity>();
+
+    for (int i = 0; i < 5; i++)
+      queued.add(new FolderCreatedActivity(BOB, FOLDER_OF_NOT_SHARED_REFERENCE_POINT));
+
+    activityQueuer.process(queued);
+
+    // the second spilled record can no longer be decoded
+    codec.spilled.remove("1");
+
+    activityQueuer.disableQueuing(NOT_SHARED_REFERENCE_POINT);
+
+    List<IActivity> result = activityQueuer.process(Collections.<IActivity>emptyList());
+
+    assertEquals(Arrays.asList(queued.get(0), queued.get(1), queued.get(4)), result);
+
+    assertEquals(
+        "lost activities were not reported",
+        Collections.singletonList(NOT_SHARED_REFERENCE_POINT),
+        lostReferencePoints);
+  }
+
+  @Test
+  public void testSpillFileIsDeletedAfterFlushing() {
+    File spillDirectory = spillFolder.getRoot();
+
+    activityQueuer = new ActivityQueuer(2, new SpillCodec(), referencePoint -> {}, spillDirectory);
+    activityQueuer.enableQueuing(NOT_SHARED_REFERENCE_POINT);
+
+    activityQueuer.process(
+        Arrays.<IActivity>asList(
+            new FolderCreatedActivity(BOB, FOLDER_OF_NOT_SHARED_REFERENCE_POINT),
+            new FolderCreatedActivity(BOB, FOLDER_OF_NOT_SHARED_REFERENCE_POINT)));
+
+    assertEquals("activities were not spilled", 1, spillDirectory.list().length);
+
+    activityQueuer.disableQueuing(NOT_SHARED_REFERENCE_POINT);
+    activityQueuer.process(Collections.<IActivity>emptyList());
+
+    assertEquals("spill file was not deleted", 0, spillDirectory.list().length);
+  }
+
+  @Test
+  public void testSpillFileIsDeletedOnDispose() {
+    File spillDirectory = spillFolder.getRoot();
+
+    activityQueuer = new ActivityQueuer(2, new SpillCodec(), referencePoint -> {}, spillDirectory);
+    activityQueuer.enableQueuing(NOT_SHARED_REFERENCE_POINT);
+
+    activityQueuer.process(
+        Arrays.<IActivity>asList(
+            new FolderCreatedActivity(BOB, FOLDER_OF_NOT_SHARED_REFERENCE_POINT),
+            new FolderCreatedActivity(BOB, FOLDER_OF_NOT_SHARED_REFERENCE_POINT)));
+
+    assertEquals("activities were not spilled", 1, spillDirectory.list().length);
+
+    activityQueuer.dispose();
+
+    assertEquals("spill file was not deleted", 0, spillDirectory.list().length);
+
+    IActivity activity = new FolderCreatedActivity(BOB, FOLDER_OF_NOT_SHARED_REFERENCE_POINT);
+
+    assertEquals(
+        "activities are still queued after dispose",
+        Collections.singletonList(activity),
+        activityQueuer.process(Collections.singletonList(activity)));
+  }
+
+  @Test
+  public void testSupersededAwarenessActivitiesAreDropped() {
+    activityQueuer = new ActivityQueuer(2, new SpillCodec());
+    activityQueuer.enableQueuing(SHARED_REFERENCE_POINT);
+
+    IActivity firstSelection = createSelection(ALICE, FOO_FILE_SHARED_REFERENCE_POINT, 1);
+    IActivity viewport = new ViewportActivity(ALICE, 0, 10, FOO_FILE_SHARED_REFERENCE_POINT);
+    IActivity secondSelection = createSelection(ALICE, FOO_FILE_SHARED_REFERENCE_POINT, 2);
+    IActivity bobsSelection = createSelection(BOB, FOO_FILE_SHARED_REFERENCE_POINT, 3);
+    IActivity barSelection = createSelection(ALICE, BAR_FILE_SHARED_REFERENCE_POINT, 4);
+    IActivity lastSelection = createSelection(ALICE, FOO_FILE_SHARED_REFERENCE_POINT, 5);
+
+    activityQueuer.process(
+        Arrays.asList(
+            firstSelection,
+            viewport,
+            secondSelection,
+            bobsSelection,
+            barSelection,
+            lastSelection));
+
+    activityQueuer.disableQueuing(SHARED_REFERENCE_POINT);
+
+    List<IActivity> result = activityQueuer.process(Collections.<IActivity>emptyList());
+
+    assertEquals(4, result.size());
+    assertSame(viewport, result.get(0));
+    assertSame(bobsSelection, result.get(1));
+    assertSame(barSelection, result.get(2));
+    assertSame(lastSelection, result.get(3));
+  }
+
+  private IActivity createSelection(User source, IFile file, int offset) {
+    TextPosition position = new TextPosition(0, offset);
+
+    return new TextSelectionActivity(source, new TextSelection(position, position), file);
+  }
+
+  /** Keeps the spilled activities in memory, so the activity instances can be compared. */
+  private static class SpillCodec implements ActivityQueuer.ActivityCodec {
+    private final Map<String, List<IActivity>> spilled = new HashMap<String, List<IActivity>>();
+    private int encoded;
+
+    @Override
+    public String encode(List<IActivity> activities) {
+      String key = String.valueOf(encoded++);
+      spilled.put(key, activities);
+      return key;
+    }
+
+    @Override
+    public List<IActivity> decode(String data) throws IOException {
+      List<IActivity> activities = spilled.remove(data);
+
+      if (activities == null) throw new IOException("unknown spilled activities: " + data);
+
+      return activities;
+    }
+  }
+
   private List<IActivity> createSomeActivities() {
     IActivity startFollowingActivity = new StartFollowingActivity(ALICE, BOB);
 
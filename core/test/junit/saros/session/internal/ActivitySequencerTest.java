@@ -134,7 +134,7 @@ public class ActivitySequencerTest {
   }
 
   @Test(timeout = 30000)
-  public void testUnregisterUserOnTransmissionFailure() {
+  public void testSuspendUserOnTransmissionFailure() {
 
     ITransmitter brokenTransmitter = EasyMock.createNiceMock(ITransmitter.class);
 
@@ -167,6 +167,7 @@ public class ActivitySequencerTest {
     aliceSequencer.flush(bobUserInAliceSession);
 
     assertFalse("Bob is still registered", aliceSequencer.isUserRegistered(bobUserInAliceSession));
+    assertTrue("Bob is not suspended", aliceSequencer.isUserSuspended(bobUserInAliceSession));
   }
 
   @Test(timeout = 30000)
@@ -199,6 +200,140 @@ public class ActivitySequencerTest {
     }
   }
 
+  @Test(timeout = 30000)
+  public void testResumeSuspendedUser() {
+
+    aliceSequencer = new ActivitySequencer(sessionStubAlice, aliceTransmitter, aliceReceiver, null);
+
+    bobSequencer = new ActivitySequencer(sessionStubBob, bobTransmitter, bobReceiver, null);
+
+    aliceSequencer.start();
+    bobSequencer.start();
+
+    aliceSequencer.registerUser(bobUserInAliceSession);
+    bobSequencer.registerUser(aliceUserInBobSession);
+
+    for (int i = 0; i < 5; i++)
+      aliceSequencer.sendActivity(
+          Collections.singletonList(bobUserInAliceSession),
+          new NOPActivity(aliceUser, bobUserInAliceSession, i));
+
+    aliceSequencer.flush(bobUserInAliceSession);
+
+    aliceSequencer.suspendUser(bobUserInAliceSession);
+
+    assertFalse("Bob is still registered", aliceSequencer.isUserRegistered(bobUserInAliceSession));
+    assertTrue("Bob is not suspended", aliceSequencer.isUserSuspended(bobUserInAliceSession));
+
+    for (int i = 5; i < 10; i++)
+      aliceSequencer.sendActivity(
+          Collections.singletonList(bobUserInAliceSession),
+          new NOPActivity(aliceUser, bobUserInAliceSession, i));
+
+    assertEquals(5, bobReceivedActivitiesBuffer.size());
+
+    int nextSequenceNumber = bobSequencer.getNextIncomingSequenceNumber(aliceUserInBobSession);
+
+    assertEquals(5, nextSequenceNumber);
+    assertEquals(0, aliceSequencer.getNextIncomingSequenceNumber(bobUserInAliceSession));
+
+    assertTrue(aliceSequencer.resumeUser(bobUserInAliceSession, nextSequenceNumber));
+
+    aliceSequencer.flush(bobUserInAliceSession);
+
+    assertEquals("not all activies received", 10, bobReceivedActivitiesBuffer.size());
+
+    for (int i = 0; i < 10; i++) {
+      NOPActivity activity = (NOPActivity) bobReceivedActivitiesBuffer.get(i);
+      assertEquals("activity is out of order", i, activity.getID());
+    }
+  }
+
+  @Test(timeout = 30000)
+  public void testReceiveFromSuspendedUser() {
+
+    aliceSequencer = new ActivitySequencer(sessionStubAlice, aliceTransmitter, aliceReceiver, null);
+
+    bobSequencer = new ActivitySequencer(sessionStubBob, bobTransmitter, bobReceiver, null);
+
+    aliceSequencer.start();
+    bobSequencer.start();
+
+    aliceSequencer.registerUser(bobUserInAliceSession);
+    bobSequencer.registerUser(aliceUserInBobSession);
+
+    aliceSequencer.suspendUser(bobUserInAliceSession);
+
+    bobSequencer.sendActivity(
+        Collections.singletonList(aliceUserInBobSession),
+        new NOPActivity(bobUser, aliceUserInBobSession, 0));
+
+    bobSequencer.flush(aliceUserInBobSession);
+
+    assertEquals(
+        "activities of a suspended user were not received",
+        1,
+        aliceReceivedActivitiesBuffer.size());
+
+    assertEquals(1, aliceSequencer.getNextIncomingSequenceNumber(bobUserInAliceSession));
+  }
+
+  @Test(timeout = 30000)
+  public void testResumeDropsAlreadyExecutedActivities() {
+
+    aliceSequencer = new ActivitySequencer(sessionStubAlice, aliceTransmitter, aliceReceiver, null);
+
+    bobSequencer = new ActivitySequencer(sessionStubBob, bobTransmitter, bobReceiver, null);
+
+    aliceSequencer.start();
+    bobSequencer.start();
+
+    aliceSequencer.registerUser(bobUserInAliceSession);
+    bobSequencer.registerUser(aliceUserInBobSession);
+
+    for (int i = 0; i < 5; i++)
+      aliceSequencer.sendActivity(
+          Collections.singletonList(bobUserInAliceSession),
+          new NOPActivity(aliceUser, bobUserInAliceSession, i));
+
+    aliceSequencer.flush(bobUserInAliceSession);
+
+    aliceSequencer.suspendUser(bobUserInAliceSession);
+
+    aliceSequencer.sendActivity(
+        Collections.singletonList(bobUserInAliceSession),
+        new NOPActivity(aliceUser, bobUserInAliceSession, 5));
+
+    // e.g. a stale sequence number from a resume request that was sent twice
+    assertTrue(aliceSequencer.resumeUser(bobUserInAliceSession, 2));
+
+    aliceSequencer.flush(bobUserInAliceSession);
+
+    assertEquals("not all activies received", 6, bobReceivedActivitiesBuffer.size());
+
+    for (int i = 0; i < 6; i++) {
+      NOPActivity activity = (NOPActivity) bobReceivedActivitiesBuffer.get(i);
+      assertEquals("activity is out of order", i, activity.getID());
+    }
+
+    assertFalse("Alice was suspended", bobSequencer.isUserSuspended(aliceUserInBobSession));
+  }
+
+  @Test(timeout = 30000)
+  public void testResumeUnregisteredUser() {
+
+    aliceSequencer = new ActivitySequencer(sessionStubAlice, aliceTransmitter, aliceReceiver, null);
+
+    aliceSequencer.start();
+
+    aliceSequencer.registerUser(bobUserInAliceSession);
+    aliceSequencer.suspendUser(bobUserInAliceSession);
+    aliceSequencer.unregisterUser(bobUserInAliceSession);
+
+    assertFalse(aliceSequencer.resumeUser(bobUserInAliceSession, 0));
+    assertFalse(aliceSequencer.isUserRegistered(bobUserInAliceSession));
+  }
+
   @Test(timeout = 30000)
   public void testSendWithoutRegisteredUser() {
 
@@ -0,0 +1,179 @@
+package saros.session.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.easymock.EasyMock;
+import org.junit.Before;
+import org.junit.Test;
+import saros.activities.EditorActivity;
+import saros.activities.IActivity;
+import saros.activities.TextSelectionActivity;
+import saros.activities.ViewportActivity;
+import saros.editor.text.TextPosition;
+import saros.editor.text.TextSelection;
+import saros.filesystem.IFile;
+import saros.net.xmpp.JID;
+import saros.session.IActivityHandlerCallback;
+import saros.session.User;
+
+public class AwarenessRateControllerTest {
+
+  private static final long MIN_INTERVAL = 100;
+  private static final long MAX_INTERVAL = 800;
+  private static final int BACKLOG_THRESHOLD = 10;
+
+  private AwarenessRateController controller;
+
+  private final List<List<User>> sentTo = new ArrayList<>();
+  private final List<IActivity> sent = new ArrayList<>();
+
+  private int backlog;
+
+  private User alice;
+  private User bob;
+  private User carl;
+
+  private IFile file;
+
+  @Before
+  public void setUp() {
+    IActivityHandlerCallback callback =
+        new IActivityHandlerCallback() {
+          @Override
+          public void send(List<User> recipients, IActivity activity) {
+            sentTo.add(recipients);
+            sent.add(activity);
+          }
+
+          @Override
+          public void execute(IActivity activity) {
+            // NOP
+          }
+        };
+
+    controller =
+        new AwarenessRateController(
+            callback, user -> backlog, MIN_INTERVAL, MAX_INTERVAL, BACKLOG_THRESHOLD);
+
+    alice = new User(new JID("alice@foo/Saros"), true, true, null);
+    bob = new User(new JID("bob@foo/Saros"), false, false, null);
+    carl = new User(new JID("carl@foo/Saros"), false, false, null);
+
+    alice.setInSession(true);
+    bob.setInSession(true);
+    carl.setInSession(true);
+
+    file = EasyMock.createNiceMock(IFile.class);
+  }
+
+  @Test
+  public void testSelectionsWithinIntervalAreSampled() {
+    IActivity first = selection(bob, 1);
+    IActivity second = selection(bob, 2);
+    IActivity third = selection(bob, 3);
+
+    controller.send(Collections.singletonList(carl), first, 0);
+    controller.send(Collections.singletonList(carl), second, 10);
+    controller.send(Collections.singletonList(carl), third, 20);
+
+    assertEquals(Collections.singletonList(first), sent);
+
+    controller.flush(MIN_INTERVAL - 1);
+    assertEquals(1, sent.size());
+
+    controller.flush(MIN_INTERVAL);
+    assertEquals(Arrays.asList(first, third), sent);
+
+    controller.flush(10 * MIN_INTERVAL);
+    assertEquals(2, sent.size());
+  }
+
+  @Test
+  public void testSelectionsAndViewportsAreSampledSeparately() {
+    IActivity selection = selection(bob, 1);
+    IActivity viewport = new ViewportActivity(bob, 0, 10, file);
+
+    controller.send(Collections.singletonList(carl), selection, 0);
+    controller.send(Collections.singletonList(carl), viewport, 10);
+
+    assertEquals(Arrays.asList(selection, viewport), sent);
+  }
+
+  @Test
+  public void testLocalRecipientsAreNotThrottled() {
+    controller.send(Arrays.asList(alice, carl), selection(bob, 1), 0);
+    controller.send(Arrays.asList(alice, carl), selection(bob, 2), 10);
+
+    assertEquals(2, sent.size());
+    assertEquals(Arrays.asList(alice, carl), sentTo.get(0));
+    assertEquals(Collections.singletonList(alice), sentTo.get(1));
+  }
+
+  @Test
+  public void testPendingSelectionIsSentBeforeOtherActivityOfSameSource() {
+    IActivity first = selection(bob, 1);
+    IActivity second = selection(bob, 2);
+    IActivity editor = new EditorActivity(bob, EditorActivity.Type.CLOSED, file);
+
+    controller.send(Collections.singletonList(carl), first, 0);
+    controller.send(Collections.singletonList(carl), second, 10);
+    controller.send(Collections.singletonList(carl), editor, 20);
+
+    assertEquals(Arrays.asList(first, second, editor), sent);
+
+    controller.flush(10 * MIN_INTERVAL);
+    assertEquals(3, sent.size());
+  }
+
+  @Test
+  public void testBackedUpRecipientIsThrottled() {
+    controller.send(Collections.singletonList(carl), selection(bob, 0), 0);
+
+    backlog = BACKLOG_THRESHOLD + 1;
+
+    long now = MIN_INTERVAL;
+
+    for (long interval = MIN_INTERVAL; interval < MAX_INTERVAL; interval *= 2) {
+      controller.flush(now);
+      assertEquals(interval * 2, controller.getInterval(carl));
+      now += interval * 2;
+    }
+
+    controller.flush(now);
+    assertEquals(MAX_INTERVAL, controller.getInterval(carl));
+
+    backlog = 0;
+
+    now += MAX_INTERVAL;
+    controller.flush(now);
+    assertEquals(MAX_INTERVAL / 2, controller.getInterval(carl));
+  }
+
+  @Test
+  public void testPendingStateOfLeftUsersIsDiscarded() {
+    IActivity first = selection(bob, 1);
+
+    controller.send(Collections.singletonList(carl), first, 0);
+    controller.send(Collections.singletonList(carl), selection(bob, 2), 10);
+
+    bob.setInSession(false);
+
+    controller.flush(MIN_INTERVAL);
+
+    assertEquals(1, sent.size());
+    assertSame(first, sent.get(0));
+    assertTrue(sentTo.get(0).contains(carl));
+  }
+
+  private IActivity selection(User source, int offset) {
+    TextPosition position = new TextPosition(0, offset);
+
+    return new TextSelectionActivity(source, new TextSelection(position, position), file);
+  }
+}
@@ -6,8 +6,10 @@ import org.junit.runners.Suite;
 @RunWith(Suite.class)
 @Suite.SuiteClasses({
   ActivityHandlerTest.class,
+  ActivityJournalTest.class,
   ActivityQueuerTest.class,
   ActivitySequencerTest.class,
+  AwarenessRateControllerTest.class,
   SharedReferencePointMapperTest.class,
   UserInformationHandlerTest.class
 })
@@ -0,0 +1,210 @@
+package saros.session.internal.timeout;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.easymock.Capture;
+import org.easymock.EasyMock;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import saros.activities.IActivity;
+import saros.activities.NOPActivity;
+import saros.net.IConnectionManager;
+import saros.net.xmpp.JID;
+import saros.session.ISarosSession;
+import saros.session.ISarosSessionManager;
+import saros.session.SessionEndReason;
+import saros.session.User;
+import saros.session.internal.ActivitySequencer;
+import saros.test.fakes.net.FakeConnectionFactory;
+import saros.test.fakes.net.FakeConnectionFactory.FakeConnectionFactoryResult;
+
+public class SessionTimeoutHandlerTest {
+
+  private static final JID ALICE_JID = new JID("alice@test/Saros");
+  private static final JID BOB_JID = new JID("bob@test/Saros");
+
+  private final User aliceUser = new User(ALICE_JID, true, true, null);
+  private final User bobUser = new User(BOB_JID, false, true, null);
+
+  private final User bobUserInAliceSession = new User(BOB_JID, false, false, null);
+  private final User aliceUserInBobSession = new User(ALICE_JID, true, false, null);
+
+  private List<IActivity> aliceReceivedActivities;
+  private List<IActivity> bobReceivedActivities;
+
+  private CountDownLatch bobRemoved;
+  private CountDownLatch sessionStopped;
+
+  private ActivitySequencer aliceSequencer;
+  private ActivitySequencer bobSequencer;
+
+  private ServerSessionTimeoutHandler aliceHandler;
+  private ClientSessionTimeoutHandler bobHandler;
+
+  @Before
+  public void setUp() {
+    aliceReceivedActivities = Collections.synchronizedList(new ArrayList<>());
+    bobReceivedActivities = Collections.synchronizedList(new ArrayList<>());
+
+    bobRemoved = new CountDownLatch(1);
+    sessionStopped = new CountDownLatch(1);
+
+    ISarosSession aliceSession =
+        createSessionMock(aliceUser, bobUserInAliceSession, aliceReceivedActivities);
+
+    aliceSession.removeUser(bobUserInAliceSession);
+    EasyMock.expectLastCall().andAnswer(() -> countDown(bobRemoved)).anyTimes();
+
+    ISarosSession bobSession =
+        createSessionMock(bobUser, aliceUserInBobSession, bobReceivedActivities);
+
+    EasyMock.expect(bobSession.getHost()).andStubReturn(aliceUserInBobSession);
+
+    EasyMock.replay(aliceSession, bobSession);
+
+    ISarosSessionManager sessionManager = EasyMock.createNiceMock(ISarosSessionManager.class);
+
+    sessionManager.stopSession(SessionEndReason.CONNECTION_LOST);
+    EasyMock.expectLastCall().andAnswer(() -> countDown(sessionStopped)).anyTimes();
+
+    IConnectionManager connectionManager = EasyMock.createNiceMock(IConnectionManager.class);
+
+    EasyMock.replay(sessionManager, connectionManager);
+
+    FakeConnectionFactoryResult result =
+        FakeConnectionFactory.createConnections(ALICE_JID, BOB_JID).withStrictJIDLookup().get();
+
+    aliceSequencer =
+        new ActivitySequencer(
+            aliceSession, result.getTransmitter(ALICE_JID), result.getReceiver(ALICE_JID), null);
+
+    bobSequencer =
+        new ActivitySequencer(
+            bobSession, result.getTransmitter(BOB_JID), result.getReceiver(BOB_JID), null);
+
+    aliceHandler =
+        new ServerSessionTimeoutHandler(
+            aliceSession,
+            sessionManager,
+            aliceSequencer,
+            result.getTransmitter(ALICE_JID),
+            result.getReceiver(ALICE_JID));
+
+    bobHandler =
+        new ClientSessionTimeoutHandler(
+            bobSession,
+            sessionManager,
+            bobSequencer,
+            result.getTransmitter(BOB_JID),
+            result.getReceiver(BOB_JID),
+            connectionManager);
+
+    aliceSequencer.start();
+    bobSequencer.start();
+
+    aliceHandler.start();
+    bobHandler.start();
+
+    aliceSequencer.registerUser(bobUserInAliceSession);
+    bobSequencer.registerUser(aliceUserInBobSession);
+  }
+
+  @After
+  public void tearDown() {
+    bobHandler.stop();
+    aliceHandler.stop();
+
+    bobSequencer.stop();
+    aliceSequencer.stop();
+  }
+
+  @Test(timeout = 30000)
+  public void testResumeAfterNetworkError() throws Exception {
+    for (int i = 0; i < 3; i++) sendToBob(i);
+
+    aliceSequencer.flush(bobUserInAliceSession);
+
+    // the host lost the connection to Bob
+    aliceSequencer.suspendUser(bobUserInAliceSession);
+
+    for (int i = 3; i < 5; i++) sendToBob(i);
+
+    bobHandler.handleNetworkError(ALICE_JID, "test");
+
+    // Bob is suspended before the missed activities are sent again
+    while (bobReceivedActivities.size() < 5
+        || aliceSequencer.isUserSuspended(bobUserInAliceSession)
+        || bobSequencer.isUserSuspended(aliceUserInBobSession)) Thread.sleep(10);
+
+    aliceSequencer.flush(bobUserInAliceSession);
+
+    assertEquals("not all activities received", 5, bobReceivedActivities.size());
+
+    for (int i = 0; i < 5; i++)
+      assertEquals(
+          "activity is out of order", i, ((NOPActivity) bobReceivedActivities.get(i)).getID());
+
+    bobSequencer.sendActivity(
+        Collections.singletonList(aliceUserInBobSession),
+        new NOPActivity(bobUser, aliceUserInBobSession, 0));
+
+    bobSequencer.flush(aliceUserInBobSession);
+
+    assertEquals("activity of resumed user not received", 1, aliceReceivedActivities.size());
+
+    assertFalse("Bob was removed", bobRemoved.await(0, TimeUnit.MILLISECONDS));
+    assertFalse("session was stopped", sessionStopped.await(0, TimeUnit.MILLISECONDS));
+  }
+
+  @Test(timeout = 30000)
+  public void testSessionIsStoppedIfHostCannotResume() throws Exception {
+    aliceSequencer.unregisterUser(bobUserInAliceSession);
+
+    bobHandler.handleNetworkError(ALICE_JID, "test");
+
+    assertTrue("session was not stopped", sessionStopped.await(20, TimeUnit.SECONDS));
+    assertTrue("Bob was not removed", bobRemoved.await(20, TimeUnit.SECONDS));
+  }
+
+  private void sendToBob(int id) {
+    aliceSequencer.sendActivity(
+        Collections.singletonList(bobUserInAliceSession),
+        new NOPActivity(aliceUser, bobUserInAliceSession, id));
+  }
+
+  private static Object countDown(CountDownLatch latch) {
+    latch.countDown();
+    return null;
+  }
+
+  private static ISarosSession createSessionMock(
+      final User local, final User remote, final List<IActivity> receivedActivities) {
+
+    final ISarosSession session = EasyMock.createNiceMock(ISarosSession.class);
+
+    EasyMock.expect(session.getID()).andStubReturn("0815");
+    EasyMock.expect(session.isHost()).andStubReturn(local.isHost());
+    EasyMock.expect(session.getLocalUser()).andStubReturn(local);
+    EasyMock.expect(session.getUsers()).andStubReturn(Arrays.asList(local, remote));
+    EasyMock.expect(session.getUser(remote.getJID())).andStubReturn(remote);
+
+    final Capture<List<IActivity>> capture = Capture.newInstance();
+
+    session.exec(EasyMock.capture(capture));
+
+    EasyMock.expectLastCall()
+        .andAnswer(() -> receivedActivities.addAll(capture.getValue()))
+        .anyTimes();
+
+    return session;
+  }
+}
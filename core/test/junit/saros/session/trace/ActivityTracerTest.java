@@ -0,0 +1,164 @@
+package saros.session.trace;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+import saros.net.xmpp.JID;
+import saros.session.User;
+import saros.session.trace.ActivityTrace.Stage;
+import saros.session.trace.ActivityTrace.Stamp;
+
+public class ActivityTracerTest {
+
+  private final User alice = new User(new JID("alice@test/Saros"), false, true, null);
+
+  private long time;
+
+  private ActivityTracer tracer;
+
+  @Before
+  public void setUp() {
+    time = 1000;
+
+    tracer =
+        new ActivityTracer(true) {
+          @Override
+          long now() {
+            return time;
+          }
+        };
+  }
+
+  @Test
+  public void testDisabledTracer() {
+    ActivityTracer disabled = new ActivityTracer(false);
+
+    assertFalse(disabled.isEnabled());
+    assertNull(disabled.begin(alice));
+
+    final ActivityTrace trace = tracer.begin(alice);
+    final boolean[] executed = new boolean[1];
+
+    disabled.runWith(
+        trace,
+        () -> {
+          assertNull(disabled.current());
+          executed[0] = true;
+        });
+
+    assertTrue(executed[0]);
+    assertNull(disabled.received(trace));
+
+    disabled.complete(trace);
+    assertTrue(disabled.getStatistics().isEmpty());
+  }
+
+  @Test
+  public void testRunWithBindsTrace() {
+    final ActivityTrace outer = tracer.begin(alice);
+    final ActivityTrace inner = tracer.begin(alice);
+
+    tracer.runWith(
+        outer,
+        () -> {
+          assertSame(outer, tracer.current());
+
+          tracer.runWith(inner, () -> assertSame(inner, tracer.current()));
+
+          assertSame(outer, tracer.current());
+        });
+
+    assertNull(tracer.current());
+  }
+
+  @Test
+  public void testRelayedTrace() {
+    ActivityTrace trace = tracer.begin(alice);
+
+    time += 5;
+    ActivityTrace queued = tracer.queued(trace);
+    assertFalse("queued must return a copy", trace.hasStage(Stage.QUEUED));
+
+    time += 1;
+    tracer.sent(queued);
+    time += 20;
+    tracer.received(queued);
+
+    time += 2;
+    ActivityTrace relayed = tracer.queued(queued);
+    time += 1;
+    tracer.sent(relayed);
+    time += 30;
+    tracer.received(relayed);
+    time += 10;
+    tracer.complete(relayed);
+
+    assertEquals(
+        stages(
+            Stage.GENERATED,
+            Stage.QUEUED,
+            Stage.SENT,
+            Stage.RECEIVED,
+            Stage.RELAYED,
+            Stage.RELAY_SENT,
+            Stage.DELIVERED),
+        stagesOf(relayed));
+
+    List<LatencyStatistics> statistics = tracer.getStatistics();
+
+    assertEquals(8, statistics.size());
+    assertStatistics(statistics.get(0), "GENERATED->QUEUED", 5);
+    assertStatistics(statistics.get(1), "GENERATED->EXECUTED", 69);
+    assertStatistics(statistics.get(3), "SENT->RECEIVED", 20);
+    assertStatistics(statistics.get(6), "RELAY_SENT->DELIVERED", 30);
+    assertStatistics(statistics.get(7), "DELIVERED->EXECUTED", 10);
+  }
+
+  @Test
+  public void testClockSkewIsClampedToZero() {
+    ActivityTrace trace = tracer.queued(tracer.begin(alice));
+
+    tracer.sent(trace);
+    time -= 50;
+    tracer.received(trace);
+    time += 60;
+    tracer.complete(trace);
+
+    for (LatencyStatistics statistics : tracer.getStatistics())
+      if (statistics.getTransition().equals("SENT->RECEIVED"))
+        assertEquals(0, statistics.getMax());
+  }
+
+  private static void assertStatistics(
+      LatencyStatistics statistics, String transition, long latency) {
+    assertEquals("alice@test/Saros", statistics.getPeer());
+    assertEquals(transition, statistics.getTransition());
+    assertEquals(1, statistics.getCount());
+    assertEquals(latency, statistics.getMedian());
+    assertEquals(latency, statistics.getPercentile99());
+    assertEquals(latency, statistics.getMax());
+  }
+
+  private static List<Stage> stages(Stage... stages) {
+    List<Stage> result = new ArrayList<Stage>();
+
+    for (Stage stage : stages) result.add(stage);
+
+    return result;
+  }
+
+  private static List<Stage> stagesOf(ActivityTrace trace) {
+    List<Stage> result = new ArrayList<Stage>();
+
+    for (Stamp stamp : trace.getStamps()) result.add(stamp.getStage());
+
+    return result;
+  }
+}
@@ -5,10 +5,13 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
 import org.easymock.EasyMock;
 import org.easymock.IAnswer;
 import org.junit.Assert;
@@ -16,6 +19,9 @@ import org.junit.Before;
 import org.junit.Test;
 import saros.activities.IActivity;
 import saros.activities.StopActivity;
+import saros.filesystem.IFile;
+import saros.filesystem.IReferencePoint;
+import saros.filesystem.IResource;
 import saros.net.xmpp.JID;
 import saros.session.IActivityConsumer;
 import saros.session.IActivityListener;
@@ -535,6 +541,136 @@ public class StopManagerTest {
     EasyMock.verify(bobsSession);
   }
 
+  @Test
+  public void testScopedStop() throws CancellationException, InterruptedException {
+    final StopManager alicesStopManager = new StopManager(alicesSession);
+    alicesStopManager.start();
+    final StopManager bobsStopManager = new StopManager(bobsSession);
+    bobsStopManager.start();
+
+    alicesStopManager.addActivityListener(createForwarder(bobsConsumer));
+    bobsStopManager.addActivityListener(createForwarder(alicesConsumer));
+
+    final List<BlockingScope> blockedScopes = new ArrayList<BlockingScope>();
+
+    bobsStopManager.addBlockable(
+        new Blockable() {
+          @Override
+          public void block() {
+            Assert.fail("scope aware blockable must not be blocked completely");
+          }
+
+          @Override
+          public void block(BlockingScope scope) {
+            blockedScopes.add(scope);
+          }
+
+          @Override
+          public void unblock() {
+            blockedScopes.add(BlockingScope.NONE);
+          }
+        });
+
+    IReferencePoint referencePoint = createReferencePoint();
+    IReferencePoint otherReferencePoint = createReferencePoint();
+
+    IFile file = createFile(referencePoint);
+    IFile otherFile = createFile(referencePoint);
+    IFile unrelatedFile = createFile(otherReferencePoint);
+
+    StartHandle fileHandle = alicesStopManager.stop(alicesBob, "test", BlockingScope.of(file));
+
+    assertEquals(BlockingScope.of(file), fileHandle.getScope());
+    assertEquals(BlockingScope.of(file), bobsStopManager.getBlockedScope());
+    assertTrue(bobsStopManager.isBlocked(file));
+    assertFalse(bobsStopManager.isBlocked(otherFile));
+    assertFalse(alicesStopManager.getBlockedObservable().getValue());
+    assertTrue(bobsStopManager.getBlockedObservable().getValue());
+
+    StartHandle referencePointHandle =
+        alicesStopManager.stop(alicesBob, "test", BlockingScope.of(referencePoint));
+
+    assertTrue(bobsStopManager.isBlocked(otherFile));
+    assertFalse(bobsStopManager.isBlocked(unrelatedFile));
+
+    referencePointHandle.start();
+
+    assertEquals(BlockingScope.of(file), bobsStopManager.getBlockedScope());
+    assertFalse(bobsStopManager.isBlocked(otherFile));
+
+    fileHandle.start();
+
+    assertEquals(BlockingScope.NONE, bobsStopManager.getBlockedScope());
+    assertFalse(bobsStopManager.getBlockedObservable().getValue());
+
+    assertEquals(
+        Arrays.asList(
+            BlockingScope.of(file),
+            BlockingScope.of(file, referencePoint),
+            BlockingScope.of(file),
+            BlockingScope.NONE),
+        blockedScopes);
+
+    alicesStopManager.stop();
+    bobsStopManager.stop();
+  }
+
+  /** Verify that the futures are completed by the acknowledgments and a stopped manager. */
+  @Test
+  public void testStopAsync() {
+    final StopManager alicesStopManager = new StopManager(alicesSession);
+    alicesStopManager.start();
+    final StopManager bobsStopManager = new StopManager(bobsSession);
+    bobsStopManager.start();
+
+    IActivityListener alicesListener = createForwarder(bobsConsumer);
+
+    alicesStopManager.addActivityListener(alicesListener);
+    bobsStopManager.addActivityListener(createForwarder(alicesConsumer));
+
+    CompletableFuture<StartHandle> future =
+        alicesStopManager.stopAsync(alicesBob, "test", BlockingScope.SESSION);
+
+    assertTrue(future.isDone());
+    assertTrue(bobsStopManager.getBlockedObservable().getValue());
+
+    StartHandle handle = future.join();
+    handle.start();
+
+    assertTrue(handle.getAcknowledgment().join());
+    assertFalse(bobsStopManager.getBlockedObservable().getValue());
+
+    bobsStopManager.stop();
+
+    // bob does not answer anymore
+    alicesStopManager.removeActivityListener(alicesListener);
+
+    future = alicesStopManager.stopAsync(alicesBob, "test", BlockingScope.SESSION);
+    assertFalse(future.isDone());
+
+    alicesStopManager.stop();
+
+    assertTrue(future.isCompletedExceptionally());
+  }
+
+  private static IReferencePoint createReferencePoint() {
+    IReferencePoint referencePoint = EasyMock.createMock(IReferencePoint.class);
+    EasyMock.expect(referencePoint.getType()).andStubReturn(IResource.Type.REFERENCE_POINT);
+    EasyMock.expect(referencePoint.getReferencePoint()).andStubReturn(referencePoint);
+    EasyMock.replay(referencePoint);
+
+    return referencePoint;
+  }
+
+  private static IFile createFile(IReferencePoint referencePoint) {
+    IFile file = EasyMock.createMock(IFile.class);
+    EasyMock.expect(file.getType()).andStubReturn(IResource.Type.FILE);
+    EasyMock.expect(file.getReferencePoint()).andStubReturn(referencePoint);
+    EasyMock.replay(file);
+
+    return file;
+  }
+
   private static User rewriteUser(User user) {
     User copy = new User(user.getJID(), user.isHost(), !user.isLocal(), null);
     copy.setInSession(true);
@@ -548,7 +684,8 @@ public class StopManagerTest {
         rewriteUser(inActivity.getAffected()),
         inActivity.getType(),
         inActivity.getState(),
-        inActivity.getActivityID());
+        inActivity.getActivityID(),
+        inActivity.getScope());
   }
 
   /** This method helps to forward messages from one session into the other. */
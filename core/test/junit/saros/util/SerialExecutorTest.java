@@ -0,0 +1,85 @@
+package saros.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class SerialExecutorTest {
+
+  private TaskExecutor executor;
+
+  private SerialExecutor serialExecutor;
+
+  @Before
+  public void setUp() {
+    executor = TaskExecutor.newPooledExecutor();
+    serialExecutor = new SerialExecutor("serial", executor);
+  }
+
+  @After
+  public void tearDown() {
+    serialExecutor.shutdown();
+    executor.shutdown();
+  }
+
+  @Test
+  public void testRunnablesAreExecutedInOrderAndNotConcurrently() throws Exception {
+    final int count = 1000;
+
+    final List<Integer> executed = Collections.synchronizedList(new ArrayList<Integer>());
+    final AtomicInteger running = new AtomicInteger();
+    final AtomicInteger maxRunning = new AtomicInteger();
+    final CountDownLatch done = new CountDownLatch(count);
+
+    for (int i = 0; i < count; i++) {
+      final int value = i;
+
+      serialExecutor.execute(
+          () -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            executed.add(value);
+            running.decrementAndGet();
+            done.countDown();
+          });
+    }
+
+    assertTrue(done.await(10, TimeUnit.SECONDS));
+
+    assertEquals(1, maxRunning.get());
+
+    for (int i = 0; i < count; i++) assertEquals(i, executed.get(i).intValue());
+  }
+
+  @Test
+  public void testExceptionDoesNotStopExecution() throws Exception {
+    final CountDownLatch done = new CountDownLatch(1);
+
+    serialExecutor.execute(
+        () -> {
+          throw new IllegalStateException("expected");
+        });
+
+    serialExecutor.execute(done::countDown);
+
+    assertTrue(done.await(10, TimeUnit.SECONDS));
+  }
+
+  @Test(expected = RejectedExecutionException.class)
+  public void testShutdownRejectsRunnables() {
+    serialExecutor.shutdown();
+
+    assertTrue(serialExecutor.isShutdown());
+
+    serialExecutor.execute(() -> {});
+  }
+}
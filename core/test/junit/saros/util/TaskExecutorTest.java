@@ -0,0 +1,156 @@
+package saros.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.junit.Assume.assumeTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Test;
+
+public class TaskExecutorTest {
+
+  private TaskExecutor executor;
+
+  @After
+  public void tearDown() {
+    if (executor != null) executor.shutdown();
+  }
+
+  @Test
+  public void testPooledExecutorRunsTasks() throws Exception {
+    executor = TaskExecutor.newPooledExecutor();
+
+    assertTasksAreRun();
+  }
+
+  @Test
+  public void testVirtualThreadExecutorRunsTasks() throws Exception {
+    assumeTrue(TaskExecutor.isVirtualThreadSupported());
+
+    executor = TaskExecutor.newVirtualThreadExecutor();
+
+    assertTasksAreRun();
+  }
+
+  @Test
+  public void testPooledExecutorRunsTasksIfAllThreadsAreBusy() throws Exception {
+    executor = TaskExecutor.newPooledExecutor();
+
+    final int blockingTasks = 300;
+
+    final CountDownLatch started = new CountDownLatch(blockingTasks);
+    final CountDownLatch release = new CountDownLatch(1);
+
+    final List<Future<?>> blocking = new ArrayList<>();
+
+    // e.g. the receivers of network connections, which run until their connection is closed
+    for (int i = 0; i < blockingTasks; i++)
+      blocking.add(
+          executor.execute(
+              "blocking",
+              null,
+              () -> {
+                started.countDown();
+                awaitQuietly(release);
+              }));
+
+    try {
+      assertTrue(started.await(10, TimeUnit.SECONDS));
+
+      final Future<String> task = executor.submit("task", () -> "done");
+
+      assertEquals("done", task.get(10, TimeUnit.SECONDS));
+      assertEquals(blockingTasks, executor.getActiveTaskCount());
+    } finally {
+      release.countDown();
+    }
+
+    for (final Future<?> future : blocking) future.get(10, TimeUnit.SECONDS);
+  }
+
+  @Test
+  public void testExceptionsAreReportedByTheFuture() throws Exception {
+    executor = TaskExecutor.newPooledExecutor();
+
+    final Future<Object> future =
+        executor.submit(
+            "failing",
+            () -> {
+              throw new IllegalStateException("expected");
+            });
+
+    try {
+      future.get(10, TimeUnit.SECONDS);
+      fail("exception was not reported");
+    } catch (ExecutionException e) {
+      assertTrue(e.getCause() instanceof IllegalStateException);
+    }
+
+  }
+
+  @Test
+  public void testCancelInterruptsTheTask() throws Exception {
+    executor = TaskExecutor.newPooledExecutor();
+
+    final CountDownLatch started = new CountDownLatch(1);
+    final CountDownLatch interrupted = new CountDownLatch(1);
+
+    final Future<?> future =
+        executor.execute(
+            "sleeping",
+            null,
+            () -> {
+              started.countDown();
+
+              try {
+                Thread.sleep(60000);
+              } catch (InterruptedException e) {
+                interrupted.countDown();
+              }
+            });
+
+    assertTrue(started.await(10, TimeUnit.SECONDS));
+
+    future.cancel(true);
+
+    assertTrue(interrupted.await(10, TimeUnit.SECONDS));
+  }
+
+  @Test(expected = RejectedExecutionException.class)
+  public void testShutdownRejectsTasks() {
+    executor = TaskExecutor.newPooledExecutor();
+    executor.shutdown();
+
+    executor.execute("rejected", null, () -> {});
+  }
+
+  private void assertTasksAreRun() throws Exception {
+    final String[] threadName = new String[1];
+
+    final Future<?> future =
+        executor.execute("named", null, () -> threadName[0] = Thread.currentThread().getName());
+
+    future.get(10, TimeUnit.SECONDS);
+
+    assertEquals(ThreadUtils.THREAD_PREFIX + "named", threadName[0]);
+    assertEquals(1, executor.getCompletedTaskCount());
+    assertEquals(1, executor.getLatency().getCount());
+    assertEquals(0, executor.getActiveTaskCount());
+  }
+
+  private static void awaitQuietly(final CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -4,7 +4,12 @@ import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 
 @RunWith(Suite.class)
-@Suite.SuiteClasses({NamedThreadFactoryTest.class, PathUtilsTest.class})
+@Suite.SuiteClasses({
+  NamedThreadFactoryTest.class,
+  PathUtilsTest.class,
+  SerialExecutorTest.class,
+  TaskExecutorTest.class
+})
 public class TestSuite {
   // the class remains completely empty,
   // being used only as a holder for the above annotations
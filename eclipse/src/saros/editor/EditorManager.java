@@ -69,6 +69,7 @@ import saros.session.ISessionListener;
 import saros.session.SessionEndReason;
 import saros.session.User;
 import saros.synchronize.Blockable;
+import saros.synchronize.BlockingScope;
 import saros.ui.util.SWTUtils;
 import saros.util.LineSeparatorNormalizationUtil;
 import saros.util.Predicate;
@@ -101,7 +102,8 @@ public class EditorManager implements IEditorManager {
 
   boolean hasWriteAccess;
 
-  boolean isLocked;
+  /** The scope the local user is blocked for, only accessed in the SWT thread. */
+  private BlockingScope lockedScope = BlockingScope.NONE;
 
   private ISarosSession session;
 
@@ -226,21 +228,26 @@ public class EditorManager implements IEditorManager {
       new Blockable() {
         @Override
         public void unblock() {
-          execute(false);
+          execute(BlockingScope.NONE);
         }
 
         @Override
         public void block() {
-          execute(true);
+          execute(BlockingScope.SESSION);
         }
 
-        private void execute(final boolean lock) {
+        @Override
+        public void block(BlockingScope scope) {
+          execute(scope);
+        }
+
+        private void execute(final BlockingScope scope) {
           SWTUtils.runSafeSWTSync(
               log,
               new Runnable() {
                 @Override
                 public void run() {
-                  lockAllEditors(lock);
+                  lockEditors(scope);
                 }
               });
         }
@@ -640,7 +647,7 @@ public class EditorManager implements IEditorManager {
             normalizedReplacedText,
             wrappedFile);
 
-    if (!hasWriteAccess || isLocked) {
+    if (!hasWriteAccess || isLocked(wrappedFile)) {
       /**
        * TODO If we don't have {@link User.Permission#WRITE_ACCESS}, then receiving this event might
        * indicate that the user somehow achieved to change his document. We should run a consistency
@@ -653,8 +660,8 @@ public class EditorManager implements IEditorManager {
               + textEdit
               + " | write access : "
               + hasWriteAccess
-              + ", session locked : "
-              + isLocked);
+              + ", file locked : "
+              + isLocked(wrappedFile));
       return;
     }
 
@@ -1433,17 +1440,34 @@ public class EditorManager implements IEditorManager {
   }
 
   /**
-   * Locks/unlocks all Editors for writing operations. Locked means local keyboard inputs are not
-   * applied.
+   * Locks the editors of all files covered by the given scope for writing operations and unlocks
+   * all other editors. Locked means local keyboard inputs are not applied.
    *
-   * @param lock if true then editors are locked, otherwise they are unlocked
+   * @param scope the scope to lock, {@link BlockingScope#NONE} to unlock all editors
    */
-  private void lockAllEditors(boolean lock) {
-    log.debug(lock ? "locking all editors" : "unlocking all editors");
+  private void lockEditors(BlockingScope scope) {
+    log.debug(scope.isEmpty() ? "unlocking all editors" : "locking editors for " + scope);
+
+    lockedScope = scope;
+
+    if (scope.isEmpty() || scope.isSession()) {
+      editorPool.setEditable(scope.isEmpty() && session.hasWriteAccess());
+      return;
+    }
 
-    editorPool.setEditable(!lock && session.hasWriteAccess());
+    for (final saros.filesystem.IFile file : getOpenEditors())
+      editorPool.setEditable(file, !scope.contains(file) && session.hasWriteAccess());
+  }
 
-    isLocked = lock;
+  /**
+   * Returns whether the editors of the given file are locked because the local user is blocked by
+   * the StopManager.
+   *
+   * @param file the file to check
+   * @return <code>true</code> if the editors of the file are locked
+   */
+  boolean isLocked(saros.filesystem.IFile file) {
+    return lockedScope.contains(file);
   }
 
   /**
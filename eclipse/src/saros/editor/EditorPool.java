@@ -146,7 +146,7 @@ final class EditorPool {
      * OMG ... either pull this call out of this class or access the
      * editorManager variables in a better manner
      */
-    setEditable(editorPart, editorManager.hasWriteAccess && !editorManager.isLocked);
+    setEditable(editorPart, editorManager.hasWriteAccess && !editorManager.isLocked(wrappedFile));
 
     final IDocumentProvider documentProvider = EditorAPI.getDocumentProvider(input);
 
@@ -306,6 +306,16 @@ final class EditorPool {
     for (final IEditorPart editorPart : getAllEditors()) setEditable(editorPart, editable);
   }
 
+  /**
+   * Sets the editable state of all editors that display the given file.
+   *
+   * @param file file of the editors
+   * @param editable the new editable state
+   */
+  public void setEditable(final saros.filesystem.IFile file, final boolean editable) {
+    for (final IEditorPart editorPart : getEditors(file)) setEditable(editorPart, editable);
+  }
+
   /** Returns if the given <code>IEditorPart</code> is managed by this pool. */
   public boolean isManaged(final IEditorPart editorPart) {
     return editorInputMap.containsKey(editorPart);
@@ -10,6 +10,7 @@ import org.eclipse.core.resources.IFile;
 import org.eclipse.core.runtime.CoreException;
 import saros.activities.FileActivity;
 import saros.activities.IActivity;
+import saros.concurrent.management.DocumentClientExecutor;
 import saros.editor.EditorManager;
 import saros.filesystem.ResourceConverter;
 import saros.repackaged.picocontainer.Startable;
@@ -24,15 +25,18 @@ public class FileActivityConsumer extends AbstractActivityConsumer implements St
   private final ISarosSession session;
   private final SharedResourcesManager resourceChangeListener;
   private final EditorManager editorManager;
+  private final DocumentClientExecutor documentClientExecutor;
 
   public FileActivityConsumer(
       final ISarosSession session,
       final SharedResourcesManager resourceChangeListener,
-      final EditorManager editorManager) {
+      final EditorManager editorManager,
+      final DocumentClientExecutor documentClientExecutor) {
 
     this.session = session;
     this.resourceChangeListener = resourceChangeListener;
     this.editorManager = editorManager;
+    this.documentClientExecutor = documentClientExecutor;
   }
 
   @Override
@@ -127,7 +131,11 @@ public class FileActivityConsumer extends AbstractActivityConsumer implements St
        * always reset Jupiter algorithm, because upon receiving that
        * activity, it was already reset on the host side
        */
-      session.getConcurrentDocumentClient().reset(file);
+      documentClientExecutor.call(
+          () -> {
+            session.getConcurrentDocumentClient().reset(file);
+            return null;
+          });
     }
 
     if (editorWasOpen && type != FileActivity.Type.REMOVED) editorManager.openEditor(file, true);
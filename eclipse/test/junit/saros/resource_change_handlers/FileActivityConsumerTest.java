@@ -61,7 +61,7 @@ public class FileActivityConsumerTest {
 
     replay(resourceChangeListener);
 
-    consumer = new FileActivityConsumer(null, resourceChangeListener, null);
+    consumer = new FileActivityConsumer(null, resourceChangeListener, null, null);
 
     // set up eclipse resource mock
     file = createMock(IFile.class);
@@ -1,8 +1,10 @@
 package saros.intellij.context;
 
 import saros.filesystem.IWorkspace;
+import saros.filesystem.checksum.FileSystemChecksumCache;
+import saros.filesystem.checksum.IAbsolutePathResolver;
 import saros.filesystem.checksum.IChecksumCache;
-import saros.filesystem.checksum.NullChecksumCache;
+import saros.filesystem.checksum.IFileContentChangedNotifier;
 import saros.intellij.editor.LocalEditorHandler;
 import saros.intellij.editor.LocalEditorManipulator;
 import saros.intellij.editor.SelectedEditorStateSnapshotFactory;
@@ -10,6 +12,8 @@ import saros.intellij.editor.annotations.AnnotationManager;
 import saros.intellij.eventhandler.ApplicationEventHandlersFactory;
 import saros.intellij.eventhandler.ProjectEventHandlersFactory;
 import saros.intellij.eventhandler.project.ProjectClosedHandler;
+import saros.intellij.filesystem.IntellijAbsolutePathResolver;
+import saros.intellij.filesystem.IntellijFileContentChangedNotifier;
 import saros.intellij.filesystem.IntellijWorkspace;
 import saros.intellij.filesystem.SharedResourcesManager;
 import saros.intellij.followmode.FollowModeNotificationDispatcher;
@@ -40,7 +44,10 @@ public class SarosIntellijSessionContextFactory extends SarosCoreSessionContextF
     container.addComponent(AnnotationManager.class);
 
     // Checksum cache support
-    container.addComponent(IChecksumCache.class, NullChecksumCache.class);
+    container.addComponent(
+        IFileContentChangedNotifier.class, IntellijFileContentChangedNotifier.class);
+    container.addComponent(IAbsolutePathResolver.class, IntellijAbsolutePathResolver.class);
+    container.addComponent(IChecksumCache.class, FileSystemChecksumCache.class);
     container.addComponent(IWorkspace.class, IntellijWorkspace.class);
 
     // Other
@@ -3,6 +3,7 @@ package saros.intellij.editor;
 import com.intellij.openapi.application.ModalityState;
 import com.intellij.openapi.editor.Caret;
 import com.intellij.openapi.editor.CaretModel;
+import com.intellij.openapi.editor.Document;
 import com.intellij.openapi.editor.Editor;
 import com.intellij.openapi.editor.LogicalPosition;
 import com.intellij.openapi.editor.ScrollType;
@@ -24,6 +25,10 @@ import saros.intellij.runtime.EDTExecutor;
  * Intellij editor API. An Editor is a window for editing source files.
  *
  * <p>Performs Intellij editor related actions in the UI thread.
+ *
+ * <p>The conversion between text based offsets and line based positions only uses the line data
+ * held by the {@link Document}. It therefore does not need an <code>Editor</code> and can also be
+ * used for files that are not open locally.
  */
 public class EditorAPI {
   private static Logger log = Logger.getLogger(EditorAPI.class);
@@ -111,25 +116,25 @@ public class EditorAPI {
   }
 
   /**
-   * Calculates the line base position value for the given text base offset in the given editor.
+   * Calculates the line base position value for the given text base offset in the given document.
    *
    * <p>The given offset must not be negative.
    *
-   * @param editor the editor to use for the calculation
+   * @param document the document to use for the calculation
    * @param offset the text based offset
-   * @return the line base position value for the given text base offsets in the given editor
+   * @return the line base position value for the given text base offsets in the given document
    * @throws IllegalArgumentException if the the given offset is negative
    */
-  public static TextPosition calculatePosition(@NotNull Editor editor, int offset) {
+  public static TextPosition calculatePosition(@NotNull Document document, int offset) {
     if (offset < 0) {
       throw new IllegalArgumentException("The given offset must not be negative");
     }
 
-    return calculatePositionInternal(editor, offset, null).first;
+    return calculatePositionInternal(document, offset, null).first;
   }
 
   /**
-   * Calculates the line base position value for the given text base offset in the given editor.
+   * Calculates the line base position value for the given text base offset in the given document.
    *
    * <p>This method is used for performance optimization. It accepts a pair containing a line number
    * and the start offset of that line and also returns the calculated line number and start offset
@@ -139,17 +144,16 @@ public class EditorAPI {
    * <p>This method does not validate the input. The input is expected to be validated beforehand by
    * the caller.
    *
-   * @param editor the editor to use for the calculation
+   * @param document the document to use for the calculation
    * @param offset the text based offset
-   * @return the line base position value for the given text base offsets in the given editor
+   * @return the line base position value for the given text base offsets in the given document
    * @throws IllegalArgumentException if the the given offset is negative
    */
   private static Pair<TextPosition, Pair<Integer, Integer>> calculatePositionInternal(
-      Editor editor, int offset, @Nullable Pair<Integer, Integer> knownLineStartOffset) {
+      Document document, int offset, @Nullable Pair<Integer, Integer> knownLineStartOffset) {
 
-    LogicalPosition logicalPosition = editor.offsetToLogicalPosition(offset);
-
-    int lineNumber = logicalPosition.line;
+    // offsets behind the document end are treated as part of the last line
+    int lineNumber = document.getLineNumber(Math.min(offset, document.getTextLength()));
 
     int lineStartOffset;
     Pair<Integer, Integer> returnedKnownLineStartOffset;
@@ -160,15 +164,12 @@ public class EditorAPI {
       returnedKnownLineStartOffset = knownLineStartOffset;
 
     } else {
-      lineStartOffset = calculateLineOffset(editor, lineNumber);
+      lineStartOffset = calculateLineOffset(document, lineNumber);
 
       returnedKnownLineStartOffset = new Pair<>(lineNumber, lineStartOffset);
     }
 
-    // necessary as the logical position counts a tab char as it's displayed width
-    int correctedInLineOffset = offset - lineStartOffset;
-
-    TextPosition textPosition = new TextPosition(lineNumber, correctedInLineOffset);
+    TextPosition textPosition = new TextPosition(lineNumber, offset - lineStartOffset);
 
     return new Pair<>(textPosition, returnedKnownLineStartOffset);
   }
@@ -201,8 +202,10 @@ public class EditorAPI {
     boolean isBackwardsSelection =
         isBackwardsSelection(editor, selectionStartOffset, selectionEndOffset);
 
+    Document document = editor.getDocument();
+
     Pair<TextPosition, Pair<Integer, Integer>> startPositionResult =
-        calculatePositionInternal(editor, selectionStartOffset, null);
+        calculatePositionInternal(document, selectionStartOffset, null);
 
     TextPosition startPosition = startPositionResult.first;
 
@@ -214,7 +217,7 @@ public class EditorAPI {
     Pair<Integer, Integer> knownLineStartOffset = startPositionResult.second;
 
     Pair<TextPosition, Pair<Integer, Integer>> endPositionResult =
-        calculatePositionInternal(editor, selectionEndOffset, knownLineStartOffset);
+        calculatePositionInternal(document, selectionEndOffset, knownLineStartOffset);
 
     TextPosition endPosition = endPositionResult.first;
 
@@ -273,52 +276,54 @@ public class EditorAPI {
   }
 
   /**
-   * Calculates the absolute offsets in the given editor for the given text position.
+   * Calculates the absolute offsets in the given document for the given text position.
    *
    * <p><b>NOTE:</b> The given text position must not be invalid!
    *
-   * @param editor the local editor for the file
+   * @param document the document for the file
    * @param textPosition the text position
-   * @return the absolute offset in the given editor for the given text position
+   * @return the absolute offset in the given document for the given text position
    * @throws IllegalArgumentException if the given text position is invalid
    */
-  public static int calculateOffset(@NotNull Editor editor, @NotNull TextPosition textPosition) {
+  public static int calculateOffset(
+      @NotNull Document document, @NotNull TextPosition textPosition) {
+
     if (!textPosition.isValid()) {
       throw new IllegalArgumentException("The given text position must not be invalid");
     }
 
-    return calculateOffsetInternal(editor, textPosition);
+    return calculateOffsetInternal(document, textPosition);
   }
 
   /**
-   * Calculates the absolute offsets in the given editor for the given text position.
+   * Calculates the absolute offsets in the given document for the given text position.
    *
    * <p>This method does not validate the input. The input is expected to be validated beforehand by
    * the caller.
    *
-   * @param editor the local editor for the file
+   * @param document the document for the file
    * @param textPosition the text position
-   * @return the absolute offset in the given editor for the given text position
+   * @return the absolute offset in the given document for the given text position
    */
-  private static int calculateOffsetInternal(Editor editor, TextPosition textPosition) {
+  private static int calculateOffsetInternal(Document document, TextPosition textPosition) {
     int lineNumber = textPosition.getLineNumber();
-    int lineStartOffset = calculateLineOffset(editor, lineNumber);
+    int lineStartOffset = calculateLineOffset(document, lineNumber);
 
     return lineStartOffset + textPosition.getInLineOffset();
   }
 
   /**
-   * Calculates the absolute offsets in the given editor for the given text selection.
+   * Calculates the absolute offsets in the given document for the given text selection.
    *
    * <p><b>NOTE:</b> The given text selection must not be empty!
    *
-   * @param editor the local editor for the file
+   * @param document the document for the file
    * @param textSelection the text selection
-   * @return the absolute offsets in the given editor for the given text selection
+   * @return the absolute offsets in the given document for the given text selection
    * @throws IllegalArgumentException if the given text selection is empty
    */
   static Pair<Integer, Integer> calculateOffsets(
-      @NotNull Editor editor, @NotNull TextSelection textSelection) {
+      @NotNull Document document, @NotNull TextSelection textSelection) {
 
     if (textSelection.isEmpty()) {
       throw new IllegalArgumentException("The given text selection must not be empty");
@@ -326,7 +331,7 @@ public class EditorAPI {
 
     TextPosition startPosition = textSelection.getStartPosition();
 
-    int startOffset = calculateOffsetInternal(editor, startPosition);
+    int startOffset = calculateOffsetInternal(document, startPosition);
 
     TextPosition endPosition = textSelection.getEndPosition();
 
@@ -341,20 +346,26 @@ public class EditorAPI {
 
       endOffset = lineStartOffset + endPosition.getInLineOffset();
     } else {
-      endOffset = calculateOffset(editor, endPosition);
+      endOffset = calculateOffset(document, endPosition);
     }
 
     return new Pair<>(startOffset, endOffset);
   }
 
   /**
-   * Calculates the text based offset for the start of the given line in the given editor.
+   * Calculates the text based offset for the start of the given line in the given document.
+   *
+   * <p>Returns the length of the document for lines behind the end of the document.
    *
-   * @param editor the editor to use for the calculations
+   * @param document the document to use for the calculations
    * @param lineNumber the line number whose offset to calculate
-   * @return the text based offset for the start of the given line in the given editor
+   * @return the text based offset for the start of the given line in the given document
    */
-  private static int calculateLineOffset(@NotNull Editor editor, int lineNumber) {
-    return editor.logicalPositionToOffset(new LogicalPosition(lineNumber, 0, true));
+  private static int calculateLineOffset(@NotNull Document document, int lineNumber) {
+    if (lineNumber >= document.getLineCount()) {
+      return document.getTextLength();
+    }
+
+    return document.getLineStartOffset(lineNumber);
   }
 }
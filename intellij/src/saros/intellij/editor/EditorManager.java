@@ -52,6 +52,7 @@ import saros.session.ISessionListener;
 import saros.session.SessionEndReason;
 import saros.session.User;
 import saros.synchronize.Blockable;
+import saros.synchronize.BlockingScope;
 
 /** Intellij implementation of the {@link IEditorManager} interface. */
 public class EditorManager extends AbstractActivityProducer implements IEditorManager {
@@ -70,6 +71,11 @@ public class EditorManager extends AbstractActivityProducer implements IEditorMa
         public void block() {
           executeInUIThreadSynchronous(EditorManager.this::lockAllEditors);
         }
+
+        @Override
+        public void block(BlockingScope scope) {
+          executeInUIThreadSynchronous(() -> lockEditors(scope));
+        }
       };
 
   private final IActivityConsumer consumer =
@@ -123,13 +129,13 @@ public class EditorManager extends AbstractActivityProducer implements IEditorMa
 
           log.debug(file + " text edit activity received " + textEditActivity);
 
-          Editor calculationEditor = getCalculationEditor(file);
+          Document document = getCalculationDocument(file);
 
-          if (calculationEditor == null) {
+          if (document == null) {
             log.warn(
                 "Could not apply text edit "
                     + textEditActivity
-                    + " as no editor could be obtained for resource "
+                    + " as no document could be obtained for resource "
                     + file);
 
             return;
@@ -142,14 +148,11 @@ public class EditorManager extends AbstractActivityProducer implements IEditorMa
           String replacedText = textEditActivity.getReplacedText();
           String newText = textEditActivity.getNewText();
 
-          int start =
-              EditorAPI.calculateOffset(calculationEditor, textEditActivity.getStartPosition());
+          int start = EditorAPI.calculateOffset(document, textEditActivity.getStartPosition());
 
           int oldEnd = start + replacedText.length();
           int newEnd = start + newText.length();
 
-          Document document = calculationEditor.getDocument();
-
           applyTextEdit(file, document, start, oldEnd, replacedText, newText);
 
           User user = textEditActivity.getSource();
@@ -160,46 +163,35 @@ public class EditorManager extends AbstractActivityProducer implements IEditorMa
         }
 
         /**
-         * Obtains an editor for the given file.
+         * Obtains the document for the given file.
          *
-         * <p>This editor might be a background editor and must therefore only be used for
-         * calculation purposes.
+         * <p>Uses the document of the open editor for the file if present. Otherwise, the document
+         * is obtained from the virtual file. Both are the same document object, so this is just a
+         * shortcut for files that are open locally.
          *
-         * @param file the file to obtain an editor for
-         * @return returns a valid editor for the given file or <code>null</code> if no such editor
+         * @param file the file to obtain the document for
+         * @return returns the document for the given file or <code>null</code> if no such document
          *     could be obtained
-         * @see BackgroundEditorPool
          */
-        private Editor getCalculationEditor(@NotNull IFile file) {
-          Editor calculationEditor = editorPool.getEditor(file);
+        private Document getCalculationDocument(@NotNull IFile file) {
+          Document document = editorPool.getDocument(file);
 
-          if (calculationEditor != null) {
-            return calculationEditor;
+          if (document != null) {
+            return document;
           }
 
           VirtualFile virtualFile = VirtualFileConverter.convertToVirtualFile(file);
 
           if (virtualFile == null) {
             log.warn(
-                "Could not create an editor instance for "
+                "Could not obtain a document for "
                     + file
                     + " as no virtual file could be obtained for the resource.");
 
             return null;
           }
 
-          Document document = DocumentAPI.getDocument(virtualFile);
-
-          if (document == null) {
-            log.warn(
-                "Could not create an editor instance for "
-                    + virtualFile
-                    + " as no document could be obtained for the file.");
-
-            return null;
-          }
-
-          return backgroundEditorPool.getBackgroundEditor(file, document);
+          return DocumentAPI.getDocument(virtualFile);
         }
 
         /**
@@ -319,35 +311,17 @@ public class EditorManager extends AbstractActivityProducer implements IEditorMa
 
           Editor editor = editorPool.getEditor(file);
 
-          // Editor used for position calculation
-          Editor calcEditor = editor;
-
-          if (calcEditor == null) {
-            VirtualFile virtualFile = VirtualFileConverter.convertToVirtualFile(file);
+          // Document used for position calculation
+          Document document = getCalculationDocument(file);
 
-            if (virtualFile == null) {
-              log.warn(
-                  "Could not apply selection "
-                      + selection
-                      + " as no virtual file could be obtained for resource "
-                      + file);
-
-              return;
-            }
-
-            Document document = DocumentAPI.getDocument(virtualFile);
-
-            if (document == null) {
-              log.warn(
-                  "Could not apply selection "
-                      + selection
-                      + " as no document could be obtained for resource "
-                      + virtualFile);
-
-              return;
-            }
+          if (document == null) {
+            log.warn(
+                "Could not apply selection "
+                    + selection
+                    + " as no document could be obtained for resource "
+                    + file);
 
-            calcEditor = backgroundEditorPool.getBackgroundEditor(file, document);
+            return;
           }
 
           TextSelection textSelection = selection.getSelection();
@@ -356,7 +330,7 @@ public class EditorManager extends AbstractActivityProducer implements IEditorMa
             annotationManager.removeSelectionAnnotation(user, file);
 
           } else {
-            Pair<Integer, Integer> offsets = EditorAPI.calculateOffsets(calcEditor, textSelection);
+            Pair<Integer, Integer> offsets = EditorAPI.calculateOffsets(document, textSelection);
 
             int start = offsets.first;
             int end = offsets.second;
@@ -684,11 +658,6 @@ public class EditorManager extends AbstractActivityProducer implements IEditorMa
         private void startSession() {
           assert editorPool.getEditors().isEmpty() : "EditorPool was not correctly reset!";
 
-          if (!backgroundEditorPool.isEmpty()) {
-            log.warn(
-                "BackgroundEditorPool already contains entries at session start! Possible memory leak.");
-          }
-
           session.getStopManager().addBlockable(stopManagerListener);
 
           hasWriteAccess = session.hasWriteAccess();
@@ -708,7 +677,6 @@ public class EditorManager extends AbstractActivityProducer implements IEditorMa
           // again
           unlockAllEditors();
           editorPool.clear();
-          backgroundEditorPool.clear();
 
           session.removeListener(sessionListener);
           session.removeActivityProducer(EditorManager.this);
@@ -728,8 +696,7 @@ public class EditorManager extends AbstractActivityProducer implements IEditorMa
   private SharedIDEContext sharedIDEContext;
 
   /* Session state */
-  private final BackgroundEditorPool backgroundEditorPool = new BackgroundEditorPool();
-  private final EditorPool editorPool = new EditorPool(backgroundEditorPool);
+  private final EditorPool editorPool = new EditorPool();
 
   private final SharedEditorListenerDispatch editorListenerDispatch =
       new SharedEditorListenerDispatch();
@@ -798,18 +765,6 @@ public class EditorManager extends AbstractActivityProducer implements IEditorMa
     editorPool.replaceFile(oldFile, newFile);
   }
 
-  /**
-   * Removes the given resource from the background editor pool if present.
-   *
-   * <p>This should be used to drop background editors for resources that are no longer available,
-   * i.e. were moved or removed.
-   *
-   * @param file the file to remove from the background editor pool if present
-   */
-  public void removeBackgroundEditorForFile(@NotNull IFile file) {
-    backgroundEditorPool.dropBackgroundEditor(file);
-  }
-
   EditorPool getEditorPool() {
     return editorPool;
   }
@@ -925,14 +880,7 @@ public class EditorManager extends AbstractActivityProducer implements IEditorMa
 
     Editor editor = editorPool.getEditor(file);
 
-    Editor calculationEditor;
-    if (editor != null) {
-      calculationEditor = editor;
-    } else {
-      calculationEditor = backgroundEditorPool.getBackgroundEditor(file, document);
-    }
-
-    TextPosition startPosition = EditorAPI.calculatePosition(calculationEditor, offset);
+    TextPosition startPosition = EditorAPI.calculatePosition(document, offset);
 
     /*
      * Intellij internally always uses UNIX line separators for editor content
@@ -1103,6 +1051,11 @@ public class EditorManager extends AbstractActivityProducer implements IEditorMa
     editorPool.lockAllDocuments();
   }
 
+  /** Locks all open editors of files covered by the given scope and unlocks all other editors. */
+  private void lockEditors(BlockingScope scope) {
+    editorPool.lockDocuments(scope);
+  }
+
   private void executeInUIThreadSynchronous(Runnable runnable) {
     EDTExecutor.invokeAndWait(runnable, ModalityState.defaultModalityState());
   }
@@ -10,6 +10,7 @@ import java.util.Set;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import saros.filesystem.IFile;
+import saros.synchronize.BlockingScope;
 
 /**
  * The Intellij editor pool. It is used to store a mapping of <code>IFile</code>s onto <code>Editor
@@ -17,28 +18,20 @@ import saros.filesystem.IFile;
  */
 class EditorPool {
   private final Map<IFile, Editor> editors;
-  private final BackgroundEditorPool backgroundEditorPool;
 
-  EditorPool(BackgroundEditorPool backgroundEditorPool) {
+  EditorPool() {
     this.editors = new HashMap<>();
-
-    this.backgroundEditorPool = backgroundEditorPool;
   }
 
   /**
    * Adds the given <code>IFile</code> <code>Editor</code> mapping to the editor pool.
    *
-   * <p>Also closes any existing background editors for the file as they are no longer needed.
-   *
    * @param file the file
    * @param editor the editor for the file
-   * @see BackgroundEditorPool
    */
   void add(@NotNull IFile file, @NotNull Editor editor) {
 
     editors.put(file, editor);
-
-    backgroundEditorPool.dropBackgroundEditor(file);
   }
 
   /**
@@ -81,6 +74,18 @@ class EditorPool {
     }
   }
 
+  /**
+   * Sets the editors of all files covered by the given scope to read only and all other editors in
+   * the editor pool to read/write.
+   *
+   * @param scope the scope to lock
+   */
+  void lockDocuments(@NotNull BlockingScope scope) {
+    for (Map.Entry<IFile, Editor> entry : editors.entrySet()) {
+      entry.getValue().getDocument().setReadOnly(scope.contains(entry.getKey()));
+    }
+  }
+
   /**
    * Returns the <code>Document</code> for the given file.
    *
@@ -273,6 +273,18 @@ abstract class AbstractEditorAnnotation {
     annotationRanges.set(index, newAnnotationRange);
   }
 
+  /**
+   * Removes the given annotation range from the annotation if present.
+   *
+   * <p><b>NOTE:</b> The given annotation range object has to be one of the actually held annotation
+   * range objects.
+   *
+   * @param annotationRange the annotation range to remove
+   */
+  void removeAnnotationRange(@NotNull AnnotationRange annotationRange) {
+    annotationRanges.remove(annotationRange);
+  }
+
   /**
    * Changes the file the annotation belongs to.
    *
@@ -298,118 +310,6 @@ abstract class AbstractEditorAnnotation {
     return editor;
   }
 
-  /**
-   * Updates the position of the annotation according to the given addition boundaries.
-   *
-   * <p>If there are no range highlighters or editors present: Moves the given annotations back by
-   * the length of the addition if they are located behind the added text. Elongates the annotations
-   * by the length of the addition if they overlap with the added text.
-   *
-   * <p>Does nothing if the annotation has a local representation (an editor or range highlighters)
-   * as this will be done automatically by the internal Intellij logic.
-   *
-   * @param additionStart the star position of the added text
-   * @param additionEnd the end position of the added text
-   * @see AnnotationManager#moveAnnotationsAfterAddition(IFile, int, int)
-   */
-  void moveAfterAddition(int additionStart, int additionEnd) {
-    if (editor != null) {
-      return;
-    }
-
-    checkRange(additionStart, additionEnd);
-
-    int offset = additionEnd - additionStart;
-
-    for (AnnotationRange annotationRange : annotationRanges) {
-      int currentStart = annotationRange.getStart();
-      int currentEnd = annotationRange.getEnd();
-
-      if (annotationRange.getRangeHighlighter() != null || currentEnd <= additionStart) {
-
-        continue;
-      }
-
-      AnnotationRange newAnnotationRange;
-
-      if (currentStart >= additionStart) {
-        newAnnotationRange = new AnnotationRange(currentStart + offset, currentEnd + offset);
-
-      } else {
-        newAnnotationRange = new AnnotationRange(currentStart, currentEnd + offset);
-      }
-
-      replaceAnnotationRange(annotationRange, newAnnotationRange);
-    }
-  }
-
-  /**
-   * Updates the position of the annotation according to the given deletion boundaries. Returns
-   * whether the annotation is invalid after the deletion and should therefor be removed from the
-   * annotation store.
-   *
-   * <p>If there are no range highlighters or editors present: Moves all given annotations for the
-   * given file forward by the length of the removal if they are located behind the removed text.
-   * Shortens the annotations if they partially overlap with the removed text.
-   *
-   * <p>Does nothing if the annotation has a local representation (an editor or range highlighters)
-   * as this will be done automatically by the internal Intellij logic.
-   *
-   * @param deletionStart the start position of the deleted text
-   * @param deletionEnd the end position of the deleted text
-   * @return whether the annotation is invalid after the deletion
-   * @see AnnotationManager#moveAnnotationsAfterDeletion(IFile, int, int)
-   */
-  boolean moveAfterDeletion(int deletionStart, int deletionEnd) {
-    if (editor != null) {
-      return false;
-    }
-
-    checkRange(deletionStart, deletionEnd);
-
-    int offset = deletionEnd - deletionStart;
-
-    for (Iterator<AnnotationRange> iterator = annotationRanges.iterator(); iterator.hasNext(); ) {
-      AnnotationRange annotationRange = iterator.next();
-
-      int currentStart = annotationRange.getStart();
-      int currentEnd = annotationRange.getEnd();
-
-      if (annotationRange.getRangeHighlighter() != null || currentEnd <= deletionStart) {
-
-        continue;
-      }
-
-      AnnotationRange newAnnotationRange;
-
-      if (currentStart >= deletionEnd) {
-        newAnnotationRange = new AnnotationRange(currentStart - offset, currentEnd - offset);
-
-      } else if (currentStart < deletionStart) {
-        if (currentEnd <= deletionEnd) {
-          newAnnotationRange = new AnnotationRange(currentStart, deletionStart);
-
-        } else {
-          newAnnotationRange = new AnnotationRange(currentStart, currentEnd - offset);
-        }
-
-      } else {
-        if (currentEnd <= deletionEnd) {
-          iterator.remove();
-
-          continue;
-
-        } else {
-          newAnnotationRange = new AnnotationRange(deletionStart, currentEnd - offset);
-        }
-      }
-
-      replaceAnnotationRange(annotationRange, newAnnotationRange);
-    }
-
-    return annotationRanges.isEmpty();
-  }
-
   /** Tears down the annotation, removing any remaining range highlighters. */
   protected void dispose() {
     for (AnnotationRange annotationRange : annotationRanges) {
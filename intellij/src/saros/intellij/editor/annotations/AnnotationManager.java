@@ -15,7 +15,7 @@ public class AnnotationManager implements Disposable {
   private static final Logger log = Logger.getLogger(AnnotationManager.class);
 
   public static final int MAX_CONTRIBUTION_ANNOTATIONS =
-      Integer.getInteger("saros.intellij.MAX_CONTRIBUTION_ANNOTATIONS", 50);
+      Integer.getInteger("saros.intellij.MAX_CONTRIBUTION_ANNOTATIONS", 500);
 
   private final AnnotationStore<SelectionAnnotation> selectionAnnotationStore;
   private final AnnotationQueue<ContributionAnnotation> contributionAnnotationQueue;
@@ -168,13 +168,8 @@ public class AnnotationManager implements Disposable {
       return;
     }
 
-    for (SelectionAnnotation annotation : selectionAnnotationStore.getAnnotations(file)) {
-      annotation.moveAfterAddition(additionStart, additionEnd);
-    }
-
-    for (ContributionAnnotation annotation : contributionAnnotationQueue.getAnnotations(file)) {
-      annotation.moveAfterAddition(additionStart, additionEnd);
-    }
+    selectionAnnotationStore.moveAnnotationsAfterAddition(file, additionStart, additionEnd);
+    contributionAnnotationQueue.moveAnnotationsAfterAddition(file, additionStart, additionEnd);
   }
 
   /**
@@ -202,21 +197,8 @@ public class AnnotationManager implements Disposable {
       return;
     }
 
-    for (SelectionAnnotation annotation : selectionAnnotationStore.getAnnotations(file)) {
-      boolean isInvalid = annotation.moveAfterDeletion(deletionStart, deletionEnd);
-
-      if (isInvalid) {
-        selectionAnnotationStore.removeAnnotation(annotation);
-      }
-    }
-
-    for (ContributionAnnotation annotation : contributionAnnotationQueue.getAnnotations(file)) {
-      boolean isInvalid = annotation.moveAfterDeletion(deletionStart, deletionEnd);
-
-      if (isInvalid) {
-        contributionAnnotationQueue.removeAnnotation(annotation);
-      }
-    }
+    selectionAnnotationStore.moveAnnotationsAfterDeletion(file, deletionStart, deletionEnd);
+    contributionAnnotationQueue.moveAnnotationsAfterDeletion(file, deletionStart, deletionEnd);
   }
 
   /**
@@ -1,8 +1,8 @@
 package saros.intellij.editor.annotations;
 
-import java.util.ArrayDeque;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Queue;
+import java.util.Set;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import saros.filesystem.IFile;
@@ -14,11 +14,14 @@ import saros.session.User;
  * automatically but rather should be done by the caller by calling {@link #removeIfFull()} before
  * adding new annotations.
  *
+ * <p>The order of the annotations is held in an insertion ordered set, so removing an arbitrary
+ * annotation does not require a linear search of the queue.
+ *
  * @param <E> the stored annotation type
  */
 class AnnotationQueue<E extends AbstractEditorAnnotation> extends AnnotationStore<E> {
 
-  private final Queue<E> annotationQueue;
+  private final Set<E> annotationQueue;
 
   private final int maxSize;
 
@@ -37,7 +40,7 @@ class AnnotationQueue<E extends AbstractEditorAnnotation> extends AnnotationStor
 
     this.maxSize = maxSize;
 
-    this.annotationQueue = new ArrayDeque<>(maxSize);
+    this.annotationQueue = new LinkedHashSet<>();
   }
 
   /**
@@ -54,7 +57,9 @@ class AnnotationQueue<E extends AbstractEditorAnnotation> extends AnnotationStor
   @Nullable
   E removeIfFull() {
     if (annotationQueue.size() == maxSize) {
-      E removedAnnotation = annotationQueue.remove();
+      E removedAnnotation = annotationQueue.iterator().next();
+
+      annotationQueue.remove(removedAnnotation);
 
       super.removeAnnotation(removedAnnotation);
 
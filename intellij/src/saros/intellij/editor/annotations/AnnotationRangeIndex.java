@@ -0,0 +1,509 @@
+package saros.intellij.editor.annotations;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Index of the annotation ranges of a single file that have no local representation, i.e. of the
+ * ranges that have to be moved by Saros when text is added to or removed from the file while it is
+ * not open in an editor.
+ *
+ * <p>The ranges are held in a treap ordered by their start offset. Every node knows the maximal end
+ * offset of its subtree. Moving all ranges behind an edit is only recorded as a pending shift in
+ * the roots of the affected subtrees, so an edit only has to visit the ranges overlapping with it:
+ * an edit costs <code>O(log n + k)</code> for <code>n</code> indexed ranges and <code>k</code>
+ * overlapping ranges.
+ *
+ * <p>Because of this, the <code>AnnotationRange</code> objects held by the annotations are
+ * <b>not</b> updated when an edit is applied. {@link #flush()} has to be called before the ranges
+ * of the annotations are read.
+ *
+ * <p>The index assumes that it is the only way the ranges of the indexed annotations are modified.
+ * It has to be discarded once the annotations are modified in any other way, e.g. when a local
+ * representation is added to them.
+ *
+ * <p>Zero-width ranges can not be ordered consistently with the other ranges, as they are only
+ * moved by additions strictly in front of them. As they are rare, they are held in a separate list.
+ *
+ * @param <E> the indexed annotation type
+ */
+class AnnotationRangeIndex<E extends AbstractEditorAnnotation> {
+
+  /** Minimal number of removed nodes before the treap is compacted. */
+  private static final int MIN_COMPACTION_SIZE = 64;
+
+  private static final Random random = new Random();
+
+  private static final class Node<E> {
+    private final E annotation;
+    private final int priority = random.nextInt();
+
+    /** The held annotation range or <code>null</code> if the range was removed from the index. */
+    private AnnotationRange range;
+
+    /* only valid if all shifts of the ancestors were pushed to this node */
+    private int start;
+    private int end;
+
+    /** Maximal end offset of the subtree, may be too large if nodes were removed. */
+    private int maxEnd;
+
+    /** Shift that still has to be applied to both children. */
+    private int shift;
+
+    private Node<E> left;
+    private Node<E> right;
+
+    private Node(E annotation, AnnotationRange range) {
+      this.annotation = annotation;
+      this.range = range;
+      this.start = range.getStart();
+      this.end = range.getEnd();
+      this.maxEnd = end;
+    }
+  }
+
+  private final Map<E, List<Node<E>>> nodesByAnnotation = new HashMap<>();
+
+  private final List<Node<E>> zeroWidthNodes = new ArrayList<>();
+
+  private Node<E> root;
+
+  private int liveNodes;
+  private int removedNodes;
+
+  /**
+   * Creates an index for the ranges of the given annotations. The annotations must all belong to
+   * the same file.
+   *
+   * @param annotations the annotations to index
+   */
+  AnnotationRangeIndex(@NotNull Collection<E> annotations) {
+    annotations.forEach(this::add);
+  }
+
+  /**
+   * Adds the ranges of the given annotation to the index. Does nothing if the annotation has a
+   * local representation.
+   *
+   * @param annotation the annotation to add
+   */
+  void add(@NotNull E annotation) {
+    if (annotation.getEditor() != null || nodesByAnnotation.containsKey(annotation)) {
+      return;
+    }
+
+    List<Node<E>> nodes = new ArrayList<>();
+
+    for (AnnotationRange annotationRange : annotation.getAnnotationRanges()) {
+      if (annotationRange.getRangeHighlighter() != null) {
+        continue;
+      }
+
+      Node<E> node = new Node<>(annotation, annotationRange);
+
+      if (node.start == node.end) {
+        zeroWidthNodes.add(node);
+
+      } else {
+        Node<E>[] parts = split(root, node.start);
+
+        root = merge(merge(parts[0], node), parts[1]);
+      }
+
+      nodes.add(node);
+      liveNodes++;
+    }
+
+    nodesByAnnotation.put(annotation, nodes);
+  }
+
+  /**
+   * Removes the ranges of the given annotation from the index.
+   *
+   * @param annotation the annotation to remove
+   */
+  void remove(@NotNull E annotation) {
+    List<Node<E>> nodes = nodesByAnnotation.remove(annotation);
+
+    if (nodes == null) {
+      return;
+    }
+
+    for (Node<E> node : nodes) {
+      if (node.start == node.end && zeroWidthNodes.remove(node)) {
+        node.range = null;
+        liveNodes--;
+
+      } else {
+        removeNode(node);
+      }
+    }
+
+    if (removedNodes >= MIN_COMPACTION_SIZE && removedNodes > liveNodes) {
+      compact();
+    }
+  }
+
+  /**
+   * Moves the indexed ranges according to the given addition. Ranges behind the added text are
+   * moved back by the length of the addition, ranges containing the start of the addition are
+   * elongated by the length of the addition.
+   *
+   * @param additionStart the start position of the added text
+   * @param additionEnd the end position of the added text
+   */
+  void moveAfterAddition(int additionStart, int additionEnd) {
+    AbstractEditorAnnotation.checkRange(additionStart, additionEnd);
+
+    int offset = additionEnd - additionStart;
+
+    if (offset == 0) {
+      return;
+    }
+
+    Node<E>[] parts = split(root, additionStart);
+
+    elongateOverlappingRanges(parts[0], additionStart, offset);
+    applyShift(parts[1], offset);
+
+    root = merge(parts[0], parts[1]);
+
+    for (Node<E> node : zeroWidthNodes) {
+      if (node.end > additionStart) {
+        node.start += offset;
+        node.end += offset;
+      }
+    }
+  }
+
+  /**
+   * Moves the indexed ranges according to the given deletion. Ranges behind the removed text are
+   * moved forward by the length of the deletion, ranges partially overlapping with the removed text
+   * are shortened and ranges completely contained in the removed text are removed from the index
+   * and from their annotation.
+   *
+   * @param deletionStart the start position of the removed text
+   * @param deletionEnd the end position of the removed text
+   * @return the annotations that no longer have any ranges
+   */
+  @NotNull
+  List<E> moveAfterDeletion(int deletionStart, int deletionEnd) {
+    AbstractEditorAnnotation.checkRange(deletionStart, deletionEnd);
+
+    int offset = deletionEnd - deletionStart;
+
+    Set<E> invalidAnnotations = new LinkedHashSet<>();
+
+    if (offset == 0) {
+      return new ArrayList<>(invalidAnnotations);
+    }
+
+    Node<E>[] head = split(root, deletionStart);
+    Node<E>[] tail = split(head[1], deletionEnd);
+
+    shortenOverlappingRanges(head[0], deletionStart, deletionEnd);
+
+    List<Node<E>> containedNodes = new ArrayList<>();
+    collect(tail[0], containedNodes, true);
+
+    Node<E> moved = null;
+
+    for (Node<E> node : containedNodes) {
+      node.left = null;
+      node.right = null;
+
+      if (node.range == null) {
+        removedNodes--;
+
+        continue;
+      }
+
+      if (node.end <= deletionEnd) {
+        removeRange(node, invalidAnnotations);
+
+        continue;
+      }
+
+      node.start = deletionStart;
+      node.end -= offset;
+      node.maxEnd = node.end;
+
+      moved = merge(moved, node);
+    }
+
+    applyShift(tail[1], -offset);
+
+    root = merge(merge(head[0], moved), tail[1]);
+
+    for (Node<E> node : new ArrayList<>(zeroWidthNodes)) {
+      if (node.end <= deletionStart) {
+        continue;
+      }
+
+      if (node.start >= deletionEnd) {
+        node.start -= offset;
+        node.end -= offset;
+
+      } else {
+        zeroWidthNodes.remove(node);
+        removeRange(node, invalidAnnotations);
+      }
+    }
+
+    invalidAnnotations.removeIf(annotation -> !annotation.getAnnotationRanges().isEmpty());
+
+    return new ArrayList<>(invalidAnnotations);
+  }
+
+  /**
+   * Writes the current positions of all indexed ranges to the annotations. Annotation ranges whose
+   * position changed are replaced with new annotation range objects.
+   */
+  void flush() {
+    compact();
+
+    List<Node<E>> nodes = new ArrayList<>();
+
+    collect(root, nodes, false);
+    nodes.addAll(zeroWidthNodes);
+
+    for (Node<E> node : nodes) {
+      AnnotationRange annotationRange = node.range;
+
+      if (annotationRange.getStart() == node.start && annotationRange.getEnd() == node.end) {
+        continue;
+      }
+
+      AnnotationRange newAnnotationRange = new AnnotationRange(node.start, node.end);
+
+      node.annotation.replaceAnnotationRange(annotationRange, newAnnotationRange);
+      node.range = newAnnotationRange;
+    }
+  }
+
+  /**
+   * Returns the number of indexed ranges.
+   *
+   * @return the number of indexed ranges
+   */
+  int size() {
+    return liveNodes;
+  }
+
+  private void removeNode(@NotNull Node<E> node) {
+    if (node.range == null) {
+      return;
+    }
+
+    node.range = null;
+
+    liveNodes--;
+    removedNodes++;
+  }
+
+  private void removeRange(@NotNull Node<E> node, @NotNull Set<E> invalidAnnotations) {
+    node.annotation.removeAnnotationRange(node.range);
+
+    // the node is no longer part of the treap, so it does not count as a removed node
+    node.range = null;
+    liveNodes--;
+
+    invalidAnnotations.add(node.annotation);
+  }
+
+  /** Rebuilds the treap without the removed nodes. */
+  private void compact() {
+    List<Node<E>> nodes = new ArrayList<>();
+
+    collect(root, nodes, false);
+    root = build(nodes);
+
+    removedNodes = 0;
+  }
+
+  /**
+   * Collects the nodes of the given treap in order. All pending shifts are applied to the collected
+   * nodes.
+   *
+   * @param includeRemoved whether nodes that were removed from the index should be collected
+   */
+  private static <E> void collect(
+      @Nullable Node<E> node, @NotNull List<Node<E>> nodes, boolean includeRemoved) {
+
+    if (node == null) {
+      return;
+    }
+
+    push(node);
+
+    collect(node.left, nodes, includeRemoved);
+
+    if (includeRemoved || node.range != null) {
+      nodes.add(node);
+    }
+
+    collect(node.right, nodes, includeRemoved);
+  }
+
+  /** Builds a treap from the given nodes, which must be ordered by their start offset. */
+  @Nullable
+  private static <E> Node<E> build(@NotNull List<Node<E>> nodes) {
+    Node<E> treap = null;
+
+    for (Node<E> node : nodes) {
+      node.left = null;
+      node.right = null;
+      node.shift = 0;
+      node.maxEnd = node.end;
+
+      treap = merge(treap, node);
+    }
+
+    return treap;
+  }
+
+  /** Elongates all ranges of the given treap that contain the given position. */
+  private static <E> void elongateOverlappingRanges(
+      @Nullable Node<E> node, int position, int offset) {
+
+    if (node == null || node.maxEnd <= position) {
+      return;
+    }
+
+    push(node);
+
+    if (node.range != null && node.end > position) {
+      node.end += offset;
+    }
+
+    elongateOverlappingRanges(node.left, position, offset);
+    elongateOverlappingRanges(node.right, position, offset);
+
+    update(node);
+  }
+
+  /** Cuts all ranges of the given treap that end in or behind the given removed area. */
+  private static <E> void shortenOverlappingRanges(
+      @Nullable Node<E> node, int deletionStart, int deletionEnd) {
+
+    if (node == null || node.maxEnd <= deletionStart) {
+      return;
+    }
+
+    push(node);
+
+    if (node.range != null && node.end > deletionStart) {
+      node.end = node.end <= deletionEnd ? deletionStart : node.end - (deletionEnd - deletionStart);
+    }
+
+    shortenOverlappingRanges(node.left, deletionStart, deletionEnd);
+    shortenOverlappingRanges(node.right, deletionStart, deletionEnd);
+
+    update(node);
+  }
+
+  /**
+   * Splits the given treap into a treap containing all nodes starting before the given position and
+   * a treap containing all other nodes.
+   */
+  @SuppressWarnings("unchecked")
+  @NotNull
+  private static <E> Node<E>[] split(@Nullable Node<E> node, int position) {
+    if (node == null) {
+      return new Node[] {null, null};
+    }
+
+    push(node);
+
+    Node<E>[] parts;
+
+    if (node.start < position) {
+      parts = split(node.right, position);
+      node.right = parts[0];
+      update(node);
+      parts[0] = node;
+
+    } else {
+      parts = split(node.left, position);
+      node.left = parts[1];
+      update(node);
+      parts[1] = node;
+    }
+
+    return parts;
+  }
+
+  /**
+   * Merges the given treaps. All nodes of the first treap must not start behind any node of the
+   * second treap.
+   */
+  @Nullable
+  private static <E> Node<E> merge(@Nullable Node<E> first, @Nullable Node<E> second) {
+    if (first == null) {
+      return second;
+    }
+
+    if (second == null) {
+      return first;
+    }
+
+    if (first.priority > second.priority) {
+      push(first);
+      first.right = merge(first.right, second);
+      update(first);
+
+      return first;
+    }
+
+    push(second);
+    second.left = merge(first, second.left);
+    update(second);
+
+    return second;
+  }
+
+  private static <E> void applyShift(@Nullable Node<E> node, int offset) {
+    if (node == null) {
+      return;
+    }
+
+    node.start += offset;
+    node.end += offset;
+    node.maxEnd += offset;
+    node.shift += offset;
+  }
+
+  private static <E> void push(@NotNull Node<E> node) {
+    if (node.shift == 0) {
+      return;
+    }
+
+    applyShift(node.left, node.shift);
+    applyShift(node.right, node.shift);
+
+    node.shift = 0;
+  }
+
+  private static <E> void update(@NotNull Node<E> node) {
+    int maxEnd = node.end;
+
+    if (node.left != null) {
+      maxEnd = Math.max(maxEnd, node.left.maxEnd);
+    }
+
+    if (node.right != null) {
+      maxEnd = Math.max(maxEnd, node.right.maxEnd);
+    }
+
+    node.maxEnd = maxEnd;
+  }
+}
@@ -6,19 +6,28 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import saros.filesystem.IFile;
 import saros.session.User;
 
 /**
  * A class to store all current annotations of a certain type.
  *
+ * <p>The positions of annotations without a local representation are moved by the store using an
+ * {@link AnnotationRangeIndex} per file. The index of a file is created by the first move of its
+ * annotations and kept until the annotations of the file are requested, as the caller might modify
+ * the returned annotations.
+ *
  * @param <E> the stored annotation type
  */
 class AnnotationStore<E extends AbstractEditorAnnotation> {
   private final Map<IFile, Map<User, List<E>>> annotationMap;
 
+  private final Map<IFile, AnnotationRangeIndex<E>> rangeIndexMap;
+
   AnnotationStore() {
     annotationMap = new HashMap<>();
+    rangeIndexMap = new HashMap<>();
   }
 
   /**
@@ -38,6 +47,12 @@ class AnnotationStore<E extends AbstractEditorAnnotation> {
         annotationsForFile.computeIfAbsent(user, givenFile -> new ArrayList<>());
 
     storedAnnotations.add(annotation);
+
+    AnnotationRangeIndex<E> rangeIndex = rangeIndexMap.get(file);
+
+    if (rangeIndex != null) {
+      rangeIndex.add(annotation);
+    }
   }
 
   /**
@@ -47,6 +62,9 @@ class AnnotationStore<E extends AbstractEditorAnnotation> {
    */
   @NotNull
   List<E> getAnnotations() {
+    rangeIndexMap.values().forEach(AnnotationRangeIndex::flush);
+    rangeIndexMap.clear();
+
     List<E> annotations = new ArrayList<>();
 
     annotationMap.values().forEach(map -> map.values().forEach(annotations::addAll));
@@ -63,6 +81,12 @@ class AnnotationStore<E extends AbstractEditorAnnotation> {
   @NotNull
   List<E> getAnnotations(@NotNull IFile file) {
 
+    AnnotationRangeIndex<E> rangeIndex = rangeIndexMap.remove(file);
+
+    if (rangeIndex != null) {
+      rangeIndex.flush();
+    }
+
     List<E> annotations = new ArrayList<>();
 
     Map<User, List<E>> annotationsForFile = annotationMap.get(file);
@@ -94,6 +118,12 @@ class AnnotationStore<E extends AbstractEditorAnnotation> {
 
     annotation.dispose();
 
+    AnnotationRangeIndex<E> rangeIndex = rangeIndexMap.get(file);
+
+    if (rangeIndex != null) {
+      rangeIndex.remove(annotation);
+    }
+
     Map<User, List<E>> annotationsForFile = annotationMap.get(file);
 
     if (annotationsForFile == null) {
@@ -112,6 +142,7 @@ class AnnotationStore<E extends AbstractEditorAnnotation> {
 
     if (annotationsForFile.isEmpty()) {
       annotationMap.remove(file);
+      rangeIndexMap.remove(file);
     }
   }
 
@@ -138,12 +169,19 @@ class AnnotationStore<E extends AbstractEditorAnnotation> {
 
     if (annotationsForFile.isEmpty()) {
       annotationMap.remove(file);
+      rangeIndexMap.remove(file);
     }
 
     if (storedAnnotations == null) {
       return Collections.emptyList();
     }
 
+    AnnotationRangeIndex<E> rangeIndex = rangeIndexMap.get(file);
+
+    if (rangeIndex != null) {
+      storedAnnotations.forEach(rangeIndex::remove);
+    }
+
     storedAnnotations.forEach(AbstractEditorAnnotation::dispose);
 
     return storedAnnotations;
@@ -177,6 +215,12 @@ class AnnotationStore<E extends AbstractEditorAnnotation> {
 
           if (storedAnnotations != null) {
             removedAnnotations.addAll(storedAnnotations);
+
+            AnnotationRangeIndex<E> rangeIndex = rangeIndexMap.get(file);
+
+            if (rangeIndex != null) {
+              storedAnnotations.forEach(rangeIndex::remove);
+            }
           }
 
           if (annotationsForFile.isEmpty()) {
@@ -185,6 +229,7 @@ class AnnotationStore<E extends AbstractEditorAnnotation> {
         });
 
     emptyFileStores.forEach(annotationMap::remove);
+    emptyFileStores.forEach(rangeIndexMap::remove);
 
     removedAnnotations.forEach(AbstractEditorAnnotation::dispose);
 
@@ -218,6 +263,7 @@ class AnnotationStore<E extends AbstractEditorAnnotation> {
         });
 
     annotationMap.clear();
+    rangeIndexMap.clear();
 
     removedAnnotations.forEach(AbstractEditorAnnotation::dispose);
 
@@ -234,10 +280,80 @@ class AnnotationStore<E extends AbstractEditorAnnotation> {
    */
   void updateAnnotationPath(@NotNull IFile oldFile, @NotNull IFile newFile) {
 
+    AnnotationRangeIndex<E> rangeIndex = rangeIndexMap.remove(oldFile);
+
+    if (rangeIndex != null) {
+      rangeIndex.flush();
+    }
+
     Map<User, List<E>> oldMapping = annotationMap.remove(oldFile);
 
     if (oldMapping != null) {
       annotationMap.put(newFile, oldMapping);
     }
   }
+
+  /**
+   * Moves all annotations for the given file that have no local representation according to the
+   * given addition.
+   *
+   * @param file the file text was added to
+   * @param additionStart the start position of the added text
+   * @param additionEnd the end position of the added text
+   * @see AnnotationRangeIndex#moveAfterAddition(int, int)
+   */
+  void moveAnnotationsAfterAddition(@NotNull IFile file, int additionStart, int additionEnd) {
+    AnnotationRangeIndex<E> rangeIndex = getRangeIndex(file);
+
+    if (rangeIndex != null) {
+      rangeIndex.moveAfterAddition(additionStart, additionEnd);
+    }
+  }
+
+  /**
+   * Moves all annotations for the given file that have no local representation according to the
+   * given deletion. Removes the annotations that are invalid after the deletion from the store.
+   *
+   * @param file the file text was removed from
+   * @param deletionStart the start position of the removed text
+   * @param deletionEnd the end position of the removed text
+   * @see AnnotationRangeIndex#moveAfterDeletion(int, int)
+   */
+  void moveAnnotationsAfterDeletion(@NotNull IFile file, int deletionStart, int deletionEnd) {
+    AnnotationRangeIndex<E> rangeIndex = getRangeIndex(file);
+
+    if (rangeIndex == null) {
+      return;
+    }
+
+    for (E annotation : rangeIndex.moveAfterDeletion(deletionStart, deletionEnd)) {
+      removeAnnotation(annotation);
+    }
+  }
+
+  /**
+   * Returns the range index for the given file, creating it if necessary.
+   *
+   * @param file the file to get the range index for
+   * @return the range index for the given file or <code>null</code> if there are no annotations
+   *     for the given file
+   */
+  @Nullable
+  private AnnotationRangeIndex<E> getRangeIndex(@NotNull IFile file) {
+    Map<User, List<E>> annotationsForFile = annotationMap.get(file);
+
+    if (annotationsForFile == null) {
+      return null;
+    }
+
+    return rangeIndexMap.computeIfAbsent(
+        file,
+        givenFile -> {
+          List<E> annotations = new ArrayList<>();
+
+          annotationsForFile.values().forEach(annotations::addAll);
+
+          return new AnnotationRangeIndex<>(annotations);
+        });
+  }
 }
@@ -522,7 +522,6 @@ public class LocalFilesystemModificationHandler extends AbstractActivityProducer
         new FileActivity(user, Type.REMOVED, FileActivity.Purpose.ACTIVITY, file, null, null, null);
 
     cleanUpDeletedFileState(file);
-    cleanUpBackgroundEditorPool(file);
 
     dispatchActivity(activity);
   }
@@ -836,7 +835,6 @@ public class LocalFilesystemModificationHandler extends AbstractActivityProducer
               encoding);
 
       updateMovedFileState(oldFileWrapper, newFileWrapper);
-      cleanUpBackgroundEditorPool(oldFileWrapper);
 
     } else if (newFileIsShared) {
       // TODO decide how to handle moved versions of ignored resources
@@ -869,7 +867,6 @@ public class LocalFilesystemModificationHandler extends AbstractActivityProducer
               user, Type.REMOVED, FileActivity.Purpose.ACTIVITY, oldFileWrapper, null, null, null);
 
       cleanUpDeletedFileState(oldFileWrapper);
-      cleanUpBackgroundEditorPool(oldFileWrapper);
 
     } else {
       // neither source nor destination are shared
@@ -1090,15 +1087,6 @@ public class LocalFilesystemModificationHandler extends AbstractActivityProducer
     annotationManager.removeAnnotations(deletedFile);
   }
 
-  /**
-   * Releases and drops the held background editor for the deleted file if present.
-   *
-   * @param deletedFile the deleted file
-   */
-  private void cleanUpBackgroundEditorPool(@NotNull IFile deletedFile) {
-    editorManager.removeBackgroundEditorForFile(deletedFile);
-  }
-
   /**
    * Updates the held internal state with the new path for the moved file.
    *
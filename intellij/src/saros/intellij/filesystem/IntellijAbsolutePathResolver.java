@@ -0,0 +1,25 @@
+package saros.intellij.filesystem;
+
+import com.intellij.openapi.vfs.VirtualFile;
+import saros.filesystem.IFile;
+import saros.filesystem.checksum.IAbsolutePathResolver;
+
+/**
+ * IntelliJ implementation of the {@link IAbsolutePathResolver} interface. Returns the path of the
+ * virtual file backing the given file.
+ *
+ * @see VirtualFile#getPath()
+ */
+public class IntellijAbsolutePathResolver implements IAbsolutePathResolver {
+
+  @Override
+  public String getAbsolutePath(IFile file) {
+    if (!(file instanceof IntellijFile)) return null;
+
+    VirtualFile virtualFile = VirtualFileConverter.convertToVirtualFile(file);
+
+    if (virtualFile == null) return null;
+
+    return virtualFile.getPath();
+  }
+}
@@ -0,0 +1,167 @@
+package saros.intellij.filesystem;
+
+import com.intellij.openapi.vfs.LocalFileSystem;
+import com.intellij.openapi.vfs.VfsUtilCore;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.vfs.VirtualFileCopyEvent;
+import com.intellij.openapi.vfs.VirtualFileEvent;
+import com.intellij.openapi.vfs.VirtualFileFilter;
+import com.intellij.openapi.vfs.VirtualFileListener;
+import com.intellij.openapi.vfs.VirtualFileMoveEvent;
+import com.intellij.openapi.vfs.VirtualFilePropertyEvent;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.apache.log4j.Logger;
+import org.jetbrains.annotations.NotNull;
+import saros.filesystem.IFile;
+import saros.filesystem.IReferencePoint;
+import saros.filesystem.IResource;
+import saros.filesystem.checksum.IFileContentChangedListener;
+import saros.filesystem.checksum.IFileContentChangedNotifier;
+import saros.repackaged.picocontainer.Startable;
+import saros.session.ISarosSession;
+
+/**
+ * IntelliJ implementation of the {@link IFileContentChangedNotifier} interface. Reports changes of
+ * shared files using the VFS listener infrastructure that is also used by the {@link
+ * saros.intellij.eventhandler.filesystem.LocalFilesystemModificationHandler}.
+ *
+ * <p>Unlike the modification handler, the listener of this class is never disabled while the
+ * session is running, so changes Saros makes itself, e.g. when applying remote activities, are
+ * reported as well.
+ *
+ * <p>Files are reported under every path that is affected by an event. A moved or renamed file is
+ * reported under its old path before the change and under its new path after the change. Events
+ * for directories are reported for all contained files.
+ */
+public class IntellijFileContentChangedNotifier implements IFileContentChangedNotifier, Startable {
+
+  private static final Logger log = Logger.getLogger(IntellijFileContentChangedNotifier.class);
+
+  private final ISarosSession session;
+  private final LocalFileSystem localFileSystem;
+
+  private final List<IFileContentChangedListener> fileContentChangedListeners =
+      new CopyOnWriteArrayList<>();
+
+  private final VirtualFileListener virtualFileListener =
+      new VirtualFileListener() {
+        @Override
+        public void contentsChanged(@NotNull VirtualFileEvent event) {
+          fireContentChanged(event.getFile());
+        }
+
+        @Override
+        public void fileCreated(@NotNull VirtualFileEvent event) {
+          fireContentChanged(event.getFile());
+        }
+
+        @Override
+        public void fileCopied(@NotNull VirtualFileCopyEvent event) {
+          fireContentChanged(event.getFile());
+        }
+
+        @Override
+        public void beforeFileDeletion(@NotNull VirtualFileEvent event) {
+          fireContentChanged(event.getFile());
+        }
+
+        @Override
+        public void beforeFileMovement(@NotNull VirtualFileMoveEvent event) {
+          fireContentChanged(event.getFile());
+        }
+
+        @Override
+        public void fileMoved(@NotNull VirtualFileMoveEvent event) {
+          fireContentChanged(event.getFile());
+        }
+
+        @Override
+        public void beforePropertyChange(@NotNull VirtualFilePropertyEvent event) {
+          if (VirtualFile.PROP_NAME.equals(event.getPropertyName()))
+            fireContentChanged(event.getFile());
+        }
+
+        @Override
+        public void propertyChanged(@NotNull VirtualFilePropertyEvent event) {
+          if (VirtualFile.PROP_NAME.equals(event.getPropertyName()))
+            fireContentChanged(event.getFile());
+        }
+      };
+
+  public IntellijFileContentChangedNotifier(ISarosSession session) {
+    this.session = session;
+    this.localFileSystem = LocalFileSystem.getInstance();
+  }
+
+  @Override
+  public void start() {
+    localFileSystem.addVirtualFileListener(virtualFileListener);
+  }
+
+  @Override
+  public void stop() {
+    localFileSystem.removeVirtualFileListener(virtualFileListener);
+  }
+
+  @Override
+  public void addFileContentChangedListener(IFileContentChangedListener listener) {
+    fileContentChangedListeners.add(listener);
+  }
+
+  @Override
+  public void removeFileContentChangedListener(IFileContentChangedListener listener) {
+    fileContentChangedListeners.remove(listener);
+  }
+
+  /**
+   * Notifies the listeners about all shared files represented by the given virtual file. If the
+   * virtual file is a directory, all contained files are reported.
+   *
+   * @param virtualFile the virtual file affected by an event
+   */
+  private void fireContentChanged(@NotNull VirtualFile virtualFile) {
+    if (fileContentChangedListeners.isEmpty()) return;
+
+    Set<IReferencePoint> sharedReferencePoints = session.getReferencePoints();
+
+    if (sharedReferencePoints.isEmpty()) return;
+
+    if (!virtualFile.isDirectory()) {
+      fireContentChanged(sharedReferencePoints, virtualFile);
+      return;
+    }
+
+    VfsUtilCore.iterateChildrenRecursively(
+        virtualFile,
+        VirtualFileFilter.ALL,
+        fileOrDir -> {
+          if (!fileOrDir.isDirectory()) fireContentChanged(sharedReferencePoints, fileOrDir);
+
+          return true;
+        });
+  }
+
+  private void fireContentChanged(
+      @NotNull Set<IReferencePoint> sharedReferencePoints, @NotNull VirtualFile virtualFile) {
+
+    IResource resource = VirtualFileConverter.convertToResource(sharedReferencePoints, virtualFile);
+
+    if (resource == null || resource.getType() != IResource.Type.FILE) {
+      if (log.isTraceEnabled()) log.trace("ignoring change of non-shared file " + virtualFile);
+
+      return;
+    }
+
+    IFile file = (IFile) resource;
+
+    for (IFileContentChangedListener listener : fileContentChangedListeners) {
+      try {
+        listener.fileContentChanged(file);
+      } catch (RuntimeException e) {
+        log.error("internal error in listener: " + listener, e);
+      }
+    }
+  }
+}
@@ -13,10 +13,10 @@ import saros.activities.FolderCreatedActivity;
 import saros.activities.FolderDeletedActivity;
 import saros.activities.IActivity;
 import saros.activities.IFileSystemModificationActivity;
+import saros.concurrent.management.DocumentClientExecutor;
 import saros.filesystem.IFile;
 import saros.filesystem.IFolder;
 import saros.intellij.context.SharedIDEContext;
-import saros.intellij.editor.EditorManager;
 import saros.intellij.editor.LocalEditorHandler;
 import saros.intellij.editor.LocalEditorManipulator;
 import saros.intellij.editor.SelectedEditorStateSnapshot;
@@ -36,12 +36,12 @@ public class SharedResourcesManager implements Startable {
   private static final Logger log = Logger.getLogger(SharedResourcesManager.class);
 
   private final ISarosSession sarosSession;
-  private final EditorManager editorManager;
   private final SharedIDEContext sharedIDEContext;
   private final LocalEditorHandler localEditorHandler;
   private final LocalEditorManipulator localEditorManipulator;
   private final AnnotationManager annotationManager;
   private final SelectedEditorStateSnapshotFactory selectedEditorStateSnapshotFactory;
+  private final DocumentClientExecutor documentClientExecutor;
 
   @Override
   public void start() {
@@ -58,20 +58,20 @@ public class SharedResourcesManager implements Startable {
 
   public SharedResourcesManager(
       ISarosSession sarosSession,
-      EditorManager editorManager,
       LocalEditorHandler localEditorHandler,
       LocalEditorManipulator localEditorManipulator,
       AnnotationManager annotationManager,
       SharedIDEContext sharedIDEContext,
-      SelectedEditorStateSnapshotFactory selectedEditorStateSnapshotFactory) {
+      SelectedEditorStateSnapshotFactory selectedEditorStateSnapshotFactory,
+      DocumentClientExecutor documentClientExecutor) {
 
     this.sarosSession = sarosSession;
-    this.editorManager = editorManager;
     this.localEditorHandler = localEditorHandler;
     this.localEditorManipulator = localEditorManipulator;
     this.annotationManager = annotationManager;
     this.sharedIDEContext = sharedIDEContext;
     this.selectedEditorStateSnapshotFactory = selectedEditorStateSnapshotFactory;
+    this.documentClientExecutor = documentClientExecutor;
   }
 
   private final IActivityConsumer consumer =
@@ -175,7 +175,11 @@ public class SharedResourcesManager implements Startable {
        * always reset Jupiter or we will get into trouble because the
        * vector time has already been reset on the host
        */
-      sarosSession.getConcurrentDocumentClient().reset(file);
+      documentClientExecutor.call(
+          () -> {
+            sarosSession.getConcurrentDocumentClient().reset(file);
+            return null;
+          });
     }
   }
 
@@ -218,8 +222,6 @@ public class SharedResourcesManager implements Startable {
 
     localEditorManipulator.closeEditor(oldFile);
 
-    cleanUpBackgroundEditorPool(oldFile);
-
     annotationManager.updateAnnotationFile(oldFile, newFile);
 
     try {
@@ -277,8 +279,6 @@ public class SharedResourcesManager implements Startable {
       localEditorManipulator.closeEditor(file);
     }
 
-    cleanUpBackgroundEditorPool(file);
-
     try {
       setFilesystemModificationHandlerEnabled(false);
 
@@ -379,13 +379,4 @@ public class SharedResourcesManager implements Startable {
     sharedIDEContext.setApplicationEventHandlersEnabled(
         ApplicationEventHandlerType.LOCAL_FILESYSTEM_MODIFICATION_HANDLER, enabled);
   }
-
-  /**
-   * Releases and drops the held background editor for the deleted file if present.
-   *
-   * @param deletedFile the deleted file
-   */
-  private void cleanUpBackgroundEditorPool(@NotNull IFile deletedFile) {
-    editorManager.removeBackgroundEditorForFile(deletedFile);
-  }
 }
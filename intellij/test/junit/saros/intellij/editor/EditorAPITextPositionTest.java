@@ -4,8 +4,8 @@ import static org.junit.Assert.assertEquals;
 
 import com.intellij.openapi.editor.Caret;
 import com.intellij.openapi.editor.CaretModel;
+import com.intellij.openapi.editor.Document;
 import com.intellij.openapi.editor.Editor;
-import com.intellij.openapi.editor.LogicalPosition;
 import com.intellij.openapi.util.Pair;
 import org.easymock.EasyMock;
 import org.junit.Test;
@@ -16,8 +16,9 @@ import saros.editor.text.TextSelection;
 public class EditorAPITextPositionTest {
 
   /**
-   * Build an Editor mock that can be used to call {@link EditorAPI#calculateOffsets(Editor,
-   * TextSelection)} and {@link EditorAPI#calculateSelectionPosition(Editor, int, int)}.
+   * Build an Editor mock that can be used to call {@link EditorAPI#calculateOffsets(Document,
+   * TextSelection)} with its document and {@link EditorAPI#calculateSelectionPosition(Editor, int,
+   * int)}.
    *
    * <p>The needed line offset lookup answers must be set using {@link
    * #withLineOffsetLookupAnswer(int, int)} before calling {@link #build()}.
@@ -27,10 +28,18 @@ public class EditorAPITextPositionTest {
    */
   private static class EditorBuild {
     private Editor editor;
+    private Document document;
     private Caret caret;
 
     private EditorBuild() {
       editor = EasyMock.createNiceMock(Editor.class);
+      document = EasyMock.createNiceMock(Document.class);
+
+      EasyMock.expect(editor.getDocument()).andStubReturn(document);
+
+      // all looked up lines and offsets are located inside the document
+      EasyMock.expect(document.getLineCount()).andStubReturn(Integer.MAX_VALUE);
+      EasyMock.expect(document.getTextLength()).andStubReturn(Integer.MAX_VALUE);
     }
 
     /**
@@ -43,8 +52,7 @@ public class EditorAPITextPositionTest {
      * @return this builder
      */
     private EditorBuild withLineOffsetLookupAnswer(int lineNumberInput, int lineOffsetAnswer) {
-      EasyMock.expect(editor.logicalPositionToOffset(new LogicalPosition(lineNumberInput, 0)))
-          .andReturn(lineOffsetAnswer);
+      EasyMock.expect(document.getLineStartOffset(lineNumberInput)).andReturn(lineOffsetAnswer);
 
       return this;
     }
@@ -59,8 +67,7 @@ public class EditorAPITextPositionTest {
      * @return this builder
      */
     private EditorBuild withLineNumberLookupAnswer(int offsetInput, int lineNumberAnswer) {
-      EasyMock.expect(editor.offsetToLogicalPosition(offsetInput))
-          .andReturn(new LogicalPosition(lineNumberAnswer, 0));
+      EasyMock.expect(document.getLineNumber(offsetInput)).andReturn(lineNumberAnswer);
 
       return this;
     }
@@ -101,7 +108,7 @@ public class EditorAPITextPositionTest {
      * @see #withLineNumberLookupAnswer(int, int)
      */
     private Editor build() {
-      EasyMock.replay(editor);
+      EasyMock.replay(editor, document);
 
       if (caret != null) {
         EasyMock.replay(caret);
@@ -179,7 +186,8 @@ public class EditorAPITextPositionTest {
 
     Pair<Integer, Integer> expectedOffsets = offsets(0, 11);
 
-    Pair<Integer, Integer> calculatedOffsets = EditorAPI.calculateOffsets(editor, textSelection);
+    Pair<Integer, Integer> calculatedOffsets =
+        EditorAPI.calculateOffsets(editor.getDocument(), textSelection);
 
     assertEquals(expectedOffsets, calculatedOffsets);
   }
@@ -198,7 +206,8 @@ public class EditorAPITextPositionTest {
 
     Pair<Integer, Integer> expectedOffsets = offsets(257, 318);
 
-    Pair<Integer, Integer> calculatedOffsets = EditorAPI.calculateOffsets(editor, textSelection);
+    Pair<Integer, Integer> calculatedOffsets =
+        EditorAPI.calculateOffsets(editor.getDocument(), textSelection);
 
     assertEquals(expectedOffsets, calculatedOffsets);
   }
@@ -213,7 +222,8 @@ public class EditorAPITextPositionTest {
 
     Pair<Integer, Integer> expectedOffsets = offsets(18, 20);
 
-    Pair<Integer, Integer> calculatedOffsets = EditorAPI.calculateOffsets(editor, textSelection);
+    Pair<Integer, Integer> calculatedOffsets =
+        EditorAPI.calculateOffsets(editor.getDocument(), textSelection);
 
     assertEquals(expectedOffsets, calculatedOffsets);
   }
@@ -228,7 +238,8 @@ public class EditorAPITextPositionTest {
 
     Pair<Integer, Integer> expectedOffsets = offsets(28, 28);
 
-    Pair<Integer, Integer> calculatedOffsets = EditorAPI.calculateOffsets(editor, textSelection);
+    Pair<Integer, Integer> calculatedOffsets =
+        EditorAPI.calculateOffsets(editor.getDocument(), textSelection);
 
     assertEquals(expectedOffsets, calculatedOffsets);
   }
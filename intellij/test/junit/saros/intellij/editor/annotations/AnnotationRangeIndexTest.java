@@ -0,0 +1,186 @@
+package saros.intellij.editor.annotations;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.intellij.openapi.editor.Editor;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.easymock.EasyMock;
+import org.jetbrains.annotations.NotNull;
+import org.junit.Before;
+import org.junit.Test;
+import saros.filesystem.IFile;
+import saros.session.User;
+
+/** Tests the moving of annotation ranges done by the {@link AnnotationRangeIndex}. */
+public class AnnotationRangeIndexTest {
+
+  /** Annotation without any local representation logic. */
+  private static class TestAnnotation extends AbstractEditorAnnotation {
+
+    private TestAnnotation(
+        @NotNull User user, @NotNull IFile file, @NotNull List<AnnotationRange> annotationRanges) {
+
+      super(user, file, null, annotationRanges);
+    }
+
+    @Override
+    void addLocalRepresentation(@NotNull Editor editor) {
+      throw new UnsupportedOperationException();
+    }
+  }
+
+  private IFile file;
+  private User user;
+
+  @Before
+  public void setUp() {
+    file = EasyMock.createNiceMock(IFile.class);
+    user = EasyMock.createNiceMock(User.class);
+
+    EasyMock.replay(file, user);
+  }
+
+  private TestAnnotation createAnnotation(int... offsets) {
+    List<AnnotationRange> annotationRanges = new ArrayList<>();
+
+    for (int i = 0; i < offsets.length; i += 2) {
+      annotationRanges.add(new AnnotationRange(offsets[i], offsets[i + 1]));
+    }
+
+    return new TestAnnotation(user, file, annotationRanges);
+  }
+
+  private static void assertRanges(AbstractEditorAnnotation annotation, int... offsets) {
+    List<AnnotationRange> annotationRanges = annotation.getAnnotationRanges();
+
+    assertEquals(offsets.length / 2, annotationRanges.size());
+
+    for (int i = 0; i < offsets.length; i += 2) {
+      AnnotationRange annotationRange = annotationRanges.get(i / 2);
+
+      assertEquals(offsets[i], annotationRange.getStart());
+      assertEquals(offsets[i + 1], annotationRange.getEnd());
+    }
+  }
+
+  /**
+   * Tests that an addition moves the ranges behind it and elongates the ranges containing its start
+   * position.
+   */
+  @Test
+  public void testMoveAfterAddition() {
+    TestAnnotation annotation = createAnnotation(0, 5, 10, 20, 30, 40);
+
+    AnnotationRangeIndex<TestAnnotation> index =
+        new AnnotationRangeIndex<>(Collections.singletonList(annotation));
+
+    index.moveAfterAddition(15, 18);
+    index.moveAfterAddition(5, 7);
+
+    index.flush();
+
+    assertRanges(annotation, 0, 5, 12, 25, 35, 45);
+  }
+
+  /**
+   * Tests that a deletion moves the ranges behind it, shortens the ranges overlapping with it and
+   * removes the ranges contained in it.
+   */
+  @Test
+  public void testMoveAfterDeletion() {
+    TestAnnotation annotation = createAnnotation(0, 10, 12, 14, 15, 25, 30, 40);
+
+    AnnotationRangeIndex<TestAnnotation> index =
+        new AnnotationRangeIndex<>(Collections.singletonList(annotation));
+
+    List<TestAnnotation> invalidAnnotations = index.moveAfterDeletion(5, 20);
+
+    index.flush();
+
+    assertTrue(invalidAnnotations.isEmpty());
+    assertRanges(annotation, 0, 5, 5, 10, 15, 25);
+    assertEquals(3, index.size());
+  }
+
+  /** Tests that annotations whose ranges were all removed by a deletion are returned. */
+  @Test
+  public void testMoveAfterDeletionInvalidAnnotation() {
+    TestAnnotation contained = createAnnotation(10, 12, 14, 15);
+    TestAnnotation overlapping = createAnnotation(5, 12);
+
+    AnnotationRangeIndex<TestAnnotation> index =
+        new AnnotationRangeIndex<>(Arrays.asList(contained, overlapping));
+
+    List<TestAnnotation> invalidAnnotations = index.moveAfterDeletion(10, 20);
+
+    index.flush();
+
+    assertEquals(Collections.singletonList(contained), invalidAnnotations);
+    assertRanges(contained);
+    assertRanges(overlapping, 5, 10);
+  }
+
+  /** Tests that zero-width ranges are only moved by changes strictly in front of them. */
+  @Test
+  public void testZeroWidthRange() {
+    TestAnnotation annotation = createAnnotation(10, 10);
+
+    AnnotationRangeIndex<TestAnnotation> index =
+        new AnnotationRangeIndex<>(Collections.singletonList(annotation));
+
+    index.moveAfterAddition(10, 15);
+    index.moveAfterAddition(5, 7);
+    index.moveAfterDeletion(0, 2);
+
+    index.flush();
+
+    assertRanges(annotation, 10, 10);
+
+    List<TestAnnotation> invalidAnnotations = index.moveAfterDeletion(5, 15);
+
+    assertEquals(Collections.singletonList(annotation), invalidAnnotations);
+  }
+
+  /** Tests that added annotations are moved after they were added to the index. */
+  @Test
+  public void testAddAndRemove() {
+    TestAnnotation removed = createAnnotation(10, 20);
+    TestAnnotation added = createAnnotation(30, 40);
+
+    AnnotationRangeIndex<TestAnnotation> index =
+        new AnnotationRangeIndex<>(Collections.singletonList(removed));
+
+    index.moveAfterAddition(0, 5);
+    index.remove(removed);
+    index.add(added);
+    index.moveAfterAddition(0, 5);
+
+    index.flush();
+
+    assertRanges(added, 35, 45);
+    assertEquals(1, index.size());
+  }
+
+  /** Tests that flushing keeps the annotation range objects of ranges that were not moved. */
+  @Test
+  public void testFlushKeepsUnchangedRanges() {
+    TestAnnotation annotation = createAnnotation(0, 5, 10, 20);
+
+    AnnotationRange unchanged = annotation.getAnnotationRanges().get(0);
+
+    AnnotationRangeIndex<TestAnnotation> index =
+        new AnnotationRangeIndex<>(Collections.singletonList(annotation));
+
+    index.moveAfterAddition(8, 10);
+
+    index.flush();
+
+    assertSame(unchanged, annotation.getAnnotationRanges().get(0));
+    assertRanges(annotation, 0, 5, 12, 22);
+  }
+}
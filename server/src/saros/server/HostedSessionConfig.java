@@ -0,0 +1,226 @@
+package saros.server;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import org.apache.log4j.Logger;
+
+/**
+ * The configuration of a single session hosted by the Saros server, i.e. the XMPP account the
+ * session is hosted with, the workspace that contains the shared files and the limits of the
+ * session.
+ *
+ * <p>By default the server hosts one session that is configured with the system properties
+ * described in {@link ServerConfig}. If the system property <code>saros.server.sessions</code>
+ * points to a sessions file, the server hosts one session for each entry of that file instead. The
+ * file uses the properties format, the keys are prefixed with the name of the session:
+ *
+ * <pre>
+ * alpha.jid=alpha@example.org/Saros
+ * alpha.password=secret
+ * alpha.workspace=/srv/saros/alpha
+ * alpha.maxParticipants=8
+ * alpha.reinviteFile=/var/lib/saros/alpha.reinvite
+ * </pre>
+ *
+ * The keys <code>workspace</code>, <code>maxParticipants</code> and <code>reinviteFile</code> are
+ * optional.
+ */
+public final class HostedSessionConfig {
+
+  private static final Logger log = Logger.getLogger(HostedSessionConfig.class);
+
+  /** The name of the session that is configured with system properties. */
+  public static final String DEFAULT_NAME = "default";
+
+  private static final String JID = "jid";
+  private static final String PASSWORD = "password";
+  private static final String WORKSPACE = "workspace";
+  private static final String MAX_PARTICIPANTS = "maxParticipants";
+  private static final String REINVITE_FILE = "reinviteFile";
+
+  private final String name;
+  private final String jid;
+  private final String password;
+  private final String workspacePath;
+  private final int maxParticipants;
+  private final String reinviteFilePath;
+  private final boolean scoped;
+
+  private HostedSessionConfig(
+      final String name,
+      final String jid,
+      final String password,
+      final String workspacePath,
+      final int maxParticipants,
+      final String reinviteFilePath,
+      final boolean scoped) {
+    this.name = name;
+    this.jid = jid;
+    this.password = password;
+    this.workspacePath = workspacePath;
+    this.maxParticipants = maxParticipants;
+    this.reinviteFilePath = reinviteFilePath;
+    this.scoped = scoped;
+  }
+
+  /**
+   * Returns the configuration of the single session that is configured with the system properties
+   * described in {@link ServerConfig}.
+   *
+   * @return the configuration of the default session
+   */
+  public static HostedSessionConfig fromSystemProperties() {
+    return new HostedSessionConfig(
+        DEFAULT_NAME,
+        ServerConfig.getJID(),
+        ServerConfig.getPassword(),
+        ServerConfig.getWorkspacePath(),
+        ServerConfig.getMaxParticipants(),
+        ServerConfig.getReinviteFilePath(),
+        false);
+  }
+
+  /**
+   * Reads the configurations of the sessions from the given sessions file.
+   *
+   * @param file the sessions file
+   * @return the configurations sorted by the names of the sessions
+   * @throws IOException if the file cannot be read
+   * @throws IllegalArgumentException if the file is empty or an entry is incomplete or invalid
+   */
+  public static List<HostedSessionConfig> load(final Path file) throws IOException {
+    final Properties properties = new Properties();
+
+    try (InputStream in = Files.newInputStream(file)) {
+      properties.load(in);
+    }
+
+    final SortedSet<String> names = new TreeSet<String>();
+
+    for (final String key : properties.stringPropertyNames()) {
+      final int dot = key.lastIndexOf('.');
+
+      if (dot <= 0) throw new IllegalArgumentException("invalid key in " + file + ": " + key);
+
+      names.add(key.substring(0, dot));
+    }
+
+    if (names.isEmpty()) throw new IllegalArgumentException("no sessions configured in " + file);
+
+    final List<HostedSessionConfig> configs = new ArrayList<HostedSessionConfig>(names.size());
+
+    for (final String name : names) configs.add(parse(name, properties));
+
+    return Collections.unmodifiableList(configs);
+  }
+
+  private static HostedSessionConfig parse(final String name, final Properties properties) {
+    final String jid = properties.getProperty(name + "." + JID);
+    final String password = properties.getProperty(name + "." + PASSWORD);
+    final String workspacePath = properties.getProperty(name + "." + WORKSPACE);
+    final String maxParticipants = properties.getProperty(name + "." + MAX_PARTICIPANTS, "0");
+    final String reinviteFilePath = properties.getProperty(name + "." + REINVITE_FILE);
+
+    if (jid == null || password == null)
+      throw new IllegalArgumentException("session " + name + " lacks a jid or a password");
+
+    for (final String key : properties.stringPropertyNames()) {
+      if (!key.startsWith(name + ".")) continue;
+
+      final String option = key.substring(name.length() + 1);
+
+      if (!option.equals(JID)
+          && !option.equals(PASSWORD)
+          && !option.equals(WORKSPACE)
+          && !option.equals(MAX_PARTICIPANTS)
+          && !option.equals(REINVITE_FILE)) log.warn("ignoring unknown option " + key);
+    }
+
+    final int limit;
+
+    try {
+      limit = Integer.parseInt(maxParticipants.trim());
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException(
+          "session " + name + " has an invalid participant limit: " + maxParticipants);
+    }
+
+    return new HostedSessionConfig(
+        name, jid, password, workspacePath, limit, reinviteFilePath, true);
+  }
+
+  /** Returns the name of the session. */
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Returns the JID of the XMPP account the session is hosted with.
+   *
+   * @return the JID or <code>null</code> if not specified
+   */
+  public String getJID() {
+    return jid;
+  }
+
+  /**
+   * Returns the password of the XMPP account the session is hosted with.
+   *
+   * @return the password or <code>null</code> if not specified
+   */
+  public String getPassword() {
+    return password;
+  }
+
+  /**
+   * Returns the path of the workspace directory of the session.
+   *
+   * @return the path or <code>null</code> if a temporary directory should be used
+   */
+  public String getWorkspacePath() {
+    return workspacePath;
+  }
+
+  /**
+   * Returns the maximum number of users, including the server itself, that may participate in the
+   * session at the same time.
+   *
+   * @return the limit or a value less than 1 if the number of participants is not limited
+   */
+  public int getMaxParticipants() {
+    return maxParticipants;
+  }
+
+  /**
+   * Returns the path of the file the participants to re-invite after a restart are written to, see
+   * {@link saros.server.session.ReinviteState}.
+   *
+   * @return the path or <code>null</code> if participants should not be re-invited
+   */
+  public String getReinviteFilePath() {
+    return reinviteFilePath;
+  }
+
+  /**
+   * Returns the scope of the metrics of the session.
+   *
+   * @return the scope or <code>null</code> for the default session, whose metrics are exported
+   *     without a scope
+   */
+  public String getMetricsScope() {
+    return scoped ? name : null;
+  }
+
+  @Override
+  public String toString() {
+    return "HostedSessionConfig [name=" + name + ", jid=" + jid + "]";
+  }
+}
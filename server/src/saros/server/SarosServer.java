@@ -1,14 +1,21 @@
 package saros.server;
 
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.List;
 import org.apache.log4j.Logger;
 import saros.server.console.ServerConsole;
 
-/** The entry point for the Saros server. */
+/**
+ * The entry point for the Saros server. The server hosts either a single session configured with
+ * system properties or all sessions of the sessions file, see {@link HostedSessionConfig}.
+ */
 public class SarosServer {
 
   private static final Logger log = Logger.getLogger(SarosServer.class);
 
-  private ServerLifecycle lifecycle;
+  private final SessionHost host;
 
   /** The Saros version which is impersonated by the current server version. */
   // FIXME create a version handling that allows a separate server versioning
@@ -17,7 +24,16 @@ public class SarosServer {
 
   /** Initializes and starts a Saros server. */
   public SarosServer() {
-    lifecycle = new ServerLifecycle();
+    this(loadSessionConfigs());
+  }
+
+  /**
+   * Initializes a Saros server that hosts the given sessions.
+   *
+   * @param configs the configurations of the sessions to host
+   */
+  public SarosServer(final List<HostedSessionConfig> configs) {
+    host = new SessionHost(configs, ServerConfig.isInteractive());
   }
 
   public void start() {
@@ -26,12 +42,27 @@ public class SarosServer {
 
     log.info("Starting server...");
 
-    lifecycle.start();
+    host.start();
   }
 
   public void stop() {
     log.info("Stopping server...");
-    lifecycle.stop();
+    host.stop();
+  }
+
+  private static List<HostedSessionConfig> loadSessionConfigs() {
+    final String sessionsPath = ServerConfig.getSessionsPath();
+
+    if (sessionsPath == null)
+      return Collections.singletonList(HostedSessionConfig.fromSystemProperties());
+
+    try {
+      return HostedSessionConfig.load(Paths.get(sessionsPath));
+    } catch (IOException | IllegalArgumentException e) {
+      log.fatal("Could not read the sessions file " + sessionsPath, e);
+      System.exit(1);
+      return null;
+    }
   }
 
   /**
@@ -54,8 +85,15 @@ public class SarosServer {
 
     server.start();
 
-    if (ServerConfig.isInteractive()) {
-      server.lifecycle.getSarosContext().getComponent(ServerConsole.class).run();
+    if (server.host.getRunningSessionCount() == 0) {
+      log.fatal("None of the configured sessions could be started");
+      System.exit(1);
+    }
+
+    final ServerLifecycle consoleSession = server.host.getSessions().get(0);
+
+    if (ServerConfig.isInteractive() && server.host.isRunning(consoleSession)) {
+      consoleSession.getSarosContext().getComponent(ServerConsole.class).run();
       System.exit(0);
     }
   }
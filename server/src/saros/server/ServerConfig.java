@@ -10,6 +10,12 @@ public class ServerConfig {
   private static final String PASSWORD_KEY = "saros.server.password";
   private static final String WORKSPACE_PATH_KEY = "saros.server.workspace";
   private static final String INTERACTIVE_KEY = "saros.server.interactive";
+  private static final String SESSIONS_KEY = "saros.server.sessions";
+  private static final String MAX_PARTICIPANTS_KEY = "saros.server.maxParticipants";
+  private static final String REINVITE_FILE_KEY = "saros.server.reinviteFile";
+  private static final String REINVITE_INTERVAL_KEY = "saros.server.reinviteInterval";
+
+  private static final int DEFAULT_REINVITE_INTERVAL = 30;
 
   /**
    * Returns the JID that the Saros server should use to connect to the XMPP network.
@@ -41,6 +47,49 @@ public class ServerConfig {
     return System.getProperty(WORKSPACE_PATH_KEY);
   }
 
+  /**
+   * Returns the path of the sessions file that configures the sessions the server should host, see
+   * {@link HostedSessionConfig}.
+   *
+   * @return the path of the sessions file, or <code>null</code> if the server should host a single
+   *     session that is configured with system properties
+   */
+  public static String getSessionsPath() {
+    return System.getProperty(SESSIONS_KEY);
+  }
+
+  /**
+   * Returns the maximum number of users, including the server itself, that may participate in the
+   * session configured with system properties.
+   *
+   * @return the limit or 0 if the number of participants is not limited
+   */
+  public static int getMaxParticipants() {
+    return Integer.getInteger(MAX_PARTICIPANTS_KEY, 0);
+  }
+
+  /**
+   * Returns the path of the file the shared reference points and the participants of the session
+   * configured with system properties are written to. If the file exists on startup, the reference
+   * points are shared again and the participants are re-invited.
+   *
+   * @return the path of the re-invite file, or <code>null</code> if participants should not be
+   *     re-invited after a restart
+   */
+  public static String getReinviteFilePath() {
+    return System.getProperty(REINVITE_FILE_KEY);
+  }
+
+  /**
+   * Returns the interval in seconds in which the re-invite files of the hosted sessions are
+   * updated.
+   *
+   * @return the update interval in seconds
+   */
+  public static int getReinviteInterval() {
+    return Math.max(1, Integer.getInteger(REINVITE_INTERVAL_KEY, DEFAULT_REINVITE_INTERVAL));
+  }
+
   /**
    * Returns if the user has requested an interactive console.
    *
@@ -4,8 +4,12 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collection;
 import org.apache.commons.io.FileUtils;
 import org.apache.log4j.Logger;
+import saros.communication.chat.muc.MultiUserChatService;
+import saros.communication.chat.single.SingleUserChatService;
 import saros.context.AbstractContextFactory;
 import saros.context.IContextKeyBindings;
 import saros.filesystem.IWorkspace;
@@ -14,11 +18,17 @@ import saros.preferences.IPreferenceStore;
 import saros.preferences.Preferences;
 import saros.repackaged.picocontainer.BindKey;
 import saros.repackaged.picocontainer.MutablePicoContainer;
+import saros.server.console.ForgetCommand;
 import saros.server.console.InviteCommand;
+import saros.server.console.LatencyCommand;
 import saros.server.console.ServerConsole;
+import saros.server.console.SessionStatistics;
 import saros.server.console.ShareCommand;
+import saros.server.console.StatsCommand;
+import saros.server.console.TopCommand;
 import saros.server.dummies.NullRemoteProgressIndicatorFactory;
 import saros.server.filesystem.ServerWorkspaceImpl;
+import saros.server.filesystem.ignore.IgnoreMatcherMetrics;
 import saros.server.net.ServerFeatureAdvertiser;
 import saros.server.net.SubscriptionAuthorizer;
 import saros.server.preferences.PersistencePreferenceStore;
@@ -39,13 +49,39 @@ public class ServerContextFactory extends AbstractContextFactory {
 
   private static final Logger log = Logger.getLogger(ServerContextFactory.class);
 
+  private final HostedSessionConfig config;
+
+  private final boolean withConsole;
+
+  /**
+   * @param config the configuration of the hosted session the context is created for
+   * @param withConsole whether to add the interactive console to the context
+   */
+  public ServerContextFactory(final HostedSessionConfig config, final boolean withConsole) {
+    this.config = config;
+    this.withConsole = withConsole;
+  }
+
   @Override
   public void createComponents(MutablePicoContainer c) {
+    c.addComponent(HostedSessionConfig.class, config);
+
+    if (config.getMetricsScope() != null)
+      c.addComponent(
+          BindKey.bindKey(String.class, IContextKeyBindings.MetricsScope.class),
+          config.getMetricsScope());
+
     addVersionString(c);
     addCoreInterfaceImplementations(c);
     addAdditionalComponents(c);
   }
 
+  /** The server has no chat, so the chat services are only created if something requests them. */
+  @Override
+  public Collection<Object> getLazyComponentKeys() {
+    return Arrays.<Object>asList(MultiUserChatService.class, SingleUserChatService.class);
+  }
+
   private void addVersionString(MutablePicoContainer c) {
     c.addComponent(
         BindKey.bindKey(String.class, IContextKeyBindings.SarosVersion.class),
@@ -74,15 +110,21 @@ public class ServerContextFactory extends AbstractContextFactory {
     c.addComponent(NegotiationHandler.class);
     c.addComponent(JoinSessionRequestHandler.class);
     c.addComponent(ServerFeatureAdvertiser.class);
-    if (ServerConfig.isInteractive()) {
+    c.addComponent(IgnoreMatcherMetrics.class);
+    if (withConsole) {
       c.addComponent(new ServerConsole(System.in, System.out));
+      c.addComponent(ForgetCommand.class);
       c.addComponent(InviteCommand.class);
+      c.addComponent(LatencyCommand.class);
       c.addComponent(ShareCommand.class);
+      c.addComponent(SessionStatistics.class);
+      c.addComponent(StatsCommand.class);
+      c.addComponent(TopCommand.class);
     }
   }
 
   private IWorkspace createWorkspace() {
-    String pathString = ServerConfig.getWorkspacePath();
+    String pathString = config.getWorkspacePath();
 
     if (pathString == null) {
       pathString = createTemporaryWorkspaceFolder();
@@ -1,9 +1,12 @@
 package saros.server;
 
+import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map.Entry;
 import org.apache.log4j.Logger;
 import saros.account.XMPPAccount;
 import saros.account.XMPPAccountStore;
@@ -11,25 +14,151 @@ import saros.communication.connection.ConnectionHandler;
 import saros.context.AbstractContextLifecycle;
 import saros.context.ContainerContext;
 import saros.context.IContextFactory;
+import saros.context.StartupProfiler;
+import saros.filesystem.IReferencePoint;
 import saros.net.xmpp.JID;
+import saros.repackaged.picocontainer.ComponentMonitor;
+import saros.server.filesystem.ServerWorkspaceImpl;
+import saros.server.session.ReinviteState;
+import saros.server.session.ReinviteStateWriter;
+import saros.session.ISarosSession;
 import saros.session.ISarosSessionManager;
 import saros.session.SessionEndReason;
 
+/**
+ * The lifecycle of a single session hosted by the server. Each hosted session runs in its own
+ * context with its own XMPP connection and workspace, see {@link SessionHost}.
+ */
 public class ServerLifecycle extends AbstractContextLifecycle {
 
   private static final Logger log = Logger.getLogger(ServerLifecycle.class);
 
+  /** The number of components listed in the startup report. */
+  private static final int REPORTED_COMPONENTS = 10;
+
+  private final HostedSessionConfig config;
+
+  private final boolean withConsole;
+
+  private StartupProfiler profiler;
+
+  /**
+   * Creates the lifecycle of the given session.
+   *
+   * @param config the configuration of the session
+   * @param withConsole whether the interactive console should operate on this session
+   */
+  public ServerLifecycle(final HostedSessionConfig config, final boolean withConsole) {
+    this.config = config;
+    this.withConsole = withConsole;
+  }
+
+  /** Returns the configuration of the session. */
+  public HostedSessionConfig getConfig() {
+    return config;
+  }
+
   @Override
   protected Collection<IContextFactory> additionalContextFactories() {
     List<IContextFactory> factories = new ArrayList<IContextFactory>();
-    factories.add(new ServerContextFactory());
+    factories.add(new ServerContextFactory(config, withConsole));
     return factories;
   }
 
+  @Override
+  protected ComponentMonitor createComponentMonitor() {
+    profiler = new StartupProfiler();
+    return profiler;
+  }
+
   @Override
   protected void initializeContext(final ContainerContext context) {
+    profiler.mark("create context");
+
     connectToXMPPServer(context);
+    profiler.mark("connect to XMPP server");
+
+    // read the re-invite state before the session starts to write a new one
+    ReinviteState reinviteState = loadReinviteState();
+
     context.getComponent(ISarosSessionManager.class).startSession(new HashSet<>());
+    profiler.mark("start session");
+
+    if (reinviteState != null) {
+      reinviteParticipants(context, reinviteState);
+      profiler.mark("re-invite participants");
+    }
+
+    log.info("session " + config.getName() + ": " + profiler.getReport(REPORTED_COMPONENTS));
+  }
+
+  private ReinviteState loadReinviteState() {
+    if (config.getReinviteFilePath() == null) return null;
+
+    try {
+      return ReinviteState.load(Paths.get(config.getReinviteFilePath()));
+    } catch (IOException | RuntimeException e) {
+      log.error(
+          "session " + config.getName() + ": failed to read re-invite state, starting empty", e);
+      return null;
+    }
+  }
+
+  /**
+   * Shares the reference points of the given re-invite state again under their previous IDs and
+   * invites the previous participants again. The participants join the new session through the
+   * usual negotiations. The workspace still contains the shared files, so the resource negotiations
+   * only transfer files that differ on the side of the participants.
+   */
+  private void reinviteParticipants(
+      final ContainerContext context, final ReinviteState reinviteState) {
+    final ISarosSessionManager sessionManager = context.getComponent(ISarosSessionManager.class);
+    final ISarosSession session = sessionManager.getSession();
+    final ServerWorkspaceImpl workspace = context.getComponent(ServerWorkspaceImpl.class);
+
+    if (session == null) return;
+
+    for (final Entry<String, String> entry : reinviteState.getReferencePoints().entrySet()) {
+      final IReferencePoint referencePoint = workspace.getProject(entry.getValue());
+
+      if (!referencePoint.exists()) {
+        log.warn("session " + config.getName() + ": " + entry.getValue() + " no longer exists");
+        continue;
+      }
+
+      session.addSharedReferencePoint(referencePoint, entry.getKey());
+    }
+
+    final List<JID> participants = reinviteState.getParticipants();
+
+    log.info(
+        "session "
+            + config.getName()
+            + ": shared "
+            + session.getReferencePoints().size()
+            + " reference points again, re-inviting "
+            + participants.size()
+            + " previous participants");
+
+    if (participants.isEmpty()) return;
+
+    final ReinviteStateWriter writer = session.getComponent(ReinviteStateWriter.class);
+
+    // keep the participants in the state until they rejoined, even if the server restarts again
+    if (writer != null) writer.addPendingParticipants(participants);
+
+    sessionManager.invite(participants, "Re-invited after a restart of the server");
+
+    for (final JID jid : participants) sessionManager.startSharingReferencePoints(jid);
+  }
+
+  /**
+   * Returns the startup profile of the session.
+   *
+   * @return the profiler or <code>null</code> if the session was not started yet
+   */
+  public StartupProfiler getStartupProfiler() {
+    return profiler;
   }
 
   @Override
@@ -44,8 +173,8 @@ public class ServerLifecycle extends AbstractContextLifecycle {
    * the XMPP server and never gets disconnected. Of course this is unrealistic !
    */
   private void connectToXMPPServer(final ContainerContext context) {
-    String jidString = ServerConfig.getJID();
-    String password = ServerConfig.getPassword();
+    String jidString = config.getJID();
+    String password = config.getPassword();
 
     if (jidString == null || password == null) {
       log.fatal(
@@ -0,0 +1,133 @@
+package saros.server;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import org.apache.log4j.Logger;
+import saros.util.TaskExecutor;
+
+/**
+ * Hosts the sessions of the server in one process. Each session runs in its own context with its
+ * own XMPP account, workspace and components, so the sessions are independent of each other. The
+ * sessions share the resources that are global to the process, e.g. the {@linkplain
+ * saros.util.TaskExecutor#getDefault() task executor} and the local Socks5 proxy.
+ *
+ * <p>A session that fails to start does not affect the other sessions.
+ */
+public class SessionHost {
+
+  private static final Logger log = Logger.getLogger(SessionHost.class);
+
+  private final List<ServerLifecycle> sessions;
+
+  private final List<ServerLifecycle> running = new ArrayList<ServerLifecycle>();
+
+  /**
+   * Creates a host for the given sessions.
+   *
+   * @param configs the configurations of the sessions, must not contain duplicate names
+   * @param interactive whether the interactive console should operate on the first session
+   */
+  public SessionHost(final List<HostedSessionConfig> configs, final boolean interactive) {
+    if (configs.isEmpty()) throw new IllegalArgumentException("no sessions configured");
+
+    final List<ServerLifecycle> sessions = new ArrayList<ServerLifecycle>(configs.size());
+
+    for (final HostedSessionConfig config : configs)
+      sessions.add(new ServerLifecycle(config, interactive && sessions.isEmpty()));
+
+    this.sessions = Collections.unmodifiableList(sessions);
+  }
+
+  /**
+   * Starts all sessions that are not running yet. The sessions are independent of each other, so
+   * they are started in parallel. Returns when all sessions are either running or failed to start.
+   */
+  public synchronized void start() {
+    final Map<ServerLifecycle, Future<?>> starts = new LinkedHashMap<ServerLifecycle, Future<?>>();
+
+    for (final ServerLifecycle session : sessions) {
+      if (running.contains(session)) continue;
+
+      final String name = session.getConfig().getName();
+
+      log.info("starting session " + name);
+
+      starts.put(
+          session,
+          TaskExecutor.getDefault()
+              .submit(
+                  "start-session-" + name,
+                  () -> {
+                    session.start();
+                    return null;
+                  }));
+    }
+
+    boolean interrupted = false;
+
+    for (final Entry<ServerLifecycle, Future<?>> start : starts.entrySet()) {
+      final ServerLifecycle session = start.getKey();
+
+      while (true) {
+        try {
+          start.getValue().get();
+          running.add(session);
+          break;
+        } catch (ExecutionException e) {
+          log.error("failed to start session " + session.getConfig().getName(), e.getCause());
+          break;
+        } catch (InterruptedException e) {
+          // the started sessions must be known in order to stop them later
+          interrupted = true;
+        }
+      }
+    }
+
+    if (interrupted) Thread.currentThread().interrupt();
+
+    log.info("hosting " + running.size() + " of " + sessions.size() + " sessions");
+  }
+
+  /** Stops all running sessions in the reverse order of their start. */
+  public synchronized void stop() {
+    for (int i = running.size() - 1; i >= 0; i--) {
+      final ServerLifecycle session = running.get(i);
+
+      log.info("stopping session " + session.getConfig().getName());
+
+      try {
+        session.stop();
+      } catch (RuntimeException e) {
+        log.error("failed to stop session " + session.getConfig().getName(), e);
+      }
+    }
+
+    running.clear();
+  }
+
+  /** Returns the lifecycles of all configured sessions in the order of their configuration. */
+  public List<ServerLifecycle> getSessions() {
+    return sessions;
+  }
+
+  /** Returns the number of sessions that are currently running. */
+  public synchronized int getRunningSessionCount() {
+    return running.size();
+  }
+
+  /**
+   * Returns whether the given session is running.
+   *
+   * @param session one of the {@linkplain #getSessions() sessions} of this host
+   * @return <code>true</code> if the session was started successfully and is not stopped yet
+   */
+  public synchronized boolean isRunning(final ServerLifecycle session) {
+    return running.contains(session);
+  }
+}
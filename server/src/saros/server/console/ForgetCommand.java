@@ -0,0 +1,50 @@
+package saros.server.console;
+
+import java.io.PrintStream;
+import java.util.List;
+import saros.net.xmpp.JID;
+import saros.server.session.ReinviteStateWriter;
+import saros.session.ISarosSession;
+import saros.session.ISarosSessionManager;
+
+public class ForgetCommand extends ConsoleCommand {
+  private final ISarosSessionManager sessionManager;
+
+  public ForgetCommand(ISarosSessionManager sessionManager, ServerConsole console) {
+    this.sessionManager = sessionManager;
+    console.registerCommand(this);
+  }
+
+  @Override
+  public String identifier() {
+    return "forget";
+  }
+
+  @Override
+  public int minArgument() {
+    return 1;
+  }
+
+  @Override
+  public String help() {
+    return "forget <JID>... - Stop re-inviting users that did not rejoin after a restart";
+  }
+
+  @Override
+  public void execute(List<String> args, PrintStream out) {
+    ISarosSession session = sessionManager.getSession();
+
+    ReinviteStateWriter writer =
+        session == null ? null : session.getComponent(ReinviteStateWriter.class);
+
+    if (writer == null) {
+      out.println("No session running");
+      return;
+    }
+
+    for (String arg : args) {
+      if (!writer.forgetParticipant(new JID(arg)))
+        out.println(arg + " is not waiting to be re-invited");
+    }
+  }
+}
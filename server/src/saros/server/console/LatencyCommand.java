@@ -0,0 +1,72 @@
+package saros.server.console;
+
+import java.io.PrintStream;
+import java.util.List;
+import saros.session.ISarosSession;
+import saros.session.ISarosSessionManager;
+import saros.session.trace.ActivityTracer;
+import saros.session.trace.LatencyStatistics;
+
+public class LatencyCommand extends ConsoleCommand {
+  private final ISarosSessionManager sessionManager;
+
+  public LatencyCommand(ISarosSessionManager sessionManager, ServerConsole console) {
+    this.sessionManager = sessionManager;
+    console.registerCommand(this);
+  }
+
+  @Override
+  public String identifier() {
+    return "latency";
+  }
+
+  @Override
+  public int minArgument() {
+    return 0;
+  }
+
+  @Override
+  public String help() {
+    return "latency - Show the activity latencies per participant and pipeline stage";
+  }
+
+  @Override
+  public void execute(List<String> args, PrintStream out) {
+    ISarosSession session = sessionManager.getSession();
+
+    if (session == null) {
+      out.println("No session running");
+      return;
+    }
+
+    ActivityTracer tracer = session.getComponent(ActivityTracer.class);
+
+    if (tracer == null || !tracer.isEnabled()) {
+      out.println("Activity tracing is disabled, start with -Dsaros.session.TRACE_ACTIVITIES=true");
+      return;
+    }
+
+    List<LatencyStatistics> statistics = tracer.getStatistics();
+
+    if (statistics.isEmpty()) {
+      out.println("No activities traced yet");
+      return;
+    }
+
+    out.println(
+        String.format(
+            "%-40s %-24s %8s %8s %8s %8s", "PEER", "STAGES", "COUNT", "P50", "P99", "MAX"));
+
+    for (LatencyStatistics entry : statistics) {
+      out.println(
+          String.format(
+              "%-40s %-24s %8d %6dms %6dms %6dms",
+              entry.getPeer(),
+              entry.getTransition(),
+              entry.getCount(),
+              entry.getMedian(),
+              entry.getPercentile99(),
+              entry.getMax()));
+    }
+  }
+}
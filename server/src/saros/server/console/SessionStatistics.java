@@ -0,0 +1,200 @@
+package saros.server.console;
+
+import java.io.PrintStream;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import saros.concurrent.management.ConcurrentDocumentServer;
+import saros.concurrent.management.DocumentStatistics;
+import saros.monitoring.metrics.MetricRegistry;
+import saros.net.IConnectionManager;
+import saros.server.editor.Editor;
+import saros.server.editor.ServerEditorManager;
+import saros.server.progress.ProgressTracker;
+import saros.server.session.NegotiationHandler;
+import saros.server.session.NegotiationProgress;
+import saros.session.ISarosSession;
+import saros.session.ISarosSessionManager;
+import saros.session.User;
+import saros.session.internal.ActivitySequencer;
+
+/**
+ * Prints the live state of the running session for the {@link StatsCommand} and the {@link
+ * TopCommand}. All values are read from counters and buffers the session maintains anyway, so
+ * printing them is cheap enough to be done periodically on a production server.
+ *
+ * <p>The send rates are calculated from the number of activities that were sent since the previous
+ * print.
+ */
+public class SessionStatistics {
+
+  /** The maximum number of documents that are listed. */
+  static final int MAX_DOCUMENTS = 10;
+
+  private final ISarosSessionManager sessionManager;
+  private final IConnectionManager connectionManager;
+  private final MetricRegistry metrics;
+  private final NegotiationHandler negotiationHandler;
+
+  private Map<User, Integer> lastSequenceNumbers = new HashMap<>();
+  private long lastPrint;
+
+  public SessionStatistics(
+      ISarosSessionManager sessionManager,
+      IConnectionManager connectionManager,
+      MetricRegistry metrics,
+      NegotiationHandler negotiationHandler) {
+    this.sessionManager = sessionManager;
+    this.connectionManager = connectionManager;
+    this.metrics = metrics;
+    this.negotiationHandler = negotiationHandler;
+  }
+
+  /**
+   * Prints the current state of the session.
+   *
+   * @param out the stream to print to
+   */
+  public synchronized void print(PrintStream out) {
+    ISarosSession session = sessionManager.getSession();
+
+    if (session == null) {
+      out.println("No session running");
+    } else {
+      out.println("session " + session.getID() + " with " + session.getUsers().size() + " users");
+      out.println();
+      printUsers(session, out);
+      printDocuments(session, out);
+      printEditors(session, out);
+    }
+
+    printChecksumCache(out);
+    printNegotiations(out);
+  }
+
+  private void printUsers(ISarosSession session, PrintStream out) {
+    ActivitySequencer sequencer = session.getComponent(ActivitySequencer.class);
+
+    long now = System.nanoTime();
+    double seconds = lastPrint == 0 ? 0 : (now - lastPrint) / 1e9;
+
+    Map<User, Integer> sequenceNumbers = new HashMap<>();
+
+    out.println(String.format("%-40s %-16s %8s %10s", "USER", "TRANSPORT", "QUEUED", "SENT/S"));
+
+    for (User user : session.getRemoteUsers()) {
+      int queued = sequencer == null ? 0 : sequencer.getPendingActivityCount(user);
+      int sequenceNumber = sequencer == null ? -1 : sequencer.getNextOutgoingSequenceNumber(user);
+
+      sequenceNumbers.put(user, sequenceNumber);
+
+      Integer last = lastSequenceNumbers.get(user);
+
+      String rate =
+          last == null || last < 0 || sequenceNumber < last || seconds <= 0
+              ? "-"
+              : String.format("%.1f", (sequenceNumber - last) / seconds);
+
+      out.println(
+          String.format(
+              "%-40s %-16s %8d %10s",
+              user.getJID(),
+              connectionManager.getTransferMode(ISarosSession.SESSION_CONNECTION_ID, user.getJID()),
+              queued,
+              rate));
+    }
+
+    lastSequenceNumbers = sequenceNumbers;
+    lastPrint = now;
+  }
+
+  private void printDocuments(ISarosSession session, PrintStream out) {
+    ConcurrentDocumentServer documentServer =
+        session.getComponent(ConcurrentDocumentServer.class);
+
+    if (documentServer == null) return;
+
+    List<DocumentStatistics> documents = documentServer.getDocumentStatistics();
+    int count = documents.size();
+
+    documents.sort(
+        Comparator.comparingInt(DocumentStatistics::getHistoryDepth)
+            .thenComparingLong(DocumentStatistics::getTransformationTime)
+            .reversed());
+
+    out.println();
+    out.println(
+        String.format("%-50s %8s %10s %10s", "DOCUMENT (" + count + ")", "HISTORY", "OPS", "AVG"));
+
+    for (DocumentStatistics document : documents.subList(0, Math.min(MAX_DOCUMENTS, count)))
+      out.println(
+          String.format(
+              "%-50s %8s %10d %8dus",
+              document.getFile().getReferencePointRelativePath(),
+              document.isEvicted() ? "evicted" : String.valueOf(document.getHistoryDepth()),
+              document.getTransformationCount(),
+              document.getTransformationCount() == 0
+                  ? 0
+                  : document.getTransformationTime() / document.getTransformationCount()));
+  }
+
+  private void printEditors(ISarosSession session, PrintStream out) {
+    ServerEditorManager editorManager = session.getComponent(ServerEditorManager.class);
+
+    if (editorManager == null) return;
+
+    List<Editor> editors = editorManager.getEditors();
+
+    long residentSize = 0;
+
+    for (Editor editor : editors) residentSize += editor.getResidentSize();
+
+    out.println();
+    out.println(
+        String.format("%d open editors, %d KiB resident", editors.size(), residentSize / 1024));
+  }
+
+  private void printChecksumCache(PrintStream out) {
+    SortedMap<String, Long> values = metrics.getValues();
+
+    long hits = values.getOrDefault("checksum.cache.hits", 0L);
+    long misses = values.getOrDefault("checksum.cache.misses", 0L);
+
+    out.println();
+    out.println(
+        String.format(
+            "checksum cache: %d hits, %d misses, hit rate %s",
+            hits,
+            misses,
+            hits + misses == 0 ? "-" : String.format("%.1f%%", hits * 100.0 / (hits + misses))));
+  }
+
+  private void printNegotiations(PrintStream out) {
+    List<NegotiationProgress> negotiations = negotiationHandler.getRunningNegotiations();
+
+    if (negotiations.isEmpty()) return;
+
+    out.println();
+    out.println(
+        String.format(
+            "%-11s %-40s %8s %8s  %s", "NEGOTIATION", "PEER", "PROGRESS", "TIME", "TASK"));
+
+    for (NegotiationProgress negotiation : negotiations) {
+      ProgressTracker monitor = negotiation.getMonitor();
+
+      String task = monitor.getSubTaskName();
+      if (task == null) task = monitor.getTaskName();
+
+      out.println(
+          String.format(
+              "%-11s %-40s %8s %7ds  %s",
+              negotiation.getType(),
+              negotiation.getPeer(),
+              monitor.getPercentage() < 0 ? "-" : monitor.getPercentage() + "%",
+              negotiation.getDuration() / 1000,
+              task == null ? "" : task));
+    }
+  }
+}
@@ -0,0 +1,33 @@
+package saros.server.console;
+
+import java.io.PrintStream;
+import java.util.List;
+
+public class StatsCommand extends ConsoleCommand {
+  private final SessionStatistics statistics;
+
+  public StatsCommand(SessionStatistics statistics, ServerConsole console) {
+    this.statistics = statistics;
+    console.registerCommand(this);
+  }
+
+  @Override
+  public String identifier() {
+    return "stats";
+  }
+
+  @Override
+  public int minArgument() {
+    return 0;
+  }
+
+  @Override
+  public String help() {
+    return "stats - Show the queues, documents, editors and negotiations of the session";
+  }
+
+  @Override
+  public void execute(List<String> args, PrintStream out) {
+    statistics.print(out);
+  }
+}
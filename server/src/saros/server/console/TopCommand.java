@@ -0,0 +1,74 @@
+package saros.server.console;
+
+import java.io.PrintStream;
+import java.util.Date;
+import java.util.List;
+
+public class TopCommand extends ConsoleCommand {
+  private static final int DEFAULT_INTERVAL = 2;
+  private static final int DEFAULT_COUNT = 10;
+
+  private static final String CLEAR_SCREEN = "\033[H\033[2J";
+
+  private final SessionStatistics statistics;
+
+  public TopCommand(SessionStatistics statistics, ServerConsole console) {
+    this.statistics = statistics;
+    console.registerCommand(this);
+  }
+
+  @Override
+  public String identifier() {
+    return "top";
+  }
+
+  @Override
+  public int minArgument() {
+    return 0;
+  }
+
+  @Override
+  public String help() {
+    return "top [<seconds> [<count>]] - Refresh the output of 'stats' every "
+        + DEFAULT_INTERVAL
+        + " seconds, "
+        + DEFAULT_COUNT
+        + " times by default";
+  }
+
+  @Override
+  public void execute(List<String> args, PrintStream out) {
+    int interval;
+    int count;
+
+    try {
+      interval = args.size() > 0 ? Integer.parseInt(args.get(0)) : DEFAULT_INTERVAL;
+      count = args.size() > 1 ? Integer.parseInt(args.get(1)) : DEFAULT_COUNT;
+    } catch (NumberFormatException e) {
+      out.println("Invalid arguments: " + args);
+      out.println(help());
+      return;
+    }
+
+    if (interval < 1 || count < 1) {
+      out.println("The interval and the count must be positive");
+      return;
+    }
+
+    for (int i = 0; i < count; i++) {
+      if (i > 0) {
+        try {
+          Thread.sleep(interval * 1000L);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          return;
+        }
+      }
+
+      out.print(CLEAR_SCREEN);
+      out.println(new Date() + " (" + (i + 1) + "/" + count + ")");
+      statistics.print(out);
+      out.flush();
+    }
+  }
+}
@@ -38,6 +38,15 @@ public class Editor {
     return file;
   }
 
+  /**
+   * Associates the editor with another file, e.g. after the file was moved.
+   *
+   * @param file the new file
+   */
+  void setFile(IFile file) {
+    this.file = file;
+  }
+
   /**
    * Returns the editor's text content. Depending on whether any text edits have been applied, the
    * content may differ from that of the associated file on disk.
@@ -48,6 +57,25 @@ public class Editor {
     return content.toString();
   }
 
+  /**
+   * Returns the number of characters of the editor's content.
+   *
+   * @return the length of the content
+   */
+  public int getLength() {
+    return content.length();
+  }
+
+  /**
+   * Returns the number of bytes the editor's content occupies in memory, including the unused
+   * space that is reserved for further edits.
+   *
+   * @return the resident size of the content in bytes
+   */
+  public long getResidentSize() {
+    return (long) content.capacity() * Character.BYTES;
+  }
+
   /**
    * Applies an editing operation to the editor's content. For performance reasons, the change is
    * not automatically saved to disk; this allows multiple edits to be collected and then written in
@@ -38,6 +38,11 @@ public class GapBuffer {
     return content.length - gapLength;
   }
 
+  /** Returns the number of characters the buffer can hold without growing, including the gap. */
+  public int capacity() {
+    return content.length;
+  }
+
   public String toString() {
     char[] result = new char[length()];
     // copy before & after the gap
@@ -2,8 +2,11 @@ package saros.server.editor;
 
 import java.io.IOException;
 import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -46,6 +49,17 @@ public class ServerEditorManager implements IEditorManager {
     return openEditors.keySet();
   }
 
+  /**
+   * Returns the editors that are currently open.
+   *
+   * @return a snapshot of the open editors
+   */
+  public List<Editor> getEditors() {
+    synchronized (openEditors) {
+      return new ArrayList<>(openEditors.values());
+    }
+  }
+
   @Override
   public String getContent(IFile file) {
     try {
@@ -142,8 +156,41 @@ public class ServerEditorManager implements IEditorManager {
    * @param newFile the new file
    */
   public void updateMapping(IFile oldFile, IFile newFile) {
-    Editor oldEditor = openEditors.remove(oldFile);
-    openEditors.put(newFile, oldEditor);
+    synchronized (openEditors) {
+      Editor oldEditor = openEditors.remove(oldFile);
+
+      if (oldEditor == null) return;
+
+      oldEditor.setFile(newFile);
+      openEditors.put(newFile, oldEditor);
+    }
+  }
+
+  /**
+   * Updates the mappings of all open editors of files in a moved folder in one pass.
+   *
+   * @param oldFolder the old folder
+   * @param newFolder the new folder
+   */
+  public void updateMappings(IFolder oldFolder, IFolder newFolder) {
+    synchronized (openEditors) {
+      Path oldPath = ((ServerFolderImpl) oldFolder).getFullPath();
+
+      List<Editor> movedEditors = new ArrayList<>();
+
+      for (Iterator<Editor> it = openEditors.values().iterator(); it.hasNext(); ) {
+        Editor editor = it.next();
+        Path path = ((ServerFileImpl) editor.getFile()).getFullPath();
+
+        if (path.startsWith(oldPath)) {
+          editor.setFile(newFolder.getFile(oldPath.relativize(path)));
+          movedEditors.add(editor);
+          it.remove();
+        }
+      }
+
+      for (Editor editor : movedEditors) openEditors.put(editor.getFile(), editor);
+    }
   }
 
   @Override
@@ -0,0 +1,41 @@
+package saros.server.filesystem;
+
+/**
+ * Listener for changes of shared resources in the file system of a {@link ServerWorkspaceImpl}.
+ *
+ * <p>The listener is informed about all changes, regardless whether they were caused by Saros or by
+ * an external process. Use {@link ServerWorkspaceImpl#isOwnModification} to tell them apart.
+ *
+ * @see ServerFileContentChangedNotifier
+ */
+public interface IWorkspaceChangeListener {
+
+  /**
+   * Is called when a file was created or its content was changed.
+   *
+   * @param file the created or changed file
+   */
+  void fileChanged(ServerFileImpl file);
+
+  /**
+   * Is called when a file was removed.
+   *
+   * @param file the removed file
+   */
+  void fileRemoved(ServerFileImpl file);
+
+  /**
+   * Is called when a folder was created. The members the folder already contains are reported
+   * afterwards by separate calls.
+   *
+   * @param folder the created folder
+   */
+  void folderCreated(ServerFolderImpl folder);
+
+  /**
+   * Is called when a folder was removed. The removal of its members is not reported separately.
+   *
+   * @param folder the removed folder
+   */
+  void folderRemoved(ServerFolderImpl folder);
+}
@@ -0,0 +1,15 @@
+package saros.server.filesystem;
+
+import saros.filesystem.IFile;
+import saros.filesystem.checksum.IAbsolutePathResolver;
+
+/** Server implementation of the {@link IAbsolutePathResolver} interface. */
+public class ServerAbsolutePathResolver implements IAbsolutePathResolver {
+
+  @Override
+  public String getAbsolutePath(IFile file) {
+    if (!(file instanceof ServerFileImpl)) return null;
+
+    return ((ServerFileImpl) file).getLocation().toAbsolutePath().toString();
+  }
+}
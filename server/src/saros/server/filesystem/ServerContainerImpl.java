@@ -2,16 +2,25 @@ package saros.server.filesystem;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
 import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
 import org.apache.commons.io.FileUtils;
+import org.apache.log4j.Logger;
 import saros.filesystem.IContainer;
 import saros.filesystem.IFile;
 import saros.filesystem.IFolder;
 import saros.filesystem.IResource;
+import saros.filesystem.IResourceVisitor;
+import saros.filesystem.ResourceAttributes;
 
 /**
  * Server implementation of the {@link IContainer} interface. Every type of container is implemented
@@ -19,6 +28,8 @@ import saros.filesystem.IResource;
  */
 public abstract class ServerContainerImpl extends ServerResourceImpl implements IContainer {
 
+  private static final Logger log = Logger.getLogger(ServerContainerImpl.class);
+
   /**
    * Creates a ServerContainerImpl.
    *
@@ -32,6 +43,7 @@ public abstract class ServerContainerImpl extends ServerResourceImpl implements
   @Override
   public void delete() throws IOException {
     FileUtils.deleteDirectory(getLocation().toFile());
+    getWorkspace().recordModification(getLocation());
   }
 
   @Override
@@ -59,6 +71,69 @@ public abstract class ServerContainerImpl extends ServerResourceImpl implements
     return members;
   }
 
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The container is traversed with {@link Files#walkFileTree}, which reads the attributes of
+   * each member while listing its folder. Symbolic links are followed, links that form a cycle and
+   * members that cannot be accessed are skipped.
+   */
+  @Override
+  public void accept(IResourceVisitor visitor) throws IOException {
+    Path root = getLocation();
+
+    if (!Files.isDirectory(root)) throw new NoSuchFileException(root.toString());
+
+    Files.walkFileTree(
+        root,
+        EnumSet.of(FileVisitOption.FOLLOW_LINKS),
+        Integer.MAX_VALUE,
+        new SimpleFileVisitor<Path>() {
+          @Override
+          public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs)
+              throws IOException {
+
+            if (dir.equals(root)) return FileVisitResult.CONTINUE;
+
+            IResource folder = new ServerFolderImpl(getWorkspace(), toFullPath(dir));
+
+            long lastModified = attrs.lastModifiedTime().toMillis();
+
+            boolean visitMembers =
+                visitor.visit(
+                    folder,
+                    new ResourceAttributes(Type.FOLDER, ResourceAttributes.UNKNOWN, lastModified));
+
+            return visitMembers ? FileVisitResult.CONTINUE : FileVisitResult.SKIP_SUBTREE;
+          }
+
+          @Override
+          public FileVisitResult visitFile(Path file, BasicFileAttributes attrs)
+              throws IOException {
+
+            if (!attrs.isRegularFile()) return FileVisitResult.CONTINUE;
+
+            long lastModified = attrs.lastModifiedTime().toMillis();
+
+            visitor.visit(
+                new ServerFileImpl(getWorkspace(), toFullPath(file)),
+                new ResourceAttributes(Type.FILE, attrs.size(), lastModified));
+
+            return FileVisitResult.CONTINUE;
+          }
+
+          @Override
+          public FileVisitResult visitFileFailed(Path file, IOException e) {
+            log.warn("could not access " + file + ", skipping it", e);
+            return FileVisitResult.CONTINUE;
+          }
+
+          private Path toFullPath(Path location) {
+            return getFullPath().resolve(root.relativize(location));
+          }
+        });
+  }
+
   @Override
   public IFile getFile(Path path) {
     return new ServerFileImpl(getWorkspace(), getFullMemberPath(path));
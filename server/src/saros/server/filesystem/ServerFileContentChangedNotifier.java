@@ -0,0 +1,448 @@
+package saros.server.filesystem;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import org.apache.log4j.Logger;
+import saros.filesystem.IReferencePoint;
+import saros.filesystem.IWorkspace;
+import saros.filesystem.checksum.IFileContentChangedListener;
+import saros.filesystem.checksum.IFileContentChangedNotifier;
+import saros.repackaged.picocontainer.Startable;
+import saros.session.ISarosSession;
+import saros.session.ISessionListener;
+import saros.util.ThreadUtils;
+
+/**
+ * Server implementation of the {@link IFileContentChangedNotifier} interface. It watches the
+ * folders of all shared reference points of the {@link ServerWorkspaceImpl} with a {@link
+ * WatchService}. Folders are registered recursively, including folders that are created while the
+ * session is running. Ignored folders are skipped and changes of ignored files are not reported.
+ *
+ * <p>Events are collected until no further events arrive for {@link #SETTLE_DELAY} milliseconds,
+ * so a file that is written in several steps is only reported once. If the watch service reports
+ * an overflow, the affected folder is rescanned: the checksums of all contained files are
+ * invalidated and newly created folders are registered. Changes that were lost because of an
+ * overflow are not reported to {@link IWorkspaceChangeListener workspace change listeners}.
+ */
+public class ServerFileContentChangedNotifier implements IFileContentChangedNotifier, Startable {
+
+  private static final Logger log = Logger.getLogger(ServerFileContentChangedNotifier.class);
+
+  /** Time in milliseconds without further events after which collected events are processed. */
+  static final long SETTLE_DELAY = Long.getLong("saros.server.WATCH_SETTLE_DELAY", 100L);
+
+  /** Maximum time in milliseconds events are collected before they are processed. */
+  private static final long MAX_COLLECT_TIME = 10 * SETTLE_DELAY;
+
+  private static final long TERMINATION_TIMEOUT = 10000;
+
+  private final ISarosSession session;
+  private final ServerWorkspaceImpl workspace;
+
+  private final List<IFileContentChangedListener> fileContentChangedListeners =
+      new CopyOnWriteArrayList<>();
+
+  private final List<IWorkspaceChangeListener> workspaceChangeListeners =
+      new CopyOnWriteArrayList<>();
+
+  // guarded by this
+  private final Map<WatchKey, Path> watchedFolders = new HashMap<>();
+
+  // guarded by this
+  private final Map<Path, WatchKey> watchKeys = new HashMap<>();
+
+  private WatchService watchService;
+
+  private Thread watchThread;
+
+  private final ISessionListener sessionListener =
+      new ISessionListener() {
+        @Override
+        public void referencePointAdded(IReferencePoint referencePoint) {
+          addReferencePoint(referencePoint);
+        }
+
+        @Override
+        public void referencePointRemoved(IReferencePoint referencePoint) {
+          unregister(((ServerResourceImpl) referencePoint).getLocation());
+        }
+      };
+
+  /**
+   * Creates a ServerFileContentChangedNotifier.
+   *
+   * @param session the current session
+   * @param workspace the workspace containing the shared reference points
+   */
+  public ServerFileContentChangedNotifier(ISarosSession session, IWorkspace workspace) {
+    this.session = session;
+    this.workspace = (ServerWorkspaceImpl) workspace;
+  }
+
+  @Override
+  public void start() {
+    try {
+      watchService = FileSystems.getDefault().newWatchService();
+    } catch (IOException e) {
+      log.error("could not create watch service, changes on disk will not be detected", e);
+      return;
+    }
+
+    session.addListener(sessionListener);
+
+    for (IReferencePoint referencePoint : session.getReferencePoints())
+      addReferencePoint(referencePoint);
+
+    watchThread = ThreadUtils.runSafeAsync("server-workspace-watcher", log, this::watch);
+  }
+
+  @Override
+  public void stop() {
+    if (watchService == null) return;
+
+    session.removeListener(sessionListener);
+
+    try {
+      watchService.close();
+    } catch (IOException e) {
+      log.warn("failed to close watch service", e);
+    }
+
+    try {
+      watchThread.join(TERMINATION_TIMEOUT);
+    } catch (InterruptedException e) {
+      log.warn("interrupted while waiting for " + watchThread.getName() + " to terminate");
+      Thread.currentThread().interrupt();
+    }
+
+    if (watchThread.isAlive()) log.error(watchThread.getName() + " thread is still running");
+
+    synchronized (this) {
+      watchedFolders.clear();
+      watchKeys.clear();
+    }
+  }
+
+  @Override
+  public void addFileContentChangedListener(IFileContentChangedListener listener) {
+    fileContentChangedListeners.add(listener);
+  }
+
+  @Override
+  public void removeFileContentChangedListener(IFileContentChangedListener listener) {
+    fileContentChangedListeners.remove(listener);
+  }
+
+  /**
+   * Adds a listener that is informed about all changes of shared files and folders.
+   *
+   * @param listener the listener to add
+   */
+  public void addWorkspaceChangeListener(IWorkspaceChangeListener listener) {
+    workspaceChangeListeners.add(listener);
+  }
+
+  /**
+   * Removes a previously added workspace change listener.
+   *
+   * @param listener the listener to remove
+   */
+  public void removeWorkspaceChangeListener(IWorkspaceChangeListener listener) {
+    workspaceChangeListeners.remove(listener);
+  }
+
+  private void addReferencePoint(IReferencePoint referencePoint) {
+    Path location = ((ServerResourceImpl) referencePoint).getLocation();
+
+    try {
+      walk(location, this::register, null);
+    } catch (IOException e) {
+      log.error("failed to watch reference point " + referencePoint, e);
+    }
+  }
+
+  private void watch() {
+    while (true) {
+      Set<Path> changedLocations = new TreeSet<>();
+      Set<Path> overflowedFolders = new TreeSet<>();
+
+      try {
+        WatchKey key = watchService.take();
+
+        long deadline = System.currentTimeMillis() + MAX_COLLECT_TIME;
+
+        while (key != null) {
+          collect(key, changedLocations, overflowedFolders);
+
+          if (System.currentTimeMillis() >= deadline) break;
+
+          key = watchService.poll(SETTLE_DELAY, TimeUnit.MILLISECONDS);
+        }
+      } catch (InterruptedException | ClosedWatchServiceException e) {
+        return;
+      }
+
+      for (Path folder : overflowedFolders) rescan(folder);
+
+      /*
+       * the locations are sorted, so every folder is processed before its
+       * members
+       */
+      for (Path location : changedLocations) process(location);
+    }
+  }
+
+  private void collect(WatchKey key, Set<Path> changedLocations, Set<Path> overflowedFolders) {
+    Path folder;
+
+    synchronized (this) {
+      folder = watchedFolders.get(key);
+    }
+
+    List<WatchEvent<?>> events = key.pollEvents();
+
+    /*
+     * keys of removed folders become invalid, they are unregistered once the
+     * removal is processed
+     */
+    key.reset();
+
+    if (folder == null) return;
+
+    for (WatchEvent<?> event : events) {
+      if (event.kind() == OVERFLOW) overflowedFolders.add(folder);
+      else changedLocations.add(folder.resolve((Path) event.context()));
+    }
+  }
+
+  private void process(Path location) {
+    if (Files.isDirectory(location, LinkOption.NOFOLLOW_LINKS)) {
+      if (isWatched(location)) return;
+
+      try {
+        walk(location, this::folderCreated, this::fileChanged);
+      } catch (IOException e) {
+        log.error("failed to watch created folder " + location, e);
+      }
+
+    } else if (Files.isRegularFile(location, LinkOption.NOFOLLOW_LINKS)) {
+      if (workspace.getIgnoreMatcher().isIgnored(location, false)) return;
+
+      fileChanged(location);
+
+    } else if (!Files.exists(location, LinkOption.NOFOLLOW_LINKS)) {
+      boolean folder = unregister(location);
+
+      /*
+       * if the parent folder was removed as well, its removal is reported
+       * instead
+       */
+      if (!Files.isDirectory(location.getParent(), LinkOption.NOFOLLOW_LINKS)) return;
+
+      if (folder) folderRemoved(location);
+      else fileRemoved(location);
+    }
+  }
+
+  private void rescan(Path folder) {
+    log.warn("events for " + folder + " were lost, rescanning folder");
+
+    synchronized (this) {
+      for (Path watchedFolder : new ArrayList<>(watchKeys.keySet())) {
+        if (watchedFolder.startsWith(folder)
+            && !Files.isDirectory(watchedFolder, LinkOption.NOFOLLOW_LINKS))
+          unregister(watchedFolder);
+      }
+    }
+
+    if (!Files.isDirectory(folder, LinkOption.NOFOLLOW_LINKS)) return;
+
+    try {
+      walk(folder, this::folderCreated, location -> fileContentChanged(toFile(location)));
+    } catch (IOException e) {
+      log.error("failed to rescan folder " + folder, e);
+    }
+  }
+
+  private void walk(Path root, PathConsumer folderConsumer, PathConsumer fileConsumer)
+      throws IOException {
+
+    Files.walkFileTree(
+        root,
+        new SimpleFileVisitor<Path>() {
+          @Override
+          public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs)
+              throws IOException {
+
+            if (workspace.getIgnoreMatcher().isIgnored(dir, true))
+              return FileVisitResult.SKIP_SUBTREE;
+
+            folderConsumer.accept(dir);
+            return FileVisitResult.CONTINUE;
+          }
+
+          @Override
+          public FileVisitResult visitFile(Path file, BasicFileAttributes attrs)
+              throws IOException {
+
+            if (fileConsumer != null
+                && attrs.isRegularFile()
+                && !workspace.getIgnoreMatcher().isIgnored(file, false)) {
+              fileConsumer.accept(file);
+            }
+
+            return FileVisitResult.CONTINUE;
+          }
+
+          @Override
+          public FileVisitResult visitFileFailed(Path file, IOException e) {
+            log.warn("could not access " + file, e);
+            return FileVisitResult.CONTINUE;
+          }
+        });
+  }
+
+  private synchronized boolean isWatched(Path folder) {
+    WatchKey key = watchKeys.get(folder);
+    return key != null && key.isValid();
+  }
+
+  /**
+   * Registers the given folder at the watch service.
+   *
+   * @return <code>true</code> if the folder was registered, <code>false</code> if it was already
+   *     registered before
+   */
+  private synchronized boolean register(Path folder) throws IOException {
+    if (isWatched(folder)) return false;
+
+    // the folder was removed and recreated before the removal was processed
+    if (watchKeys.containsKey(folder)) unregister(folder);
+
+    WatchKey key = folder.register(watchService, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY);
+
+    watchKeys.put(folder, key);
+    watchedFolders.put(key, folder);
+
+    return true;
+  }
+
+  /**
+   * Unregisters the given folder and all its registered sub folders from the watch service.
+   *
+   * @return <code>true</code> if the folder was registered, <code>false</code> otherwise
+   */
+  private synchronized boolean unregister(Path folder) {
+    boolean registered = watchKeys.containsKey(folder);
+
+    for (Path watchedFolder : new ArrayList<>(watchKeys.keySet())) {
+      if (!watchedFolder.startsWith(folder)) continue;
+
+      WatchKey key = watchKeys.remove(watchedFolder);
+      watchedFolders.remove(key);
+      key.cancel();
+    }
+
+    return registered;
+  }
+
+  private ServerFileImpl toFile(Path location) {
+    return new ServerFileImpl(workspace, workspace.getLocation().relativize(location));
+  }
+
+  private ServerFolderImpl toFolder(Path location) {
+    return new ServerFolderImpl(workspace, workspace.getLocation().relativize(location));
+  }
+
+  /** Registers the given folder and reports its creation if it was not registered before. */
+  private void folderCreated(Path location) throws IOException {
+    if (!register(location)) return;
+
+    ServerFolderImpl folder = toFolder(location);
+
+    for (IWorkspaceChangeListener listener : workspaceChangeListeners) {
+      try {
+        listener.folderCreated(folder);
+      } catch (RuntimeException e) {
+        log.error("internal error in listener: " + listener, e);
+      }
+    }
+  }
+
+  private void folderRemoved(Path location) {
+    ServerFolderImpl folder = toFolder(location);
+
+    for (IWorkspaceChangeListener listener : workspaceChangeListeners) {
+      try {
+        listener.folderRemoved(folder);
+      } catch (RuntimeException e) {
+        log.error("internal error in listener: " + listener, e);
+      }
+    }
+  }
+
+  private void fileChanged(Path location) {
+    ServerFileImpl file = toFile(location);
+
+    fileContentChanged(file);
+
+    for (IWorkspaceChangeListener listener : workspaceChangeListeners) {
+      try {
+        listener.fileChanged(file);
+      } catch (RuntimeException e) {
+        log.error("internal error in listener: " + listener, e);
+      }
+    }
+  }
+
+  private void fileRemoved(Path location) {
+    ServerFileImpl file = toFile(location);
+
+    fileContentChanged(file);
+
+    for (IWorkspaceChangeListener listener : workspaceChangeListeners) {
+      try {
+        listener.fileRemoved(file);
+      } catch (RuntimeException e) {
+        log.error("internal error in listener: " + listener, e);
+      }
+    }
+  }
+
+  private void fileContentChanged(ServerFileImpl file) {
+    for (IFileContentChangedListener listener : fileContentChangedListeners) {
+      try {
+        listener.fileContentChanged(file);
+      } catch (RuntimeException e) {
+        log.error("internal error in listener: " + listener, e);
+      }
+    }
+  }
+
+  private interface PathConsumer {
+    void accept(Path path) throws IOException;
+  }
+}
@@ -8,6 +8,7 @@ import java.nio.charset.Charset;
 import java.nio.charset.IllegalCharsetNameException;
 import java.nio.charset.UnsupportedCharsetException;
 import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
 import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
@@ -67,6 +68,7 @@ public class ServerFileImpl extends ServerResourceImpl implements IFile {
   public void delete() throws IOException {
     try {
       Files.delete(getLocation());
+      getWorkspace().recordModification(getLocation());
     } catch (NoSuchFileException e) {
       log.debug("Could not delete " + getFullPath() + " because it doesn't exist (ignoring)", e);
     }
@@ -74,13 +76,30 @@ public class ServerFileImpl extends ServerResourceImpl implements IFile {
 
   @Override
   public void create(InputStream input) throws IOException {
-    Path nioPath = getLocation();
+    createParentFolders();
 
-    Files.createDirectories(nioPath.getParent());
-    Files.createFile(nioPath);
+    Files.createFile(getLocation());
     setContents(input);
   }
 
+  /**
+   * Moves this file to the given file, keeping its contents. Missing parent folders of the
+   * destination are created.
+   *
+   * <p>Unlike creating the destination with the contents of this file and deleting this file, this
+   * is a single rename if both files are located on the same file system.
+   *
+   * @param destination the file to move this file to, must not exist
+   * @throws FileAlreadyExistsException if the destination already exists
+   * @throws IOException if the file could not be moved
+   */
+  public void move(ServerFileImpl destination) throws IOException {
+    destination.moveFrom(getLocation());
+
+    getWorkspace().recordModification(getLocation());
+    getWorkspace().recordModification(destination.getLocation());
+  }
+
   @Override
   public InputStream getContents() throws IOException {
     return Files.newInputStream(getLocation());
@@ -116,6 +135,8 @@ public class ServerFileImpl extends ServerResourceImpl implements IFile {
     } catch (AtomicMoveNotSupportedException e) {
       Files.move(tempFilePath, getLocation(), StandardCopyOption.REPLACE_EXISTING);
     }
+
+    getWorkspace().recordModification(getLocation());
   }
 
   @Override
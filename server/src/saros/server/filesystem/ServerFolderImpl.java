@@ -7,6 +7,9 @@ import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import saros.filesystem.IFolder;
 
 /** Server implementation of the {@link IFolder} interface. */
@@ -31,6 +34,7 @@ public class ServerFolderImpl extends ServerContainerImpl implements IFolder {
   public void create() throws IOException {
     try {
       Files.createDirectory(getLocation());
+      getWorkspace().recordModification(getLocation());
     } catch (FileAlreadyExistsException e) {
       /*
        * That the resource already exists is only a problem for us if it's
@@ -41,4 +45,34 @@ public class ServerFolderImpl extends ServerContainerImpl implements IFolder {
       }
     }
   }
+
+  /**
+   * Moves this folder and all its members to the given folder. Missing parent folders of the
+   * destination are created.
+   *
+   * <p>Unlike creating the destination and moving the members one by one, this is a single rename
+   * if both folders are located on the same file system. If this is not the case, the move fails
+   * and nothing is moved.
+   *
+   * @param destination the folder to move this folder to, must not exist
+   * @throws FileAlreadyExistsException if the destination already exists
+   * @throws IOException if the folder could not be moved
+   */
+  public void move(ServerFolderImpl destination) throws IOException {
+    Path source = getLocation();
+    Path target = destination.getLocation();
+
+    List<Path> members;
+
+    try (Stream<Path> walk = Files.walk(source)) {
+      members = walk.map(source::relativize).collect(Collectors.toList());
+    }
+
+    destination.moveFrom(source);
+
+    for (Path member : members) {
+      getWorkspace().recordModification(source.resolve(member));
+      getWorkspace().recordModification(target.resolve(member));
+    }
+  }
 }
@@ -42,5 +42,6 @@ public class ServerProjectImpl extends ServerContainerImpl implements IReference
    */
   public void create() throws IOException {
     Files.createDirectory(getLocation());
+    getWorkspace().recordModification(getLocation());
   }
 }
@@ -1,7 +1,12 @@
 package saros.server.filesystem;
 
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
+import java.nio.file.LinkOption;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import saros.filesystem.IContainer;
 import saros.filesystem.IReferencePoint;
 import saros.filesystem.IResource;
@@ -72,9 +77,66 @@ public abstract class ServerResourceImpl implements IResource {
     return Files.exists(getLocation());
   }
 
+  /**
+   * Creates the missing parent folders of this resource and records them as modified by Saros.
+   *
+   * @throws IOException if a folder could not be created
+   */
+  void createParentFolders() throws IOException {
+    Path location = getLocation();
+
+    Path createdFolder = null;
+
+    for (Path parent = location.getParent();
+        parent != null && !Files.exists(parent);
+        parent = parent.getParent()) {
+      createdFolder = parent;
+    }
+
+    if (createdFolder == null) return;
+
+    Files.createDirectories(location.getParent());
+
+    for (Path folder = location.getParent();
+        folder.startsWith(createdFolder);
+        folder = folder.getParent()) {
+      workspace.recordModification(folder);
+    }
+  }
+
+  /**
+   * Renames the given location to the location of this resource, atomically if the file system
+   * supports it.
+   *
+   * @param source the absolute location to move
+   * @throws FileAlreadyExistsException if this resource already exists
+   * @throws IOException if the location could not be moved
+   */
+  void moveFrom(Path source) throws IOException {
+    Path target = getLocation();
+
+    // an atomic move may silently replace an existing target
+    if (Files.exists(target, LinkOption.NOFOLLOW_LINKS))
+      throw new FileAlreadyExistsException(target.toString());
+
+    createParentFolders();
+
+    try {
+      Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+    } catch (AtomicMoveNotSupportedException e) {
+      Files.move(source, target);
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The decision is delegated to the {@linkplain ServerWorkspaceImpl#getIgnoreMatcher() ignore
+   * matcher} of the workspace.
+   */
   @Override
   public boolean isIgnored() {
-    return false;
+    return workspace.getIgnoreMatcher().isIgnored(getLocation(), getType() != Type.FILE);
   }
 
   @Override
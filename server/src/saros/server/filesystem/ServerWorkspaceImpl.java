@@ -1,19 +1,36 @@
 package saros.server.filesystem;
 
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
 import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import saros.exceptions.OperationCanceledException;
 import saros.filesystem.IReferencePoint;
 import saros.filesystem.IResource;
 import saros.filesystem.IWorkspace;
 import saros.filesystem.IWorkspaceRunnable;
 import saros.monitoring.NullProgressMonitor;
+import saros.server.filesystem.ignore.IgnoreMatcher;
 
 /** Server implementation of the {@link IWorkspace} interface. */
 public class ServerWorkspaceImpl implements IWorkspace {
 
+  private static final Object DELETED = new Object();
+
   private Path location;
 
+  private final IgnoreMatcher ignoreMatcher;
+
+  /*
+   * The state of every file system location Saros modified itself, used to
+   * distinguish own modifications from external ones
+   */
+  private final Map<Path, Object> modificationStamps = new ConcurrentHashMap<>();
+
   /**
    * Creates a ServerWorkspaceImpl.
    *
@@ -21,12 +38,22 @@ public class ServerWorkspaceImpl implements IWorkspace {
    */
   public ServerWorkspaceImpl(Path location) {
     this.location = location;
+    this.ignoreMatcher = new IgnoreMatcher(location);
   }
 
   public Path getLocation() {
     return location;
   }
 
+  /**
+   * Returns the matcher that decides which resources of this workspace are ignored.
+   *
+   * @return the ignore matcher of this workspace
+   */
+  public IgnoreMatcher getIgnoreMatcher() {
+    return ignoreMatcher;
+  }
+
   public IReferencePoint getProject(String name) {
     return new ServerProjectImpl(this, name);
   }
@@ -48,4 +75,70 @@ public class ServerWorkspaceImpl implements IWorkspace {
       runnable.run(new NullProgressMonitor());
     }
   }
+
+  /**
+   * Returns whether the current state of the given location was produced by Saros itself, i.e. the
+   * location was not modified externally since Saros last modified it. A location that does not
+   * exist is considered to be removed by Saros if Saros removed it or one of its parent folders.
+   *
+   * @param location the absolute location in the file system
+   * @return <code>true</code> if Saros produced the current state of the location, <code>false
+   *     </code> otherwise
+   */
+  public boolean isOwnModification(Path location) {
+    Object stamp = getStamp(location);
+
+    if (stamp != null) return stamp.equals(modificationStamps.get(location));
+
+    for (Path current = location;
+        current != null && current.startsWith(this.location);
+        current = current.getParent()) {
+
+      Object recordedStamp = modificationStamps.get(current);
+
+      if (recordedStamp != null) return recordedStamp == DELETED;
+    }
+
+    return false;
+  }
+
+  /**
+   * Discards the recorded modification of the given location, e.g. after the location has been
+   * modified externally.
+   *
+   * @param location the absolute location in the file system
+   */
+  public void forgetModification(Path location) {
+    modificationStamps.remove(location);
+  }
+
+  /**
+   * Records that Saros just modified (i.e. created, changed or removed) the given location.
+   *
+   * @param location the absolute location in the file system
+   */
+  void recordModification(Path location) {
+    Object stamp = getStamp(location);
+    modificationStamps.put(location, stamp != null ? stamp : DELETED);
+  }
+
+  private static Object getStamp(Path location) {
+    BasicFileAttributes attributes;
+
+    try {
+      attributes =
+          Files.readAttributes(location, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+    } catch (IOException e) {
+      // the location does not exist (anymore) or is not accessible
+      return null;
+    }
+
+    /*
+     * The modification time of a folder changes with every change of its
+     * members, so only its identity is considered
+     */
+    if (attributes.isDirectory()) return Arrays.asList(attributes.fileKey(), true);
+
+    return Arrays.asList(attributes.fileKey(), attributes.lastModifiedTime(), attributes.size());
+  }
 }
@@ -0,0 +1,173 @@
+package saros.server.filesystem.ignore;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Decides whether a file or folder of the server workspace has to be ignored by Saros, i.e. is not
+ * shared, checksummed or transferred.
+ *
+ * <p>The decision is based on the <code>.gitignore</code> files and the Saros specific <code>
+ * .sarosignore</code> files inside a reference point. Both use the <code>.gitignore</code> syntax.
+ * Patterns of a deeper folder take precedence over the patterns of its parents and the patterns of
+ * a <code>.sarosignore</code> file take precedence over the ones of the <code>.gitignore</code>
+ * file in the same folder, so e.g. <code>!build/</code> in a <code>.sarosignore</code> file shares
+ * a folder that Git ignores. Version control metadata like the <code>.git</code> folder is always
+ * ignored unless it is explicitly re-included.
+ *
+ * <p>As with Git, a file inside an ignored folder is ignored, too. Callers that walk the file
+ * system should therefore check folders before descending into them and skip ignored folders
+ * entirely.
+ *
+ * <p>The compiled patterns of each folder are cached. The ignore files are checked for
+ * modifications at most once per {@value #RECHECK_INTERVAL} ms, which can be changed with the
+ * system property <code>saros.server.ignore.RECHECK_INTERVAL</code>.
+ *
+ * <p>This class is thread safe.
+ */
+public final class IgnoreMatcher {
+
+  /** The name of the Git ignore files. */
+  public static final String GIT_IGNORE_FILE = ".gitignore";
+
+  /** The name of the Saros specific ignore files. */
+  public static final String SAROS_IGNORE_FILE = ".sarosignore";
+
+  private static final long RECHECK_INTERVAL =
+      Long.getLong("saros.server.ignore.RECHECK_INTERVAL", 2000L);
+
+  private static final IgnoreRules BUILT_IN_RULES =
+      IgnoreRules.compile(Arrays.asList(".git/", ".hg/", ".svn/"));
+
+  private static class CachedRules {
+    private final IgnoreRules rules;
+    private final long checked;
+
+    private CachedRules(final IgnoreRules rules, final long checked) {
+      this.rules = rules;
+      this.checked = checked;
+    }
+  }
+
+  private final Path workspaceLocation;
+
+  private final ConcurrentMap<Path, CachedRules> cache = new ConcurrentHashMap<>();
+
+  private final LongAdder prunedFolders = new LongAdder();
+
+  private final LongAdder ignoredFiles = new LongAdder();
+
+  /**
+   * Creates a matcher for the given workspace.
+   *
+   * @param workspaceLocation the absolute location of the workspace, every folder directly below it
+   *     is a reference point
+   */
+  public IgnoreMatcher(final Path workspaceLocation) {
+    this.workspaceLocation = workspaceLocation;
+  }
+
+  /**
+   * Returns whether the file or folder at the given location has to be ignored. Reference points
+   * themselves and locations outside of the workspace are never ignored.
+   *
+   * @param location the absolute location
+   * @param directory whether the location denotes a folder
+   * @return <code>true</code> if the location has to be ignored
+   */
+  public boolean isIgnored(final Path location, final boolean directory) {
+    if (!location.startsWith(workspaceLocation)) return false;
+
+    final Path relativePath = workspaceLocation.relativize(location);
+    final int segmentCount = relativePath.getNameCount();
+
+    if (segmentCount < 2) return false;
+
+    final String[] segments = new String[segmentCount];
+
+    for (int i = 0; i < segmentCount; i++) segments[i] = relativePath.getName(i).toString();
+
+    final IgnoreRules[] folderRules = new IgnoreRules[segmentCount - 1];
+
+    Path folder = workspaceLocation.resolve(segments[0]);
+
+    /*
+     * segment 0 is the reference point, every following segment is checked
+     * in turn as a parent that is ignored also excludes all of its members
+     */
+    for (int last = 1; last < segmentCount; last++) {
+      folderRules[last - 1] = getRules(folder);
+
+      final boolean isFolder = last < segmentCount - 1 || directory;
+
+      if (isExcluded(segments, folderRules, last, isFolder)) {
+        if (directory) prunedFolders.increment();
+        else ignoredFiles.increment();
+
+        return true;
+      }
+
+      folder = folder.resolve(segments[last]);
+    }
+
+    return false;
+  }
+
+  /** Returns the number of folders that were found to be ignored, i.e. were pruned. */
+  public long getPrunedFolderCount() {
+    return prunedFolders.sum();
+  }
+
+  /** Returns the number of files that were found to be ignored. */
+  public long getIgnoredFileCount() {
+    return ignoredFiles.sum();
+  }
+
+  /*
+   * Checks the path that ends with the given segment against the rules of
+   * all its parent folders, starting with the deepest one
+   */
+  private static boolean isExcluded(
+      final String[] segments,
+      final IgnoreRules[] folderRules,
+      final int last,
+      final boolean directory) {
+
+    final String name = segments[last];
+
+    String relativePath = name;
+
+    for (int folder = last - 1; folder >= 0; folder--) {
+      final int result = folderRules[folder].match(relativePath, name, directory);
+
+      if (result != IgnoreRules.NO_MATCH) return result == IgnoreRules.EXCLUDED;
+
+      relativePath = segments[folder] + "/" + relativePath;
+    }
+
+    return BUILT_IN_RULES.match(name, name, directory) == IgnoreRules.EXCLUDED;
+  }
+
+  private IgnoreRules getRules(final Path folder) {
+    final long now = System.currentTimeMillis();
+
+    final CachedRules cached = cache.get(folder);
+
+    if (cached != null && now - cached.checked < RECHECK_INTERVAL) return cached.rules;
+
+    final File[] files = {
+      folder.resolve(GIT_IGNORE_FILE).toFile(), folder.resolve(SAROS_IGNORE_FILE).toFile()
+    };
+
+    final IgnoreRules rules =
+        cached != null && !cached.rules.isStale(files) ? cached.rules : IgnoreRules.load(files);
+
+    cache.put(folder, new CachedRules(rules, now));
+
+    return rules;
+  }
+}
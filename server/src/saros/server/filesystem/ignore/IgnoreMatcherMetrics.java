@@ -0,0 +1,37 @@
+package saros.server.filesystem.ignore;
+
+import saros.filesystem.IWorkspace;
+import saros.monitoring.metrics.MetricRegistry;
+import saros.repackaged.picocontainer.Startable;
+import saros.server.filesystem.ServerWorkspaceImpl;
+
+/**
+ * Registers gauges for the {@link IgnoreMatcher} of the server workspace in the {@link
+ * MetricRegistry}: the number of pruned folders and of ignored files.
+ */
+public class IgnoreMatcherMetrics implements Startable {
+
+  private static final String PRUNED_FOLDERS = "server.workspace.ignore.pruned_folders";
+  private static final String IGNORED_FILES = "server.workspace.ignore.ignored_files";
+
+  private final IgnoreMatcher matcher;
+
+  private final MetricRegistry registry;
+
+  public IgnoreMatcherMetrics(final IWorkspace workspace, final MetricRegistry registry) {
+    this.matcher = ((ServerWorkspaceImpl) workspace).getIgnoreMatcher();
+    this.registry = registry;
+  }
+
+  @Override
+  public void start() {
+    registry.gauge(PRUNED_FOLDERS, matcher::getPrunedFolderCount);
+    registry.gauge(IGNORED_FILES, matcher::getIgnoredFileCount);
+  }
+
+  @Override
+  public void stop() {
+    registry.remove(PRUNED_FOLDERS);
+    registry.remove(IGNORED_FILES);
+  }
+}
@@ -0,0 +1,189 @@
+package saros.server.filesystem.ignore;
+
+import java.util.regex.Pattern;
+
+/**
+ * A single compiled line of an ignore file. The syntax is the one of <code>.gitignore</code> files:
+ *
+ * <ul>
+ *   <li>A pattern without a slash, apart from a trailing one, matches the name of a file or folder
+ *       at any depth below the ignore file.
+ *   <li>Any other pattern is matched against the path relative to the folder of the ignore file. A
+ *       leading slash is ignored.
+ *   <li>A trailing slash restricts the pattern to folders.
+ *   <li>A leading <code>!</code> re-includes paths that were excluded by a previous pattern.
+ *   <li><code>*</code> and <code>?</code> match any characters but <code>/</code>, <code>[...]
+ *       </code> matches a character class and <code>**</code> matches any number of folders.
+ * </ul>
+ */
+final class IgnorePattern {
+
+  private static final String REGEX_META_CHARACTERS = "\\.^$|?*+()[]{}";
+
+  private final Pattern pattern;
+
+  private final boolean negated;
+
+  private final boolean directoryOnly;
+
+  private final boolean nameOnly;
+
+  private IgnorePattern(
+      final Pattern pattern,
+      final boolean negated,
+      final boolean directoryOnly,
+      final boolean nameOnly) {
+    this.pattern = pattern;
+    this.negated = negated;
+    this.directoryOnly = directoryOnly;
+    this.nameOnly = nameOnly;
+  }
+
+  /**
+   * Compiles the given line of an ignore file.
+   *
+   * @param line the line
+   * @return the compiled pattern or <code>null</code> if the line is empty or a comment
+   */
+  static IgnorePattern compile(final String line) {
+    String glob = trimTrailingSpaces(line);
+
+    if (glob.isEmpty() || glob.startsWith("#")) return null;
+
+    boolean negated = false;
+
+    if (glob.startsWith("!")) {
+      negated = true;
+      glob = glob.substring(1);
+    } else if (glob.startsWith("\\!") || glob.startsWith("\\#")) {
+      glob = glob.substring(1);
+    }
+
+    boolean directoryOnly = false;
+
+    if (glob.endsWith("/")) {
+      directoryOnly = true;
+      glob = glob.substring(0, glob.length() - 1);
+    }
+
+    final boolean nameOnly = glob.indexOf('/') == -1;
+
+    if (glob.startsWith("/")) glob = glob.substring(1);
+
+    if (glob.isEmpty()) return null;
+
+    return new IgnorePattern(Pattern.compile(toRegex(glob)), negated, directoryOnly, nameOnly);
+  }
+
+  /**
+   * Returns whether this pattern matches the given path.
+   *
+   * @param relativePath the path relative to the folder of the ignore file, separated by <code>/
+   *     </code>
+   * @param name the last segment of the path
+   * @param directory whether the path denotes a folder
+   * @return <code>true</code> if the pattern matches
+   */
+  boolean matches(final String relativePath, final String name, final boolean directory) {
+    if (directoryOnly && !directory) return false;
+
+    return pattern.matcher(nameOnly ? name : relativePath).matches();
+  }
+
+  /** Returns whether a match of this pattern re-includes the path instead of excluding it. */
+  boolean isNegated() {
+    return negated;
+  }
+
+  private static String trimTrailingSpaces(final String line) {
+    int end = line.length();
+
+    while (end > 0 && line.charAt(end - 1) == ' ' && (end < 2 || line.charAt(end - 2) != '\\'))
+      end--;
+
+    return line.substring(0, end);
+  }
+
+  private static String toRegex(final String glob) {
+    final StringBuilder regex = new StringBuilder(glob.length() * 2);
+    final int length = glob.length();
+
+    for (int i = 0; i < length; i++) {
+      final char c = glob.charAt(i);
+
+      switch (c) {
+        case '*':
+          final boolean segmentStart = i == 0 || glob.charAt(i - 1) == '/';
+
+          if (i + 1 < length && glob.charAt(i + 1) == '*' && segmentStart) {
+            final boolean segmentEnd = i + 2 == length || glob.charAt(i + 2) == '/';
+
+            if (segmentEnd) {
+              if (i + 2 == length) {
+                // trailing "**" matches everything inside
+                regex.append(".*");
+              } else {
+                // leading or inner "**/" matches zero or more folders
+                regex.append("(?:.*/)?");
+                i++;
+              }
+
+              i++;
+              break;
+            }
+          }
+
+          regex.append("[^/]*");
+          break;
+
+        case '?':
+          regex.append("[^/]");
+          break;
+
+        case '[':
+          final int end = glob.indexOf(']', i + 2);
+
+          if (end == -1) {
+            regex.append("\\[");
+            break;
+          }
+
+          regex.append('[');
+
+          int start = i + 1;
+
+          if (glob.charAt(start) == '!' || glob.charAt(start) == '^') {
+            regex.append('^');
+            start++;
+          }
+
+          for (int j = start; j < end; j++) {
+            final char member = glob.charAt(j);
+
+            if (member == '[' || member == '&') regex.append('\\');
+
+            regex.append(member);
+          }
+
+          regex.append(']');
+          i = end;
+          break;
+
+        case '\\':
+          if (i + 1 < length) appendLiteral(regex, glob.charAt(++i));
+          break;
+
+        default:
+          appendLiteral(regex, c);
+      }
+    }
+
+    return regex.toString();
+  }
+
+  private static void appendLiteral(final StringBuilder regex, final char c) {
+    if (REGEX_META_CHARACTERS.indexOf(c) != -1) regex.append('\\');
+
+    regex.append(c);
+  }
+}
@@ -0,0 +1,138 @@
+package saros.server.filesystem.ignore;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.PatternSyntaxException;
+import org.apache.log4j.Logger;
+
+/**
+ * The compiled ignore patterns of a single folder, read from the ignore files located directly in
+ * that folder. The patterns of later files take precedence over the ones of earlier files, just
+ * like later lines take precedence over earlier ones.
+ */
+final class IgnoreRules {
+
+  private static final Logger log = Logger.getLogger(IgnoreRules.class);
+
+  /** Rules without any patterns, shared by all folders that do not contain ignore files. */
+  static final IgnoreRules EMPTY = new IgnoreRules(Collections.<IgnorePattern>emptyList(), 0);
+
+  /** Result of {@link #match} if no pattern matches. */
+  static final int NO_MATCH = 0;
+
+  /** Result of {@link #match} if the path is excluded. */
+  static final int EXCLUDED = 1;
+
+  /** Result of {@link #match} if the path is explicitly re-included. */
+  static final int INCLUDED = 2;
+
+  private final IgnorePattern[] patterns;
+
+  private final long stamp;
+
+  private IgnoreRules(final List<IgnorePattern> patterns, final long stamp) {
+    this.patterns = patterns.toArray(new IgnorePattern[0]);
+    this.stamp = stamp;
+  }
+
+  /**
+   * Compiles the given lines, e.g. a set of built-in patterns.
+   *
+   * @param lines the lines in ignore file syntax
+   * @return the compiled rules
+   */
+  static IgnoreRules compile(final List<String> lines) {
+    final List<IgnorePattern> patterns = new ArrayList<IgnorePattern>();
+
+    for (final String line : lines) add(patterns, line, "built-in patterns");
+
+    return new IgnoreRules(patterns, 0);
+  }
+
+  /**
+   * Reads and compiles the given ignore files of a folder. Missing files are skipped.
+   *
+   * @param files the ignore files in the order of increasing precedence
+   * @return the compiled rules or {@link #EMPTY} if none of the files exists
+   */
+  static IgnoreRules load(final File[] files) {
+    final long stamp = stampOf(files);
+
+    if (stamp == 0) return EMPTY;
+
+    final List<IgnorePattern> patterns = new ArrayList<IgnorePattern>();
+
+    for (final File file : files) {
+      if (!file.isFile()) continue;
+
+      try {
+        for (final String line : Files.readAllLines(file.toPath(), StandardCharsets.UTF_8))
+          add(patterns, line, file.getPath());
+
+      } catch (IOException e) {
+        log.warn("could not read ignore file " + file, e);
+      }
+    }
+
+    return new IgnoreRules(patterns, stamp);
+  }
+
+  /**
+   * Returns whether the given files changed since these rules were loaded.
+   *
+   * @param files the ignore files these rules were loaded from
+   * @return <code>true</code> if the rules have to be reloaded
+   */
+  boolean isStale(final File[] files) {
+    return stampOf(files) != stamp;
+  }
+
+  /**
+   * Matches the given path against the patterns. The last matching pattern decides.
+   *
+   * @param relativePath the path relative to the folder of these rules, separated by <code>/
+   *     </code>
+   * @param name the last segment of the path
+   * @param directory whether the path denotes a folder
+   * @return {@link #NO_MATCH}, {@link #EXCLUDED} or {@link #INCLUDED}
+   */
+  int match(final String relativePath, final String name, final boolean directory) {
+    for (int i = patterns.length - 1; i >= 0; i--) {
+      final IgnorePattern pattern = patterns[i];
+
+      if (pattern.matches(relativePath, name, directory))
+        return pattern.isNegated() ? INCLUDED : EXCLUDED;
+    }
+
+    return NO_MATCH;
+  }
+
+  private static void add(
+      final List<IgnorePattern> patterns, final String line, final String source) {
+    try {
+      final IgnorePattern pattern = IgnorePattern.compile(line);
+
+      if (pattern != null) patterns.add(pattern);
+
+    } catch (PatternSyntaxException e) {
+      log.warn("skipping invalid pattern '" + line + "' in " + source);
+    }
+  }
+
+  /*
+   * Combines the modification times and sizes of the given files. This is
+   * 0 only if none of the files exists.
+   */
+  private static long stampOf(final File[] files) {
+    long stamp = 0;
+
+    for (final File file : files) stamp = stamp * 31 + file.lastModified() * 17 + file.length();
+
+    return stamp;
+  }
+}
@@ -0,0 +1,29 @@
+package saros.server.loadtest;
+
+import saros.activities.IActivity;
+import saros.server.loadtest.Workload.Kind;
+
+/**
+ * An activity in transit on the {@link LoopbackNetwork}. Relayed activities keep the kind and
+ * creation time of the activity they originate from, so the latency can be measured end to end.
+ */
+final class Envelope {
+
+  final Kind kind;
+
+  final IActivity activity;
+
+  /** The value of {@link System#nanoTime()} when the original activity was generated. */
+  final long created;
+
+  Envelope(final Kind kind, final IActivity activity, final long created) {
+    this.kind = kind;
+    this.activity = activity;
+    this.created = created;
+  }
+
+  /** Returns an envelope for the given activity that is derived from this envelope. */
+  Envelope relay(final IActivity relayedActivity) {
+    return new Envelope(kind, relayedActivity, created);
+  }
+}
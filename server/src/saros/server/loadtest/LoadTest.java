@@ -0,0 +1,38 @@
+package saros.server.loadtest;
+
+import org.apache.log4j.Logger;
+
+/**
+ * The entry point for running a load test from the command line. The test is configured by system
+ * properties, see {@link LoadTestConfig#fromSystemProperties()}:
+ *
+ * <pre>
+ * java -Dsaros.loadtest.clients=50 -Dsaros.loadtest.duration=120 -Dsaros.loadtest.rate=10 \
+ *   -Dsaros.loadtest.latency=20 -Dsaros.loadtest.workload=edit:80,selection:15,file:5 \
+ *   -cp saros.server.jar saros.server.loadtest.LoadTest
+ * </pre>
+ *
+ * The process exits with status 1 if consistency violations were detected, so the load test can be
+ * used to catch regressions.
+ */
+public class LoadTest {
+
+  private static final Logger log = Logger.getLogger(LoadTest.class);
+
+  /**
+   * Runs a load test and prints the results.
+   *
+   * @param args command-line arguments, not used
+   */
+  public static void main(String[] args) throws Exception {
+    final LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+
+    log.info("Running load test...");
+
+    final LoadTestReport report = new LoadTestHarness(config).run();
+
+    report.print(System.out);
+
+    System.exit(report.getConsistencyViolations() == 0 && report.isCompleted() ? 0 : 1);
+  }
+}
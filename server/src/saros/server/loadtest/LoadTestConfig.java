@@ -0,0 +1,123 @@
+package saros.server.loadtest;
+
+/**
+ * The configuration of a load test run. Use {@link #fromSystemProperties()} to read the
+ * configuration that was passed to the {@link LoadTest} on startup.
+ */
+public final class LoadTestConfig {
+
+  private static final String CLIENTS_KEY = "saros.loadtest.clients";
+  private static final String FILES_KEY = "saros.loadtest.files";
+  private static final String DURATION_KEY = "saros.loadtest.duration";
+  private static final String RATE_KEY = "saros.loadtest.rate";
+  private static final String LATENCY_KEY = "saros.loadtest.latency";
+  private static final String WORKLOAD_KEY = "saros.loadtest.workload";
+  private static final String SEED_KEY = "saros.loadtest.seed";
+
+  private static final String DEFAULT_WORKLOAD = "edit:80,selection:15,file:5";
+
+  private final int clients;
+  private final int files;
+  private final long durationMillis;
+  private final int rate;
+  private final long latencyMillis;
+  private final Workload workload;
+  private final long seed;
+
+  /**
+   * @param clients number of simulated clients besides the host
+   * @param files number of shared files that are edited concurrently
+   * @param durationMillis how long the participants generate activities
+   * @param rate number of activities each participant generates per second
+   * @param latencyMillis one-way latency of the loopback network
+   * @param workload the mix of generated activities
+   * @param seed seed for the random number generators of the participants
+   */
+  public LoadTestConfig(
+      final int clients,
+      final int files,
+      final long durationMillis,
+      final int rate,
+      final long latencyMillis,
+      final Workload workload,
+      final long seed) {
+
+    if (clients < 0) throw new IllegalArgumentException("clients must not be negative");
+    if (files < 1) throw new IllegalArgumentException("at least one file is required");
+    if (rate < 1) throw new IllegalArgumentException("rate must be positive");
+    if (latencyMillis < 0) throw new IllegalArgumentException("latency must not be negative");
+
+    this.clients = clients;
+    this.files = files;
+    this.durationMillis = durationMillis;
+    this.rate = rate;
+    this.latencyMillis = latencyMillis;
+    this.workload = workload;
+    this.seed = seed;
+  }
+
+  /**
+   * Returns the configuration passed as system properties, e.g. <code>
+   * -Dsaros.loadtest.clients=50</code>. Missing properties are replaced by their defaults.
+   *
+   * @return the configuration for the current run
+   * @throws IllegalArgumentException if a property has an invalid value
+   */
+  public static LoadTestConfig fromSystemProperties() {
+    return new LoadTestConfig(
+        Integer.getInteger(CLIENTS_KEY, 10),
+        Integer.getInteger(FILES_KEY, 5),
+        Long.getLong(DURATION_KEY, 60) * 1000,
+        Integer.getInteger(RATE_KEY, 5),
+        Long.getLong(LATENCY_KEY, 0),
+        Workload.parse(System.getProperty(WORKLOAD_KEY, DEFAULT_WORKLOAD)),
+        Long.getLong(SEED_KEY, System.nanoTime()));
+  }
+
+  public int getClients() {
+    return clients;
+  }
+
+  public int getFiles() {
+    return files;
+  }
+
+  public long getDurationMillis() {
+    return durationMillis;
+  }
+
+  public int getRate() {
+    return rate;
+  }
+
+  public long getLatencyMillis() {
+    return latencyMillis;
+  }
+
+  public Workload getWorkload() {
+    return workload;
+  }
+
+  public long getSeed() {
+    return seed;
+  }
+
+  @Override
+  public String toString() {
+    return "LoadTestConfig [clients="
+        + clients
+        + ", files="
+        + files
+        + ", durationMillis="
+        + durationMillis
+        + ", rate="
+        + rate
+        + ", latencyMillis="
+        + latencyMillis
+        + ", workload="
+        + workload
+        + ", seed="
+        + seed
+        + "]";
+  }
+}
@@ -0,0 +1,210 @@
+package saros.server.loadtest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.apache.log4j.Logger;
+import saros.filesystem.IFile;
+import saros.filesystem.IReferencePoint;
+import saros.net.xmpp.JID;
+import saros.server.filesystem.ServerWorkspaceImpl;
+import saros.session.User;
+import saros.util.NamedThreadFactory;
+import saros.util.ThreadUtils;
+
+/**
+ * Runs a load test: a host and a number of simulated clients share a set of files in one JVM and
+ * generate activities at a fixed rate. The participants are connected by a {@link LoopbackNetwork}
+ * and use the concurrency control components of the session, so the run measures how the host
+ * scales with the number of participants without the overhead of real editors and XMPP
+ * connections.
+ *
+ * <p>After the configured duration the harness waits until all activities were executed and
+ * compares the documents of all clients with the documents of the host.
+ */
+public final class LoadTestHarness {
+
+  private static final Logger log = Logger.getLogger(LoadTestHarness.class);
+
+  private static final String DOMAIN = "loadtest.saros";
+
+  /** How long to wait for the activities that are still in flight when the run ends. */
+  private static final long IDLE_TIMEOUT = 60 * 1000;
+
+  private static final String INITIAL_CONTENT =
+      "public class LoadTest {\n\n  public static void main(String[] args) {\n  }\n}\n";
+
+  private final LoadTestConfig config;
+
+  public LoadTestHarness(final LoadTestConfig config) {
+    this.config = config;
+  }
+
+  /**
+   * Runs the load test and blocks until it is finished.
+   *
+   * @return the results of the run
+   * @throws IOException if the temporary workspace cannot be created
+   * @throws InterruptedException if the current thread was interrupted during the run
+   */
+  public LoadTestReport run() throws IOException, InterruptedException {
+    final Path workspaceLocation = Files.createTempDirectory("saros-loadtest");
+
+    final ServerWorkspaceImpl workspace = new ServerWorkspaceImpl(workspaceLocation);
+    final IReferencePoint referencePoint = workspace.getProject("loadtest");
+
+    final List<IFile> sharedFiles = new ArrayList<IFile>();
+
+    for (int i = 0; i < config.getFiles(); i++)
+      sharedFiles.add(referencePoint.getFile("shared/File" + i + ".java"));
+
+    final LoopbackNetwork network = new LoopbackNetwork(config.getLatencyMillis());
+    final LoadTestReport report = new LoadTestReport(config);
+
+    final Map<User, SimulatedParticipant> participants =
+        new ConcurrentHashMap<User, SimulatedParticipant>();
+
+    final List<User> users = new CopyOnWriteArrayList<User>();
+
+    final User host = new User(new JID("host", DOMAIN), true, false, null);
+    users.add(host);
+
+    final SimulatedSession hostSession = new SimulatedSession(host, host, users);
+
+    try {
+      long seed = config.getSeed();
+
+      final SimulatedParticipant hostParticipant =
+          new SimulatedParticipant(
+              hostSession,
+              participants,
+              network,
+              report,
+              config.getWorkload(),
+              seed++,
+              referencePoint,
+              sharedFiles);
+
+      participants.put(host, hostParticipant);
+      hostParticipant.start(INITIAL_CONTENT);
+
+      for (int i = 1; i <= config.getClients(); i++) {
+        final User client = new User(new JID("client" + i, DOMAIN), false, false, null);
+        users.add(client);
+
+        final SimulatedParticipant participant =
+            new SimulatedParticipant(
+                new SimulatedSession(client, host, users),
+                participants,
+                network,
+                report,
+                config.getWorkload(),
+                seed++,
+                referencePoint,
+                sharedFiles);
+
+        participants.put(client, participant);
+        participant.start(INITIAL_CONTENT);
+
+        hostSession.userStartedQueuing(client);
+      }
+
+      log.info("starting load test with " + participants.size() + " participants: " + config);
+
+      final long start = System.currentTimeMillis();
+
+      generateActivities(participants.values());
+
+      final long elapsed = System.currentTimeMillis() - start;
+
+      final boolean completed = network.awaitIdle(IDLE_TIMEOUT);
+
+      if (!completed) log.warn("not all activities were executed after " + IDLE_TIMEOUT + " ms");
+
+      report.finish(elapsed, countDivergedDocuments(hostParticipant, participants), completed);
+
+      return report;
+
+    } finally {
+      for (final SimulatedParticipant participant : participants.values()) participant.stop();
+
+      network.shutdown();
+
+      Files.deleteIfExists(workspaceLocation);
+    }
+  }
+
+  /** Lets all participants generate activities at the configured rate until the run ends. */
+  private void generateActivities(final Iterable<SimulatedParticipant> participants)
+      throws InterruptedException {
+
+    final ScheduledThreadPoolExecutor scheduler =
+        new ScheduledThreadPoolExecutor(1, new NamedThreadFactory("LoadTest-Workload", false));
+
+    final long period = TimeUnit.SECONDS.toMicros(1) / config.getRate();
+
+    final Random random = new Random(config.getSeed());
+
+    try {
+      // spread the participants over the period so they do not all generate at the same time
+      for (final SimulatedParticipant participant : participants) {
+        scheduler.scheduleAtFixedRate(
+            ThreadUtils.wrapSafe(log, participant::generate),
+            (long) (random.nextDouble() * period),
+            period,
+            TimeUnit.MICROSECONDS);
+      }
+
+      Thread.sleep(config.getDurationMillis());
+    } finally {
+      scheduler.shutdownNow();
+    }
+
+    scheduler.awaitTermination(IDLE_TIMEOUT, TimeUnit.MILLISECONDS);
+  }
+
+  /** Returns the number of documents of the clients that differ from the documents of the host. */
+  private static int countDivergedDocuments(
+      final SimulatedParticipant host, final Map<User, SimulatedParticipant> participants)
+      throws InterruptedException {
+
+    try {
+      final Map<IFile, String> hostDocuments = host.getDocuments();
+
+      int diverged = 0;
+
+      for (final SimulatedParticipant participant : participants.values()) {
+        if (participant == host) continue;
+
+        final Map<IFile, String> documents = participant.getDocuments();
+
+        final Set<IFile> files = new HashSet<IFile>(hostDocuments.keySet());
+        files.addAll(documents.keySet());
+
+        for (final IFile file : files) {
+          if (Objects.equals(hostDocuments.get(file), documents.get(file))) continue;
+
+          log.error(participant.getUser() + " has diverged from the host: " + file);
+          diverged++;
+        }
+      }
+
+      return diverged;
+
+    } catch (ExecutionException e) {
+      throw new IllegalStateException("failed to compare the documents", e.getCause());
+    }
+  }
+}
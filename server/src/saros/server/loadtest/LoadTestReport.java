@@ -0,0 +1,148 @@
+package saros.server.loadtest;
+
+import java.io.PrintStream;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import saros.monitoring.metrics.Histogram;
+import saros.server.loadtest.Workload.Kind;
+
+/**
+ * The results of a load test run. The latency of an activity is the time between its generation
+ * and its execution by a recipient, it is recorded once per recipient.
+ *
+ * <p>Consistency violations are text edits whose replaced text did not match the document of the
+ * recipient and documents whose content differs from the content on the host after all activities
+ * were executed.
+ */
+public final class LoadTestReport {
+
+  private final LoadTestConfig config;
+
+  private final Map<Kind, LongAdder> generated = new EnumMap<Kind, LongAdder>(Kind.class);
+
+  private final Map<Kind, LongAdder> delivered = new EnumMap<Kind, LongAdder>(Kind.class);
+
+  /** Latencies in microseconds. */
+  private final Map<Kind, Histogram> latencies = new EnumMap<Kind, Histogram>(Kind.class);
+
+  private final AtomicInteger executionViolations = new AtomicInteger();
+
+  private volatile int divergedDocuments;
+
+  private volatile long elapsedMillis;
+
+  private volatile boolean completed;
+
+  LoadTestReport(final LoadTestConfig config) {
+    this.config = config;
+
+    for (final Kind kind : Kind.values()) {
+      generated.put(kind, new LongAdder());
+      delivered.put(kind, new LongAdder());
+      latencies.put(kind, new Histogram());
+    }
+  }
+
+  void generated(final Kind kind) {
+    generated.get(kind).increment();
+  }
+
+  void delivered(final Kind kind, final long latencyMicros) {
+    delivered.get(kind).increment();
+    latencies.get(kind).record(latencyMicros);
+  }
+
+  void executionViolation() {
+    executionViolations.incrementAndGet();
+  }
+
+  void finish(final long elapsedMillis, final int divergedDocuments, final boolean completed) {
+    this.elapsedMillis = elapsedMillis;
+    this.divergedDocuments = divergedDocuments;
+    this.completed = completed;
+  }
+
+  /** Returns the number of generated activities of the given kind. */
+  public long getGenerated(final Kind kind) {
+    return generated.get(kind).sum();
+  }
+
+  /** Returns the number of executions of activities of the given kind by their recipients. */
+  public long getDelivered(final Kind kind) {
+    return delivered.get(kind).sum();
+  }
+
+  /** Returns the given percentile of the latency of the given kind in microseconds. */
+  public long getLatencyPercentile(final Kind kind, final double percentile) {
+    return latencies.get(kind).getPercentile(percentile);
+  }
+
+  /** Returns the number of consistency violations that were detected during the run. */
+  public int getConsistencyViolations() {
+    return executionViolations.get() + divergedDocuments;
+  }
+
+  /**
+   * Returns whether all activities were executed before the run ended. If not, the documents may
+   * differ without a consistency violation.
+   */
+  public boolean isCompleted() {
+    return completed;
+  }
+
+  /** Prints a human readable summary of the results to the given stream. */
+  public void print(final PrintStream out) {
+    final double seconds = Math.max(elapsedMillis, 1) / 1000.0;
+
+    out.printf(
+        "Saros load test: host + %d clients, %d files, %.1f s, latency %d ms, workload %s, "
+            + "seed %d%n",
+        config.getClients(),
+        config.getFiles(),
+        seconds,
+        config.getLatencyMillis(),
+        config.getWorkload(),
+        config.getSeed());
+
+    out.printf(
+        "%-10s %10s %10s %10s %10s %10s %10s%n",
+        "kind",
+        "generated",
+        "executed",
+        "exec/s",
+        "p50 ms",
+        "p99 ms",
+        "max ms");
+
+    long totalDelivered = 0;
+
+    for (final Kind kind : Kind.values()) {
+      final Histogram latency = latencies.get(kind);
+      final long executions = getDelivered(kind);
+
+      totalDelivered += executions;
+
+      out.printf(
+          "%-10s %10d %10d %10.1f %10.2f %10.2f %10.2f%n",
+          kind.name().toLowerCase(),
+          getGenerated(kind),
+          executions,
+          executions / seconds,
+          latency.getPercentile(50) / 1000.0,
+          latency.getPercentile(99) / 1000.0,
+          latency.getMax() / 1000.0);
+    }
+
+    out.printf("throughput: %.1f executed activities/s%n", totalDelivered / seconds);
+
+    out.printf(
+        "consistency violations: %d (%d mismatching edits, %d diverged documents)%n",
+        getConsistencyViolations(),
+        executionViolations.get(),
+        divergedDocuments);
+
+    if (!completed) out.println("warning: not all activities were executed before the timeout");
+  }
+}
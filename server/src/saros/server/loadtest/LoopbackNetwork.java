@@ -0,0 +1,112 @@
+package saros.server.loadtest;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import org.apache.log4j.Logger;
+import saros.util.NamedThreadFactory;
+import saros.util.ThreadUtils;
+
+/**
+ * An in-memory stand-in for the XMPP network between the simulated participants. Messages are
+ * delivered after a fixed one-way latency. Like an XMPP connection, the network preserves the order
+ * of the messages sent between two participants.
+ *
+ * <p>The network also keeps track of all work that is caused by the delivered messages, so {@link
+ * #awaitIdle(long)} can be used to wait until all activities have been executed everywhere.
+ */
+final class LoopbackNetwork {
+
+  private static final Logger log = Logger.getLogger(LoopbackNetwork.class);
+
+  private final ScheduledThreadPoolExecutor scheduler =
+      new ScheduledThreadPoolExecutor(1, new NamedThreadFactory("LoadTest-Network", false));
+
+  private final long latencyMillis;
+
+  private final AtomicInteger pending = new AtomicInteger();
+
+  private final Object idleLock = new Object();
+
+  LoopbackNetwork(final long latencyMillis) {
+    this.latencyMillis = latencyMillis;
+  }
+
+  /**
+   * Delivers the given message to the given recipient after the latency of the network elapsed.
+   * The recipient is called on the network thread and must not block.
+   */
+  <T> void send(final Consumer<T> recipient, final T message) {
+    begin();
+
+    scheduler.schedule(
+        ThreadUtils.wrapSafe(
+            log,
+            () -> {
+              try {
+                recipient.accept(message);
+              } finally {
+                done();
+              }
+            }),
+        latencyMillis,
+        TimeUnit.MILLISECONDS);
+  }
+
+  /** Executes the given runnable with the given executor and tracks it until it completed. */
+  void execute(final Executor executor, final Runnable runnable) {
+    begin();
+
+    executor.execute(
+        ThreadUtils.wrapSafe(
+            log,
+            () -> {
+              try {
+                runnable.run();
+              } finally {
+                done();
+              }
+            }));
+  }
+
+  /**
+   * Waits until all messages are delivered and all tracked work has completed.
+   *
+   * @param timeoutMillis the maximum time to wait
+   * @return <code>true</code> if the network is idle, <code>false</code> if the timeout elapsed
+   * @throws InterruptedException if the current thread was interrupted while waiting
+   */
+  boolean awaitIdle(final long timeoutMillis) throws InterruptedException {
+    final long deadline = System.currentTimeMillis() + timeoutMillis;
+
+    synchronized (idleLock) {
+      while (pending.get() > 0) {
+        final long remaining = deadline - System.currentTimeMillis();
+
+        if (remaining <= 0) return false;
+
+        idleLock.wait(remaining);
+      }
+    }
+
+    return true;
+  }
+
+  void shutdown() {
+    scheduler.shutdownNow();
+  }
+
+  private void begin() {
+    pending.incrementAndGet();
+  }
+
+  private void done() {
+    if (pending.decrementAndGet() > 0) return;
+
+    synchronized (idleLock) {
+      idleLock.notifyAll();
+    }
+  }
+}
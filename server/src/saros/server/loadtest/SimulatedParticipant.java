@@ -0,0 +1,400 @@
+package saros.server.loadtest;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.apache.log4j.Logger;
+import saros.activities.ChecksumActivity;
+import saros.activities.FileActivity;
+import saros.activities.IActivity;
+import saros.activities.JupiterActivity;
+import saros.activities.QueueItem;
+import saros.activities.TextEditActivity;
+import saros.activities.TextSelectionActivity;
+import saros.concurrent.management.ConcurrentDocumentClient;
+import saros.concurrent.management.ConcurrentDocumentServer;
+import saros.editor.text.TextPosition;
+import saros.editor.text.TextPositionUtils;
+import saros.editor.text.TextSelection;
+import saros.filesystem.IFile;
+import saros.filesystem.IReferencePoint;
+import saros.monitoring.metrics.MetricRegistry;
+import saros.server.loadtest.Workload.Kind;
+import saros.session.User;
+import saros.util.NamedThreadFactory;
+
+/**
+ * A participant of a load test session. Each participant has its own view on the session, its own
+ * {@link ConcurrentDocumentClient} and in-memory copies of the documents. The host additionally
+ * runs the {@link ConcurrentDocumentServer} and relays all activities like the activity handler of
+ * a real session does.
+ *
+ * <p>Generating and executing activities happens on a single thread per participant, which plays
+ * the role of the UI thread. The host transforms incoming activities on a separate dispatch thread.
+ */
+final class SimulatedParticipant {
+
+  private static final Logger log = Logger.getLogger(SimulatedParticipant.class);
+
+  private static final String LINE_SEPARATOR = TextPositionUtils.UNIX_LINE_SEPARATOR;
+
+  private static final String ALPHABET = "abcdefghijklmnopqrstuvwxyz ;\n";
+
+  /** Documents larger than this only shrink, so the documents do not grow without bounds. */
+  private static final int MAX_DOCUMENT_LENGTH = 4096;
+
+  /** The number of own files a participant keeps before it starts removing them. */
+  private static final int MAX_OWN_FILES = 3;
+
+  private final User user;
+
+  private final SimulatedSession session;
+
+  private final Map<User, SimulatedParticipant> participants;
+
+  private final LoopbackNetwork network;
+
+  private final LoadTestReport report;
+
+  private final Workload workload;
+
+  private final Random random;
+
+  private final IReferencePoint referencePoint;
+
+  private final List<IFile> sharedFiles;
+
+  private final ConcurrentDocumentClient documentClient;
+
+  /** Only set on the host. */
+  private final ConcurrentDocumentServer documentServer;
+
+  private final ExecutorService ui;
+
+  /** Only set on the host. */
+  private final ExecutorService dispatch;
+
+  /** The documents of this participant, only accessed by the UI thread. */
+  private final Map<IFile, StringBuilder> documents = new HashMap<IFile, StringBuilder>();
+
+  /** The files created by this participant, only accessed by the UI thread. */
+  private final Deque<IFile> ownFiles = new ArrayDeque<IFile>();
+
+  private int createdFiles;
+
+  SimulatedParticipant(
+      final SimulatedSession session,
+      final Map<User, SimulatedParticipant> participants,
+      final LoopbackNetwork network,
+      final LoadTestReport report,
+      final Workload workload,
+      final long seed,
+      final IReferencePoint referencePoint,
+      final List<IFile> sharedFiles) {
+
+    this.user = session.getLocalUser();
+    this.session = session;
+    this.participants = participants;
+    this.network = network;
+    this.report = report;
+    this.workload = workload;
+    this.random = new Random(seed);
+    this.referencePoint = referencePoint;
+    this.sharedFiles = sharedFiles;
+
+    final String name = user.getJID().getName();
+
+    documentClient = new ConcurrentDocumentClient(session);
+    ui = Executors.newSingleThreadExecutor(new NamedThreadFactory("LoadTest-UI-" + name, false));
+
+    if (session.isHost()) {
+      documentServer = new ConcurrentDocumentServer(session, new MetricRegistry());
+      dispatch =
+          Executors.newSingleThreadExecutor(
+              new NamedThreadFactory("LoadTest-Dispatch-" + name, false));
+    } else {
+      documentServer = null;
+      dispatch = null;
+    }
+  }
+
+  User getUser() {
+    return user;
+  }
+
+  SimulatedSession getSession() {
+    return session;
+  }
+
+  /** Starts the components of the participant and opens the shared files with the given content. */
+  void start(final String initialContent) {
+    for (final IFile file : sharedFiles) documents.put(file, new StringBuilder(initialContent));
+
+    documentClient.start();
+
+    if (documentServer != null) documentServer.start();
+  }
+
+  void stop() {
+    ui.shutdownNow();
+
+    if (dispatch != null) dispatch.shutdownNow();
+
+    documentClient.stop();
+
+    if (documentServer != null) documentServer.stop();
+  }
+
+  /** Generates the next activity of the workload on the UI thread of this participant. */
+  void generate() {
+    network.execute(ui, this::generateActivity);
+  }
+
+  /**
+   * Returns a copy of the documents of this participant. Must not be called from the UI thread of
+   * this participant.
+   */
+  Map<IFile, String> getDocuments() throws InterruptedException, ExecutionException {
+    return ui.submit(
+            () -> {
+              final Map<IFile, String> copy = new HashMap<IFile, String>();
+
+              for (final Entry<IFile, StringBuilder> entry : documents.entrySet())
+                copy.put(entry.getKey(), entry.getValue().toString());
+
+              return copy;
+            })
+        .get();
+  }
+
+  private void generateActivity() {
+    final long created = System.nanoTime();
+
+    final Kind kind = workload.next(random);
+
+    final IActivity activity;
+
+    switch (kind) {
+      case EDIT:
+        activity = createTextEdit();
+        break;
+      case SELECTION:
+        activity = createTextSelection();
+        break;
+      case FILE:
+        activity = createFileOperation();
+        break;
+      default:
+        throw new IllegalStateException("unknown kind: " + kind);
+    }
+
+    execute(activity);
+
+    report.generated(kind);
+
+    final Envelope envelope =
+        new Envelope(kind, documentClient.transformToJupiter(activity), created);
+
+    if (session.isHost()) network.execute(dispatch, () -> relay(envelope));
+    else network.send(participants.get(session.getHost())::receiveOnHost, envelope);
+  }
+
+  private IActivity createTextEdit() {
+    final IFile file = sharedFiles.get(random.nextInt(sharedFiles.size()));
+    final StringBuilder document = documents.get(file);
+
+    final int length = document.length();
+
+    final boolean delete = length > 0 && (length > MAX_DOCUMENT_LENGTH || random.nextInt(10) < 3);
+
+    final int offset;
+    final String newText;
+    final String replacedText;
+
+    if (delete) {
+      offset = random.nextInt(length);
+      newText = "";
+      replacedText = document.substring(offset, Math.min(length, offset + 1 + random.nextInt(5)));
+    } else {
+      offset = random.nextInt(length + 1);
+      newText = randomText(1 + random.nextInt(8));
+      replacedText = "";
+    }
+
+    return TextEditActivity.buildTextEditActivity(
+        user, positionOf(document, offset), newText, replacedText, file);
+  }
+
+  private IActivity createTextSelection() {
+    final IFile file = sharedFiles.get(random.nextInt(sharedFiles.size()));
+    final StringBuilder document = documents.get(file);
+
+    final int start = random.nextInt(document.length() + 1);
+    final int end = start + random.nextInt(document.length() - start + 1);
+
+    return new TextSelectionActivity(
+        user,
+        new TextSelection(positionOf(document, start), positionOf(document, end)),
+        file);
+  }
+
+  private IActivity createFileOperation() {
+    if (ownFiles.size() >= MAX_OWN_FILES || (!ownFiles.isEmpty() && random.nextBoolean())) {
+      return new FileActivity(
+          user,
+          FileActivity.Type.REMOVED,
+          FileActivity.Purpose.ACTIVITY,
+          ownFiles.poll(),
+          null,
+          null,
+          null);
+    }
+
+    final IFile file =
+        referencePoint.getFile(
+            "scratch/" + user.getJID().getName() + "-" + (++createdFiles) + ".txt");
+
+    ownFiles.add(file);
+
+    return new FileActivity(
+        user,
+        FileActivity.Type.CREATED,
+        FileActivity.Purpose.ACTIVITY,
+        file,
+        null,
+        randomText(256).getBytes(StandardCharsets.UTF_8),
+        StandardCharsets.UTF_8.name());
+  }
+
+  /** Called on the network thread of the host. */
+  private void receiveOnHost(final Envelope envelope) {
+    network.execute(dispatch, () -> relay(envelope));
+  }
+
+  /** Called on the network thread of a client. */
+  private void receive(final Envelope envelope) {
+    network.execute(ui, () -> executeRemote(envelope));
+  }
+
+  /**
+   * Transforms the given activity on the host and sends the results to their recipients. Mirrors
+   * the routing of the activity handler of the host. Called on the dispatch thread of the host.
+   */
+  private void relay(final Envelope envelope) {
+    final IActivity activity = envelope.activity;
+
+    documentServer.handleResourceChange(activity);
+
+    final List<QueueItem> items;
+
+    if (activity instanceof JupiterActivity || activity instanceof ChecksumActivity) {
+      items = documentServer.transformIncoming(activity);
+    } else {
+      final List<User> recipients = session.getUsers();
+      recipients.remove(activity.getSource());
+
+      items = Collections.singletonList(new QueueItem(recipients, activity));
+    }
+
+    for (final QueueItem item : items) {
+      final Envelope relayed = envelope.relay(item.activity);
+
+      for (final User recipient : item.recipients) {
+        final SimulatedParticipant participant = participants.get(recipient);
+
+        if (participant == this) network.execute(ui, () -> executeRemote(relayed));
+        else network.send(participant::receive, relayed);
+      }
+    }
+  }
+
+  /** Executes an activity received from the host. Called on the UI thread. */
+  private void executeRemote(final Envelope envelope) {
+    for (final IActivity activity : documentClient.transformFromJupiter(envelope.activity))
+      execute(activity);
+
+    report.delivered(envelope.kind, (System.nanoTime() - envelope.created) / 1000);
+  }
+
+  private void execute(final IActivity activity) {
+    if (activity instanceof TextEditActivity) {
+      execute((TextEditActivity) activity);
+
+    } else if (activity instanceof FileActivity) {
+      final FileActivity fileActivity = (FileActivity) activity;
+
+      if (fileActivity.getType() == FileActivity.Type.CREATED)
+        documents.put(
+            fileActivity.getResource(),
+            new StringBuilder(new String(fileActivity.getContent(), StandardCharsets.UTF_8)));
+      else if (fileActivity.getType() == FileActivity.Type.REMOVED)
+        documents.remove(fileActivity.getResource());
+    }
+
+    // selections do not change the documents
+  }
+
+  private void execute(final TextEditActivity edit) {
+    final StringBuilder document = documents.get(edit.getResource());
+
+    if (document == null) {
+      log.error(user + " received text edit for missing document: " + edit);
+      report.executionViolation();
+      return;
+    }
+
+    final int start;
+
+    try {
+      start =
+          TextPositionUtils.calculateOffset(
+              document.toString(), edit.getStartPosition(), LINE_SEPARATOR);
+    } catch (IllegalStateException e) {
+      log.error(user + " received text edit for a line that does not exist: " + edit);
+      report.executionViolation();
+      return;
+    }
+
+    final int end = start + edit.getReplacedText().length();
+
+    if (end > document.length() || !document.substring(start, end).equals(edit.getReplacedText())) {
+      log.error(user + " received text edit that does not match the document: " + edit);
+      report.executionViolation();
+      return;
+    }
+
+    document.replace(start, end, edit.getNewText());
+  }
+
+  private String randomText(final int length) {
+    final StringBuilder text = new StringBuilder(length);
+
+    for (int i = 0; i < length; i++)
+      text.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+
+    return text.toString();
+  }
+
+  private static TextPosition positionOf(final CharSequence document, final int offset) {
+    int line = 0;
+    int lineStart = 0;
+
+    for (int i = 0; i < offset; i++) {
+      if (document.charAt(i) == '\n') {
+        line++;
+        lineStart = i + 1;
+      }
+    }
+
+    return new TextPosition(line, offset - lineStart);
+  }
+}
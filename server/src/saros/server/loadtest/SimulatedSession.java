@@ -0,0 +1,249 @@
+package saros.server.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import saros.activities.IActivity;
+import saros.concurrent.management.ConcurrentDocumentClient;
+import saros.filesystem.IReferencePoint;
+import saros.filesystem.IResource;
+import saros.net.xmpp.JID;
+import saros.session.IActivityConsumer;
+import saros.session.IActivityConsumer.Priority;
+import saros.session.IActivityProducer;
+import saros.session.ISarosSession;
+import saros.session.ISessionListener;
+import saros.session.User;
+import saros.session.User.Permission;
+import saros.synchronize.StopManager;
+
+/**
+ * The view of a simulated participant on the session. It only supports the parts of {@link
+ * ISarosSession} that the concurrency control components of the session rely on, all other
+ * operations throw an {@link UnsupportedOperationException}. All participants have all resources
+ * of the session.
+ */
+final class SimulatedSession implements ISarosSession {
+
+  private final User localUser;
+
+  private final User host;
+
+  private final List<User> users;
+
+  private final List<ISessionListener> listeners = new CopyOnWriteArrayList<>();
+
+  /**
+   * @param localUser the user of the participant
+   * @param host the host of the session
+   * @param users the users of the session, shared by all participants
+   */
+  SimulatedSession(final User localUser, final User host, final List<User> users) {
+    this.localUser = localUser;
+    this.host = host;
+    this.users = users;
+  }
+
+  @Override
+  public List<User> getUsers() {
+    return new ArrayList<User>(users);
+  }
+
+  @Override
+  public List<User> getRemoteUsers() {
+    final List<User> remoteUsers = new ArrayList<User>(users);
+    remoteUsers.remove(localUser);
+    return remoteUsers;
+  }
+
+  @Override
+  public User getHost() {
+    return host;
+  }
+
+  @Override
+  public boolean isHost() {
+    return localUser.equals(host);
+  }
+
+  @Override
+  public User getLocalUser() {
+    return localUser;
+  }
+
+  @Override
+  public User getUser(final JID jid) {
+    for (final User user : users) if (user.getJID().equals(jid)) return user;
+
+    return null;
+  }
+
+  @Override
+  public boolean hasWriteAccess() {
+    return true;
+  }
+
+  @Override
+  public void userStartedQueuing(final User user) {
+    for (final ISessionListener listener : listeners) listener.userStartedQueuing(user);
+  }
+
+  @Override
+  public void removeUser(final User user) {
+    for (final ISessionListener listener : listeners) listener.userLeft(user);
+  }
+
+  @Override
+  public void addListener(final ISessionListener listener) {
+    listeners.add(listener);
+  }
+
+  @Override
+  public void removeListener(final ISessionListener listener) {
+    listeners.remove(listener);
+  }
+
+  @Override
+  public void addActivityConsumer(final IActivityConsumer consumer, final Priority priority) {
+    // activities are executed by the participant itself
+  }
+
+  @Override
+  public void removeActivityConsumer(final IActivityConsumer consumer) {
+    // activities are executed by the participant itself
+  }
+
+  @Override
+  public boolean userHasReferencePoint(final User user, final IReferencePoint referencePoint) {
+    return true;
+  }
+
+  @Override
+  public boolean isShared(final IResource resource) {
+    return true;
+  }
+
+  @Override
+  public String getID() {
+    return "loadtest";
+  }
+
+  @Override
+  public void changePermission(final User user, final Permission permission) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public void addUser(final User user) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public void userFinishedResourceNegotiation(final User user) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public void kickUser(final User user) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public void setActivityExecution(final IReferencePoint referencePoint, final boolean enabled) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public Set<IReferencePoint> getReferencePoints() {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public void start() {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public JID getResourceQualifiedJID(final JID jid) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public ConcurrentDocumentClient getConcurrentDocumentClient() {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public Set<Integer> getUnavailableColors() {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public void exec(final List<IActivity> activities) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public void addActivityProducer(final IActivityProducer producer) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public void removeActivityProducer(final IActivityProducer producer) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public String getReferencePointId(final IReferencePoint referencePoint) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public IReferencePoint getReferencePoint(final String referencePointID) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public void addSharedReferencePoint(
+      final IReferencePoint referencePoint, final String referencePointId) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public void addReferencePointMapping(
+      final String referencePointId, final IReferencePoint referencePoint) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public void removeReferencePointMapping(
+      final String referencePointId, final IReferencePoint referencePoint) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public StopManager getStopManager() {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public void changeColor(final int colorID) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public void enableQueuing(final IReferencePoint referencePoint) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public void disableQueuing(final IReferencePoint referencePoint) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public <T> T getComponent(final Class<T> key) {
+    throw new UnsupportedOperationException();
+  }
+}
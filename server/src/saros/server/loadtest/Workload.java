@@ -0,0 +1,95 @@
+package saros.server.loadtest;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Random;
+
+/** The weighted mix of activities the simulated participants generate. */
+public final class Workload {
+
+  /** The kinds of activities a participant can generate. */
+  public enum Kind {
+    /** Inserts or deletes text in one of the shared files. */
+    EDIT,
+    /** Changes the selection in one of the shared files. */
+    SELECTION,
+    /** Creates or removes a file owned by the participant. */
+    FILE
+  }
+
+  private final Map<Kind, Integer> weights;
+
+  private final int totalWeight;
+
+  public Workload(final Map<Kind, Integer> weights) {
+    this.weights = new EnumMap<Kind, Integer>(Kind.class);
+
+    int total = 0;
+
+    for (final Entry<Kind, Integer> entry : weights.entrySet()) {
+      if (entry.getValue() < 0)
+        throw new IllegalArgumentException("negative weight for " + entry.getKey());
+
+      this.weights.put(entry.getKey(), entry.getValue());
+      total += entry.getValue();
+    }
+
+    if (total == 0) throw new IllegalArgumentException("workload contains no activities");
+
+    this.totalWeight = total;
+  }
+
+  /**
+   * Parses a workload in the form <code>edit:80,selection:15,file:5</code>. Kinds that are not
+   * listed are not generated.
+   *
+   * @param workload the workload to parse
+   * @return the parsed workload
+   * @throws IllegalArgumentException if the workload cannot be parsed
+   */
+  public static Workload parse(final String workload) {
+    final Map<Kind, Integer> weights = new EnumMap<Kind, Integer>(Kind.class);
+
+    for (final String part : workload.split(",")) {
+      final String[] entry = part.trim().split(":");
+
+      if (entry.length != 2) throw new IllegalArgumentException("invalid workload: " + workload);
+
+      try {
+        weights.put(
+            Kind.valueOf(entry[0].trim().toUpperCase()), Integer.parseInt(entry[1].trim()));
+      } catch (IllegalArgumentException e) {
+        throw new IllegalArgumentException("invalid workload: " + workload, e);
+      }
+    }
+
+    return new Workload(weights);
+  }
+
+  /** Returns a random kind of activity according to the weights of this workload. */
+  Kind next(final Random random) {
+    int value = random.nextInt(totalWeight);
+
+    for (final Entry<Kind, Integer> entry : weights.entrySet()) {
+      value -= entry.getValue();
+
+      if (value < 0) return entry.getKey();
+    }
+
+    throw new IllegalStateException("weights changed");
+  }
+
+  @Override
+  public String toString() {
+    final StringBuilder builder = new StringBuilder();
+
+    for (final Entry<Kind, Integer> entry : weights.entrySet()) {
+      if (builder.length() > 0) builder.append(',');
+
+      builder.append(entry.getKey().name().toLowerCase()).append(':').append(entry.getValue());
+    }
+
+    return builder.toString();
+  }
+}
@@ -0,0 +1,90 @@
+package saros.server.progress;
+
+import saros.monitoring.IProgressMonitor;
+
+/**
+ * Progress monitor that remembers the progress of a task, so it can be inspected by other threads
+ * while the task is running, e.g. by a console command. All calls are forwarded to the given
+ * monitor.
+ *
+ * <p>The progress is only updated by the thread that runs the task.
+ */
+public class ProgressTracker implements IProgressMonitor {
+  private final IProgressMonitor monitor;
+
+  private volatile String task;
+  private volatile String subTask;
+
+  private volatile int total = UNKNOWN;
+  private volatile int worked;
+
+  public ProgressTracker(IProgressMonitor monitor) {
+    this.monitor = monitor;
+  }
+
+  /** Returns the name of the current task or <code>null</code> if no task was started yet. */
+  public String getTaskName() {
+    return task;
+  }
+
+  /** Returns the name of the current sub task or <code>null</code> if there is none. */
+  public String getSubTaskName() {
+    return subTask;
+  }
+
+  /**
+   * Returns the progress of the current task.
+   *
+   * @return the progress in percent or <code>-1</code> if the amount of work is unknown
+   */
+  public int getPercentage() {
+    final int total = this.total;
+
+    if (total <= 0) return -1;
+
+    return (int) Math.min(100, worked * 100L / total);
+  }
+
+  @Override
+  public void done() {
+    worked = total;
+    monitor.done();
+  }
+
+  @Override
+  public void subTask(String name) {
+    subTask = name;
+    monitor.subTask(name);
+  }
+
+  @Override
+  public void setTaskName(String name) {
+    task = name;
+    monitor.setTaskName(name);
+  }
+
+  @Override
+  public void worked(int amount) {
+    worked += amount;
+    monitor.worked(amount);
+  }
+
+  @Override
+  public void setCanceled(boolean canceled) {
+    monitor.setCanceled(canceled);
+  }
+
+  @Override
+  public boolean isCanceled() {
+    return monitor.isCanceled();
+  }
+
+  @Override
+  public void beginTask(String name, int size) {
+    task = name;
+    subTask = null;
+    total = size;
+    worked = 0;
+    monitor.beginTask(name, size);
+  }
+}
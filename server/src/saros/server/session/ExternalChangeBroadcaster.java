@@ -0,0 +1,156 @@
+package saros.server.session;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import org.apache.log4j.Logger;
+import saros.activities.FileActivity;
+import saros.activities.FolderCreatedActivity;
+import saros.activities.FolderDeletedActivity;
+import saros.repackaged.picocontainer.Startable;
+import saros.server.editor.ServerEditorManager;
+import saros.server.filesystem.IWorkspaceChangeListener;
+import saros.server.filesystem.ServerFileContentChangedNotifier;
+import saros.server.filesystem.ServerFileImpl;
+import saros.server.filesystem.ServerFolderImpl;
+import saros.server.filesystem.ServerResourceImpl;
+import saros.session.AbstractActivityProducer;
+import saros.session.ISarosSession;
+import saros.synchronize.UISynchronizer;
+
+/**
+ * Broadcasts changes of shared files and folders that were made on disk by external processes
+ * (i.e. not by Saros itself) to the other session participants.
+ *
+ * <p>The changes are handled in the context of the {@link UISynchronizer}, which is also used to
+ * execute incoming activities, so a change caused by Saros is always recorded before it is checked
+ * here.
+ */
+public class ExternalChangeBroadcaster extends AbstractActivityProducer
+    implements IWorkspaceChangeListener, Startable {
+
+  private static final Logger log = Logger.getLogger(ExternalChangeBroadcaster.class);
+
+  private final ISarosSession session;
+  private final ServerFileContentChangedNotifier notifier;
+  private final ServerEditorManager editorManager;
+  private final UISynchronizer synchronizer;
+
+  /**
+   * Creates an ExternalChangeBroadcaster.
+   *
+   * @param session the current session
+   * @param notifier the notifier reporting the changes of shared resources
+   * @param editorManager the editor manager to close outdated editors with
+   * @param synchronizer the synchronizer used to execute activities
+   */
+  public ExternalChangeBroadcaster(
+      ISarosSession session,
+      ServerFileContentChangedNotifier notifier,
+      ServerEditorManager editorManager,
+      UISynchronizer synchronizer) {
+
+    this.session = session;
+    this.notifier = notifier;
+    this.editorManager = editorManager;
+    this.synchronizer = synchronizer;
+  }
+
+  @Override
+  public void start() {
+    session.addActivityProducer(this);
+    notifier.addWorkspaceChangeListener(this);
+  }
+
+  @Override
+  public void stop() {
+    notifier.removeWorkspaceChangeListener(this);
+    session.removeActivityProducer(this);
+  }
+
+  @Override
+  public void fileChanged(ServerFileImpl file) {
+    synchronizer.syncExec(
+        () -> {
+          if (!isExternalChange(file)) return;
+
+          byte[] content;
+
+          try {
+            content = Files.readAllBytes(file.getLocation());
+          } catch (IOException e) {
+            log.warn("could not read externally changed file " + file, e);
+            return;
+          }
+
+          // the editor is reloaded from disk with the next text edit
+          editorManager.closeEditor(file);
+
+          fireActivity(
+              new FileActivity(
+                  session.getLocalUser(),
+                  FileActivity.Type.CREATED,
+                  FileActivity.Purpose.ACTIVITY,
+                  file,
+                  null,
+                  content,
+                  file.getCharset()));
+        });
+  }
+
+  @Override
+  public void fileRemoved(ServerFileImpl file) {
+    synchronizer.syncExec(
+        () -> {
+          if (!isExternalChange(file)) return;
+
+          editorManager.closeEditor(file);
+
+          fireActivity(
+              new FileActivity(
+                  session.getLocalUser(),
+                  FileActivity.Type.REMOVED,
+                  FileActivity.Purpose.ACTIVITY,
+                  file,
+                  null,
+                  null,
+                  null));
+        });
+  }
+
+  @Override
+  public void folderCreated(ServerFolderImpl folder) {
+    synchronizer.syncExec(
+        () -> {
+          if (!isExternalChange(folder)) return;
+
+          fireActivity(new FolderCreatedActivity(session.getLocalUser(), folder));
+        });
+  }
+
+  @Override
+  public void folderRemoved(ServerFolderImpl folder) {
+    synchronizer.syncExec(
+        () -> {
+          if (!isExternalChange(folder)) return;
+
+          editorManager.closeEditorsInFolder(folder);
+
+          fireActivity(new FolderDeletedActivity(session.getLocalUser(), folder));
+        });
+  }
+
+  private boolean isExternalChange(ServerResourceImpl resource) {
+    if (resource.getWorkspace().isOwnModification(resource.getLocation())) return false;
+
+    resource.getWorkspace().forgetModification(resource.getLocation());
+
+    if (!session.hasWriteAccess()) {
+      log.warn("ignoring external change of " + resource + ", the local user has no write access");
+      return false;
+    }
+
+    log.debug("broadcasting external change of " + resource);
+
+    return true;
+  }
+}
@@ -0,0 +1,502 @@
+package saros.server.session;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.IllegalCharsetNameException;
+import java.nio.charset.UnsupportedCharsetException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.apache.log4j.Logger;
+import saros.activities.FileActivity;
+import saros.activities.FolderCreatedActivity;
+import saros.activities.FolderDeletedActivity;
+import saros.activities.IActivity;
+import saros.activities.IResourceActivity;
+import saros.filesystem.IFile;
+import saros.filesystem.IFolder;
+import saros.filesystem.IResource;
+import saros.repackaged.picocontainer.Startable;
+import saros.server.editor.ServerEditorManager;
+import saros.server.filesystem.ServerFileImpl;
+import saros.server.filesystem.ServerFolderImpl;
+import saros.server.filesystem.ServerResourceImpl;
+import saros.session.AbstractActivityConsumer;
+import saros.session.IBatchingActivityConsumer;
+import saros.session.ISarosSession;
+
+/**
+ * Executes FileActivities, FolderCreatedActivities and FolderDeletedActivities and performs the
+ * actual filesystem operations.
+ *
+ * <p>Consecutive activities of one batch of remote activities are executed together. A large
+ * refactoring on the client side, e.g. the rename of a package, arrives as a folder creation, one
+ * file move per contained file and a folder deletion. If these activities describe a plain rename
+ * of the folder, the folder is renamed as a whole. Otherwise the activities are executed one by
+ * one, moving files without changed contents by renaming them and creating every folder only once.
+ */
+public class FileSystemActivityExecutor extends AbstractActivityConsumer
+    implements IBatchingActivityConsumer, Startable {
+
+  private static final Logger log = Logger.getLogger(FileSystemActivityExecutor.class);
+
+  private final ISarosSession session;
+  private final ServerEditorManager editorManager;
+
+  /** The collected activities, only accessed by the thread that executes activities. */
+  private List<IActivity> pending = new ArrayList<>();
+
+  /** Folders known to exist during the execution of the current batch. */
+  private final Set<Path> existingFolders = new HashSet<>();
+
+  /**
+   * Creates a FileSystemActivityExecutor.
+   *
+   * @param session the current session
+   * @param editorManager the editor manager to update the file mapping on a file move
+   */
+  public FileSystemActivityExecutor(ISarosSession session, ServerEditorManager editorManager) {
+    this.session = session;
+    this.editorManager = editorManager;
+  }
+
+  @Override
+  public void start() {
+    session.addActivityConsumer(this, Priority.ACTIVE);
+  }
+
+  @Override
+  public void stop() {
+    session.removeActivityConsumer(this);
+  }
+
+  @Override
+  public boolean isBatched(IActivity activity) {
+    return activity instanceof FileActivity
+        || activity instanceof FolderCreatedActivity
+        || activity instanceof FolderDeletedActivity;
+  }
+
+  @Override
+  public void exec(IActivity activity) {
+    if (isBatched(activity)) pending.add(activity);
+  }
+
+  @Override
+  public void flush() {
+    if (pending.isEmpty()) return;
+
+    final List<IActivity> batch = pending;
+    pending = new ArrayList<>();
+
+    final Map<IActivity, FolderMove> moves = planFolderMoves(batch);
+    final Set<IActivity> executed = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    try {
+      for (IActivity activity : batch) {
+        FolderMove move = moves.get(activity);
+
+        if (move != null && execute(move)) executed.addAll(move.activities);
+
+        if (executed.contains(activity)) continue;
+
+        super.exec(activity);
+      }
+    } finally {
+      existingFolders.clear();
+    }
+  }
+
+  @Override
+  public void receive(FileActivity activity) {
+    try {
+      switch (activity.getType()) {
+        case CREATED:
+          executeFileCreation(activity);
+          break;
+        case MOVED:
+          executeFileMove(activity);
+          break;
+        case REMOVED:
+          executeFileRemoval(activity);
+          break;
+        default:
+          log.warn("Unknown file activity type " + activity.getType());
+          break;
+      }
+    } catch (IOException | IllegalCharsetNameException | UnsupportedCharsetException e) {
+      log.error("Could not execute " + activity, e);
+    }
+  }
+
+  @Override
+  public void receive(FolderCreatedActivity activity) {
+    try {
+      executeFolderCreation(activity);
+    } catch (IOException e) {
+      log.error("Could not execute " + activity, e);
+    }
+  }
+
+  @Override
+  public void receive(FolderDeletedActivity activity) {
+    try {
+      executeFolderRemoval(activity);
+    } catch (IOException e) {
+      log.error("Could not execute " + activity, e);
+    }
+  }
+
+  private void executeFileCreation(FileActivity activity)
+      throws IOException, IllegalCharsetNameException, UnsupportedCharsetException {
+
+    IFile file = activity.getResource();
+    file.create(new ByteArrayInputStream(activity.getContent()));
+
+    addExistingParents(file);
+
+    String charset = activity.getEncoding();
+
+    if (charset != null) {
+      file.setCharset(charset);
+    }
+  }
+
+  private void executeFileMove(FileActivity activity)
+      throws IOException, IllegalCharsetNameException, UnsupportedCharsetException {
+
+    IFile oldFile = activity.getOldResource();
+    IFile newFile = activity.getResource();
+
+    if (!oldFile.exists()) {
+      log.warn(
+          "Could not move file as it does not exist."
+              + " source: "
+              + oldFile
+              + " destination: "
+              + newFile);
+
+      return;
+    }
+
+    byte[] activityContent = activity.getContent();
+
+    if (activityContent == null) {
+      // the contents did not change, so a rename suffices
+      String charset = oldFile.getCharset();
+
+      ((ServerFileImpl) oldFile).move((ServerFileImpl) newFile);
+      newFile.setCharset(charset);
+
+    } else {
+      InputStream contents = new ByteArrayInputStream(activityContent);
+
+      newFile.create(contents);
+      newFile.setCharset(activity.getEncoding());
+
+      oldFile.delete();
+    }
+
+    addExistingParents(newFile);
+
+    // only update if all previous operations are successful
+    editorManager.updateMapping(oldFile, newFile);
+  }
+
+  private void executeFileRemoval(FileActivity activity) throws IOException {
+    IFile file = activity.getResource();
+    editorManager.closeEditor(file);
+    file.delete();
+  }
+
+  private void executeFolderCreation(FolderCreatedActivity activity) throws IOException {
+    IFolder folder = activity.getResource();
+
+    if (existingFolders.contains(pathOf(folder))) return;
+
+    folder.create();
+
+    existingFolders.add(pathOf(folder));
+    addExistingParents(folder);
+  }
+
+  private void executeFolderRemoval(FolderDeletedActivity activity) throws IOException {
+    IFolder folder = activity.getResource();
+
+    existingFolders.clear();
+
+    folder.delete();
+    editorManager.closeEditorsInFolder(folder);
+  }
+
+  private void addExistingParents(IResource resource) {
+    for (Path parent = pathOf(resource).getParent();
+        parent != null && existingFolders.add(parent);
+        parent = parent.getParent()) {
+      // the loop stops at the first parent that was already known
+    }
+  }
+
+  /**
+   * Executes the given folder move by renaming the folder.
+   *
+   * @return <code>true</code> if the folder was moved, <code>false</code> if its activities have to
+   *     be executed one by one
+   */
+  private boolean execute(FolderMove move) {
+    Map<IFile, String> charsets = new HashMap<>();
+
+    try {
+      for (FileActivity fileMove : move.fileMoves)
+        charsets.put(fileMove.getResource(), fileMove.getOldResource().getCharset());
+
+      move.source.move(move.destination);
+    } catch (IOException e) {
+      log.warn("Could not move " + move.source + " as a whole, moving its files one by one", e);
+      return false;
+    }
+
+    existingFolders.clear();
+
+    editorManager.updateMappings(move.source, move.destination);
+
+    for (Map.Entry<IFile, String> charset : charsets.entrySet()) {
+      try {
+        charset.getKey().setCharset(charset.getValue());
+      } catch (IOException | IllegalCharsetNameException | UnsupportedCharsetException e) {
+        log.error("Could not set the charset of " + charset.getKey(), e);
+      }
+    }
+
+    log.debug("Moved " + move.source + " to " + move.destination + " as a whole");
+
+    return true;
+  }
+
+  /**
+   * Finds the folders that are renamed by the given activities. A folder is renamed if the batch
+   * creates the destination folder and all its subfolders, moves all files of the source folder
+   * without changing their contents and deletes the source folder, and if no other activity of the
+   * batch affects the source or the destination.
+   *
+   * @return the moves by the first of their activities
+   */
+  private Map<IActivity, FolderMove> planFolderMoves(List<IActivity> batch) {
+    List<FolderDeletedActivity> deletions = new ArrayList<>();
+
+    for (IActivity activity : batch)
+      if (activity instanceof FolderDeletedActivity)
+        deletions.add((FolderDeletedActivity) activity);
+
+    if (deletions.isEmpty()) return Collections.emptyMap();
+
+    // outer folders first, the moves of their subfolders are part of their move
+    deletions.sort(
+        Comparator.comparingInt(deletion -> pathOf(deletion.getResource()).getNameCount()));
+
+    Map<IActivity, FolderMove> moves = new IdentityHashMap<>();
+    List<Path> movedFolders = new ArrayList<>();
+
+    for (FolderDeletedActivity deletion : deletions) {
+      Path source = pathOf(deletion.getResource());
+
+      if (movedFolders.stream().anyMatch(source::startsWith)) continue;
+
+      FolderMove move = planFolderMove(batch, deletion);
+
+      if (move == null) continue;
+
+      moves.put(move.activities.get(0), move);
+      movedFolders.add(source);
+    }
+
+    return moves;
+  }
+
+  private FolderMove planFolderMove(List<IActivity> batch, FolderDeletedActivity deletion) {
+    if (!(deletion.getResource() instanceof ServerFolderImpl)) return null;
+
+    ServerFolderImpl source = (ServerFolderImpl) deletion.getResource();
+    Path sourcePath = source.getFullPath();
+
+    /*
+     * The destination is derived from the first file move out of the
+     * source, all other activities have to agree with it.
+     */
+    Path destinationPath = null;
+
+    for (IActivity activity : batch) {
+      if (!isFileMove(activity)) continue;
+
+      FileActivity fileMove = (FileActivity) activity;
+      Path oldPath = pathOf(fileMove.getOldResource());
+      Path newPath = pathOf(fileMove.getResource());
+
+      if (!oldPath.startsWith(sourcePath)) continue;
+
+      Path relativePath = sourcePath.relativize(oldPath);
+
+      if (!newPath.endsWith(relativePath) || newPath.getNameCount() <= relativePath.getNameCount())
+        return null;
+
+      destinationPath = newPath.subpath(0, newPath.getNameCount() - relativePath.getNameCount());
+      break;
+    }
+
+    if (destinationPath == null
+        || destinationPath.startsWith(sourcePath)
+        || sourcePath.startsWith(destinationPath)) return null;
+
+    List<IActivity> activities = new ArrayList<>();
+    List<FileActivity> fileMoves = new ArrayList<>();
+    Set<Path> movedFiles = new HashSet<>();
+    Set<Path> createdFolders = new HashSet<>();
+    List<Path> deletedFolders = new ArrayList<>();
+    ServerFolderImpl destination = null;
+
+    for (IActivity activity : batch) {
+      IResource resource = ((IResourceActivity<?>) activity).getResource();
+      Path path = pathOf(resource);
+
+      if (isFileMove(activity)) {
+        FileActivity fileMove = (FileActivity) activity;
+        Path oldPath = pathOf(fileMove.getOldResource());
+
+        boolean fromSource = oldPath.startsWith(sourcePath);
+
+        if (fromSource
+            && fileMove.getContent() == null
+            && path.equals(destinationPath.resolve(sourcePath.relativize(oldPath)))) {
+
+          // the file would have been deleted before it was moved
+          if (deletedFolders.stream().anyMatch(oldPath::startsWith)) return null;
+
+          activities.add(activity);
+          fileMoves.add(fileMove);
+          movedFiles.add(sourcePath.relativize(oldPath));
+          continue;
+        }
+
+        if (fromSource || affects(oldPath, false, sourcePath, destinationPath)) return null;
+
+        if (affects(path, false, sourcePath, destinationPath)) return null;
+
+        continue;
+
+      } else if (activity instanceof FolderCreatedActivity && path.startsWith(destinationPath)) {
+        if (path.equals(destinationPath)) destination = (ServerFolderImpl) resource;
+
+        activities.add(activity);
+        createdFolders.add(destinationPath.relativize(path));
+        continue;
+
+      } else if (activity instanceof FolderDeletedActivity && path.startsWith(sourcePath)) {
+        activities.add(activity);
+        deletedFolders.add(path);
+
+        // the folder has to be deleted after all files were moved out of it
+        if (path.equals(sourcePath) && activity != deletion) return null;
+
+        continue;
+      }
+
+      if (affects(path, activity instanceof FolderCreatedActivity, sourcePath, destinationPath))
+        return null;
+    }
+
+    // the source has to be deleted last
+    if (destination == null || activities.get(activities.size() - 1) != deletion) return null;
+
+    if (!matchesFileSystem(source, destination, movedFiles, createdFolders)) return null;
+
+    return new FolderMove(source, destination, activities, fileMoves);
+  }
+
+  /*
+   * Checks that the source contains exactly the moved files and folders,
+   * so renaming it produces the same result as executing the activities,
+   * and that the destination does not exist yet.
+   */
+  private static boolean matchesFileSystem(
+      ServerFolderImpl source,
+      ServerFolderImpl destination,
+      Set<Path> movedFiles,
+      Set<Path> createdFolders) {
+
+    if (Files.exists(destination.getLocation())) return false;
+
+    Path location = source.getLocation();
+
+    Set<Path> files;
+    Set<Path> folders;
+
+    try (Stream<Path> walk = Files.walk(location)) {
+      Map<Boolean, Set<Path>> members =
+          walk.collect(
+              Collectors.partitioningBy(
+                  Files::isDirectory,
+                  Collectors.mapping(location::relativize, Collectors.toSet())));
+
+      files = members.get(false);
+      folders = members.get(true);
+    } catch (IOException | RuntimeException e) {
+      log.debug("Could not list " + source, e);
+      return false;
+    }
+
+    // both include the empty path of the source and the destination itself
+    return files.equals(movedFiles) && folders.equals(createdFolders);
+  }
+
+  /*
+   * Returns whether an activity on the given path interferes with moving
+   * the source to the destination. Folder creations of parent folders do
+   * not interfere, as the parents are created by the move anyway.
+   */
+  private static boolean affects(
+      Path path, boolean folderCreation, Path sourcePath, Path destinationPath) {
+
+    if (path.startsWith(sourcePath) || path.startsWith(destinationPath)) return true;
+
+    return !folderCreation && (sourcePath.startsWith(path) || destinationPath.startsWith(path));
+  }
+
+  private static boolean isFileMove(IActivity activity) {
+    return activity instanceof FileActivity
+        && ((FileActivity) activity).getType() == FileActivity.Type.MOVED;
+  }
+
+  private static Path pathOf(IResource resource) {
+    return ((ServerResourceImpl) resource).getFullPath();
+  }
+
+  /** A folder that is renamed as a whole instead of executing the activities one by one. */
+  private static final class FolderMove {
+    private final ServerFolderImpl source;
+    private final ServerFolderImpl destination;
+    private final List<IActivity> activities;
+    private final List<FileActivity> fileMoves;
+
+    private FolderMove(
+        ServerFolderImpl source,
+        ServerFolderImpl destination,
+        List<IActivity> activities,
+        List<FileActivity> fileMoves) {
+      this.source = source;
+      this.destination = destination;
+      this.activities = activities;
+      this.fileMoves = fileMoves;
+    }
+  }
+}
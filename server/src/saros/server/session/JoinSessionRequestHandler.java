@@ -1,65 +1,89 @@
 package saros.server.session;
 
-import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.RejectedExecutionException;
-import java.util.concurrent.ThreadPoolExecutor;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.log4j.Logger;
 import org.jivesoftware.smack.PacketListener;
 import org.jivesoftware.smack.packet.Packet;
 import saros.communication.extensions.JoinSessionRequestExtension;
 import saros.net.IReceiver;
 import saros.net.xmpp.JID;
+import saros.server.HostedSessionConfig;
+import saros.session.ISarosSession;
 import saros.session.ISarosSessionManager;
-import saros.util.NamedThreadFactory;
+import saros.util.SerialExecutor;
 
-/** Listens for and handles JoinSessionRequests allowing clients to join server sessions. */
+/**
+ * Listens for and handles JoinSessionRequests allowing clients to join server sessions. Requests
+ * are rejected if the session already has the {@linkplain HostedSessionConfig#getMaxParticipants()
+ * maximum number of participants}.
+ */
 public final class JoinSessionRequestHandler {
   private final ISarosSessionManager sessionManager;
 
+  private final HostedSessionConfig config;
+
   private static final Logger log = Logger.getLogger(JoinSessionRequestHandler.class);
 
+  /** The maximum number of requests waiting to be handled, further requests are dropped. */
+  private static final int MAX_PENDING_REQUESTS = 10;
+
   /**
    * Invitation Requests are handled very fast and are almost immediately dispatched into another
-   * executor in the {@link NegotiationHandler}. More then one thread is currently not necessary and
-   * would likely just introduce more overhead. We just want asynchronous execution and a queue.
+   * executor in the {@link NegotiationHandler}. Handling them one after another is sufficient, we
+   * just want asynchronous execution and a queue.
    */
-  private final ThreadPoolExecutor executor =
-      new ThreadPoolExecutor(
-          1,
-          1,
-          0,
-          TimeUnit.NANOSECONDS,
-          new ArrayBlockingQueue<Runnable>(10),
-          new NamedThreadFactory("JoinSessionRequestHandler-"),
-          new ThreadPoolExecutor.DiscardPolicy());
+  private final SerialExecutor executor = new SerialExecutor("JoinSessionRequestHandler");
+
+  private final AtomicInteger pendingRequests = new AtomicInteger();
 
   private final PacketListener joinSessionRequestListener =
       new PacketListener() {
         @Override
         public void processPacket(final Packet packet) {
-          try {
-            executor.execute(
-                new Runnable() {
-                  @Override
-                  public void run() {
+          if (pendingRequests.incrementAndGet() > MAX_PENDING_REQUESTS) {
+            pendingRequests.decrementAndGet();
+            log.warn("Join Session request cannot be accepted (queue is full).");
+            return;
+          }
+
+          executor.execute(
+              new Runnable() {
+                @Override
+                public void run() {
+                  try {
                     handleInvitationRequest(new JID(packet.getFrom()));
+                  } finally {
+                    pendingRequests.decrementAndGet();
                   }
-                });
-          } catch (RejectedExecutionException e) {
-            log.warn("Join Session request cannot be accepted (queue is full).", e);
-          }
+                }
+              });
         }
       };
 
-  public JoinSessionRequestHandler(ISarosSessionManager sessionManager, IReceiver receiver) {
+  public JoinSessionRequestHandler(
+      ISarosSessionManager sessionManager, IReceiver receiver, HostedSessionConfig config) {
 
     this.sessionManager = sessionManager;
+    this.config = config;
     receiver.addPacketListener(
         joinSessionRequestListener, JoinSessionRequestExtension.PROVIDER.getPacketFilter());
   }
 
   private void handleInvitationRequest(final JID from) {
+    final ISarosSession session = sessionManager.getSession();
+    final int maxParticipants = config.getMaxParticipants();
+
+    if (session != null && maxParticipants > 0 && session.getUsers().size() >= maxParticipants) {
+      log.warn(
+          "rejecting join request of "
+              + from
+              + ", session "
+              + config.getName()
+              + " already has "
+              + maxParticipants
+              + " participants");
+      return;
+    }
 
     sessionManager.invite(from, "Invitation by request");
   }
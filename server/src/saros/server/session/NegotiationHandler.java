@@ -1,13 +1,15 @@
 package saros.server.session;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.LinkedBlockingQueue;
-import java.util.concurrent.ThreadPoolExecutor;
-import java.util.concurrent.TimeUnit;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import org.apache.log4j.Logger;
 import saros.filesystem.IReferencePoint;
+import saros.monitoring.IProgressMonitor;
 import saros.monitoring.NullProgressMonitor;
 import saros.negotiation.AbstractIncomingResourceNegotiation;
 import saros.negotiation.AbstractOutgoingResourceNegotiation;
@@ -22,9 +24,10 @@ import saros.server.ServerConfig;
 import saros.server.filesystem.ServerProjectImpl;
 import saros.server.filesystem.ServerWorkspaceImpl;
 import saros.server.progress.ConsoleProgressIndicator;
+import saros.server.progress.ProgressTracker;
 import saros.session.INegotiationHandler;
 import saros.session.ISarosSessionManager;
-import saros.util.NamedThreadFactory;
+import saros.util.TaskExecutor;
 
 public class NegotiationHandler implements INegotiationHandler {
 
@@ -32,22 +35,14 @@ public class NegotiationHandler implements INegotiationHandler {
 
   private final ISarosSessionManager sessionManager;
   private final ServerWorkspaceImpl workspace;
-  private final ThreadPoolExecutor sessionExecutor =
-      new ThreadPoolExecutor(
-          0,
-          4,
-          60,
-          TimeUnit.SECONDS,
-          new LinkedBlockingQueue<Runnable>(),
-          new NamedThreadFactory("ServerSessionNegotiation-"));
-  private final ThreadPoolExecutor projectExecutor =
-      new ThreadPoolExecutor(
-          0,
-          10,
-          60,
-          TimeUnit.SECONDS,
-          new LinkedBlockingQueue<Runnable>(),
-          new NamedThreadFactory("ServerProjectNegotiation-"));
+
+  /*
+   * The negotiations run on the task executor that is shared by all sessions
+   * hosted by this process instead of on thread pools of their own.
+   */
+  private final TaskExecutor executor = TaskExecutor.getDefault();
+
+  private final Set<NegotiationProgress> running = ConcurrentHashMap.newKeySet();
 
   public NegotiationHandler(ISarosSessionManager sessionManager, ServerWorkspaceImpl workspace) {
     sessionManager.setNegotiationHandler(this);
@@ -58,15 +53,20 @@ public class NegotiationHandler implements INegotiationHandler {
   @Override
   public void handleOutgoingSessionNegotiation(final OutgoingSessionNegotiation negotiation) {
 
-    sessionExecutor.execute(
+    executor.execute(
+        "ServerSessionNegotiation",
+        log,
         new Runnable() {
           @Override
           public void run() {
+            NegotiationProgress progress =
+                startTracking(NegotiationProgress.SESSION, negotiation.getPeer());
+
             SessionNegotiation.Status status;
-            if (ServerConfig.isInteractive()) {
-              status = negotiation.start(new ConsoleProgressIndicator(System.out));
-            } else {
-              status = negotiation.start(new NullProgressMonitor());
+            try {
+              status = negotiation.start(progress.getMonitor());
+            } finally {
+              running.remove(progress);
             }
 
             switch (status) {
@@ -99,7 +99,9 @@ public class NegotiationHandler implements INegotiationHandler {
   @Override
   public void handleIncomingSessionNegotiation(final IncomingSessionNegotiation negotiation) {
 
-    sessionExecutor.execute(
+    executor.execute(
+        "ServerSessionNegotiation",
+        log,
         new Runnable() {
           @Override
           public void run() {
@@ -115,15 +117,20 @@ public class NegotiationHandler implements INegotiationHandler {
   public void handleOutgoingResourceNegotiation(
       final AbstractOutgoingResourceNegotiation negotiation) {
 
-    projectExecutor.execute(
+    executor.execute(
+        "ServerProjectNegotiation",
+        log,
         new Runnable() {
           @Override
           public void run() {
+            NegotiationProgress progress =
+                startTracking(NegotiationProgress.RESOURCE, negotiation.getPeer());
+
             ResourceNegotiation.Status status;
-            if (ServerConfig.isInteractive()) {
-              status = negotiation.run(new ConsoleProgressIndicator(System.out));
-            } else {
-              status = negotiation.run(new NullProgressMonitor());
+            try {
+              status = negotiation.run(progress.getMonitor());
+            } finally {
+              running.remove(progress);
             }
 
             if (status != ResourceNegotiation.Status.OK)
@@ -156,15 +163,20 @@ public class NegotiationHandler implements INegotiationHandler {
       projectMapping.put(data.getReferencePointID(), project);
     }
 
-    projectExecutor.execute(
+    executor.execute(
+        "ServerProjectNegotiation",
+        log,
         new Runnable() {
           @Override
           public void run() {
+            NegotiationProgress progress =
+                startTracking(NegotiationProgress.RESOURCE, negotiation.getPeer());
+
             ResourceNegotiation.Status status;
-            if (ServerConfig.isInteractive()) {
-              status = negotiation.run(projectMapping, new ConsoleProgressIndicator(System.out));
-            } else {
-              status = negotiation.run(projectMapping, new NullProgressMonitor());
+            try {
+              status = negotiation.run(projectMapping, progress.getMonitor());
+            } finally {
+              running.remove(progress);
             }
 
             if (status != ResourceNegotiation.Status.OK)
@@ -173,6 +185,30 @@ public class NegotiationHandler implements INegotiationHandler {
         });
   }
 
+  /**
+   * Returns the session and resource negotiations that are currently run by this handler together
+   * with their progress.
+   *
+   * @return a snapshot of the running negotiations
+   */
+  public List<NegotiationProgress> getRunningNegotiations() {
+    return new ArrayList<>(running);
+  }
+
+  private NegotiationProgress startTracking(String type, JID peer) {
+    IProgressMonitor monitor;
+    if (ServerConfig.isInteractive()) {
+      monitor = new ConsoleProgressIndicator(System.out);
+    } else {
+      monitor = new NullProgressMonitor();
+    }
+
+    NegotiationProgress progress =
+        new NegotiationProgress(type, peer, new ProgressTracker(monitor));
+    running.add(progress);
+    return progress;
+  }
+
   private void handleErrorStatus(ResourceNegotiation.Status status, String errorMessage, JID peer) {
     switch (status) {
       case ERROR:
@@ -0,0 +1,45 @@
+package saros.server.session;
+
+import saros.net.xmpp.JID;
+import saros.server.progress.ProgressTracker;
+
+/** A negotiation that is currently run by the {@link NegotiationHandler}. */
+public final class NegotiationProgress {
+
+  /** Type of a session negotiation, i.e. of an invitation. */
+  public static final String SESSION = "session";
+
+  /** Type of a resource negotiation, i.e. of the transfer of shared resources. */
+  public static final String RESOURCE = "resource";
+
+  private final String type;
+  private final JID peer;
+  private final ProgressTracker monitor;
+  private final long startTime = System.currentTimeMillis();
+
+  NegotiationProgress(final String type, final JID peer, final ProgressTracker monitor) {
+    this.type = type;
+    this.peer = peer;
+    this.monitor = monitor;
+  }
+
+  /** Returns the type of the negotiation, either {@link #SESSION} or {@link #RESOURCE}. */
+  public String getType() {
+    return type;
+  }
+
+  /** Returns the peer the negotiation is run with. */
+  public JID getPeer() {
+    return peer;
+  }
+
+  /** Returns the monitor that tracks the progress of the negotiation. */
+  public ProgressTracker getMonitor() {
+    return monitor;
+  }
+
+  /** Returns the time in milliseconds that passed since the negotiation started. */
+  public long getDuration() {
+    return System.currentTimeMillis() - startTime;
+  }
+}
@@ -0,0 +1,230 @@
+package saros.server.session;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import saros.filesystem.IReferencePoint;
+import saros.net.xmpp.JID;
+import saros.session.ISarosSession;
+import saros.session.User;
+
+/**
+ * The state of a hosted session that is needed to re-invite its participants after a restart of
+ * the server, i.e. the shared reference points together with their IDs and the remote
+ * participants.
+ *
+ * <p>This is not a snapshot of the running session. The Jupiter vector times and histories, the
+ * activity sequence numbers and the open editors are not part of it. After a restart the reference
+ * points are shared again and the participants join a new session through the usual negotiations,
+ * starting with fresh Jupiter and sequencer state. The server saves every edit to disk immediately,
+ * so the workspace already contains the current state of the shared files and the negotiations
+ * only transfer files that differ on the side of the participants.
+ *
+ * <p>The state is stored in the properties format:
+ *
+ * <pre>
+ * session=1234
+ * referencePoint.5678=project
+ * participant.0=alice@example.org/Saros
+ * </pre>
+ */
+public final class ReinviteState {
+
+  private static final String SESSION = "session";
+  private static final String REFERENCE_POINT = "referencePoint.";
+  private static final String PARTICIPANT = "participant.";
+
+  private final String sessionID;
+  private final SortedMap<String, String> referencePoints;
+  private final List<JID> participants;
+
+  /**
+   * Creates a re-invite state.
+   *
+   * @param sessionID the ID of the session
+   * @param referencePoints the names of the shared reference points in the workspace by their IDs
+   * @param participants the participants to re-invite
+   */
+  public ReinviteState(
+      final String sessionID,
+      final Map<String, String> referencePoints,
+      final List<JID> participants) {
+    this.sessionID = sessionID;
+    this.referencePoints = Collections.unmodifiableSortedMap(new TreeMap<>(referencePoints));
+    this.participants = Collections.unmodifiableList(new ArrayList<>(participants));
+  }
+
+  /**
+   * Captures the current state of the given session.
+   *
+   * @param session the session to capture
+   * @param pendingParticipants participants to re-invite that are not part of the session yet,
+   *     e.g. participants restored after a restart that did not rejoin so far
+   * @return the re-invite state of the session
+   */
+  public static ReinviteState capture(
+      final ISarosSession session, final Collection<JID> pendingParticipants) {
+    final Map<String, String> referencePoints = new TreeMap<>();
+
+    for (final IReferencePoint referencePoint : session.getReferencePoints()) {
+      final String id = session.getReferencePointId(referencePoint);
+
+      if (id != null) referencePoints.put(id, referencePoint.getName());
+    }
+
+    final List<JID> participants = new ArrayList<>();
+
+    for (final User user : session.getRemoteUsers()) participants.add(user.getJID());
+
+    for (final JID jid : pendingParticipants) {
+      if (!participants.contains(jid)) participants.add(jid);
+    }
+
+    participants.sort((a, b) -> a.toString().compareTo(b.toString()));
+
+    return new ReinviteState(session.getID(), referencePoints, participants);
+  }
+
+  /**
+   * Reads a re-invite state from the given file.
+   *
+   * @param file the file to read
+   * @return the re-invite state or <code>null</code> if the file does not exist
+   * @throws IOException if the file cannot be read
+   * @throws IllegalArgumentException if the file does not contain a valid re-invite state
+   */
+  public static ReinviteState load(final Path file) throws IOException {
+    final Properties properties = new Properties();
+
+    try (InputStream in = Files.newInputStream(file)) {
+      properties.load(in);
+    } catch (NoSuchFileException e) {
+      return null;
+    }
+
+    final String sessionID = properties.getProperty(SESSION);
+
+    if (sessionID == null) throw new IllegalArgumentException("no session ID in " + file);
+
+    final Map<String, String> referencePoints = new TreeMap<>();
+    final SortedMap<Integer, JID> participants = new TreeMap<>();
+
+    for (final String key : properties.stringPropertyNames()) {
+      final String value = properties.getProperty(key);
+
+      if (key.startsWith(REFERENCE_POINT)) {
+        referencePoints.put(key.substring(REFERENCE_POINT.length()), value);
+
+      } else if (key.startsWith(PARTICIPANT)) {
+        try {
+          participants.put(Integer.parseInt(key.substring(PARTICIPANT.length())), new JID(value));
+        } catch (NumberFormatException e) {
+          throw new IllegalArgumentException("invalid key in " + file + ": " + key);
+        }
+
+      } else if (!key.equals(SESSION)) {
+        throw new IllegalArgumentException("invalid key in " + file + ": " + key);
+      }
+    }
+
+    return new ReinviteState(sessionID, referencePoints, new ArrayList<>(participants.values()));
+  }
+
+  /**
+   * Writes this re-invite state to the given file. The file is replaced atomically if the file
+   * system supports it, so a crash while writing leaves the previous state intact.
+   *
+   * @param file the file to write
+   * @throws IOException if the file cannot be written
+   */
+  public void write(final Path file) throws IOException {
+    final Properties properties = new Properties();
+
+    properties.setProperty(SESSION, sessionID);
+
+    for (final Map.Entry<String, String> entry : referencePoints.entrySet())
+      properties.setProperty(REFERENCE_POINT + entry.getKey(), entry.getValue());
+
+    for (int i = 0; i < participants.size(); i++)
+      properties.setProperty(PARTICIPANT + i, participants.get(i).toString());
+
+    final Path directory = file.toAbsolutePath().getParent();
+
+    Files.createDirectories(directory);
+
+    final Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+
+    try {
+      try (OutputStream out = Files.newOutputStream(temp)) {
+        properties.store(out, "Saros re-invite state");
+      }
+
+      try {
+        Files.move(
+            temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+      } catch (AtomicMoveNotSupportedException e) {
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+      }
+    } finally {
+      Files.deleteIfExists(temp);
+    }
+  }
+
+  /** Returns the ID of the session. */
+  public String getSessionID() {
+    return sessionID;
+  }
+
+  /** Returns the names of the shared reference points in the workspace by their IDs. */
+  public SortedMap<String, String> getReferencePoints() {
+    return referencePoints;
+  }
+
+  /** Returns the participants to re-invite. */
+  public List<JID> getParticipants() {
+    return participants;
+  }
+
+  @Override
+  public boolean equals(final Object obj) {
+    if (this == obj) return true;
+
+    if (!(obj instanceof ReinviteState)) return false;
+
+    final ReinviteState other = (ReinviteState) obj;
+
+    return sessionID.equals(other.sessionID)
+        && referencePoints.equals(other.referencePoints)
+        && participants.equals(other.participants);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(sessionID, referencePoints, participants);
+  }
+
+  @Override
+  public String toString() {
+    return "ReinviteState [session="
+        + sessionID
+        + ", referencePoints="
+        + referencePoints
+        + ", participants="
+        + participants
+        + "]";
+  }
+}
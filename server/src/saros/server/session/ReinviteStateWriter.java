@@ -0,0 +1,133 @@
+package saros.server.session;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.apache.log4j.Logger;
+import saros.net.xmpp.JID;
+import saros.repackaged.picocontainer.Startable;
+import saros.server.HostedSessionConfig;
+import saros.server.ServerConfig;
+import saros.session.ISarosSession;
+import saros.session.User;
+import saros.util.NamedThreadFactory;
+
+/**
+ * Periodically writes the {@link ReinviteState} of the running session to the re-invite file of
+ * the hosted session, so the participants can be re-invited after a restart of the server. The
+ * state is only written if it changed since it was written last.
+ *
+ * <p>Participants that were re-invited after a restart are kept in the state until they rejoined
+ * the session or were {@linkplain #forgetParticipant forgotten}, so they are invited again after
+ * another restart even if they did not manage to rejoin in the meantime.
+ *
+ * <p>The state is written a last time on {@link #stop()}, so participants that joined or left
+ * after the last periodic write are not lost on a clean shutdown. The session components are
+ * stopped before the participants are disconnected, so the final state still contains them.
+ */
+public class ReinviteStateWriter implements Startable {
+
+  private static final Logger log = Logger.getLogger(ReinviteStateWriter.class);
+
+  private final ISarosSession session;
+  private final Path file;
+
+  /** Re-invited participants that did not rejoin the session yet. */
+  private final Set<JID> pendingParticipants = ConcurrentHashMap.newKeySet();
+
+  private ScheduledThreadPoolExecutor writeExecutor;
+
+  private ReinviteState lastState;
+
+  public ReinviteStateWriter(final ISarosSession session, final HostedSessionConfig config) {
+    this(
+        session,
+        config.getReinviteFilePath() == null ? null : Paths.get(config.getReinviteFilePath()));
+  }
+
+  ReinviteStateWriter(final ISarosSession session, final Path file) {
+    this.session = session;
+    this.file = file;
+  }
+
+  @Override
+  public void start() {
+    if (file == null) return;
+
+    final int interval = ServerConfig.getReinviteInterval();
+
+    writeExecutor = new ScheduledThreadPoolExecutor(1, new NamedThreadFactory("ReinviteState"));
+
+    writeExecutor.scheduleWithFixedDelay(this::writeState, interval, interval, TimeUnit.SECONDS);
+  }
+
+  @Override
+  public void stop() {
+    if (writeExecutor == null) return;
+
+    writeExecutor.shutdown();
+
+    try {
+      if (!writeExecutor.awaitTermination(10, TimeUnit.SECONDS))
+        log.error(writeExecutor + " is still running");
+
+    } catch (InterruptedException e) {
+      log.warn("interrupted while waiting for " + writeExecutor + " to terminate", e);
+      Thread.currentThread().interrupt();
+    }
+
+    writeState();
+  }
+
+  /**
+   * Keeps the given participants in the re-invite state until they rejoined the session or are
+   * {@linkplain #forgetParticipant forgotten}.
+   *
+   * @param participants the participants that were re-invited
+   */
+  public void addPendingParticipants(final Collection<JID> participants) {
+    pendingParticipants.addAll(participants);
+  }
+
+  /**
+   * Removes a re-invited participant that did not rejoin the session yet from the re-invite state,
+   * so the participant is not invited again after the next restart.
+   *
+   * @param jid the participant to forget
+   * @return <code>false</code> if the participant was not pending
+   */
+  public boolean forgetParticipant(final JID jid) {
+    return pendingParticipants.remove(jid);
+  }
+
+  /**
+   * Writes the re-invite state of the session if it changed since it was written last.
+   *
+   * @return <code>true</code> if the state was written
+   */
+  synchronized boolean writeState() {
+    try {
+      for (final User user : session.getRemoteUsers()) pendingParticipants.remove(user.getJID());
+
+      final ReinviteState state = ReinviteState.capture(session, pendingParticipants);
+
+      if (state.equals(lastState)) return false;
+
+      state.write(file);
+      lastState = state;
+
+      log.debug("wrote " + state + " to " + file);
+      return true;
+
+    } catch (IOException | RuntimeException e) {
+      // keep the task scheduled, the next attempt may succeed
+      log.error("failed to write re-invite state to " + file, e);
+      return false;
+    }
+  }
+}
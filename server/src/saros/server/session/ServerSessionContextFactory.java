@@ -1,9 +1,13 @@
 package saros.server.session;
 
+import saros.filesystem.checksum.FileSystemChecksumCache;
+import saros.filesystem.checksum.IAbsolutePathResolver;
 import saros.filesystem.checksum.IChecksumCache;
-import saros.filesystem.checksum.NullChecksumCache;
+import saros.filesystem.checksum.IFileContentChangedNotifier;
 import saros.repackaged.picocontainer.MutablePicoContainer;
 import saros.server.editor.ServerEditorManager;
+import saros.server.filesystem.ServerAbsolutePathResolver;
+import saros.server.filesystem.ServerFileContentChangedNotifier;
 import saros.session.ISarosSession;
 import saros.session.ISarosSessionContextFactory;
 import saros.session.SarosCoreSessionContextFactory;
@@ -14,11 +18,15 @@ public class ServerSessionContextFactory extends SarosCoreSessionContextFactory
   @Override
   public final void createNonCoreComponents(ISarosSession session, MutablePicoContainer container) {
     container.addComponent(ServerEditorManager.class);
-    container.addComponent(FileActivityExecutor.class);
-    container.addComponent(FolderActivityExecutor.class);
+    container.addComponent(FileSystemActivityExecutor.class);
     container.addComponent(TextEditActivityExecutor.class);
+    container.addComponent(ExternalChangeBroadcaster.class);
+    container.addComponent(ReinviteStateWriter.class);
 
     // Checksum cache support
-    container.addComponent(IChecksumCache.class, NullChecksumCache.class);
+    container.addComponent(
+        IFileContentChangedNotifier.class, ServerFileContentChangedNotifier.class);
+    container.addComponent(IAbsolutePathResolver.class, ServerAbsolutePathResolver.class);
+    container.addComponent(IChecksumCache.class, FileSystemChecksumCache.class);
   }
 }
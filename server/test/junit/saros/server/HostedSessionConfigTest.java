@@ -0,0 +1,100 @@
+package saros.server;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class HostedSessionConfigTest {
+
+  private Path file;
+
+  @Before
+  public void setUp() throws Exception {
+    file = Files.createTempFile("saros-sessions", ".properties");
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    Files.deleteIfExists(file);
+  }
+
+  private void write(String... lines) throws Exception {
+    Files.write(file, Arrays.asList(lines), StandardCharsets.ISO_8859_1);
+  }
+
+  @Test
+  public void testLoad() throws Exception {
+    write(
+        "beta.jid=beta@example.org/Saros",
+        "beta.password=b",
+        "alpha.jid=alpha@example.org/Saros",
+        "alpha.password=a",
+        "alpha.workspace=/srv/alpha",
+        "alpha.maxParticipants=8",
+        "alpha.reinviteFile=/var/lib/saros/alpha.reinvite");
+
+    List<HostedSessionConfig> configs = HostedSessionConfig.load(file);
+
+    assertEquals(2, configs.size());
+
+    HostedSessionConfig alpha = configs.get(0);
+    HostedSessionConfig beta = configs.get(1);
+
+    assertEquals("alpha", alpha.getName());
+    assertEquals("alpha@example.org/Saros", alpha.getJID());
+    assertEquals("a", alpha.getPassword());
+    assertEquals("/srv/alpha", alpha.getWorkspacePath());
+    assertEquals(8, alpha.getMaxParticipants());
+    assertEquals("/var/lib/saros/alpha.reinvite", alpha.getReinviteFilePath());
+    assertEquals("alpha", alpha.getMetricsScope());
+
+    assertEquals("beta", beta.getName());
+    assertNull(beta.getWorkspacePath());
+    assertEquals(0, beta.getMaxParticipants());
+    assertNull(beta.getReinviteFilePath());
+  }
+
+  @Test
+  public void testSessionNamesMayContainDots() throws Exception {
+    write("team.one.jid=one@example.org", "team.one.password=secret");
+
+    assertEquals("team.one", HostedSessionConfig.load(file).get(0).getName());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testLoadWithoutPassword() throws Exception {
+    write("alpha.jid=alpha@example.org/Saros");
+
+    HostedSessionConfig.load(file);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testLoadWithInvalidLimit() throws Exception {
+    write("alpha.jid=alpha@example.org", "alpha.password=a", "alpha.maxParticipants=many");
+
+    HostedSessionConfig.load(file);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testLoadEmptyFile() throws Exception {
+    write("# no sessions");
+
+    HostedSessionConfig.load(file);
+  }
+
+  @Test
+  public void testDefaultSessionIsNotScoped() {
+    HostedSessionConfig config = HostedSessionConfig.fromSystemProperties();
+
+    assertEquals(HostedSessionConfig.DEFAULT_NAME, config.getName());
+    assertNull(config.getMetricsScope());
+  }
+}
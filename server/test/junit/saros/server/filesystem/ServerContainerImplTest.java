@@ -12,8 +12,12 @@ import static saros.server.filesystem.FileSystemTestUtils.path;
 
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import org.apache.commons.io.FileUtils;
 import org.easymock.EasyMockSupport;
 import org.junit.After;
@@ -23,6 +27,7 @@ import org.junit.Test.None;
 import saros.filesystem.IContainer;
 import saros.filesystem.IReferencePoint;
 import saros.filesystem.IResource;
+import saros.filesystem.ResourceAttributes;
 
 public class ServerContainerImplTest extends EasyMockSupport {
 
@@ -122,4 +127,55 @@ public class ServerContainerImplTest extends EasyMockSupport {
     assertTrue(container.exists(path("subfolder/file2")));
     assertFalse(container.exists(path("something/else")));
   }
+
+  @Test
+  public void acceptVisitsMembersWithAttributes() throws Exception {
+    createFolder(workspace, CONTAINER_PATH);
+    createFile(workspace, CONTAINER_PATH + "/file1", "abc");
+    createFolder(workspace, CONTAINER_PATH + "/subfolder");
+    createFile(workspace, CONTAINER_PATH + "/subfolder/file2", "abcdef");
+
+    final Map<Path, ResourceAttributes> visited = new HashMap<>();
+
+    container.accept(
+        (resource, attributes) -> {
+          visited.put(((ServerResourceImpl) resource).getFullPath(), attributes);
+          return true;
+        });
+
+    assertEquals(3, visited.size());
+
+    final ResourceAttributes file1 = visited.get(path(CONTAINER_PATH + "/file1"));
+    final ResourceAttributes file2 = visited.get(path(CONTAINER_PATH + "/subfolder/file2"));
+    final ResourceAttributes subfolder = visited.get(path(CONTAINER_PATH + "/subfolder"));
+
+    assertEquals(IResource.Type.FILE, file1.getType());
+    assertEquals(3, file1.getSize());
+    assertEquals(6, file2.getSize());
+    assertEquals(IResource.Type.FOLDER, subfolder.getType());
+    assertTrue(file1.getLastModified() > 0);
+  }
+
+  @Test
+  public void acceptSkipsMembersIfVisitorDeclines() throws Exception {
+    createFolder(workspace, CONTAINER_PATH);
+    createFolder(workspace, CONTAINER_PATH + "/subfolder");
+    createFile(workspace, CONTAINER_PATH + "/subfolder/file");
+
+    final List<Path> visited = new ArrayList<>();
+
+    container.accept(
+        (resource, attributes) -> {
+          visited.add(((ServerResourceImpl) resource).getFullPath());
+          return false;
+        });
+
+    assertEquals(Collections.singletonList(path(CONTAINER_PATH + "/subfolder")), visited);
+  }
+
+  @Test(expected = IOException.class)
+  public void acceptOfNonExistent() throws Exception {
+    assertResourceNotExists(workspace, CONTAINER_PATH);
+    container.accept((resource, attributes) -> true);
+  }
 }
@@ -19,6 +19,7 @@ import org.junit.Test;
 import saros.filesystem.IFolder;
 import saros.filesystem.IReferencePoint;
 import saros.filesystem.IResource;
+import saros.server.filesystem.ignore.IgnoreMatcher;
 
 public class ServerResourceImplTest extends EasyMockSupport {
 
@@ -50,7 +51,10 @@ public class ServerResourceImplTest extends EasyMockSupport {
     project = createMock(IReferencePoint.class);
     parent = createMock(IFolder.class);
 
-    expect(workspace.getLocation()).andStubReturn(createWorkspaceFolder());
+    Path location = createWorkspaceFolder();
+
+    expect(workspace.getLocation()).andStubReturn(location);
+    expect(workspace.getIgnoreMatcher()).andStubReturn(new IgnoreMatcher(location));
 
     expect(workspace.getProject("project")).andStubReturn(project);
     expect(project.getFolder(path("folder"))).andStubReturn(parent);
@@ -111,10 +115,16 @@ public class ServerResourceImplTest extends EasyMockSupport {
   }
 
   @Test
-  public void isNeverIgnored() throws Exception {
+  public void isNotIgnoredWithoutIgnoreFiles() throws Exception {
     assertFalse(resource.isIgnored());
   }
 
+  @Test
+  public void isIgnoredIfParentIsIgnored() throws Exception {
+    createFile(workspace, "project/.gitignore", "folder/");
+    assertTrue(resource.isIgnored());
+  }
+
   private void createFileForResource() throws IOException {
     createFile(workspace, "project/folder/file");
   }
@@ -1,13 +1,19 @@
 package saros.server.filesystem;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import static saros.server.filesystem.FileSystemTestUtils.assertResourceNotExists;
+import static saros.server.filesystem.FileSystemTestUtils.createFile;
 import static saros.server.filesystem.FileSystemTestUtils.createFolder;
 import static saros.server.filesystem.FileSystemTestUtils.createWorkspaceFolder;
+import static saros.server.filesystem.FileSystemTestUtils.path;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import org.apache.commons.io.FileUtils;
 import org.easymock.EasyMockSupport;
@@ -63,4 +69,62 @@ public class ServerWorkspaceImplTest extends EasyMockSupport {
 
     assertResourceNotExists(workspace, "project");
   }
+
+  @Test
+  public void isOwnModificationAfterSetContents() throws Exception {
+    createFile(workspace, "project/file", "content");
+
+    ServerFileImpl file = new ServerFileImpl(workspace, path("project/file"));
+
+    assertFalse(workspace.isOwnModification(file.getLocation()));
+
+    file.setContents(new ByteArrayInputStream("changed content".getBytes("UTF-8")));
+
+    assertTrue(workspace.isOwnModification(file.getLocation()));
+
+    Files.write(file.getLocation(), "external content".getBytes("UTF-8"));
+
+    assertFalse(workspace.isOwnModification(file.getLocation()));
+  }
+
+  @Test
+  public void isOwnModificationAfterCreate() throws Exception {
+    createFolder(workspace, "project");
+
+    ServerFileImpl file = new ServerFileImpl(workspace, path("project/folder/file"));
+    file.create(new ByteArrayInputStream(new byte[0]));
+
+    assertTrue(workspace.isOwnModification(file.getLocation()));
+    assertTrue(workspace.isOwnModification(file.getLocation().getParent()));
+    assertFalse(workspace.isOwnModification(workspace.getLocation().resolve("project")));
+  }
+
+  @Test
+  public void isOwnModificationAfterFolderDeletion() throws Exception {
+    createFile(workspace, "project/folder/file");
+    createFile(workspace, "project/other");
+
+    new ServerFolderImpl(workspace, path("project/folder")).delete();
+
+    assertTrue(workspace.isOwnModification(workspace.getLocation().resolve("project/folder")));
+    assertTrue(workspace.isOwnModification(workspace.getLocation().resolve("project/folder/file")));
+
+    Files.delete(workspace.getLocation().resolve("project/other"));
+
+    assertFalse(workspace.isOwnModification(workspace.getLocation().resolve("project/other")));
+  }
+
+  @Test
+  public void forgetModification() throws Exception {
+    createFile(workspace, "project/file");
+
+    ServerFileImpl file = new ServerFileImpl(workspace, path("project/file"));
+    file.delete();
+
+    assertTrue(workspace.isOwnModification(file.getLocation()));
+
+    workspace.forgetModification(file.getLocation());
+
+    assertFalse(workspace.isOwnModification(file.getLocation()));
+  }
 }
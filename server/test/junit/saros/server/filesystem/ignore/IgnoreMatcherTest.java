@@ -0,0 +1,198 @@
+package saros.server.filesystem.ignore;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class IgnoreMatcherTest {
+
+  private Path workspace;
+
+  private IgnoreMatcher matcher;
+
+  @Before
+  public void setUp() throws IOException {
+    workspace = Files.createTempDirectory("saros-test-workspace");
+    matcher = new IgnoreMatcher(workspace);
+  }
+
+  @After
+  public void tearDown() {
+    FileUtils.deleteQuietly(workspace.toFile());
+  }
+
+  @Test
+  public void testNothingIsIgnoredWithoutIgnoreFiles() {
+    assertFalse(isFileIgnored("project/src/Main.java"));
+    assertFalse(isFolderIgnored("project/build"));
+  }
+
+  @Test
+  public void testReferencePointsAreNeverIgnored() throws IOException {
+    write(".gitignore", "*");
+
+    assertFalse(isFolderIgnored("project"));
+    assertFalse(matcher.isIgnored(workspace, true));
+  }
+
+  @Test
+  public void testVersionControlFoldersAreIgnored() {
+    assertTrue(isFolderIgnored("project/.git"));
+    assertTrue(isFileIgnored("project/.git/HEAD"));
+    assertTrue(isFolderIgnored("project/module/.svn"));
+    assertFalse(isFileIgnored("project/.gitignore"));
+  }
+
+  @Test
+  public void testNamePatternsMatchAtAnyDepth() throws IOException {
+    write("project/.gitignore", "*.class\nnode_modules/");
+
+    assertTrue(isFileIgnored("project/Main.class"));
+    assertTrue(isFileIgnored("project/src/saros/Main.class"));
+    assertTrue(isFolderIgnored("project/web/node_modules"));
+    assertFalse(isFileIgnored("project/web/node_modules.txt"));
+    assertFalse(isFileIgnored("project/src/Main.java"));
+  }
+
+  @Test
+  public void testDirectoryPatternsDoNotMatchFiles() throws IOException {
+    write("project/.gitignore", "build/");
+
+    assertTrue(isFolderIgnored("project/build"));
+    assertFalse(isFileIgnored("project/build"));
+  }
+
+  @Test
+  public void testPathPatternsAreAnchored() throws IOException {
+    write("project/.gitignore", "/bin\ndoc/generated\n");
+
+    assertTrue(isFolderIgnored("project/bin"));
+    assertFalse(isFolderIgnored("project/src/bin"));
+    assertTrue(isFolderIgnored("project/doc/generated"));
+    assertFalse(isFolderIgnored("project/src/doc/generated"));
+  }
+
+  @Test
+  public void testDoubleAsteriskPatterns() throws IOException {
+    write("project/.gitignore", "**/out\nlogs/**\na/**/b.txt");
+
+    assertTrue(isFolderIgnored("project/out"));
+    assertTrue(isFolderIgnored("project/x/y/out"));
+    assertTrue(isFileIgnored("project/logs/today.log"));
+    assertFalse(isFolderIgnored("project/logs"));
+    assertTrue(isFileIgnored("project/a/b.txt"));
+    assertTrue(isFileIgnored("project/a/x/y/b.txt"));
+    assertFalse(isFileIgnored("project/c/a/b.txt"));
+  }
+
+  @Test
+  public void testCharacterClassesAndWildcards() throws IOException {
+    write("project/.gitignore", "*.[oa]\nfile?.tmp\n[!x]y.txt");
+
+    assertTrue(isFileIgnored("project/lib.a"));
+    assertTrue(isFileIgnored("project/main.o"));
+    assertFalse(isFileIgnored("project/main.c"));
+    assertTrue(isFileIgnored("project/file1.tmp"));
+    assertFalse(isFileIgnored("project/file10.tmp"));
+    assertTrue(isFileIgnored("project/zy.txt"));
+    assertFalse(isFileIgnored("project/xy.txt"));
+  }
+
+  @Test
+  public void testCommentsEscapesAndInvalidPatterns() throws IOException {
+    write("project/.gitignore", "# comment\n\\#hash\n\\!bang\n[z-a]\nvalid.txt   \n");
+
+    assertFalse(isFileIgnored("project/# comment"));
+    assertTrue(isFileIgnored("project/#hash"));
+    assertTrue(isFileIgnored("project/!bang"));
+    assertTrue(isFileIgnored("project/valid.txt"));
+  }
+
+  @Test
+  public void testNegationReincludesFiles() throws IOException {
+    write("project/.gitignore", "*.log\n!important.log");
+
+    assertTrue(isFileIgnored("project/debug.log"));
+    assertFalse(isFileIgnored("project/important.log"));
+  }
+
+  @Test
+  public void testFilesInIgnoredFoldersCannotBeReincluded() throws IOException {
+    write("project/.gitignore", "build/\n!build/keep.txt");
+
+    assertTrue(isFileIgnored("project/build/keep.txt"));
+  }
+
+  @Test
+  public void testNestedIgnoreFilesTakePrecedence() throws IOException {
+    write("project/.gitignore", "*.txt");
+    write("project/docs/.gitignore", "!*.txt\ndraft/");
+
+    assertTrue(isFileIgnored("project/notes.txt"));
+    assertFalse(isFileIgnored("project/docs/manual.txt"));
+    assertTrue(isFolderIgnored("project/docs/draft"));
+    assertFalse(isFolderIgnored("project/draft"));
+  }
+
+  @Test
+  public void testSarosIgnoreFileOverridesGitIgnoreFile() throws IOException {
+    write("project/.gitignore", "build/\n*.tmp");
+    write("project/.sarosignore", "!build/\n*.bak");
+
+    assertFalse(isFolderIgnored("project/build"));
+    assertTrue(isFileIgnored("project/a.tmp"));
+    assertTrue(isFileIgnored("project/a.bak"));
+  }
+
+  @Test
+  public void testModifiedIgnoreFilesAreReloaded() throws Exception {
+    write("project/.gitignore", "*.tmp");
+
+    assertTrue(isFileIgnored("project/a.tmp"));
+
+    write("project/.gitignore", "*.bak\n# a longer file to change the size");
+
+    // wait for the recheck interval to pass
+    Thread.sleep(2100);
+
+    assertFalse(isFileIgnored("project/a.tmp"));
+    assertTrue(isFileIgnored("project/a.bak"));
+  }
+
+  @Test
+  public void testCounters() throws IOException {
+    write("project/.gitignore", "build/\n*.tmp");
+
+    isFolderIgnored("project/build");
+    isFileIgnored("project/build/output.jar");
+    isFileIgnored("project/a.tmp");
+    isFileIgnored("project/a.java");
+
+    assertEquals(1, matcher.getPrunedFolderCount());
+    assertEquals(2, matcher.getIgnoredFileCount());
+  }
+
+  private boolean isFileIgnored(final String path) {
+    return matcher.isIgnored(workspace.resolve(path), false);
+  }
+
+  private boolean isFolderIgnored(final String path) {
+    return matcher.isIgnored(workspace.resolve(path), true);
+  }
+
+  private void write(final String path, final String content) throws IOException {
+    final Path file = workspace.resolve(path);
+
+    Files.createDirectories(file.getParent());
+    Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+  }
+}
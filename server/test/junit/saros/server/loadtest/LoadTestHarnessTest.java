@@ -0,0 +1,45 @@
+package saros.server.loadtest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import saros.server.loadtest.Workload.Kind;
+
+public class LoadTestHarnessTest {
+
+  @Test
+  public void testRunConverges() throws Exception {
+    final int clients = 3;
+
+    final LoadTestConfig config =
+        new LoadTestConfig(
+            clients, 2, 500, 50, 5, Workload.parse("edit:80,selection:15,file:5"), 42);
+
+    final LoadTestReport report = new LoadTestHarness(config).run();
+
+    assertTrue("not all activities were executed", report.isCompleted());
+    assertEquals(0, report.getConsistencyViolations());
+
+    assertTrue(report.getGenerated(Kind.EDIT) > 0);
+
+    // every activity is executed by all other participants
+    for (final Kind kind : Kind.values())
+      assertEquals(report.getGenerated(kind) * clients, report.getDelivered(kind));
+  }
+
+  @Test
+  public void testParseWorkload() {
+    assertEquals("edit:3,file:1", Workload.parse(" file:1, edit:3 ").toString());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testParseWorkloadWithUnknownKind() {
+    Workload.parse("edit:1,typing:2");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testParseEmptyWorkload() {
+    Workload.parse("edit:0");
+  }
+}
@@ -0,0 +1,57 @@
+package saros.server.progress;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+import saros.monitoring.IProgressMonitor;
+import saros.monitoring.NullProgressMonitor;
+
+public class ProgressTrackerTest {
+
+  private NullProgressMonitor monitor;
+  private ProgressTracker tracker;
+
+  @Before
+  public void setUp() {
+    monitor = new NullProgressMonitor();
+    tracker = new ProgressTracker(monitor);
+  }
+
+  @Test
+  public void testProgress() {
+    assertEquals(-1, tracker.getPercentage());
+    assertNull(tracker.getTaskName());
+
+    tracker.beginTask("transfer", 200);
+    tracker.worked(50);
+    tracker.subTask("file A");
+
+    assertEquals(25, tracker.getPercentage());
+    assertEquals("transfer", tracker.getTaskName());
+    assertEquals("file A", tracker.getSubTaskName());
+
+    tracker.worked(50);
+    tracker.done();
+
+    assertEquals(100, tracker.getPercentage());
+  }
+
+  @Test
+  public void testUnknownAmountOfWork() {
+    tracker.beginTask("transfer", IProgressMonitor.UNKNOWN);
+    tracker.worked(10);
+
+    assertEquals(-1, tracker.getPercentage());
+  }
+
+  @Test
+  public void testCancellationIsForwarded() {
+    tracker.setCanceled(true);
+
+    assertTrue(monitor.isCanceled());
+    assertTrue(tracker.isCanceled());
+  }
+}
@@ -0,0 +1,162 @@
+package saros.server.session;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import org.apache.commons.io.FileUtils;
+import org.easymock.EasyMock;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import saros.activities.FileActivity;
+import saros.activities.FolderCreatedActivity;
+import saros.activities.FolderDeletedActivity;
+import saros.filesystem.IFile;
+import saros.filesystem.IReferencePoint;
+import saros.net.xmpp.JID;
+import saros.server.editor.ServerEditorManager;
+import saros.server.filesystem.ServerWorkspaceImpl;
+import saros.session.ISarosSession;
+import saros.session.User;
+
+public class FileSystemActivityExecutorTest {
+
+  private Path workspaceLocation;
+  private ServerWorkspaceImpl workspace;
+  private IReferencePoint project;
+
+  private User alice;
+  private ServerEditorManager editorManager;
+  private FileSystemActivityExecutor executor;
+
+  @Before
+  public void setUp() throws Exception {
+    workspaceLocation = Files.createTempDirectory("saros-test-workspace");
+    workspace = new ServerWorkspaceImpl(workspaceLocation);
+    project = workspace.getProject("project");
+
+    alice = new User(new JID("alice@foo/Saros"), false, false, null);
+
+    ISarosSession session = EasyMock.createNiceMock(ISarosSession.class);
+    EasyMock.replay(session);
+
+    editorManager = new ServerEditorManager();
+    executor = new FileSystemActivityExecutor(session, editorManager);
+
+    createFile("project/src/a/A.java", "class A {}");
+    createFile("project/src/a/b/B.java", "class B {}");
+  }
+
+  @After
+  public void cleanUp() {
+    FileUtils.deleteQuietly(workspaceLocation.toFile());
+  }
+
+  @Test
+  public void testActivitiesAreExecutedOnFlush() throws Exception {
+    executor.exec(new FolderCreatedActivity(alice, project.getFolder("src/c")));
+
+    assertFalse(exists("project/src/c"));
+
+    executor.flush();
+
+    assertTrue(exists("project/src/c"));
+  }
+
+  @Test
+  public void testFolderRenameIsExecutedAsWhole() throws Exception {
+    Object folderKey = fileKey("project/src/a");
+
+    executeFolderRename();
+
+    assertFileHasContent("project/src/c/A.java", "class A {}");
+    assertFileHasContent("project/src/c/b/B.java", "class B {}");
+    assertFalse(exists("project/src/a"));
+
+    assertEquals(folderKey, fileKey("project/src/c"));
+  }
+
+  @Test
+  public void testFolderWithUnsharedFilesIsNotRenamedAsWhole() throws Exception {
+    createFile("project/src/a/notes.txt", "not shared");
+
+    executeFolderRename();
+
+    assertFileHasContent("project/src/c/A.java", "class A {}");
+    assertFileHasContent("project/src/c/b/B.java", "class B {}");
+    assertFalse(exists("project/src/c/notes.txt"));
+    assertFalse(exists("project/src/a"));
+  }
+
+  @Test
+  public void testFileMoveWithoutContentIsRename() throws Exception {
+    Object fileKey = fileKey("project/src/a/A.java");
+
+    executor.exec(move("src/a/A.java", "src/d/A.java"));
+    executor.flush();
+
+    assertFileHasContent("project/src/d/A.java", "class A {}");
+    assertFalse(exists("project/src/a/A.java"));
+    assertEquals(fileKey, fileKey("project/src/d/A.java"));
+  }
+
+  @Test
+  public void testEditorsFollowRenamedFolder() throws Exception {
+    editorManager.openEditor(project.getFile("src/a/b/B.java"), false);
+
+    executeFolderRename();
+
+    IFile movedFile = project.getFile("src/c/b/B.java");
+
+    assertTrue(editorManager.getOpenEditors().contains(movedFile));
+    assertEquals(movedFile, editorManager.getEditors().get(0).getFile());
+  }
+
+  private void executeFolderRename() {
+    executor.exec(new FolderCreatedActivity(alice, project.getFolder("src/c")));
+    executor.exec(new FolderCreatedActivity(alice, project.getFolder("src/c/b")));
+    executor.exec(move("src/a/A.java", "src/c/A.java"));
+    executor.exec(move("src/a/b/B.java", "src/c/b/B.java"));
+    executor.exec(new FolderDeletedActivity(alice, project.getFolder("src/a/b")));
+    executor.exec(new FolderDeletedActivity(alice, project.getFolder("src/a")));
+    executor.flush();
+  }
+
+  private FileActivity move(String oldPath, String newPath) {
+    return new FileActivity(
+        alice,
+        FileActivity.Type.MOVED,
+        FileActivity.Purpose.ACTIVITY,
+        project.getFile(newPath),
+        project.getFile(oldPath),
+        null,
+        null);
+  }
+
+  private Object fileKey(String path) throws IOException {
+    return Files.readAttributes(workspaceLocation.resolve(path), BasicFileAttributes.class)
+        .fileKey();
+  }
+
+  private void createFile(String path, String content) throws IOException {
+    Path location = workspaceLocation.resolve(path);
+
+    Files.createDirectories(location.getParent());
+    Files.write(location, content.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private void assertFileHasContent(String path, String content) throws IOException {
+    assertEquals(
+        content, new String(Files.readAllBytes(workspaceLocation.resolve(path)), "UTF-8"));
+  }
+
+  private boolean exists(String path) {
+    return Files.exists(workspaceLocation.resolve(path));
+  }
+}
@@ -0,0 +1,149 @@
+package saros.server.session;
+
+import static org.easymock.EasyMock.expect;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.stream.Stream;
+import org.easymock.EasyMock;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import saros.filesystem.IReferencePoint;
+import saros.net.xmpp.JID;
+import saros.session.ISarosSession;
+import saros.session.User;
+
+public class ReinviteStateTest {
+
+  private static final JID ALICE = new JID("alice@example.org/Saros");
+  private static final JID BOB = new JID("bob@example.org/Saros");
+
+  private Path directory;
+  private Path file;
+
+  @Before
+  public void setUp() throws Exception {
+    directory = Files.createTempDirectory("saros-reinvite");
+    file = directory.resolve("session.reinvite");
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    Files.deleteIfExists(file);
+    Files.deleteIfExists(directory);
+  }
+
+  private static ReinviteState createState() {
+    Map<String, String> referencePoints = new HashMap<>();
+    referencePoints.put("1", "foo");
+    referencePoints.put("2", "bar");
+
+    return new ReinviteState("42", referencePoints, Arrays.asList(BOB, ALICE));
+  }
+
+  @Test
+  public void testWriteAndLoad() throws Exception {
+    ReinviteState state = createState();
+
+    state.write(file);
+
+    ReinviteState loaded = ReinviteState.load(file);
+
+    assertEquals(state, loaded);
+    assertEquals("42", loaded.getSessionID());
+    assertEquals("foo", loaded.getReferencePoints().get("1"));
+    assertEquals("bar", loaded.getReferencePoints().get("2"));
+    assertEquals(Arrays.asList(BOB, ALICE), loaded.getParticipants());
+    assertEquals("Saros", loaded.getParticipants().get(0).getResource());
+  }
+
+  @Test
+  public void testWriteReplacesState() throws Exception {
+    createState().write(file);
+
+    ReinviteState empty =
+        new ReinviteState("43", Collections.emptyMap(), Collections.emptyList());
+
+    empty.write(file);
+
+    assertEquals(empty, ReinviteState.load(file));
+
+    try (Stream<Path> files = Files.list(directory)) {
+      assertEquals("temporary files are left behind", 1, files.count());
+    }
+  }
+
+  @Test
+  public void testLoadMissingFile() throws Exception {
+    assertNull(ReinviteState.load(file));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testLoadWithoutSessionID() throws Exception {
+    Files.write(file, Arrays.asList("referencePoint.1=foo"), StandardCharsets.ISO_8859_1);
+
+    ReinviteState.load(file);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testLoadWithInvalidKey() throws Exception {
+    Files.write(file, Arrays.asList("session=1", "participant.x=a@b"), StandardCharsets.ISO_8859_1);
+
+    ReinviteState.load(file);
+  }
+
+  @Test
+  public void testCapture() {
+    IReferencePoint foo = EasyMock.createMock(IReferencePoint.class);
+    expect(foo.getName()).andStubReturn("foo");
+
+    ISarosSession session = EasyMock.createMock(ISarosSession.class);
+    expect(session.getID()).andStubReturn("42");
+    expect(session.getReferencePoints()).andStubReturn(new HashSet<>(Arrays.asList(foo)));
+    expect(session.getReferencePointId(foo)).andStubReturn("1");
+    expect(session.getRemoteUsers())
+        .andStubReturn(
+            Arrays.asList(new User(BOB, false, false, null), new User(ALICE, false, false, null)));
+
+    EasyMock.replay(foo, session);
+
+    ReinviteState state = ReinviteState.capture(session, Collections.emptyList());
+
+    assertEquals("42", state.getSessionID());
+    assertEquals(Collections.singletonMap("1", "foo"), state.getReferencePoints());
+    assertEquals(Arrays.asList(ALICE, BOB), state.getParticipants());
+
+    assertTrue(state.equals(ReinviteState.capture(session, Collections.emptyList())));
+    assertFalse(state.equals(createState()));
+  }
+
+  @Test
+  public void testCaptureWithPendingParticipants() {
+    JID carl = new JID("carl@example.org/Saros");
+
+    ISarosSession session = EasyMock.createMock(ISarosSession.class);
+    expect(session.getID()).andStubReturn("42");
+    expect(session.getReferencePoints()).andStubReturn(Collections.emptySet());
+    expect(session.getRemoteUsers())
+        .andStubReturn(Collections.singletonList(new User(BOB, false, false, null)));
+
+    EasyMock.replay(session);
+
+    ReinviteState state =
+        ReinviteState.capture(session, Arrays.asList(carl, new JID("bob@example.org/Other")));
+
+    assertEquals(Arrays.asList(BOB, carl), state.getParticipants());
+    assertEquals("Saros", state.getParticipants().get(0).getResource());
+  }
+}
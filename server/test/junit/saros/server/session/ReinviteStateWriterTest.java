@@ -0,0 +1,100 @@
+package saros.server.session;
+
+import static org.easymock.EasyMock.expect;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.easymock.EasyMock;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import saros.net.xmpp.JID;
+import saros.session.ISarosSession;
+import saros.session.User;
+
+public class ReinviteStateWriterTest {
+
+  private static final JID ALICE = new JID("alice@example.org/Saros");
+  private static final JID BOB = new JID("bob@example.org/Saros");
+
+  private Path directory;
+  private Path file;
+
+  private List<User> remoteUsers;
+  private ISarosSession session;
+
+  @Before
+  public void setUp() throws Exception {
+    directory = Files.createTempDirectory("saros-reinvite");
+    file = directory.resolve("session.reinvite");
+
+    remoteUsers = new ArrayList<>();
+
+    session = EasyMock.createMock(ISarosSession.class);
+    expect(session.getID()).andStubReturn("42");
+    expect(session.getReferencePoints()).andStubReturn(Collections.emptySet());
+    expect(session.getRemoteUsers()).andStubAnswer(() -> new ArrayList<>(remoteUsers));
+    EasyMock.replay(session);
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    Files.deleteIfExists(file);
+    Files.deleteIfExists(directory);
+  }
+
+  @Test
+  public void testWriteOnlyChangedState() throws Exception {
+    ReinviteStateWriter writer = new ReinviteStateWriter(session, file);
+
+    remoteUsers.add(new User(ALICE, false, false, null));
+
+    assertTrue(writer.writeState());
+    assertFalse("unchanged state was written again", writer.writeState());
+
+    remoteUsers.add(new User(BOB, false, false, null));
+
+    assertTrue(writer.writeState());
+    assertEquals(Arrays.asList(ALICE, BOB), ReinviteState.load(file).getParticipants());
+  }
+
+  @Test
+  public void testStopWritesFinalState() throws Exception {
+    ReinviteStateWriter writer = new ReinviteStateWriter(session, file);
+
+    writer.start();
+
+    // joined after the last periodic write
+    remoteUsers.add(new User(ALICE, false, false, null));
+
+    writer.stop();
+
+    assertEquals(Collections.singletonList(ALICE), ReinviteState.load(file).getParticipants());
+  }
+
+  @Test
+  public void testPendingParticipantsAreKeptUntilTheyRejoined() throws Exception {
+    ReinviteStateWriter writer = new ReinviteStateWriter(session, file);
+
+    writer.addPendingParticipants(Arrays.asList(ALICE, BOB));
+    writer.writeState();
+
+    assertEquals(Arrays.asList(ALICE, BOB), ReinviteState.load(file).getParticipants());
+
+    remoteUsers.add(new User(ALICE, false, false, null));
+    writer.writeState();
+    remoteUsers.clear();
+
+    assertTrue(writer.forgetParticipant(BOB));
+    writer.writeState();
+
+    assertEquals(Collections.emptyList(), ReinviteState.load(file).getParticipants());
+  }
+}